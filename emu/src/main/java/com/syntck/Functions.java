@@ -3,6 +3,45 @@ package com.syntck;
 import com.syntck.cpu.FlagsRegister;
 
 public class Functions {
+  // MARK: パック形式の演算 (オブジェクトを生成しない)
+  // 演算結果とキャリー (ボロー) を1つのintにまとめて返す
+  // 8ビット演算はビット0-7が結果・ビット8がキャリー、16ビット演算はビット0-15が結果・ビット16がキャリー
+  public static final int CARRY_BIT_16 = 0x10000;
+
+  public static int packedAdd(int a, int b) {
+    return (a + b) & 0x1FF;
+  }
+
+  public static int packedAddWithCarry(int a, int b, int carry) {
+    return (a + b + carry) & 0x1FF;
+  }
+
+  public static int packedAdd16(int a, int b) {
+    return (a + b) & 0x1FFFF;
+  }
+
+  public static int packedSub(int a, int b) {
+    return (a - b) & 0x1FF; // 負になった場合はビット8が立つ
+  }
+
+  public static int packedSubWithCarry(int a, int b, int carry) {
+    return (a - b - carry) & 0x1FF;
+  }
+
+  public static int packedValue(int packed) {
+    return packed & 0xFF;
+  }
+
+  public static int packedValue16(int packed) {
+    return packed & 0xFFFF;
+  }
+
+  public static boolean packedCarry16(int packed) {
+    return (packed & CARRY_BIT_16) != 0;
+  }
+
+  // MARK: OverflowingResult を返す演算
+  // 呼び出しごとに OverflowingResult を生成するため、CPUの命令処理では上の packed* を使う
   // Fix overflowingAdd to handle 16-bit values
   public static OverflowingResult overflowingAdd(int a, int b) {
     int fullSum = a + b;
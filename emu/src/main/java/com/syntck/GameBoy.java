@@ -7,7 +7,6 @@ import java.awt.image.DataBufferInt;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
-import java.util.concurrent.TimeUnit;
 
 import com.syntck.cartridge.Cartridge;
 
@@ -15,16 +14,24 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 
 import com.syntck.cpu.CPU;
+import com.syntck.emulator.Emulator;
 import com.syntck.joypad.Joypad;
+import com.syntck.ppu.FrameExchange;
 import com.syntck.ppu.PPU;
+import com.syntck.scheduler.FramePacer;
 
 public class GameBoy {
+  public static final String TURBO_FRAME_SKIP_PROPERTY = "gameboy.turbo.frameSkip"; // ターボ中に描画する間隔 (フレーム)
+  private static final long REPORT_INTERVAL_NANOS = 1_000_000_000L; // エミュレーション速度を表示する間隔
+
   private GameBoyFrame gameBoyFrame;
+  private Emulator emulator;
   private CPU cpu;
   private Cartridge cartridge;
 
   public GameBoy(Cartridge cartridge) {
-    this.cpu = new CPU(cartridge);
+    this.emulator = new Emulator(cartridge);
+    this.cpu = this.emulator.getCPU();
     this.cartridge = cartridge;
     this.gameBoyFrame = new GameBoyFrame(this.cpu.bus.gpu, this.cpu.bus.joypad);
     this.cartridge.dump(0x0104, 0x0133);
@@ -33,27 +40,48 @@ public class GameBoy {
   }
 
   public void run() {
-    // 最後のフレーム更新時間
-    final long frameTimeNanos = 1_000_000_000 / 60; // 60FPS
+    FramePacer pacer = new FramePacer();
+    int turboFrameSkip = Math.max(1, Integer.getInteger(TURBO_FRAME_SKIP_PROPERTY, 8));
+    boolean wasTurbo = false;
+    int pacedFrames = 0; // 前回待ってから進めたフレーム数
+    long reportedAt = System.nanoTime();
+    long reportedFrames = this.emulator.getFrameCount();
 
     while (true) {
-      long frameStartTime = System.nanoTime();
+      // ターボ中は速度の上限なしで turboFrameSkip フレームに1回、通常は speed 倍の速さで speed フレームに1回だけ描画する
+      boolean turbo = this.gameBoyFrame.isTurbo();
+      int speed = this.gameBoyFrame.getSpeed();
+      this.emulator.setFrameSkip(turbo ? turboFrameSkip : speed);
 
-      // CPU実行
-      for (int i = 0; i < 70000 / 60; i++) { // 約1フレーム分のCPUサイクル
-        this.cpu.step();
-      }
+      // 次のフレームが完成するまで実行する (LCDが有効なら1フレームはちょうど70224サイクル)
+      this.emulator.runFrame();
 
       // フレーム更新条件
       if (this.cpu.bus.gpu.frameUpdated) {
         // フレームバッファを更新
         this.gameBoyFrame.panel.updateFrame();
         this.cpu.bus.gpu.frameUpdated = false;
+      }
 
+      // フレームレート制御 (待ち時間の大部分は眠る, ターボ中は待たない)
+      if (turbo) {
+        wasTurbo = true;
+      } else {
+        if (wasTurbo) pacer.reset(); // ターボ中の遅れを取り戻そうとしない
+        wasTurbo = false;
+        if (++pacedFrames >= speed) {
+          pacer.waitForNextFrame();
+          pacedFrames = 0;
+        }
+      }
 
-        // フレームレート制御
-        do {
-        } while (System.nanoTime() - frameStartTime < frameTimeNanos);
+      // 1秒ごとに、1秒あたりに進めたフレーム数を表示する
+      long now = System.nanoTime();
+      if (now - reportedAt >= REPORT_INTERVAL_NANOS) {
+        long frames = this.emulator.getFrameCount();
+        this.gameBoyFrame.showSpeed((frames - reportedFrames) * 1e9 / (now - reportedAt));
+        reportedAt = now;
+        reportedFrames = frames;
       }
     }
   }
@@ -70,6 +98,12 @@ class GameBoyFrame extends JFrame implements KeyListener {
   public GameBoyPanel panel;
   private Joypad joypad;
 
+  // MARK: 速度
+  // キー入力 (Swingのスレッド) で変更し、エミュレーションスレッドが毎フレーム読む
+  private static final int MAX_SPEED = 16;
+  private volatile int speed = 1; // 速度の倍率 (+ / - キーで変更する)
+  private volatile boolean turbo = false; // 速度の上限なし (T キーで切り替える)
+
   GameBoyFrame(PPU gpu, Joypad joypad) {
     this.panel = new GameBoyPanel(gpu);
     this.joypad = joypad;
@@ -85,6 +119,21 @@ class GameBoyFrame extends JFrame implements KeyListener {
     this.panel.repaint();
   }
 
+  public int getSpeed() {
+    return this.speed;
+  }
+
+  public boolean isTurbo() {
+    return this.turbo;
+  }
+
+  // 1秒あたりに進めたフレーム数をタイトルに表示する
+  public void showSpeed(double framesPerSecond) {
+    String mode = this.turbo ? "turbo" : "x" + this.speed;
+    String title = String.format("Game Boy Emulator - %s - %.1f fps", mode, framesPerSecond);
+    SwingUtilities.invokeLater(() -> setTitle(title));
+  }
+
   // キー入力処理
   @Override
   public void keyPressed(KeyEvent e) {
@@ -93,6 +142,21 @@ class GameBoyFrame extends JFrame implements KeyListener {
         System.exit(0); // ESCキーで終了
         break;
       }
+      case KeyEvent.VK_T: {
+        this.turbo = !this.turbo; // ターボの切り替え
+        break;
+      }
+      case KeyEvent.VK_EQUALS:
+      case KeyEvent.VK_PLUS:
+      case KeyEvent.VK_ADD: {
+        this.speed = Math.min(this.speed * 2, MAX_SPEED); // 速度を2倍にする
+        break;
+      }
+      case KeyEvent.VK_MINUS:
+      case KeyEvent.VK_SUBTRACT: {
+        this.speed = Math.max(this.speed / 2, 1); // 速度を半分にする
+        break;
+      }
       case KeyEvent.VK_W: {
         joypad.buttonUp = true; // 上ボタンを押す
         break;
@@ -185,8 +249,10 @@ class GameBoyPanel extends JPanel {
     new Color(20, 44, 56), // 0x03: 白
   };
   
-  // 描画用バッファ
-  private final BufferedImage frameBuffer;
+  // 描画用バッファ (PPUのフレームバッファと画素データを共有する3枚の画像)
+  private final BufferedImage[] images = new BufferedImage[3];
+  private final int[][] imagePixels = new int[3][];
+  private BufferedImage frameBuffer; // 表示中のフレーム
   private final PPU gpu;
 
   public GameBoyPanel(PPU gpu) {
@@ -196,38 +262,49 @@ class GameBoyPanel extends JPanel {
     // Swingのダブルバッファリングを有効化
     setDoubleBuffered(true);
     
-    // バッファ画像を1回だけ作成
-    frameBuffer = new BufferedImage(
-        SCREEN_WIDTH, 
-        SCREEN_HEIGHT, 
-        BufferedImage.TYPE_INT_RGB);
+    // バッファ画像を1回だけ作成し、その画素データにPPUが直接ARGB値を描画する
+    for (int i = 0; i < this.images.length; i++) {
+      this.images[i] = new BufferedImage(
+          SCREEN_WIDTH, 
+          SCREEN_HEIGHT, 
+          BufferedImage.TYPE_INT_RGB);
+      this.imagePixels[i] = ((DataBufferInt) this.images[i].getRaster().getDataBuffer()).getData();
+    }
+    FrameExchange frames = new FrameExchange(this.imagePixels[0], this.imagePixels[1], this.imagePixels[2]);
+    this.frameBuffer = imageOf(frames.acquire()); // 最初のフレームが公開されるまでは表示側のバッファ (黒) を表示する
+
+    int[] colors = new int[COLORS.length];
+    for (int i = 0; i < COLORS.length; i++) {
+      colors[i] = COLORS[i].getRGB(); // シェードごとの表示色はパレットの変換表に組み込まれる
+    }
+    gpu.setDisplayColors(colors);
+    gpu.setFrameExchange(frames);
   }
 
-  // フレームバッファを更新するメソッド（GameBoyクラスから呼ばれる）
-  public void updateFrame() {
-    // GPUから最新のフレームデータを取得
-    int[] frame = gpu.getFrame();
-    
-    // バッファの画像データを直接操作
-    int[] pixels = ((DataBufferInt) frameBuffer.getRaster().getDataBuffer()).getData();
-    
-    // フレームバッファを効率的に更新
-    for (int y = 0; y < SCREEN_HEIGHT; y++) {
-      for (int x = 0; x < SCREEN_WIDTH; x++) {
-        int colorIndex = frame[y * SCREEN_WIDTH + x]; // 0x00, 0x01, 0x02, 0x03
-        Color color = COLORS[colorIndex]; // 色を取得
-        pixels[y * SCREEN_WIDTH + x] = color.getRGB(); // ピクセルデータを更新
-      }
+  // 画素データを共有している画像
+  private BufferedImage imageOf(int[] pixels) {
+    for (int i = 0; i < this.images.length; i++) {
+      if (this.imagePixels[i] == pixels) return this.images[i];
     }
-    
-    // Swingスレッド上で再描画をリクエスト
-    SwingUtilities.invokeLater(this::repaint);
+    throw new IllegalStateException("PPUのフレームバッファが表示用の画像ではありません");
+  }
+
+  // フレームが完成したことを通知するメソッド（GameBoyクラスから呼ばれる）
+  // 変換と描画はすべてSwingスレッドで行うため、エミュレーションスレッドは再描画を要求するだけで待たない
+  public void updateFrame() {
+    repaint(); // repaint はどのスレッドから呼んでもよい
   }
 
   @Override
   protected void paintComponent(Graphics g) {
     super.paintComponent(g);
-    
+
+    // 新しいフレームが公開されていれば受け取り、その画像に切り替える (画素は描画済みのARGB値なので変換は不要)
+    FrameExchange frames = this.gpu.getFrameExchange();
+    if (frames.hasNewFrame()) {
+      this.frameBuffer = imageOf(frames.acquire()); // 次に acquire するまでPPUに書き換えられない
+    }
+
     // 完成したバッファ画像を拡大して描画
     g.drawImage(frameBuffer, 0, 0, SCREEN_WIDTH * FRAME_SCALE, SCREEN_HEIGHT * FRAME_SCALE, null);
   }
@@ -1,14 +1,16 @@
 package com.syntck.cartridge;
 
-import java.io.FileInputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
 
 import com.syntck.mapper.MBC1;
 import com.syntck.mapper.Mapper;
 import com.syntck.mapper.NoMBC;
 
-public class Cartridge {
-  public int[] binaryData; // ROMのバイナリデータを格納する配列
-  public int[] ram;
+public class Cartridge implements AutoCloseable {
+  public RomImage rom; // ROMイメージ (同じファイルを読み込んだカートリッジ間で共有される)
+  public byte[] ram;
   public boolean isCGB; // CGBフラグ
   public boolean isSGB; // SGBフラグ
   public CartridgeType cartridgeType; // カートリッジタイプ
@@ -16,44 +18,65 @@ public class Cartridge {
   public int ramSize; // RAMサイズ
   public int version; // ROMバージョン
   public Mapper mapper; // マッパー
+  private ByteBuffer romView; // まとめて読み取るためのROMイメージのビュー (位置を持つためカートリッジごとに作る)
 
   public Cartridge(String file) {
-    try (FileInputStream fis = new FileInputStream(file)) {
-      // ROMのサイズを取得
-      int fileSize = (int) fis.getChannel().size();
-      binaryData = new int[fileSize]; // バイナリデータの配列を初期化
-
-      // ROMのバイナリデータを読み込む
-      for (int i = 0; i < fileSize; i++) {
-        binaryData[i] = fis.read(); // 1バイトずつ読み込む
-      }
+    try {
+      // ROMイメージはキャッシュから取得する (初回のみファイルをマップする)
+      this.rom = RomImageCache.shared().acquire(Paths.get(file));
+      this.romView = this.rom.asBuffer();
 
-      this.isCGB = (binaryData[0x0143] == 0xC0); // CGBフラグを取得
-      this.isSGB = (binaryData[0x0146] == 0x03); // SGBフラグを取得
-      // setRomSize(binaryData[0x0148]); // ROMサイズを取得
-      setRamSize(binaryData[0x0149]); // RAMサイズを取得
-      this.version = binaryData[0x014C]; // ROMのバージョンを取得
+      this.isCGB = (readHeader(0x0143) == 0xC0); // CGBフラグを取得
+      this.isSGB = (readHeader(0x0146) == 0x03); // SGBフラグを取得
+      // setRomSize(readHeader(0x0148)); // ROMサイズを取得
+      setRamSize(readHeader(0x0149)); // RAMサイズを取得
+      this.version = readHeader(0x014C); // ROMのバージョンを取得
 
-      this.ram = new int[this.ramSize]; // RAMのサイズを設定
-      for (int i = 0; i < this.ramSize; i++) {
-        this.ram[i] = 0x00; // RAMを初期化
-      }
+      this.ram = new byte[this.ramSize]; // RAMのサイズを設定 (0で初期化される)
 
-      setCartridgeType(binaryData[0x0147]); // カートリッジタイプを取得
+      setCartridgeType(readHeader(0x0147)); // カートリッジタイプを取得
 
     } catch (Exception e) {
       e.printStackTrace(); // エラーが発生した場合はスタックトレースを表示
     }
   }
 
+  // ROMイメージへの参照を解放する (すべてのカートリッジが解放するとキャッシュから破棄される)
+  @Override
+  public void close() {
+    if (this.rom == null) return;
+    RomImageCache.shared().release(this.rom);
+    this.rom = null;
+  }
+
   public int readByte(int address) {
     return this.mapper.readByte(address); // マッパーを使用してバイトを読み取る
   }
 
+  private int readHeader(int address) {
+    return this.rom.readByte(address);
+  }
+
   public void writeByte(int address, int value) {
     this.mapper.writeByte(address, value);
   }
 
+  public int getRomOffset(int address) {
+    return this.mapper.getRomOffset(address); // 現在のバンク構成でのROM上のオフセット
+  }
+
+  // 0x0000-0x7FFFの address から dest.length バイトを現在のバンク構成でまとめてコピーする (DMA転送用)
+  // 範囲がROMイメージやバンクの境界をまたぐ場合は false を返す
+  public boolean copyROM(int address, byte[] dest) {
+    int end = address + dest.length - 1;
+    if (end > 0x7FFF || (address >> 14) != (end >> 14)) return false;
+    int offset = getRomOffset(address);
+    if (offset < 0 || offset + dest.length > this.romView.capacity()) return false;
+    ((Buffer) this.romView).position(offset); // Java 8 でも動くように Buffer として呼び出す
+    this.romView.get(dest, 0, dest.length);
+    return true;
+  }
+
   public void setRamSize(int ramSize) {
     switch (ramSize) {
       case 0x00:
@@ -126,51 +149,51 @@ public class Cartridge {
     switch (cartridgeType) {
       case 0x00:
         this.cartridgeType = CartridgeType.ROM_ONLY;
-        this.mapper = new NoMBC(this.binaryData, this.ram, this.binaryData.length, this.ramSize);
+        this.mapper = new NoMBC(this.rom.asBuffer(), this.ram, this.rom.size(), this.ramSize);
         break;
       case 0x01:
         this.cartridgeType = CartridgeType.MBC1;
-        this.mapper = new MBC1(this.binaryData, this.ram, this.binaryData.length, this.ramSize);
+        this.mapper = new MBC1(this.rom.asBuffer(), this.ram, this.rom.size(), this.ramSize);
         break;
       case 0x02:
         this.cartridgeType = CartridgeType.MBC2;
-        this.mapper = new MBC1(this.binaryData, this.ram, this.binaryData.length, this.ramSize);
+        this.mapper = new MBC1(this.rom.asBuffer(), this.ram, this.rom.size(), this.ramSize);
         break;
       case 0x03:
         this.cartridgeType = CartridgeType.ROM_RAM;
-        this.mapper = new MBC1(this.binaryData, this.ram, this.binaryData.length, this.ramSize);
+        this.mapper = new MBC1(this.rom.asBuffer(), this.ram, this.rom.size(), this.ramSize);
         break;
       case 0x04:
         this.cartridgeType = CartridgeType.MBC3_TIMER_BATTERY;
-        this.mapper = new MBC1(this.binaryData, this.ram, this.binaryData.length, this.ramSize);
+        this.mapper = new MBC1(this.rom.asBuffer(), this.ram, this.rom.size(), this.ramSize);
         break;
       case 0x05:
         this.cartridgeType = CartridgeType.MBC5;
-        this.mapper = new MBC1(this.binaryData, this.ram, this.binaryData.length, this.ramSize);
+        this.mapper = new MBC1(this.rom.asBuffer(), this.ram, this.rom.size(), this.ramSize);
         break;
       case 0x06:
         this.cartridgeType = CartridgeType.MBC6;
-        this.mapper = new MBC1(this.binaryData, this.ram, this.binaryData.length, this.ramSize);
+        this.mapper = new MBC1(this.rom.asBuffer(), this.ram, this.rom.size(), this.ramSize);
         break;
       case 0x07:
         this.cartridgeType = CartridgeType.MBC7_SENSOR;
-        this.mapper = new MBC1(this.binaryData, this.ram, this.binaryData.length, this.ramSize);
+        this.mapper = new MBC1(this.rom.asBuffer(), this.ram, this.rom.size(), this.ramSize);
         break;
       case 0x08:
         this.cartridgeType = CartridgeType.POCKET_CAMERA;
-        this.mapper = new MBC1(this.binaryData, this.ram, this.binaryData.length, this.ramSize);
+        this.mapper = new MBC1(this.rom.asBuffer(), this.ram, this.rom.size(), this.ramSize);
         break;
       case 0x09:
         this.cartridgeType = CartridgeType.BANDAI_TAMA5;
-        this.mapper = new MBC1(this.binaryData, this.ram, this.binaryData.length, this.ramSize);
+        this.mapper = new MBC1(this.rom.asBuffer(), this.ram, this.rom.size(), this.ramSize);
         break;
       case 0x0A:
         this.cartridgeType = CartridgeType.HuC3;
-        this.mapper = new MBC1(this.binaryData, this.ram, this.binaryData.length, this.ramSize);
+        this.mapper = new MBC1(this.rom.asBuffer(), this.ram, this.rom.size(), this.ramSize);
         break;
       case 0x0B:
         this.cartridgeType = CartridgeType.HuC1_RAM_BATTERY;
-        this.mapper = new MBC1(this.binaryData, this.ram, this.binaryData.length, this.ramSize);
+        this.mapper = new MBC1(this.rom.asBuffer(), this.ram, this.rom.size(), this.ramSize);
         break;
       default:
         throw new IllegalArgumentException("Invalid cartridge type: " + cartridgeType);
@@ -178,12 +201,12 @@ public class Cartridge {
   }
 
   public void dump(int start, int end) {
-    if (this.binaryData == null) {
+    if (this.rom == null) {
       System.out.println("No binary data loaded.");
       return;
     }
 
-    if (start < 0 || end > binaryData.length || start >= end) {
+    if (start < 0 || end > this.rom.size() || start >= end) {
       throw new IllegalArgumentException("Invalid range for dump: " + String.format("0x%04X - 0x%04X", start, end));
     }
 
@@ -196,7 +219,7 @@ public class Cartridge {
     "Version: " + this.version);
 
     for (int i = start; i <= end; i++) {
-      System.out.printf("%02X ", binaryData[i]); // 16進数で表示
+      System.out.printf("%02X ", this.rom.readByte(i)); // 16進数で表示
       if ((i - start + 1) % 16 == 0) {
         System.out.println(); // 16バイトごとに改行
       }
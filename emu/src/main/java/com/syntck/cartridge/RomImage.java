@@ -0,0 +1,62 @@
+package com.syntck.cartridge;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * 読み取り専用のROMイメージ
+ * 同じROMを読み込んだ Cartridge / Mapper の間で共有されるため、内容を書き換えてはいけない
+ * 読み取りは絶対位置の get のみを使うため、複数スレッドから同時に読み取ってもよい
+ */
+public final class RomImage {
+  private final String key; // キャッシュのキー (パス + 内容のハッシュ)
+  private final Path path;
+  private final ByteBuffer buffer; // FileChannel.map (READ_ONLY) でマップしたバッファ
+  private final long lastModified;
+  private int references; // 参照しているカートリッジの数
+
+  RomImage(String key, Path path, ByteBuffer buffer, long lastModified) {
+    this.key = key;
+    this.path = path;
+    this.buffer = buffer;
+    this.lastModified = lastModified;
+  }
+
+  public int readByte(int offset) {
+    return this.buffer.get(offset) & 0xFF;
+  }
+
+  public int size() {
+    return this.buffer.capacity();
+  }
+
+  // マッパー用に位置を共有しない読み取り専用のビューを返す
+  public ByteBuffer asBuffer() {
+    return this.buffer.duplicate();
+  }
+
+  public String getKey() {
+    return this.key;
+  }
+
+  public Path getPath() {
+    return this.path;
+  }
+
+  public synchronized int getReferences() {
+    return this.references;
+  }
+
+  // MARK: キャッシュ用
+  boolean isSameFile(long size, long lastModified) {
+    return this.buffer.capacity() == size && this.lastModified == lastModified;
+  }
+
+  synchronized void retain() {
+    this.references++;
+  }
+
+  synchronized int release() {
+    return --this.references;
+  }
+}
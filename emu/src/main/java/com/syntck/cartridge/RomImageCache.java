@@ -0,0 +1,83 @@
+package com.syntck.cartridge;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * ROMイメージのキャッシュ
+ * ROMファイルを FileChannel.map (READ_ONLY) で一度だけマップし、同じファイルを読み込むカートリッジ間で共有する
+ * キーは「実パス + 内容のハッシュ」で、参照カウントが0になったイメージは破棄する
+ * マップ中のファイルをその場で書き換えると読み込み済みのイメージにも反映されるため、ROMを更新する場合は別ファイルから置き換えること
+ */
+public final class RomImageCache {
+  // プロセス全体で共有する唯一の可変な static (複数スレッドのエミュレータから使われるため、公開メソッドはすべて synchronized)
+  private static final RomImageCache SHARED = new RomImageCache();
+
+  private final Map<String, RomImage> images = new HashMap<>(); // キー -> イメージ
+  private final Map<Path, RomImage> latest = new HashMap<>(); // パス -> 最後に読み込んだイメージ (ハッシュ計算の省略用)
+
+  RomImageCache() {
+  }
+
+  public static RomImageCache shared() {
+    return SHARED;
+  }
+
+  // MARK: acquire
+  // ROMイメージを取得して参照カウントを増やす (使い終わったら release する)
+  public synchronized RomImage acquire(Path file) throws IOException {
+    Path path = file.toRealPath();
+    long size = Files.size(path);
+    long lastModified = Files.getLastModifiedTime(path).toMillis();
+
+    // 同じファイル (サイズ・更新日時が同じ) が読み込み済みなら、マップもハッシュ計算もしない
+    RomImage image = this.latest.get(path);
+    if (image != null && image.isSameFile(size, lastModified)) {
+      image.retain();
+      return image;
+    }
+
+    ByteBuffer buffer = map(path, size);
+    String key = path + "#" + hash(buffer);
+    image = this.images.get(key);
+    if (image == null) {
+      image = new RomImage(key, path, buffer, lastModified);
+      this.images.put(key, image);
+    }
+    this.latest.put(path, image);
+    image.retain();
+    return image;
+  }
+
+  // MARK: release
+  public synchronized void release(RomImage image) {
+    if (image.release() > 0) return;
+
+    // どのカートリッジからも参照されなくなったら破棄する (マップはGCで解放される)
+    this.images.remove(image.getKey(), image);
+    this.latest.remove(image.getPath(), image);
+  }
+
+  public synchronized int size() {
+    return this.images.size();
+  }
+
+  private static ByteBuffer map(Path path, long size) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+  }
+
+  private static String hash(ByteBuffer buffer) {
+    CRC32 crc = new CRC32();
+    crc.update(buffer.duplicate());
+    return String.format("%08X", crc.getValue());
+  }
+}
@@ -0,0 +1,122 @@
+package com.syntck.cpu;
+
+import com.syntck.cartridge.Cartridge;
+import com.syntck.memory.MemoryBus;
+
+/**
+ * ROM上の基本ブロックを DispatchTable のハンドラ列に変換してキャッシュするクラス
+ * キャッシュのキーは「ROM上のバンク番号 + バンク内オフセット」のため、
+ * バンクが切り替わると自動的に別のブロックが参照される
+ * RAM (0x8000以降) 上のコードは書き換えられる可能性があるため変換せず、インタプリタで実行する
+ */
+final class BlockCompiler {
+  static final int MAX_BLOCK_INSTRUCTIONS = 32; // 1ブロックあたりの最大命令数
+  static final int MAX_BLOCK_CYCLES = 64; // 1ブロックあたりの最大サイクル数 (PPUの各モードより短くする)
+  private static final int BANK_SIZE = 0x4000;
+
+  private final MemoryBus bus;
+  private final Cartridge cartridge;
+  private final CompiledBlock[][] cache; // [バンク番号][バンク内オフセット]
+
+  BlockCompiler(MemoryBus bus, Cartridge cartridge) {
+    this.bus = bus;
+    this.cartridge = cartridge;
+    int bankCount = Math.max(2, (cartridge.rom.size() + BANK_SIZE - 1) / BANK_SIZE);
+    this.cache = new CompiledBlock[bankCount][];
+  }
+
+  // MARK: lookup
+  // 指定したPCから始まるブロックを返す (変換できない場合は null)
+  CompiledBlock lookup(int pc) {
+    if (pc > 0x7FFF) return null; // RAM上のコードはインタプリタにフォールバック
+
+    int offset = this.cartridge.getRomOffset(pc);
+    int bank = offset / BANK_SIZE;
+    if (offset < 0 || bank >= this.cache.length) return null;
+
+    CompiledBlock[] blocks = this.cache[bank];
+    if (blocks == null) {
+      blocks = new CompiledBlock[BANK_SIZE];
+      this.cache[bank] = blocks;
+    }
+
+    CompiledBlock block = blocks[offset % BANK_SIZE];
+    if (block == null) {
+      block = compile(pc);
+      blocks[offset % BANK_SIZE] = block;
+    }
+    return (block == CompiledBlock.UNCOMPILABLE) ? null : block;
+  }
+
+  // MARK: compile
+  private CompiledBlock compile(int pc) {
+    Instruction[] instructions = new Instruction[MAX_BLOCK_INSTRUCTIONS];
+    InstructionHandler[] handlers = new InstructionHandler[MAX_BLOCK_INSTRUCTIONS];
+    int regionEnd = pc | (BANK_SIZE - 1); // ブロックは16KBの領域をまたがない
+    int address = pc;
+    int cycles = 0;
+    int count = 0;
+
+    while (count < MAX_BLOCK_INSTRUCTIONS) {
+      int instructionByte = this.bus.readByte(address);
+      boolean isPrefixed = instructionByte == 0xCB;
+      if (isPrefixed) {
+        if (address + 1 > regionEnd) break;
+        instructionByte = this.bus.readByte(address + 1);
+      }
+
+      Instruction instruction = Instruction.decode(instructionByte, isPrefixed);
+      if (instruction == null) break; // 未定義命令はインタプリタに任せる
+      if (address + instruction.getLength() - 1 > regionEnd) break;
+      if (count > 0 && cycles + instruction.getCycles(true) > MAX_BLOCK_CYCLES) break;
+
+      instructions[count] = instruction;
+      handlers[count] = DispatchTable.handler(instructionByte, isPrefixed);
+      count++;
+      cycles += instruction.getCycles(true);
+      address += instruction.getLength();
+
+      if (endsBlock(instruction.getType())) break;
+    }
+
+    if (count == 0) return CompiledBlock.UNCOMPILABLE;
+    return new CompiledBlock(pc, count, instructions, handlers);
+  }
+
+  // 分岐・割り込み状態の変更・停止を伴う命令でブロックを終える
+  private static boolean endsBlock(InstructionType type) {
+    switch (type) {
+      case JP:
+      case JPHL:
+      case JR:
+      case CALL:
+      case RET:
+      case RETI:
+      case RST:
+      case HALT:
+      case STOP:
+      case DI:
+      case EI:
+        return true;
+      default:
+        return false;
+    }
+  }
+}
+
+// MARK: 変換済みブロック
+final class CompiledBlock {
+  static final CompiledBlock UNCOMPILABLE = new CompiledBlock(-1, 0, new Instruction[0], new InstructionHandler[0]);
+
+  final int startPc;
+  final int length; // 命令数
+  final Instruction[] instructions; // バイト長・サイクル数の参照用
+  final InstructionHandler[] handlers;
+
+  CompiledBlock(int startPc, int length, Instruction[] instructions, InstructionHandler[] handlers) {
+    this.startPc = startPc;
+    this.length = length;
+    this.instructions = instructions;
+    this.handlers = handlers;
+  }
+}
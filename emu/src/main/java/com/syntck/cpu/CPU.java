@@ -2,9 +2,11 @@ package com.syntck.cpu;
 
 import static com.syntck.Functions.*;
 
-import com.syntck.Functions.OverflowingResult;
+import com.syntck.interrupt.InterruptController;
 import com.syntck.memory.MemoryBus;
 import com.syntck.ppu.PPUInterrupt;
+import com.syntck.scheduler.Event;
+import com.syntck.scheduler.Scheduler;
 import com.syntck.cartridge.Cartridge;
 
 public class CPU {
@@ -13,39 +15,58 @@ public class CPU {
   public int pc; // プログラムカウンタ
   public int sp; // スタックポインタ
   public int cycles; // サイクル数
-  public int clockSelect; // クロック選択
-  public int timerCounter; // タイマーカウンタ
-  private int divCounter; // DIVカウンタ
   public boolean interruptMasterEnable; // 割り込み許可フラグ
-  private int eiCount;
-  private boolean halted; // HALTフラグ
+  int eiCount;
+  boolean halted; // HALTフラグ
   public boolean debug = false;
+  private final ExecutionEngine engine; // 命令の実行方式
+  private final BlockCompiler blocks; // 変換済みブロックのキャッシュ (RECOMPILER以外では null)
+  private final Scheduler scheduler; // イベントスケジューラ (bus.scheduler)
+  private final InterruptController interrupts; // IF / IE (bus.interrupts)
+  private long graphicsSyncedAt; // PPUを最後に進めた時刻
+  private final IdleLoopDetector idleLoops; // ビジーループの検出と早送り
 
   // テスト用
   public CPU() {
+    this(ExecutionEngine.fromSystemProperty());
+  }
+
+  public CPU(ExecutionEngine engine) {
+    this.engine = engine;
+    this.blocks = null; // カートリッジがないためブロック変換は行わない
     this.registers = new Registers();
     this.registers.clear();
     this.bus = new MemoryBus(this, null); // Cartridgeはnullで初期化
     this.bus.clear();
+    this.scheduler = this.bus.scheduler;
+    this.interrupts = this.bus.interrupts;
     this.pc = 0x0000; // プログラムカウンタの初期値
     this.sp = 0xFFFF; // スタックポインタの初期値
-    this.clockSelect = 0; // クロック選択の初期値
     this.interruptMasterEnable = true;
     this.eiCount = 0;
     this.halted = false;
+    this.idleLoops = new IdleLoopDetector(this);
+    syncGraphics(); // 最初のPPUイベントをスケジュールする
   }
 
   public CPU(Cartridge cartridge) {
+    this(cartridge, ExecutionEngine.fromSystemProperty());
+  }
+
+  public CPU(Cartridge cartridge, ExecutionEngine engine) {
+    this.engine = engine;
     this.registers = new Registers();
     this.bus = new MemoryBus(this, cartridge);
+    this.blocks = (engine == ExecutionEngine.RECOMPILER && cartridge != null) ? new BlockCompiler(this.bus, cartridge) : null;
+    this.scheduler = this.bus.scheduler;
+    this.interrupts = this.bus.interrupts;
     this.pc = 0x0100; // プログラムカウンタの初期値
     this.sp = 0xFFFE; // スタックポインタの初期値
-    this.timerCounter = 0;
-    this.divCounter = 0;
-    this.clockSelect = 0; // クロック選択の初期値
     this.interruptMasterEnable = true;
     this.eiCount = 0;
     this.halted = false;
+    this.idleLoops = new IdleLoopDetector(this);
+    syncGraphics(); // 最初のPPUイベントをスケジュールする
 
     this.bus.writeByte(0xFF50, 1);
   }
@@ -59,6 +80,14 @@ public class CPU {
     return this.halted;
   }
 
+  public ExecutionEngine getEngine() {
+    return this.engine;
+  }
+
+  public IdleLoopDetector getIdleLoopDetector() {
+    return this.idleLoops;
+  }
+
   // MARK: 命令の実行
   // 引数に与えられた命令を実行し、次のPCを返す
   boolean execute(Instruction instruction) throws IllegalArgumentException {
@@ -94,7 +123,7 @@ public class CPU {
         // キャリーを考慮してレジスタAに加算を行う命令
         ArithmeticTarget target = instruction.getArithmeticTarget();
         int value = getValueForArithmeticTarget(target);
-        int carryValue = this.registers.f.carry ? 1 : 0;
+        int carryValue = this.registers.carryBit();
         int newValue = addWithCarry(value, carryValue);
         this.registers.a = newValue;
         return true;
@@ -114,7 +143,7 @@ public class CPU {
         // キャリーを考慮してレジスタAから引き算を行う命令
         ArithmeticTarget target = instruction.getArithmeticTarget();
         int value = getValueForArithmeticTarget(target);
-        int carryValue = this.registers.f.carry ? 1 : 0;
+        int carryValue = this.registers.carryBit();
         int newValue = subtractWithCarry(value, carryValue);
         this.registers.a = newValue;
         return true;
@@ -201,25 +230,21 @@ public class CPU {
       // MARK: CCF, SCF, CPL
       case CCF: {
         // Cフラグを反転させる命令
-        this.registers.f.carry = !this.registers.f.carry;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = false;
+        int flags = this.registers.get_f();
+        this.registers.set_f((flags & Registers.ZERO_FLAG) | ((flags & Registers.CARRY_FLAG) ^ Registers.CARRY_FLAG));
         return true;
       }
       
       case SCF: {
         // Cフラグをセットする命令
-        this.registers.f.carry = true;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = false;
+        this.registers.set_f((this.registers.get_f() & Registers.ZERO_FLAG) | Registers.CARRY_FLAG);
         return true;
       }
       
       case CPL: {
         // レジスタAの値を反転させる命令
         this.registers.a = (~this.registers.a) & 0xFF;
-        this.registers.f.subtract = true;
-        this.registers.f.halfCarry = true;
+        this.registers.set_f(this.registers.get_f() | Registers.SUBTRACT_FLAG | Registers.HALF_CARRY_FLAG);
         return true;
       }
 
@@ -229,11 +254,7 @@ public class CPU {
         BitPosition bitPos = instruction.getBitPosition();
         RotateTarget target = instruction.getRotateTarget();
         int value = getValueForRotateTarget(target);
-        int bitNumber = getBitNumber(bitPos);
-        boolean bitValue = (value & (1 << bitNumber)) != 0;
-        this.registers.f.zero = !bitValue;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = true;
+        bit(getBitNumber(bitPos), value);
         return true;
       }
 
@@ -267,74 +288,36 @@ public class CPU {
         // 指定されたレジスタ(operand1)の上位4ビットと下位4ビットを入れ替える命令
         RotateTarget target = instruction.getRotateTarget();
         int value = getValueForRotateTarget(target);
-        int high = (value & 0xF0) >> 4;
-        int low = (value & 0x0F);
-        int result = (low << 4) | high;
-        this.registers.f.zero = result == 0;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = false;
-        this.registers.f.carry = false;
-        setValueForRotateTarget(target, result);
+        setValueForRotateTarget(target, swap(value));
         return true;
       }
 
       // MARK: RLA, RRA, RLCA, RRCA
       case RLA: {
         // レジスタAを左に回転させる命令 (元のCフラグが回転後の1ビット目に入る)
-        RotateTarget target = RotateTarget.A;
-        int value = getValueForRotateTarget(target);
-        boolean currentCflag = this.registers.f.carry;
-        this.registers.f.carry = ((value & 0x80) != 0);
-        value = (value << 1) & 0xFF;
-        int result = value | (currentCflag ? 0x01 : 0);
-        this.registers.f.zero = false;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = false;
-        setValueForRotateTarget(target, result);
+        this.registers.a = rotateLeft(this.registers.a);
+        this.registers.set_f(this.registers.get_f() & ~Registers.ZERO_FLAG);
         return true;
       }
 
       case RLCA: {
         // レジスタAを左に回転させる命令 (Cフラグ関係なくAを回転してCフラグを判定)
-        RotateTarget target = RotateTarget.A;
-        int value = getValueForRotateTarget(target);
-        boolean msb = (value & 0x80) != 0;
-        int result = ((value << 1) | (msb ? 0x01 : 0)) & 0xFF;
-        this.registers.f.zero = false;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = false;
-        this.registers.f.carry = msb;
-        setValueForRotateTarget(target, result);
+        this.registers.a = rotateLeftCircular(this.registers.a);
+        this.registers.set_f(this.registers.get_f() & ~Registers.ZERO_FLAG);
         return true;
       }
 
       case RRA: {
         // レジスタAを右に回転させる命令 (元のCフラグが回転後の8ビット目に入る)
-        RotateTarget target = RotateTarget.A;
-        int value = getValueForRotateTarget(target);
-        value = (this.registers.a >> 1) & 0xFF;
-        if (this.registers.f.carry) {
-          value |= 0x80; // キャリーがセットされている場合、MSBを1にする
-        }
-        this.registers.f.zero = false;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = false;
-        this.registers.f.carry = (this.registers.a & 0x01) != 0;
-        setValueForRotateTarget(target, value);
+        this.registers.a = rotateRight(this.registers.a);
+        this.registers.set_f(this.registers.get_f() & ~Registers.ZERO_FLAG);
         return true;
       }
 
       case RRCA: {
         // レジスタAを右に回転させる命令 (Cフラグ関係なくAを回転してCフラグを判定)
-        RotateTarget target = RotateTarget.A;
-        int value = getValueForRotateTarget(target);
-        boolean lsb = (value & 0x01) != 0;
-        int result = ((value >> 1) | (lsb ? 0x80 : 0)) & 0xFF;
-        this.registers.f.zero = false;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = false;
-        this.registers.f.carry = lsb;
-        setValueForRotateTarget(target, result);
+        this.registers.a = rotateRightCircular(this.registers.a);
+        this.registers.set_f(this.registers.get_f() & ~Registers.ZERO_FLAG);
         return true;
       }
 
@@ -343,14 +326,7 @@ public class CPU {
         // 指定されたレジスタ(operand1)を左に回転させる命令 (元のCフラグが回転後の1ビット目に入る)
         RotateTarget target = instruction.getRotateTarget();
         int value = getValueForRotateTarget(target);
-        boolean currentCflag = this.registers.f.carry;
-        this.registers.f.carry = ((value & 0x80) != 0);
-        value = (value << 1) & 0xFF;
-        int result = value | (currentCflag ? 0x01 : 0);
-        this.registers.f.zero = result == 0;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = false;
-        setValueForRotateTarget(target, result);
+        setValueForRotateTarget(target, rotateLeft(value));
         return true;
       }
 
@@ -358,13 +334,7 @@ public class CPU {
         // 指定されたレジスタ(operand1)を左に回転させる命令 (Cフラグ関係なくAを回転してCフラグを判定)
         RotateTarget target = instruction.getRotateTarget();
         int value = getValueForRotateTarget(target);
-        boolean msb = (value & 0x80) != 0;
-        int result = ((value << 1) | (msb ? 0x01 : 0)) & 0xFF;
-        this.registers.f.zero = result == 0;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = false;
-        this.registers.f.carry = msb;
-        setValueForRotateTarget(target, result);
+        setValueForRotateTarget(target, rotateLeftCircular(value));
         return true;
       }
 
@@ -372,16 +342,7 @@ public class CPU {
         // 指定されたレジスタ(operand1)を右に回転させる命令 (元のCフラグが回転後の8ビット目に入る)
         RotateTarget target = instruction.getRotateTarget();
         int value = getValueForRotateTarget(target);
-        boolean nextCflag = (value & 0x01) != 0;
-        value = (value >> 1) & 0xFF;
-        if (this.registers.f.carry) {
-          value |= 0x80; // キャリーがセットされている場合、MSBを1にする
-        }
-        this.registers.f.zero = value == 0;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = false;
-        this.registers.f.carry = nextCflag;
-        setValueForRotateTarget(target, value);
+        setValueForRotateTarget(target, rotateRight(value));
         return true;
       }
 
@@ -389,13 +350,7 @@ public class CPU {
         // 指定されたレジスタ(operand1)を右に回転させる命令 (Cフラグ関係なくAを回転してCフラグを判定)
         RotateTarget target = instruction.getRotateTarget();
         int value = getValueForRotateTarget(target);
-        boolean lsb = (value & 0x01) != 0;
-        int result = (((value >> 1) & 0x7F)| (lsb ? 0x80 : 0));
-        this.registers.f.zero = result == 0;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = false;
-        this.registers.f.carry = lsb;
-        setValueForRotateTarget(target, result);
+        setValueForRotateTarget(target, rotateRightCircular(value));
         return true;
       }
 
@@ -404,13 +359,7 @@ public class CPU {
         // 指定されたレジスタ(operand1)を左に論理シフトする命令
         RotateTarget target = instruction.getRotateTarget();
         int value = getValueForRotateTarget(target);
-        boolean msb = (value & 0x80) != 0;
-        int result = (value << 1) & 0xFF;
-        this.registers.f.zero = result == 0;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = false;
-        this.registers.f.carry = msb;
-        setValueForRotateTarget(target, result);
+        setValueForRotateTarget(target, shiftLeftArithmetic(value));
         return true;
       }
 
@@ -418,15 +367,7 @@ public class CPU {
         // 指定されたレジスタ(operand1)を右に算術シフトする命令 (負の値にも対応する)
         RotateTarget target = instruction.getRotateTarget();
         int value = getValueForRotateTarget(target);
-        boolean msb = (value & 0x80) != 0;
-        boolean lsb = (value & 0x01) != 0;
-        int result = (value >> 1) & 0xFF;
-        result |= msb ? 0x80 : 0;
-        this.registers.f.zero = result == 0;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = false;
-        this.registers.f.carry = lsb;
-        setValueForRotateTarget(target, result);
+        setValueForRotateTarget(target, shiftRightArithmetic(value));
         return true;
       }
 
@@ -434,50 +375,14 @@ public class CPU {
         // 指定されたレジスタ(operand1)を右に論理シフトする命令 (符号ビットは考慮しない)
         RotateTarget target = instruction.getRotateTarget();
         int value = getValueForRotateTarget(target);
-        boolean lsb = (value & 0x01) != 0;
-        int result = (value >> 1) & 0xFF;
-        this.registers.f.zero = result == 0;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = false;
-        this.registers.f.carry = lsb;
-        setValueForRotateTarget(target, result);
+        setValueForRotateTarget(target, shiftRightLogical(value));
         return true;
       }
 
       // MARK: DAA
       case DAA: {
         // DAA命令はBCD補正を行う命令
-        // レジスタAの値をBCD形式に変換するために、フラグレジスタの状態に基づいて調整を行う
-        int a = this.registers.a;
-        boolean carry = this.registers.f.carry;
-        boolean halfCarry = this.registers.f.halfCarry;
-        boolean subtract = this.registers.f.subtract;
-
-        if (!subtract) {
-          // after an addition, adjust if (half-)carry occurred or if result is out of bounds
-          if (carry || a > 0x99) {
-            a = (a + 0x60) & 0xFF;
-            carry = true;
-          }
-          if (halfCarry || (a & 0x0F) > 0x09) {
-            a = (a + 0x06) & 0xFF;
-          }
-        } else {
-          // after a subtraction, only adjust if (half-)carry occurred
-          if (carry) {
-            a = (a - 0x60) & 0xFF;
-          }
-          if (halfCarry) {
-            a = (a - 0x06) & 0xFF;
-          }
-        }
-
-        this.registers.a = a;
-        this.registers.f.zero = a == 0;
-        // subtract flag remains unchanged
-        this.registers.f.halfCarry = false;
-        this.registers.f.carry = carry;
-
+        decimalAdjust();
         return true;
       }
 
@@ -522,10 +427,7 @@ public class CPU {
 
       case LDHL: {
         int r8 = readNextByte();
-        this.registers.f.zero = false;
-        this.registers.f.subtract = false;
-        this.registers.f.halfCarry = ((this.sp & 0x0F) + (r8 & 0x0F)) > 0x0F;
-        this.registers.f.carry = ((this.sp & 0xFF) + (r8 & 0xFF)) > 0xFF;
+        this.registers.setFlags(false, false, ((this.sp & 0x0F) + (r8 & 0x0F)) > 0x0F, ((this.sp & 0xFF) + (r8 & 0xFF)) > 0xFF);
         if (r8 > 127) r8 = r8 - 256; // 符号付き8ビットに変換
         int result = this.sp + r8;
         this.registers.set_hl(result & 0xFFFF);
@@ -547,7 +449,7 @@ public class CPU {
             value = this.registers.get_hl();
             break;
           case AF:
-            value = (this.registers.a << 8) | FlagsRegister.convertToByte(this.registers.f);
+            value = this.registers.get_af();
             break;
           default:
             throw new IllegalArgumentException("Invalid stack target");
@@ -573,10 +475,6 @@ public class CPU {
           case AF:
             // POP AF はフラグを書き換える
             this.registers.set_af(value);
-            this.registers.f.zero = (value & 0x80) != 0;
-            this.registers.f.subtract = (value & 0x40) != 0;
-            this.registers.f.halfCarry = (value & 0x20) != 0;
-            this.registers.f.carry = (value & 0x10) != 0;
             break;
           default:
             throw new IllegalArgumentException("Invalid stack target");
@@ -664,12 +562,17 @@ public class CPU {
       if (this.eiCount == 0) this.interruptMasterEnable = true;
     }
 
-    // if (this.halted) {
-    //   updateTimers(4);
-    //   updateGraphics(4);
-    //   handleInterrupts();
-    //   return;
-    // }
+    // HALT中は命令を読まずに、次に起床し得るイベントまで時間を進める
+    if (this.halted) {
+      this.scheduler.advance(cyclesUntilWakeUp());
+      if (this.scheduler.isDue()) runEvents();
+      handleInterrupts();
+      return;
+    }
+
+    // 変換済みのブロックがあればまとめて実行する
+    // DMA転送中はROMを読めないため、インタプリタで実行する
+    if (this.blocks != null && !this.debug && !this.bus.dma.isActive() && runBlock()) return;
     
     // プログラムカウンタから命令を取得
     int instructionByte = this.bus.readByte(this.pc);
@@ -685,164 +588,140 @@ public class CPU {
     // if (this.pc == 0xC2B5) this.debug = true;
     
     // 命令をデコード
-    Instruction instruction = Instruction.fromByte(instructionByte, isPrefixed);
+    Instruction instruction = Instruction.decode(instructionByte, isPrefixed);
     if (this.debug) System.out.println(String.format("$%04X: ", this.pc) + " OP: " + (isPrefixed ? "0xCB" : "0x") + String.format("%02X", instructionByte) + "(" + instruction.getType() + ") " + (instruction.operand0) + " " + (instruction.operand1) + " IME: " + this.interruptMasterEnable);
+    if (this.debug) this.registers.storeFlagsView();
     if (this.debug) this.registers.f.dump();
     if (this.debug) System.out.println(String.format("af= %04X, bc= %04X, de= %04X, hl= %04X, sp= $%04X: %04X, pc= %04X", this.registers.get_af(), this.registers.get_bc(), this.registers.get_de(), this.registers.get_hl(), this.sp, this.bus.readWord(this.sp), this.pc));
     if (this.debug) System.out.println();
 
-    if (instruction != null && instruction.isValid() && !this.halted) {
+    if (instruction != null && instruction.isValid()) {
       // 命令を実行，実行されたかどうかを取得 (CALL / JR / RET など)
-      boolean condition = execute(instruction);
-      this.pc = wrappingAdd16(this.pc, InstructionLengthUtil.getInstructionLength(instructionByte, isPrefixed));
-
-      int cycles = InstructionLengthUtil.getInstructionCycles(instructionByte, isPrefixed, condition);
-
-      updateTimers(cycles);
-      updateGraphics(cycles);
+      int instructionPc = this.pc;
+      boolean condition = (this.engine == ExecutionEngine.SWITCH)
+        ? execute(instruction)
+        : DispatchTable.handler(instructionByte, isPrefixed).execute(this);
+      this.pc = wrappingAdd16(this.pc, instruction.getLength());
+
+      int cycles = instruction.getCycles(condition);
+
+      // 期限が来たイベント (PPU / タイマー) があるときだけ処理する
+      this.scheduler.advance(cycles);
+      if (this.pc <= instructionPc && isJump(instruction)) this.idleLoops.onBackwardJump(instructionPc);
+      if (this.scheduler.isDue()) runEvents();
       handleInterrupts();
 
       // Logging
       // if (this.debug) System.out.println(String.format("PC: 0x%04X -> 0x%04X", prevPC, this.pc) + String.format(" SP updated: 0x%4X", this.sp) + " Cycles: " + cycles + "\n");
       // if (this.debug) this.registers.f.dump();
 
-    } else if (this.halted) {
-      updateTimers(4);
-      updateGraphics(4);
-      handleInterrupts();
     } else {
       // Handle invalid instruction
       throw new IllegalArgumentException("Invalid instruction: " + String.format("%02X", instructionByte) + " isPrefixed: " + isPrefixed);
     }
   }
 
-  // MARK: updateGraphics
-  private void updateGraphics(int cycles) {
-    PPUInterrupt interrupt = this.bus.gpu.update(cycles);
-
-    switch (interrupt) {
-      case VBLANK:
-        requestInterrupt(0x01); // V-Blank割り込み要求（ビット0）
-        break;
-      case LCD:
-        requestInterrupt(0x02); // LCD [LYC=LY割り込み要求]（ビット1）
-        break;
-      default:
-        break;
+  // MARK: runBlock
+  // PCから始まる変換済みブロックを実行する (ブロックがない場合は false を返す)
+  // 1命令ごとにイベントの期限と割り込み要求を確認してブロックを抜けるため、イベントと割り込みはインタプリタと同じサイクルで処理される
+  private boolean runBlock() {
+    CompiledBlock block = this.blocks.lookup(this.pc);
+    if (block == null) return false;
+
+    int bankSwitchCount = this.bus.bankSwitchCount;
+    int instructionPc = this.pc;
+    Instruction instruction = null;
+    for (int i = 0; i < block.length; i++) {
+      instruction = block.instructions[i];
+      instructionPc = this.pc;
+      boolean condition = block.handlers[i].execute(this);
+      this.pc = wrappingAdd16(this.pc, instruction.getLength());
+      this.scheduler.advance(instruction.getCycles(condition));
+
+      // バンクが切り替わった場合、以降の命令は別のコードを指している可能性がある
+      if (this.bus.bankSwitchCount != bankSwitchCount) break;
+      // イベントの期限が来た場合は、ブロックの途中でもイベントを処理する
+      if (this.scheduler.isDue()) break;
+      // IE / IF やLCDCへの書き込みで割り込みが要求された場合も、インタプリタと同じくこの命令の直後に処理する
+      if (this.interruptMasterEnable && this.interrupts.getPending() != 0) break;
     }
-    // if (this.bus.gpu.update(cycles)) {
-    //     requestInterrupt(0x00); // V-Blank割り込み要求（ビット0）
-    // }
-    // if (this.bus.gpu.ly == this.bus.gpu.lyc) {
-    //   requestInterrupt(0x01); // LCD [LYC=LY割り込み要求]（ビット1）
-    // }
-  }
 
-  // MARK: requestInterrupt
-  private void requestInterrupt(int id) {
-    int req = this.bus.readByte(0xFF0F);
-    req |= id; // 割り込み要求をセット
-    // if (req != 1) System.out.println("* Interrupt requested: " + req + " pc: " + String.format("$%04X", this.pc));
-    this.bus.writeByte(0xFF0F, req); // 割り込み要求を更新
+    if (instruction != null && this.pc <= instructionPc && isJump(instruction)) this.idleLoops.onBackwardJump(instructionPc);
+    if (this.scheduler.isDue()) runEvents();
+    handleInterrupts();
+    return true;
   }
 
-  // MARK: handleDivRegister
-  private void handleDivRegister(int cycles) {
-    this.divCounter += cycles;
-
-    if (this.divCounter >= 0xFF) {
-      this.divCounter -= 0xFF;
-      // 0xFF04 に writeByte することができないため
-      this.bus.memory[0xFF04] = wrappingAdd(this.bus.memory[0xFF04], 1); // DIVレジスタをインクリメント
-    }
+  private static boolean isJump(Instruction instruction) {
+    InstructionType type = instruction.getType();
+    return type == InstructionType.JR || type == InstructionType.JP;
   }
 
-  // MARK: updateTimers
-  private void updateTimers(int cycles) {
-    final int CPU_CLOCK = 4194304; // 4194304Hz
-    handleDivRegister(cycles);
+  // MARK: cyclesUntilWakeUp
+  // HALT中に進めるサイクル数
+  // 割り込みを発生させられるのはスケジュールされたイベント (PPU / タイマー) だけなので、
+  // 4サイクルずつ進めた場合に最初に期限を過ぎる時刻まで一度に進めても結果は変わらない
+  private int cyclesUntilWakeUp() {
+    // すでに有効な割り込み要求がある場合は、すぐに起床する
+    if (this.interrupts.getPending() != 0) return 4;
 
-    int tac = this.bus.readByte(0xFF07); // Timer Control
-    
-    int clockSelect = tac & 0x03;
-    int clockDivider;
-    
-    // 正確なタイマーの速度設定
-    switch (clockSelect) {
-      case 0x00:
-      clockDivider = CPU_CLOCK / 4096; // 4096Hz
-      break;
-      case 0x01:
-      clockDivider = CPU_CLOCK / 262144; // 262144Hz
-      break;
-      case 0x02:
-      clockDivider = CPU_CLOCK / 65536; // 65536Hz
-      break;
-      case 0x03:
-      clockDivider = CPU_CLOCK / 16384; // 16384Hz
-      break;
-      default:
-      throw new IllegalArgumentException("Invalid clock select: " + clockSelect);
-    }
-    
-    // タイマーコントロール
-    if (this.clockSelect != clockSelect) {
-      this.timerCounter = 0;
-      this.clockSelect = clockSelect;
-    }
-    
-    if ((tac & 0x04) == 0) return; // タイマー停止時は処理しない
+    long deadline = this.scheduler.getNextDeadline();
+    if (deadline == Scheduler.NEVER) return 4; // 起床し得るイベントがない
 
-    this.timerCounter += cycles;
+    long remaining = deadline - this.scheduler.now();
+    if (remaining <= 4) return 4;
+    return (int) Math.min((remaining + 3) & ~3L, Integer.MAX_VALUE & ~3); // 4サイクル単位に切り上げる
+  }
 
-    if (this.timerCounter < clockDivider) return;
-    this.timerCounter -= clockDivider;
+  // MARK: runEvents
+  // 期限が来たイベントをすべて処理する
+  private void runEvents() {
+    this.idleLoops.reset(); // イベントで入力が変わる可能性がある
+    Event event;
+    while ((event = this.scheduler.poll()) != null) {
+      switch (event) {
+        case PPU:
+          syncGraphics();
+          break;
+        case TIMER:
+          this.bus.timer.update();
+          break;
+        case DMA:
+          this.bus.dma.update();
+          break;
+        default:
+          throw new IllegalStateException("Unknown event: " + event);
+      }
+    }
+  }
 
-    int tima = this.bus.readByte(0xFF05);
-    if (tima == 255) {
-      int tma = this.bus.readByte(0xFF06);
-      this.bus.writeByte(0xFF05, tma);
-      requestInterrupt(0x04); // タイマー割り込み
+  // MARK: syncGraphics
+  // 前回から経過したサイクル数だけPPUを進め、次のモード変化をスケジュールする
+  public void syncGraphics() {
+    long now = this.scheduler.now();
+    int interrupts = this.bus.gpu.update((int) (now - this.graphicsSyncedAt));
+    this.graphicsSyncedAt = now;
+    if (interrupts != 0) requestInterrupt(interrupts); // V-Blank（ビット0） / LCD（ビット1）
+    if ((interrupts & PPUInterrupt.VBLANK.bit) != 0) this.idleLoops.endFrame(); // フレーム単位の統計を締める
+
+    int next = this.bus.gpu.cyclesUntilNextEvent();
+    if (next < 0) {
+      this.scheduler.cancel(Event.PPU); // LCDが無効な間はイベントを発生させない
     } else {
-      this.bus.writeByte(0xFF05, (tima + 1) & 0xFF);
+      this.scheduler.schedule(Event.PPU, now + next);
     }
+  }
 
-    // let tima = self.bus.read_byte(0xFF05);
-    // if tima == 255 {
-    //     let tma = self.bus.read_byte(0xFF06);
-    //     self.bus.write_byte(0xFF05, tma);
-    //     self.request_interrupt(2);
-    // } else {
-    //     self.bus.write_byte(0xFF05, tima + 1);
-    // }
-
-
-    // while (this.timerCounter >= clockDivider) {
-    //     this.timerCounter -= clockDivider;
-    //     int tima = this.bus.readByte(0xFF05);
-
-    //     // TIMAをインクリメント
-    //     tima = (tima + 1) & 0xFF;
-
-    //     if (tima == 0) {
-    //         // オーバーフロー発生
-    //         int tma = this.bus.readByte(0xFF06); // リロード値
-    //         this.bus.writeByte(0xFF05, tma);     // TIMAをリセット
-
-    //         // タイマー割り込み要求（ビット2）
-    //         requestInterrupt(0x04);
-    //     } else {
-    //         this.bus.writeByte(0xFF05, tima);
-    //     }
-    // }
+  // MARK: requestInterrupt
+  private void requestInterrupt(int id) {
+    this.interrupts.request(id);
   }
 
   private void serviceInterrupt(int interrupt) {
+    this.idleLoops.reset();
     this.interruptMasterEnable = false;
     this.eiCount = 0;
-    int request = this.bus.readByte(0xFF0F);
-    int mask = ( 0x01 << interrupt);
-    this.bus.writeByte(0xFF0F, request & ~mask);
+    this.interrupts.acknowledge(0x01 << interrupt);
 
     push(this.pc);
 
@@ -869,51 +748,42 @@ public class CPU {
 
   // MARK: handleInterrupts
   private void handleInterrupts() {
-    // 割り込み要求と有効フラグを取得
-    int request = this.bus.readByte(0xFF0F);
-    int enabled = this.bus.readByte(0xFFFF);
+    // 要求されていて、かつ有効な割り込みがなければ何もしない (ほとんどの命令はここで終わる)
+    int pending = this.interrupts.getPending();
+    if (pending == 0) return;
 
     // 有効な割り込みがある場合のみHALT解除
-    if ((request & enabled) != 0) {
-        this.halted = false;
-    }
+    this.halted = false;
 
     if (!this.interruptMasterEnable) return;
 
-    // 割り込み処理
-    for (int i = 0; i < 5; i++) {
-      int interruptBit = (0x01 << i);
-
-      if ((request & interruptBit) != 0 && (enabled & interruptBit) != 0) {
-        serviceInterrupt(i);
-        break;
-      }
-    }
+    // 優先度はビット0 (V-Blank) が最も高い
+    serviceInterrupt(Integer.numberOfTrailingZeros(pending));
   }
 
   // MARK: *** 命令関数 ***
 
   // MARK: add()
   int addA(int value) {
-    OverflowingResult result = overflowingAdd(this.registers.a, value);
-
-    this.registers.f.zero = result.value == 0x00;
-    this.registers.f.subtract = false;
-    this.registers.f.halfCarry = ((this.registers.a & 0x0F) + (value & 0x0F)) > 0x0F;
-    this.registers.f.carry = result.overflow;
-    return result.value;
+    // フラグは結果とオペランドから必要になった時に計算する
+    int result = packedAdd(this.registers.a, value);
+    this.registers.deferAddFlags(this.registers.a, value, result);
+    return packedValue(result);
   }
 
   int addHL(int value) {
     int hl = this.registers.get_hl();
-    int result = overflowingAdd16(hl, value).value;
-    boolean overflow = overflowingAdd16(hl, value).overflow;
+    int packed = packedAdd16(hl, value);
+    int result = packedValue16(packed);
+    boolean overflow = packedCarry16(packed);
 
     // System.out.println("ADDHL: " + "" + String.format("$%04X", hl) + " + " + String.format("$%04X", value) + " = " + String.format("$%04X", result) + ", overflow: " + overflow);
 
-    this.registers.f.subtract = false;
-    this.registers.f.halfCarry = ((hl & 0x0FFF) + (value & 0x0FFF)) > 0x0FFF;
-    this.registers.f.carry = overflow;
+    // Zフラグは変化しない
+    int flags = this.registers.get_f() & Registers.ZERO_FLAG;
+    if (((hl & 0x0FFF) + (value & 0x0FFF)) > 0x0FFF) flags |= Registers.HALF_CARRY_FLAG;
+    if (overflow) flags |= Registers.CARRY_FLAG;
+    this.registers.set_f(flags);
 
     // System.out.println("Z: " + this.registers.f.zero + ", N: " + this.registers.f.subtract + ", H: " + this.registers.f.halfCarry + ", C: " + this.registers.f.carry);
 
@@ -925,98 +795,181 @@ public class CPU {
     int result = (this.sp + value) & 0xFFFF;
 
     // フラグを設定（zeroとsubtractはADDSP命令では常にfalse）
-    this.registers.f.zero = false;
-    this.registers.f.subtract = false;
-    this.registers.f.halfCarry = (this.sp & 0x0F) + (value & 0x0F) > 0x0F;
-    this.registers.f.carry = (this.sp & 0xFF) + (value & 0xFF) > 0xFF;
+    this.registers.setFlags(false, false, (this.sp & 0x0F) + (value & 0x0F) > 0x0F, (this.sp & 0xFF) + (value & 0xFF) > 0xFF);
 
     return result;
   }
 
   int addWithCarry(int value, int carry) {
     // キャリーを含めて一度に計算
-    int result = this.registers.a + value + carry;
+    int result = packedAddWithCarry(this.registers.a, value, carry);
     
-    // フラグ設定
-    this.registers.f.zero = (result & 0xFF) == 0;
-    this.registers.f.subtract = false;
-    this.registers.f.halfCarry = ((this.registers.a & 0x0F) + (value & 0x0F) + carry) > 0x0F;
-    this.registers.f.carry = result > 0xFF;
+    // フラグ設定 (遅延評価)
+    this.registers.deferAddFlags(this.registers.a, value, result);
     
-    return result & 0xFF;
+    return packedValue(result);
   }
   
   // MARK: subtract()
   int subtract(int value) {
-    this.registers.f.zero = this.registers.a == value;
-    this.registers.f.subtract = true;
-    this.registers.f.halfCarry = (this.registers.a & 0x0F) < (value & 0x0F);
-    this.registers.f.carry = this.registers.a < value;
-    return (this.registers.a - value) & 0xFF;
+    int result = packedSub(this.registers.a, value);
+    this.registers.deferSubtractFlags(this.registers.a, value, result);
+    return packedValue(result);
   }
   
   int subtractWithCarry(int value, int carry) {
-    int total = this.registers.a - value - carry;
-    this.registers.f.zero = (total & 0xFF) == 0;
-    this.registers.f.subtract = true;
-    this.registers.f.halfCarry = ((this.registers.a & 0x0F) - (value & 0x0F) - carry) < 0;
-    this.registers.f.carry = total < 0;
-    return total & 0xFF;
+    int total = packedSubWithCarry(this.registers.a, value, carry);
+    this.registers.deferSubtractFlags(this.registers.a, value, total);
+    return packedValue(total);
   }
   
   // MARK: bitwise operations
   int and(int value) {
     int result = this.registers.a & value;
-    this.registers.f.zero = result == 0;
-    this.registers.f.subtract = false;
-    this.registers.f.halfCarry = true;
-    this.registers.f.carry = false;
+    this.registers.set_f((result == 0 ? Registers.ZERO_FLAG : 0) | Registers.HALF_CARRY_FLAG);
     return result;
   }
   
   int or(int value) {
     int result = this.registers.a | value;
-    this.registers.f.zero = (result & 0xFF) == 0x00;
-    this.registers.f.subtract = false;
-    this.registers.f.halfCarry = false;
-    this.registers.f.carry = false;
+    this.registers.set_f((result & 0xFF) == 0x00 ? Registers.ZERO_FLAG : 0);
     return result;
   }
   
   int xor(int value) {
     int result = this.registers.a ^ value;
-    this.registers.f.zero = (result & 0xFF) == 0x00;
-    this.registers.f.subtract = false;
-    this.registers.f.halfCarry = false;
-    this.registers.f.carry = false;
+    this.registers.set_f((result & 0xFF) == 0x00 ? Registers.ZERO_FLAG : 0);
     return result;
   }
   
   // MARK: cp()
   void cp(int value) {
-    this.registers.f.zero = this.registers.a == value;
-    this.registers.f.subtract = true;
-    this.registers.f.halfCarry = (this.registers.a & 0x0F) < (value & 0x0F);
-    this.registers.f.carry = this.registers.a < value;
+    this.registers.deferSubtractFlags(this.registers.a, value, packedSub(this.registers.a, value));
   }
   
   // MARK: increment/decrement
   int increment(int value) {
     int result = (value + 1) & 0xFF;
-    this.registers.f.zero = result == 0;
-    this.registers.f.subtract = false;
-    this.registers.f.halfCarry = (value & 0x0F) == 0x0F;
+    // Cフラグは変化しない
+    int flags = this.registers.get_f() & Registers.CARRY_FLAG;
+    if (result == 0) flags |= Registers.ZERO_FLAG;
+    if ((value & 0x0F) == 0x0F) flags |= Registers.HALF_CARRY_FLAG;
+    this.registers.set_f(flags);
     return result;
   }
   
   int decrement(int value) {
     int result = wrappingSub(value, 1) & 0xFF;
-    this.registers.f.zero = result == 0;
-    this.registers.f.subtract = true;
-    this.registers.f.halfCarry = (value & 0x0F) == 0x00;
+    // Cフラグは変化しない
+    int flags = (this.registers.get_f() & Registers.CARRY_FLAG) | Registers.SUBTRACT_FLAG;
+    if (result == 0) flags |= Registers.ZERO_FLAG;
+    if ((value & 0x0F) == 0x00) flags |= Registers.HALF_CARRY_FLAG;
+    this.registers.set_f(flags);
+    return result;
+  }
+
+  // MARK: rotate / shift
+  int rotateLeft(int value) {
+    // 元のCフラグが回転後の1ビット目に入る
+    boolean currentCflag = this.registers.carryFlag();
+    int result = ((value << 1) & 0xFF) | (currentCflag ? 0x01 : 0);
+    this.registers.setFlags(result == 0, false, false, (value & 0x80) != 0);
+    return result;
+  }
+
+  int rotateLeftCircular(int value) {
+    boolean msb = (value & 0x80) != 0;
+    int result = ((value << 1) | (msb ? 0x01 : 0)) & 0xFF;
+    this.registers.setFlags(result == 0, false, false, msb);
+    return result;
+  }
+
+  int rotateRight(int value) {
+    // 元のCフラグが回転後の8ビット目に入る
+    boolean nextCflag = (value & 0x01) != 0;
+    int result = (value >> 1) & 0xFF;
+    if (this.registers.carryFlag()) {
+      result |= 0x80; // キャリーがセットされている場合、MSBを1にする
+    }
+    this.registers.setFlags(result == 0, false, false, nextCflag);
+    return result;
+  }
+
+  int rotateRightCircular(int value) {
+    boolean lsb = (value & 0x01) != 0;
+    int result = (((value >> 1) & 0x7F) | (lsb ? 0x80 : 0));
+    this.registers.setFlags(result == 0, false, false, lsb);
     return result;
   }
 
+  int shiftLeftArithmetic(int value) {
+    boolean msb = (value & 0x80) != 0;
+    int result = (value << 1) & 0xFF;
+    this.registers.setFlags(result == 0, false, false, msb);
+    return result;
+  }
+
+  int shiftRightArithmetic(int value) {
+    // 符号ビット(MSB)は保持する
+    boolean lsb = (value & 0x01) != 0;
+    int result = ((value >> 1) & 0xFF) | (value & 0x80);
+    this.registers.setFlags(result == 0, false, false, lsb);
+    return result;
+  }
+
+  int shiftRightLogical(int value) {
+    boolean lsb = (value & 0x01) != 0;
+    int result = (value >> 1) & 0xFF;
+    this.registers.setFlags(result == 0, false, false, lsb);
+    return result;
+  }
+
+  int swap(int value) {
+    int result = ((value & 0x0F) << 4) | ((value & 0xF0) >> 4);
+    this.registers.setFlags(result == 0, false, false, false);
+    return result;
+  }
+
+  // MARK: bit()
+  void bit(int bitNumber, int value) {
+    // Cフラグは変化しない
+    int flags = (this.registers.get_f() & Registers.CARRY_FLAG) | Registers.HALF_CARRY_FLAG;
+    if ((value & (1 << bitNumber)) == 0) flags |= Registers.ZERO_FLAG;
+    this.registers.set_f(flags);
+  }
+
+  // MARK: decimalAdjust()
+  void decimalAdjust() {
+    // レジスタAの値をBCD形式に変換するために、フラグレジスタの状態に基づいて調整を行う
+    int a = this.registers.a;
+    int flags = this.registers.get_f();
+    boolean carry = (flags & Registers.CARRY_FLAG) != 0;
+    boolean halfCarry = (flags & Registers.HALF_CARRY_FLAG) != 0;
+    boolean subtract = (flags & Registers.SUBTRACT_FLAG) != 0;
+
+    if (!subtract) {
+      // after an addition, adjust if (half-)carry occurred or if result is out of bounds
+      if (carry || a > 0x99) {
+        a = (a + 0x60) & 0xFF;
+        carry = true;
+      }
+      if (halfCarry || (a & 0x0F) > 0x09) {
+        a = (a + 0x06) & 0xFF;
+      }
+    } else {
+      // after a subtraction, only adjust if (half-)carry occurred
+      if (carry) {
+        a = (a - 0x60) & 0xFF;
+      }
+      if (halfCarry) {
+        a = (a - 0x06) & 0xFF;
+      }
+    }
+
+    this.registers.a = a;
+    this.registers.setFlags(a == 0, subtract, false, carry); // subtract flag remains unchanged
+  }
+
   // MARK: jump()
   int jump(boolean condition) {
     if (condition) {
@@ -1024,7 +977,7 @@ public class CPU {
       if (this.debug) System.out.println("Jump to: " + String.format("$%04X", value));
       return value; // 次のワード(2byte)を読み込む
     } else {
-      return overflowingAdd16(this.pc, 3).value; // 3バイト足す
+      return wrappingAdd16(this.pc, 3); // 3バイト足す
     }
   }
  
@@ -1057,15 +1010,15 @@ public class CPU {
   // MARK: pop()
   int pop() {
     int lsb = this.bus.readByte(this.sp); // スタックから下位バイトを読み込む
-    this.sp = overflowingAdd16(this.sp, 1).value; // スタックポインタを1バイト分増やす
+    this.sp = wrappingAdd16(this.sp, 1); // スタックポインタを1バイト分増やす
     int msb = this.bus.readByte(this.sp); // スタックから上位バイトを読み込む
-    this.sp = overflowingAdd16(this.sp, 1).value; // スタックポインタを1バイト分増やす
+    this.sp = wrappingAdd16(this.sp, 1); // スタックポインタを1バイト分増やす
     return ((msb << 8) | lsb); // リトルエンディアンで結合
   }
 
   // MARK: call()
   int call(boolean condition) {
-    int nextPc = overflowingAdd16(this.pc, 3).value; // 次のPCのアドレスを計算
+    int nextPc = wrappingAdd16(this.pc, 3); // 次のPCのアドレスを計算
     if (condition) {
       push(nextPc); // 次のPCをスタックにプッシュ
       return readNextWord(); // 次のワードを読み込む
@@ -1079,7 +1032,7 @@ public class CPU {
     if (condition) {
       return pop(); // スタックからポップしてPCを更新
     } else {
-      return overflowingAdd16(this.pc, 1).value; // PCを1バイト進める
+      return wrappingAdd16(this.pc, 1); // PCを1バイト進める
     }
   }
 
@@ -1367,10 +1320,10 @@ public class CPU {
   private boolean testJumpCondition(JumpTest test) {
     // ジャンプ条件のテスト
     switch (test) {
-      case NotZero: return !this.registers.f.zero;
-      case Zero: return this.registers.f.zero;
-      case NotCarry: return !this.registers.f.carry;
-      case Carry: return this.registers.f.carry;
+      case NotZero: return !this.registers.zeroFlag();
+      case Zero: return this.registers.zeroFlag();
+      case NotCarry: return !this.registers.carryFlag();
+      case Carry: return this.registers.carryFlag();
       case Always: return true;
       default:
         throw new IllegalArgumentException("Invalid jump test: " + test);
@@ -0,0 +1,555 @@
+package com.syntck.cpu;
+
+import static com.syntck.Functions.*;
+
+/**
+ * オペコードごとに専用のハンドラを束縛したディスパッチテーブル
+ * オペランドの解決 (どのレジスタ・アドレスを使うか) はテーブル構築時に1度だけ行い、
+ * 実行時は CPU.execute の switch を経由せずにハンドラを直接呼び出す
+ */
+final class DispatchTable {
+  private static final InstructionHandler[] UNPREFIXED_TABLE = new InstructionHandler[256];
+  private static final InstructionHandler[] PREFIXED_TABLE = new InstructionHandler[256];
+
+  static {
+    for (int opcode = 0; opcode < 256; opcode++) {
+      UNPREFIXED_TABLE[opcode] = bind(Instruction.decode(opcode, false));
+      PREFIXED_TABLE[opcode] = bind(Instruction.decode(opcode, true));
+    }
+  }
+
+  private DispatchTable() {}
+
+  // 未定義命令の場合は null を返す
+  static InstructionHandler handler(int instructionByte, boolean isPrefixed) {
+    return isPrefixed ? PREFIXED_TABLE[instructionByte & 0xFF] : UNPREFIXED_TABLE[instructionByte & 0xFF];
+  }
+
+  // MARK: ハンドラの束縛
+  private static InstructionHandler bind(Instruction instruction) {
+    if (instruction == null) return null;
+
+    switch (instruction.getType()) {
+      // MARK: ADD (A, HL, SP), ADC
+      case ADD: {
+        final Operand8 source = Operand8.of(instruction.getArithmeticTarget());
+        return cpu -> { cpu.registers.a = cpu.addA(source.get(cpu)); return true; };
+      }
+
+      case ADDHL: {
+        final Operand16 source = Operand16.of(instruction.getRegisterPair());
+        return cpu -> { cpu.registers.set_hl(cpu.addHL(source.get(cpu))); return true; };
+      }
+
+      case ADDSP:
+        return cpu -> {
+          int value = cpu.readNextByte();
+          if (value > 0x7F) value = value - 0x100; // 符号付き8ビットに変換
+          cpu.sp = cpu.addSP(value);
+          return true;
+        };
+
+      case ADC: {
+        final Operand8 source = Operand8.of(instruction.getArithmeticTarget());
+        return cpu -> {
+          int value = source.get(cpu);
+          cpu.registers.a = cpu.addWithCarry(value, cpu.registers.carryBit());
+          return true;
+        };
+      }
+
+      // MARK: SUB, SBC
+      case SUB: {
+        final Operand8 source = Operand8.of(instruction.getArithmeticTarget());
+        return cpu -> { cpu.registers.a = cpu.subtract(source.get(cpu)); return true; };
+      }
+
+      case SBC: {
+        final Operand8 source = Operand8.of(instruction.getArithmeticTarget());
+        return cpu -> {
+          int value = source.get(cpu);
+          cpu.registers.a = cpu.subtractWithCarry(value, cpu.registers.carryBit());
+          return true;
+        };
+      }
+
+      // MARK: INC, DEC
+      case INC: {
+        final Operand8 target = Operand8.of(instruction.getArithmeticTarget());
+        return cpu -> { target.set(cpu, cpu.increment(target.get(cpu))); return true; };
+      }
+
+      case INCRP: {
+        final Operand16 target = Operand16.of(instruction.getRegisterPair());
+        return cpu -> { target.set(cpu, wrappingAdd16(target.get(cpu), 1)); return true; };
+      }
+
+      case DEC: {
+        final Operand8 target = Operand8.of(instruction.getArithmeticTarget());
+        return cpu -> { target.set(cpu, cpu.decrement(target.get(cpu))); return true; };
+      }
+
+      case DECRP: {
+        final Operand16 target = Operand16.of(instruction.getRegisterPair());
+        return cpu -> { target.set(cpu, wrappingSub16(target.get(cpu), 1)); return true; };
+      }
+
+      // MARK: CP, AND, OR, XOR
+      case CP: {
+        final Operand8 source = Operand8.of(instruction.getArithmeticTarget());
+        return cpu -> { cpu.cp(source.get(cpu)); return true; };
+      }
+
+      case AND: {
+        final Operand8 source = Operand8.of(instruction.getArithmeticTarget());
+        return cpu -> { cpu.registers.a = cpu.and(source.get(cpu)); return true; };
+      }
+
+      case OR: {
+        final Operand8 source = Operand8.of(instruction.getArithmeticTarget());
+        return cpu -> { cpu.registers.a = cpu.or(source.get(cpu)); return true; };
+      }
+
+      case XOR: {
+        final Operand8 source = Operand8.of(instruction.getArithmeticTarget());
+        return cpu -> { cpu.registers.a = cpu.xor(source.get(cpu)); return true; };
+      }
+
+      // MARK: CCF, SCF, CPL
+      case CCF:
+        return cpu -> {
+          int flags = cpu.registers.get_f();
+          cpu.registers.set_f((flags & Registers.ZERO_FLAG) | ((flags & Registers.CARRY_FLAG) ^ Registers.CARRY_FLAG));
+          return true;
+        };
+
+      case SCF:
+        return cpu -> {
+          cpu.registers.set_f((cpu.registers.get_f() & Registers.ZERO_FLAG) | Registers.CARRY_FLAG);
+          return true;
+        };
+
+      case CPL:
+        return cpu -> {
+          cpu.registers.a = (~cpu.registers.a) & 0xFF;
+          cpu.registers.set_f(cpu.registers.get_f() | Registers.SUBTRACT_FLAG | Registers.HALF_CARRY_FLAG);
+          return true;
+        };
+
+      // MARK: BIT, RES, SET [prefixed]
+      case BIT: {
+        final Operand8 target = Operand8.of(instruction.getRotateTarget());
+        final int bitNumber = instruction.getBitPosition().ordinal();
+        return cpu -> { cpu.bit(bitNumber, target.get(cpu)); return true; };
+      }
+
+      case RES: {
+        final Operand8 target = Operand8.of(instruction.getRotateTarget());
+        final int mask = ~(1 << instruction.getBitPosition().ordinal());
+        return cpu -> { target.set(cpu, target.get(cpu) & mask); return true; };
+      }
+
+      case SET: {
+        final Operand8 target = Operand8.of(instruction.getRotateTarget());
+        final int mask = 1 << instruction.getBitPosition().ordinal();
+        return cpu -> { target.set(cpu, target.get(cpu) | mask); return true; };
+      }
+
+      // MARK: RLA, RRA, RLCA, RRCA
+      case RLA:
+        return cpu -> { cpu.registers.a = cpu.rotateLeft(cpu.registers.a); cpu.registers.set_f(cpu.registers.get_f() & ~Registers.ZERO_FLAG); return true; };
+
+      case RLCA:
+        return cpu -> { cpu.registers.a = cpu.rotateLeftCircular(cpu.registers.a); cpu.registers.set_f(cpu.registers.get_f() & ~Registers.ZERO_FLAG); return true; };
+
+      case RRA:
+        return cpu -> { cpu.registers.a = cpu.rotateRight(cpu.registers.a); cpu.registers.set_f(cpu.registers.get_f() & ~Registers.ZERO_FLAG); return true; };
+
+      case RRCA:
+        return cpu -> { cpu.registers.a = cpu.rotateRightCircular(cpu.registers.a); cpu.registers.set_f(cpu.registers.get_f() & ~Registers.ZERO_FLAG); return true; };
+
+      // MARK: RL, RLC, RR, RRC, SLA, SRA, SRL, SWAP [prefixed]
+      case RL: {
+        final Operand8 target = Operand8.of(instruction.getRotateTarget());
+        return cpu -> { target.set(cpu, cpu.rotateLeft(target.get(cpu))); return true; };
+      }
+
+      case RLC: {
+        final Operand8 target = Operand8.of(instruction.getRotateTarget());
+        return cpu -> { target.set(cpu, cpu.rotateLeftCircular(target.get(cpu))); return true; };
+      }
+
+      case RR: {
+        final Operand8 target = Operand8.of(instruction.getRotateTarget());
+        return cpu -> { target.set(cpu, cpu.rotateRight(target.get(cpu))); return true; };
+      }
+
+      case RRC: {
+        final Operand8 target = Operand8.of(instruction.getRotateTarget());
+        return cpu -> { target.set(cpu, cpu.rotateRightCircular(target.get(cpu))); return true; };
+      }
+
+      case SLA: {
+        final Operand8 target = Operand8.of(instruction.getRotateTarget());
+        return cpu -> { target.set(cpu, cpu.shiftLeftArithmetic(target.get(cpu))); return true; };
+      }
+
+      case SRA: {
+        final Operand8 target = Operand8.of(instruction.getRotateTarget());
+        return cpu -> { target.set(cpu, cpu.shiftRightArithmetic(target.get(cpu))); return true; };
+      }
+
+      case SRL: {
+        final Operand8 target = Operand8.of(instruction.getRotateTarget());
+        return cpu -> { target.set(cpu, cpu.shiftRightLogical(target.get(cpu))); return true; };
+      }
+
+      case SWAP: {
+        final Operand8 target = Operand8.of(instruction.getRotateTarget());
+        return cpu -> { target.set(cpu, cpu.swap(target.get(cpu))); return true; };
+      }
+
+      // MARK: DAA
+      case DAA:
+        return cpu -> { cpu.decimalAdjust(); return true; };
+
+      // MARK: JP, JPHL, JR
+      // 共通処理として命令のバイト数分PCが進められるため、その分を引いておく
+      case JP: {
+        final Condition condition = Condition.of(instruction.getJumpTest());
+        return cpu -> {
+          boolean taken = condition.test(cpu);
+          cpu.pc = wrappingSub16(cpu.jump(taken), 3);
+          return taken;
+        };
+      }
+
+      case JPHL:
+        return cpu -> { cpu.pc = wrappingSub16(cpu.jumpHL(), 1); return true; };
+
+      case JR: {
+        final Condition condition = Condition.of(instruction.getJumpTest());
+        return cpu -> {
+          boolean taken = condition.test(cpu);
+          cpu.pc = wrappingSub16(cpu.jumpRelative(taken), 2);
+          return taken;
+        };
+      }
+
+      // MARK: LD, LDHL
+      case LD:
+        return bindLoad(instruction.getLoadTarget(), instruction.getLoadSource());
+
+      case LDHL:
+        return cpu -> {
+          int r8 = cpu.readNextByte();
+          cpu.registers.setFlags(false, false, ((cpu.sp & 0x0F) + (r8 & 0x0F)) > 0x0F, ((cpu.sp & 0xFF) + (r8 & 0xFF)) > 0xFF);
+          if (r8 > 127) r8 = r8 - 256; // 符号付き8ビットに変換
+          cpu.registers.set_hl((cpu.sp + r8) & 0xFFFF);
+          return true;
+        };
+
+      // MARK: PUSH, POP
+      case PUSH: {
+        switch (instruction.getStackTarget()) {
+          case BC: return cpu -> { cpu.push(cpu.registers.get_bc()); return true; };
+          case DE: return cpu -> { cpu.push(cpu.registers.get_de()); return true; };
+          case HL: return cpu -> { cpu.push(cpu.registers.get_hl()); return true; };
+          case AF: return cpu -> { cpu.push(cpu.registers.get_af()); return true; };
+          default: throw new IllegalArgumentException("Invalid stack target");
+        }
+      }
+
+      case POP: {
+        switch (instruction.getStackTarget()) {
+          case BC: return cpu -> { cpu.registers.set_bc(cpu.pop()); return true; };
+          case DE: return cpu -> { cpu.registers.set_de(cpu.pop()); return true; };
+          case HL: return cpu -> { cpu.registers.set_hl(cpu.pop()); return true; };
+          case AF: return cpu -> { cpu.registers.set_af(cpu.pop()); return true; };
+          default: throw new IllegalArgumentException("Invalid stack target");
+        }
+      }
+
+      // MARK: CALL, RET, RETI, RST
+      case CALL: {
+        final Condition condition = Condition.of(instruction.getJumpTest());
+        return cpu -> {
+          boolean taken = condition.test(cpu);
+          cpu.pc = wrappingSub16(cpu.call(taken), 3);
+          return taken;
+        };
+      }
+
+      case RET: {
+        final Condition condition = Condition.of(instruction.getJumpTest());
+        return cpu -> {
+          boolean taken = condition.test(cpu);
+          cpu.pc = wrappingSub16(cpu.return_(taken), 1);
+          return taken;
+        };
+      }
+
+      case RETI:
+        return cpu -> {
+          cpu.eiCount = 1;
+          cpu.pc = wrappingSub16(cpu.return_(true), 1);
+          return true;
+        };
+
+      case RST: {
+        final int address = instruction.getImmediateValue();
+        return cpu -> {
+          cpu.push(cpu.pc + 1);
+          cpu.pc = address - 1;
+          return true;
+        };
+      }
+
+      // MARK: NOP, HALT, STOP, DI, EI
+      case NOP:
+      case STOP:
+        return cpu -> true;
+
+      case HALT:
+        return cpu -> { cpu.halted = true; return true; };
+
+      case DI:
+        return cpu -> { cpu.interruptMasterEnable = false; return true; };
+
+      case EI:
+        return cpu -> { cpu.eiCount = 1; return true; };
+
+      default:
+        throw new IllegalArgumentException("Unimplemented instruction: " + instruction.getType());
+    }
+  }
+
+  // MARK: LD の束縛
+  private static InstructionHandler bindLoad(LoadTarget target, LoadSource source) {
+    // LD (a16),SP は16ビット値をメモリに書き込む
+    if (target == LoadTarget.A16_ADDR && source == LoadSource.SP) {
+      return cpu -> { cpu.bus.writeWord(cpu.readNextWord(), cpu.sp); return true; };
+    }
+
+    // LD rr,d16 / LD SP,HL
+    switch (target) {
+      case BC:
+      case DE:
+      case HL:
+      case SP: {
+        final Operand16 destination = Operand16.of(target);
+        final Operand16 value = Operand16.of(source);
+        return cpu -> { destination.set(cpu, value.get(cpu) & 0xFFFF); return true; };
+      }
+      default:
+        break;
+    }
+
+    final Operand8 destination = Operand8.of(target);
+    final Operand8 value = Operand8.of(source);
+
+    // LD (HL+) / LD (HL-) は転送後にHLを増減させる
+    final int hlStep;
+    if (target == LoadTarget.HLI_ADDR || source == LoadSource.HLI_ADDR) {
+      hlStep = 1;
+    } else if (target == LoadTarget.HLD_ADDR || source == LoadSource.HLD_ADDR) {
+      hlStep = -1;
+    } else {
+      hlStep = 0;
+    }
+
+    if (hlStep == 0) {
+      return cpu -> { destination.set(cpu, value.get(cpu)); return true; };
+    }
+    return cpu -> {
+      destination.set(cpu, value.get(cpu));
+      cpu.registers.set_hl((cpu.registers.get_hl() + hlStep) & 0xFFFF);
+      return true;
+    };
+  }
+}
+
+// MARK: 命令ハンドラ
+// 命令を実行し、条件分岐命令の場合は条件が成立したかどうかを返す
+interface InstructionHandler {
+  boolean execute(CPU cpu);
+}
+
+// MARK: ジャンプ条件
+enum Condition {
+  NOT_ZERO { boolean test(CPU cpu) { return !cpu.registers.zeroFlag(); } },
+  ZERO { boolean test(CPU cpu) { return cpu.registers.zeroFlag(); } },
+  NOT_CARRY { boolean test(CPU cpu) { return !cpu.registers.carryFlag(); } },
+  CARRY { boolean test(CPU cpu) { return cpu.registers.carryFlag(); } },
+  ALWAYS { boolean test(CPU cpu) { return true; } };
+
+  abstract boolean test(CPU cpu);
+
+  static Condition of(JumpTest test) {
+    switch (test) {
+      case NotZero: return NOT_ZERO;
+      case Zero: return ZERO;
+      case NotCarry: return NOT_CARRY;
+      case Carry: return CARRY;
+      case Always: return ALWAYS;
+      default: throw new IllegalArgumentException("Invalid jump test: " + test);
+    }
+  }
+}
+
+// MARK: 8ビットオペランド
+enum Operand8 {
+  A { int get(CPU cpu) { return cpu.registers.a; } void set(CPU cpu, int value) { cpu.registers.a = value & 0xFF; } },
+  B { int get(CPU cpu) { return cpu.registers.b; } void set(CPU cpu, int value) { cpu.registers.b = value & 0xFF; } },
+  C { int get(CPU cpu) { return cpu.registers.c; } void set(CPU cpu, int value) { cpu.registers.c = value & 0xFF; } },
+  D { int get(CPU cpu) { return cpu.registers.d; } void set(CPU cpu, int value) { cpu.registers.d = value & 0xFF; } },
+  E { int get(CPU cpu) { return cpu.registers.e; } void set(CPU cpu, int value) { cpu.registers.e = value & 0xFF; } },
+  H { int get(CPU cpu) { return cpu.registers.h; } void set(CPU cpu, int value) { cpu.registers.h = value & 0xFF; } },
+  L { int get(CPU cpu) { return cpu.registers.l; } void set(CPU cpu, int value) { cpu.registers.l = value & 0xFF; } },
+  BC_ADDR {
+    int get(CPU cpu) { return cpu.bus.readByte(cpu.registers.get_bc()); }
+    void set(CPU cpu, int value) { cpu.bus.writeByte(cpu.registers.get_bc(), value); }
+  },
+  DE_ADDR {
+    int get(CPU cpu) { return cpu.bus.readByte(cpu.registers.get_de()); }
+    void set(CPU cpu, int value) { cpu.bus.writeByte(cpu.registers.get_de(), value); }
+  },
+  HL_ADDR {
+    int get(CPU cpu) { return cpu.bus.readByte(cpu.registers.get_hl()); }
+    void set(CPU cpu, int value) { cpu.bus.writeByte(cpu.registers.get_hl(), value); }
+  },
+  A16_ADDR {
+    int get(CPU cpu) { return cpu.bus.readByte(cpu.readNextWord()); }
+    void set(CPU cpu, int value) { cpu.bus.writeByte(cpu.readNextWord(), value & 0xFF); }
+  },
+  FF00_A8 {
+    int get(CPU cpu) { return cpu.bus.readByte(0xFF00 + cpu.readNextByte()); }
+    void set(CPU cpu, int value) { cpu.bus.writeByte(0xFF00 + cpu.readNextByte(), value); }
+  },
+  FF00_C {
+    int get(CPU cpu) { return cpu.bus.readByte(0xFF00 + cpu.registers.c); }
+    void set(CPU cpu, int value) { cpu.bus.writeByte(0xFF00 + cpu.registers.c, value); }
+  },
+  D8 {
+    int get(CPU cpu) { return cpu.readNextByte(); }
+    void set(CPU cpu, int value) { throw new IllegalArgumentException("Cannot set value for target: D8"); }
+  };
+
+  abstract int get(CPU cpu);
+  abstract void set(CPU cpu, int value);
+
+  static Operand8 of(ArithmeticTarget target) {
+    switch (target) {
+      case A: return A;
+      case B: return B;
+      case C: return C;
+      case D: return D;
+      case E: return E;
+      case H: return H;
+      case L: return L;
+      case HL_ADDR: return HL_ADDR;
+      case D8: return D8;
+      default: throw new IllegalArgumentException("Invalid arithmetic target: " + target);
+    }
+  }
+
+  static Operand8 of(RotateTarget target) {
+    switch (target) {
+      case A: return A;
+      case B: return B;
+      case C: return C;
+      case D: return D;
+      case E: return E;
+      case H: return H;
+      case L: return L;
+      case HL_ADDR: return HL_ADDR;
+      default: throw new IllegalArgumentException("Invalid rotate target: " + target);
+    }
+  }
+
+  static Operand8 of(LoadTarget target) {
+    switch (target) {
+      case A: return A;
+      case B: return B;
+      case C: return C;
+      case D: return D;
+      case E: return E;
+      case H: return H;
+      case L: return L;
+      case BC_ADDR: return BC_ADDR;
+      case DE_ADDR: return DE_ADDR;
+      case HL_ADDR:
+      case HLI_ADDR:
+      case HLD_ADDR: return HL_ADDR;
+      case A16_ADDR: return A16_ADDR;
+      case FF00_A8: return FF00_A8;
+      case FF00_C: return FF00_C;
+      default: throw new IllegalArgumentException("Invalid load target: " + target);
+    }
+  }
+
+  static Operand8 of(LoadSource source) {
+    switch (source) {
+      case A: return A;
+      case B: return B;
+      case C: return C;
+      case D: return D;
+      case E: return E;
+      case H: return H;
+      case L: return L;
+      case BC_ADDR: return BC_ADDR;
+      case DE_ADDR: return DE_ADDR;
+      case HL_ADDR:
+      case HLI_ADDR:
+      case HLD_ADDR: return HL_ADDR;
+      case A16_ADDR: return A16_ADDR;
+      case FF00_A8: return FF00_A8;
+      case FF00_C: return FF00_C;
+      case D8: return D8;
+      default: throw new IllegalArgumentException("Invalid load source: " + source);
+    }
+  }
+}
+
+// MARK: 16ビットオペランド
+enum Operand16 {
+  BC { int get(CPU cpu) { return cpu.registers.get_bc(); } void set(CPU cpu, int value) { cpu.registers.set_bc(value); } },
+  DE { int get(CPU cpu) { return cpu.registers.get_de(); } void set(CPU cpu, int value) { cpu.registers.set_de(value); } },
+  HL { int get(CPU cpu) { return cpu.registers.get_hl(); } void set(CPU cpu, int value) { cpu.registers.set_hl(value); } },
+  SP { int get(CPU cpu) { return cpu.sp; } void set(CPU cpu, int value) { cpu.sp = value; } },
+  D16 {
+    int get(CPU cpu) { return cpu.readNextWord(); }
+    void set(CPU cpu, int value) { throw new IllegalArgumentException("Cannot set value for target: D16"); }
+  };
+
+  abstract int get(CPU cpu);
+  abstract void set(CPU cpu, int value);
+
+  static Operand16 of(RegisterPair pair) {
+    switch (pair) {
+      case BC: return BC;
+      case DE: return DE;
+      case HL: return HL;
+      case SP: return SP;
+      default: throw new IllegalArgumentException("Invalid register pair: " + pair);
+    }
+  }
+
+  static Operand16 of(LoadTarget target) {
+    switch (target) {
+      case BC: return BC;
+      case DE: return DE;
+      case HL: return HL;
+      case SP: return SP;
+      default: throw new IllegalArgumentException("Invalid load target: " + target);
+    }
+  }
+
+  static Operand16 of(LoadSource source) {
+    switch (source) {
+      case HL: return HL;
+      case D16: return D16;
+      default: throw new IllegalArgumentException("Invalid load source: " + source);
+    }
+  }
+}
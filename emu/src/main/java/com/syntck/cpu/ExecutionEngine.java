@@ -0,0 +1,24 @@
+package com.syntck.cpu;
+
+/**
+ * CPUの命令実行方式
+ * SWITCH: CPU.execute の switch による従来のインタプリタ
+ * THREADED: DispatchTable でオペコードごとに束縛したハンドラを呼び出す方式
+ * RECOMPILER: ROM上の基本ブロックをハンドラ列に変換してキャッシュし、ブロック単位で実行する方式
+ *             命令の読み取りとデコードを省くだけで、ハンドラの呼び出しとイベント・割り込みの確認は1命令ごとに行う
+ *             (カートリッジがない場合やRAM上のコードは THREADED と同じ方式で実行する)
+ */
+public enum ExecutionEngine {
+  SWITCH,
+  THREADED,
+  RECOMPILER;
+
+  // 実行方式を指定するシステムプロパティ (例: -Dgameboy.cpu.engine=THREADED)
+  public static final String PROPERTY = "gameboy.cpu.engine";
+
+  public static ExecutionEngine fromSystemProperty() {
+    String name = System.getProperty(PROPERTY);
+    if (name == null || name.isEmpty()) return SWITCH;
+    return ExecutionEngine.valueOf(name.trim().toUpperCase());
+  }
+}
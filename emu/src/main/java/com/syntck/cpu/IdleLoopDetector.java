@@ -0,0 +1,323 @@
+package com.syntck.cpu;
+
+import com.syntck.memory.MemoryBus;
+import com.syntck.scheduler.Scheduler;
+
+/**
+ * I/Oレジスタやフラグをポーリングするだけのビジーループ (LDH A,(FF44) / CP n / JR NZ など) を検出して、
+ * 次のイベントの直前まで時間を早送りする
+ *
+ * 同じ後方分岐でループの先頭に戻ったとき、レジスタの状態が前回と同じで、ループ本体がメモリに書き込まない命令だけで
+ * できていれば、入力 (メモリ・I/Oレジスタ) はイベントが発生するまで変わらないため、以降の周回もまったく同じになる
+ * そのため、次のイベントの期限を過ぎない範囲で周回を丸ごと省略しても、1命令ずつ実行した場合と結果は変わらない
+ */
+public class IdleLoopDetector {
+  public static final String PROPERTY = "gameboy.cpu.idleLoopSkip"; // false で無効化する
+  private static final int MAX_LOOP_BYTES = 32; // 検出するループ本体の最大バイト数
+
+  // ループ本体で書き込まれるレジスタ
+  private static final int REG_A = 0x01;
+  private static final int REG_B = 0x02;
+  private static final int REG_C = 0x04;
+  private static final int REG_D = 0x08;
+  private static final int REG_E = 0x10;
+  private static final int REG_H = 0x20;
+  private static final int REG_L = 0x40;
+  private static final int REG_SP = 0x80;
+  private static final int REG_ANY = 0xFF;
+
+  // 検出結果
+  private static final int UNKNOWN = 0;
+  private static final int IDLE = 1;
+  private static final int NOT_IDLE = -1;
+
+  private final CPU cpu;
+  private final MemoryBus bus;
+  private final Scheduler scheduler;
+  private final boolean enabled;
+
+  // MARK: 候補のループ
+  private int head = -1; // ループの先頭
+  private int branch = -1; // 先頭に戻る分岐命令のアドレス
+  private long time; // 前回先頭に戻った時刻
+  private int verdict; // ループ本体の検査結果
+  private int a, b, c, d, e, f, h, l, sp; // 前回先頭に戻ったときのレジスタ
+
+  // MARK: 統計
+  private long skippedCycles; // スキップしたサイクル数の合計
+  private long skipCount; // 早送りした回数
+  private int frameSkippedCycles; // 現在のフレームでスキップしたサイクル数
+  private int lastFrameSkippedCycles; // 直前のフレームでスキップしたサイクル数
+
+  IdleLoopDetector(CPU cpu) {
+    this.cpu = cpu;
+    this.bus = cpu.bus;
+    this.scheduler = cpu.bus.scheduler;
+    this.enabled = !"false".equalsIgnoreCase(System.getProperty(PROPERTY));
+  }
+
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  public long getSkippedCycles() {
+    return this.skippedCycles;
+  }
+
+  public long getSkipCount() {
+    return this.skipCount;
+  }
+
+  public int getFrameSkippedCycles() {
+    return this.frameSkippedCycles;
+  }
+
+  public int getLastFrameSkippedCycles() {
+    return this.lastFrameSkippedCycles;
+  }
+
+  // V-Blankごとに呼び出して、フレーム単位のカウンタを締める
+  void endFrame() {
+    this.lastFrameSkippedCycles = this.frameSkippedCycles;
+    this.frameSkippedCycles = 0;
+  }
+
+  // イベントの処理や割り込みで入力が変わった可能性があるため、候補を破棄する
+  void reset() {
+    this.head = -1;
+  }
+
+  // MARK: onBackwardJump
+  // JR / JP で後方 (または自分自身) に分岐した直後に呼び出す (cpu.pc はループの先頭を指している)
+  void onBackwardJump(int branch) {
+    int head = this.cpu.pc;
+    if (!this.enabled || this.cpu.debug || branch - head > MAX_LOOP_BYTES) return;
+
+    // 前回と同じループで、レジスタも前回と同じ状態で先頭に戻ってきたか
+    if (this.scheduler.isDue() || this.cpu.eiCount != 0 || head != this.head || branch != this.branch || !isSameState()) {
+      record(head, branch);
+      return;
+    }
+
+    if (this.verdict == UNKNOWN) {
+      this.verdict = isIdleLoopBody(head, branch) ? IDLE : NOT_IDLE;
+    }
+
+    long now = this.scheduler.now();
+    long period = now - this.time; // 1周のサイクル数
+    this.time = now;
+    if (this.verdict != IDLE || period <= 0) return;
+
+    // 次のイベントの期限を過ぎない範囲で、周回を丸ごと省略する
+    long deadline = this.scheduler.getNextDeadline();
+    if (deadline == Scheduler.NEVER) return;
+    long iterations = Math.min((deadline - 1 - now) / period, Integer.MAX_VALUE / period);
+    if (iterations <= 0) return;
+
+    int cycles = (int) (iterations * period);
+    this.scheduler.advance(cycles);
+    this.time += cycles;
+    this.skippedCycles += cycles;
+    this.frameSkippedCycles += cycles;
+    this.skipCount++;
+  }
+
+  private void record(int head, int branch) {
+    Registers registers = this.cpu.registers;
+    this.head = head;
+    this.branch = branch;
+    this.time = this.scheduler.now();
+    this.verdict = UNKNOWN;
+    this.a = registers.a;
+    this.b = registers.b;
+    this.c = registers.c;
+    this.d = registers.d;
+    this.e = registers.e;
+    this.f = registers.get_f();
+    this.h = registers.h;
+    this.l = registers.l;
+    this.sp = this.cpu.sp;
+  }
+
+  private boolean isSameState() {
+    Registers registers = this.cpu.registers;
+    return this.a == registers.a && this.b == registers.b && this.c == registers.c
+      && this.d == registers.d && this.e == registers.e && this.h == registers.h && this.l == registers.l
+      && this.sp == this.cpu.sp && this.f == registers.get_f();
+  }
+
+  // MARK: isIdleLoopBody
+  // ループ本体 (head から branch までの命令) がメモリに書き込まず、ループの外に分岐しないかを検査する
+  private boolean isIdleLoopBody(int head, int branch) {
+    // 1回目: 命令の種類を検査し、書き込まれるレジスタと命令の境界を集める
+    int written = 0;
+    long boundaries = 0; // head からのオフセットごとの命令の境界
+    int pc = head;
+    while (pc <= branch) {
+      Instruction instruction = decode(pc);
+      if (instruction == null) return false;
+
+      int registers = writtenRegisters(instruction);
+      if (registers < 0) return false; // メモリへの書き込みなど、副作用のある命令
+      written |= registers;
+      boundaries |= 1L << (pc - head);
+      pc += instruction.getLength();
+    }
+    if ((boundaries & (1L << (branch - head))) == 0) return false; // 分岐命令が命令の境界にない
+
+    // 2回目: 読み取るアドレスと分岐先を検査する
+    pc = head;
+    while (pc <= branch) {
+      Instruction instruction = decode(pc);
+      int address = readAddress(instruction, pc, written);
+      if (address == -2) return false; // ループ内で変化するレジスタでアドレスを指定している
+      if (address >= 0 && !isStableAddress(address)) return false;
+
+      int target = jumpTarget(instruction, pc);
+      if (target >= 0 && (target < head || target > branch || (boundaries & (1L << (target - head))) == 0)) return false;
+      pc += instruction.getLength();
+    }
+    return true;
+  }
+
+  private Instruction decode(int pc) {
+    int instructionByte = this.bus.readByte(pc & 0xFFFF);
+    if (instructionByte == 0xCB) return Instruction.decode(this.bus.readByte((pc + 1) & 0xFFFF), true);
+    return Instruction.decode(instructionByte, false);
+  }
+
+  // 値が変化するのにイベントを伴わないアドレスは対象外にする
+  private static boolean isStableAddress(int address) {
+    // DIV / TIMA は読み取り時に時刻から計算されるため、イベントなしで値が変わる
+    return address != 0xFF04 && address != 0xFF05;
+  }
+
+  // MARK: writtenRegisters
+  // 命令が書き込むレジスタ (メモリへの書き込みやスタック操作など、対象外の命令は -1)
+  private static int writtenRegisters(Instruction instruction) {
+    switch (instruction.getType()) {
+      case ADD: case ADC: case SUB: case SBC: case AND: case OR: case XOR:
+      case CPL: case DAA: case RRA: case RLA: case RRCA: case RLCA:
+        return REG_A;
+      case CP: case BIT: case CCF: case SCF: case NOP:
+      case JP: case JR:
+        return 0;
+      case INC: case DEC: {
+        int register = arithmeticRegister(instruction.getArithmeticTarget());
+        return (register == 0) ? -1 : register; // (HL) への書き込みは対象外
+      }
+      case RES: case SET: case SRL: case RR: case RL: case RRC: case RLC: case SRA: case SLA: case SWAP: {
+        int register = rotateRegister(instruction.getRotateTarget());
+        return (register == 0) ? -1 : register; // (HL) への書き込みは対象外
+      }
+      case INCRP: case DECRP:
+        return pairRegisters(instruction.getRegisterPair());
+      case ADDHL: case LDHL:
+        return REG_H | REG_L;
+      case ADDSP:
+        return REG_SP;
+      case LD:
+        return loadRegisters(instruction.getLoadTarget(), instruction.getLoadSource());
+      default:
+        return -1;
+    }
+  }
+
+  private static int loadRegisters(LoadTarget target, LoadSource source) {
+    switch (source) {
+      case HLI_ADDR: case HLD_ADDR: case A8:
+        return -1;
+      default:
+        break;
+    }
+    switch (target) {
+      case A: return REG_A;
+      case B: return REG_B;
+      case C: return REG_C;
+      case D: return REG_D;
+      case E: return REG_E;
+      case H: return REG_H;
+      case L: return REG_L;
+      case BC: return REG_B | REG_C;
+      case DE: return REG_D | REG_E;
+      case HL: return REG_H | REG_L;
+      case SP: return REG_SP;
+      default: return -1; // メモリへの書き込み
+    }
+  }
+
+  private static int arithmeticRegister(ArithmeticTarget target) {
+    switch (target) {
+      case A: return REG_A;
+      case B: return REG_B;
+      case C: return REG_C;
+      case D: return REG_D;
+      case E: return REG_E;
+      case H: return REG_H;
+      case L: return REG_L;
+      default: return 0;
+    }
+  }
+
+  private static int rotateRegister(RotateTarget target) {
+    switch (target) {
+      case A: return REG_A;
+      case B: return REG_B;
+      case C: return REG_C;
+      case D: return REG_D;
+      case E: return REG_E;
+      case H: return REG_H;
+      case L: return REG_L;
+      default: return 0;
+    }
+  }
+
+  private static int pairRegisters(RegisterPair pair) {
+    switch (pair) {
+      case BC: return REG_B | REG_C;
+      case DE: return REG_D | REG_E;
+      case HL: return REG_H | REG_L;
+      case SP: return REG_SP;
+      default: return REG_ANY;
+    }
+  }
+
+  // MARK: readAddress
+  // 命令が読み取るメモリのアドレス (読み取らない場合は -1, ループ内で変化するレジスタで指定している場合は -2)
+  private int readAddress(Instruction instruction, int pc, int written) {
+    Registers registers = this.cpu.registers;
+    switch (instruction.getType()) {
+      case ADD: case ADC: case SUB: case SBC: case AND: case OR: case XOR: case CP:
+        if (instruction.getArithmeticTarget() != ArithmeticTarget.HL_ADDR) return -1;
+        return ((written & (REG_H | REG_L)) != 0) ? -2 : registers.get_hl();
+      case BIT:
+        if (instruction.getRotateTarget() != RotateTarget.HL_ADDR) return -1;
+        return ((written & (REG_H | REG_L)) != 0) ? -2 : registers.get_hl();
+      case LD:
+        switch (instruction.getLoadSource()) {
+          case BC_ADDR: return ((written & (REG_B | REG_C)) != 0) ? -2 : registers.get_bc();
+          case DE_ADDR: return ((written & (REG_D | REG_E)) != 0) ? -2 : registers.get_de();
+          case HL_ADDR: return ((written & (REG_H | REG_L)) != 0) ? -2 : registers.get_hl();
+          case FF00_C: return ((written & REG_C) != 0) ? -2 : 0xFF00 + registers.c;
+          case FF00_A8: return 0xFF00 + this.bus.readByte((pc + 1) & 0xFFFF);
+          case A16_ADDR: return this.bus.readWord((pc + 1) & 0xFFFF);
+          default: return -1;
+        }
+      default:
+        return -1;
+    }
+  }
+
+  // MARK: jumpTarget
+  // 分岐先のアドレス (分岐しない場合は -1)
+  private int jumpTarget(Instruction instruction, int pc) {
+    switch (instruction.getType()) {
+      case JR:
+        return (pc + 2 + (byte) this.bus.readByte((pc + 1) & 0xFFFF)) & 0xFFFF;
+      case JP:
+        return this.bus.readWord((pc + 1) & 0xFFFF);
+      default:
+        return -1;
+    }
+  }
+}
@@ -4,17 +4,60 @@ public class Instruction {
   private final InstructionType type;
   public final Object operand0;  // 命令ごとの第1オペランド
   public final Object operand1;  // 命令ごとの第2オペランド（必要な場合）
+  private final int length; // 命令のバイト長
+  private final int cycles; // 条件成立時 (または無条件命令) のサイクル数
+  private final int cyclesNotTaken; // 条件不成立時のサイクル数
+
+  // デコード済み命令テーブル (クラスロード時に1度だけ構築する)
+  private static final Instruction[] UNPREFIXED_TABLE = new Instruction[256];
+  private static final Instruction[] PREFIXED_TABLE = new Instruction[256];
+
+  static {
+    for (int opcode = 0; opcode < 256; opcode++) {
+      UNPREFIXED_TABLE[opcode] = withTiming(fromByteNotPrefixed(opcode), opcode, false);
+      PREFIXED_TABLE[opcode] = withTiming(fromBytePrefixed(opcode), opcode, true);
+    }
+  }
 
   private Instruction(InstructionType type, Object operand0, Object operand1) {
+    this(type, operand0, operand1, 0, 0, 0);
+  }
+
+  private Instruction(InstructionType type, Object operand0, Object operand1, int length, int cycles, int cyclesNotTaken) {
     this.type = type;
     this.operand0 = operand0;
     this.operand1 = operand1;
+    this.length = length;
+    this.cycles = cycles;
+    this.cyclesNotTaken = cyclesNotTaken;
+  }
+
+  // バイト長とサイクル数を InstructionLengthUtil から取り込んだテーブル用の命令を作る
+  private static Instruction withTiming(Instruction instruction, int opcode, boolean isPrefixed) {
+    if (instruction == null) return null; // 未定義命令
+    return new Instruction(
+      instruction.type,
+      instruction.operand0,
+      instruction.operand1,
+      InstructionLengthUtil.getInstructionLength(opcode, isPrefixed),
+      InstructionLengthUtil.getInstructionCycles(opcode, isPrefixed, true),
+      InstructionLengthUtil.getInstructionCycles(opcode, isPrefixed, false)
+    );
   }
 
   public InstructionType getType() {
     return type;
   }
 
+  public int getLength() {
+    return length;
+  }
+
+  // 条件分岐命令の場合は条件の成否でサイクル数が変わる
+  public int getCycles(boolean condition) {
+    return condition ? cycles : cyclesNotTaken;
+  }
+
   // MARK: ゲッター
   public ArithmeticTarget getArithmeticTarget() {
     return (ArithmeticTarget)operand0;
@@ -258,6 +301,12 @@ public class Instruction {
   }
 
   // MARK: 命令デコード
+  // デコード済みテーブルを引くだけなので、命令ごとのオブジェクト生成は発生しない
+  // 未定義命令の場合は null を返す
+  public static Instruction decode(int instructionByte, boolean isPrefixed) {
+    return isPrefixed ? PREFIXED_TABLE[instructionByte & 0xFF] : UNPREFIXED_TABLE[instructionByte & 0xFF];
+  }
+
   public static Instruction fromByte(int instructionByte, boolean isPrefixed) {
     if (isPrefixed) {
       return fromBytePrefixed(instructionByte);
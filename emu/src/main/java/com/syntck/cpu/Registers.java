@@ -6,10 +6,25 @@ public class Registers {
   public int c;
   public int d;
   public int e;
-  public FlagsRegister f;
+  public FlagsRegister f; // 互換用のビュー (CPU.step の前後でのみ同期される)
   public int h;
   public int l;
 
+  // MARK: フラグ
+  // フラグはビット7-4 (Z/N/H/C) にパックしたintで保持する
+  // ADD/ADC/SUB/SBC/CP は結果とオペランドだけを記録し、フラグは読まれた時に計算する (遅延評価)
+  static final int ZERO_FLAG = 1 << FlagsRegister.ZERO_FLAG_BYTE_POSITION;
+  static final int SUBTRACT_FLAG = 1 << FlagsRegister.SUBTRACT_FLAG_BYTE_POSITION;
+  static final int HALF_CARRY_FLAG = 1 << FlagsRegister.HALF_CARRY_FLAG_BYTE_POSITION;
+  static final int CARRY_FLAG = 1 << FlagsRegister.CARRY_FLAG_BYTE_POSITION;
+
+  private static final int LAZY_SUBTRACT = 0x100; // lazyOperands: 減算だったか
+  private static final int LAZY = 0x200; // lazyOperands: フラグが未計算か
+
+  private int flags; // 確定済みのフラグ (LAZY が立っている間は古い値)
+  private int lazyResult; // 最後の算術演算の結果 (9ビット, ビット8がキャリー/ボロー)
+  private int lazyOperands; // 最後の算術演算のオペランドのXOR (ビット4の差分がハーフキャリー) + LAZY_SUBTRACT / LAZY
+
   public Registers() {
     this.a = 0x01; // Aレジスタの初期値
     this.b = 0x00; // Bレジスタの初期値
@@ -19,6 +34,7 @@ public class Registers {
     this.h = 0x00; // Hレジスタの初期値
     this.l = 0x0D; // Lレジスタの初期値
     this.f = new FlagsRegister(); // Fレジスタの初期値
+    this.flags = ZERO_FLAG;
   }
 
   int get_bc() {
@@ -52,15 +68,80 @@ public class Registers {
   }
 
   int get_af() {
-    return (this.a << 8) | FlagsRegister.convertToByte(this.f);
+    return (this.a << 8) | get_f();
   }
 
   int set_af(int value) {
     this.a = (value & 0xFF00) >> 8;
-    this.f = FlagsRegister.fromByte(value & 0x00FF);
+    set_f(value & 0x00FF);
     return get_af();
   }
 
+  // MARK: get/set F
+  int get_f() {
+    if ((this.lazyOperands & LAZY) != 0) {
+      int result = this.lazyResult;
+      int value = 0;
+      if ((result & 0xFF) == 0) value |= ZERO_FLAG;
+      if ((this.lazyOperands & LAZY_SUBTRACT) != 0) value |= SUBTRACT_FLAG;
+      if (((this.lazyOperands ^ result) & 0x10) != 0) value |= HALF_CARRY_FLAG;
+      if ((result & 0x100) != 0) value |= CARRY_FLAG;
+      this.flags = value;
+      this.lazyOperands = 0;
+    }
+    return this.flags;
+  }
+
+  void set_f(int value) {
+    this.flags = value & 0xF0;
+    this.lazyOperands = 0;
+  }
+
+  void setFlags(boolean zero, boolean subtract, boolean halfCarry, boolean carry) {
+    set_f((zero ? ZERO_FLAG : 0) | (subtract ? SUBTRACT_FLAG : 0) | (halfCarry ? HALF_CARRY_FLAG : 0) | (carry ? CARRY_FLAG : 0));
+  }
+
+  // 8ビットの加算 (a + value [+ carry]) の結果を記録する (result は Functions.packedAdd の値)
+  void deferAddFlags(int a, int value, int result) {
+    this.lazyResult = result;
+    this.lazyOperands = (a ^ value) | LAZY;
+  }
+
+  // 8ビットの減算 (a - value [- carry]) の結果を記録する (result は Functions.packedSub の値)
+  void deferSubtractFlags(int a, int value, int result) {
+    this.lazyResult = result;
+    this.lazyOperands = (a ^ value) | LAZY_SUBTRACT | LAZY;
+  }
+
+  boolean zeroFlag() {
+    if ((this.lazyOperands & LAZY) != 0) return (this.lazyResult & 0xFF) == 0;
+    return (this.flags & ZERO_FLAG) != 0;
+  }
+
+  boolean carryFlag() {
+    if ((this.lazyOperands & LAZY) != 0) return (this.lazyResult & 0x100) != 0;
+    return (this.flags & CARRY_FLAG) != 0;
+  }
+
+  int carryBit() {
+    return carryFlag() ? 1 : 0;
+  }
+
+  // MARK: 互換ビュー
+  // フラグの値を互換ビュー f に書き出す
+  public void storeFlagsView() {
+    int value = get_f();
+    this.f.zero = (value & ZERO_FLAG) != 0;
+    this.f.subtract = (value & SUBTRACT_FLAG) != 0;
+    this.f.halfCarry = (value & HALF_CARRY_FLAG) != 0;
+    this.f.carry = (value & CARRY_FLAG) != 0;
+  }
+
+  // 互換ビュー f の値をフラグに読み込む
+  public void loadFlagsView() {
+    set_f(FlagsRegister.convertToByte(this.f));
+  }
+
   public void clear() {
     this.a = 0x00; // Aレジスタをクリア
     this.b = 0x00; // Bレジスタをクリア
@@ -70,5 +151,6 @@ public class Registers {
     this.h = 0x00; // Hレジスタをクリア
     this.l = 0x00; // Lレジスタをクリア
     this.f.clear(); // Fレジスタをクリア
+    set_f(0x00);
   }
 }
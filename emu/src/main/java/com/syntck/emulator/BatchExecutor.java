@@ -0,0 +1,69 @@
+package com.syntck.emulator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * 多数の BatchJob をコア数ぶんのスレッドで並列に実行し、終わったジョブから順に結果を返す
+ * エミュレータ1台 (Emulator / CPU / MemoryBus / PPU ...) の状態はすべてインスタンスが持ち、
+ * static なのは初期化後に変更しない表 (命令のデコード表・ディスパッチテーブルなど) だけなので、
+ * ジョブごとに別のインスタンスを作れば互いに干渉しない
+ * 唯一共有されるのはROMイメージのキャッシュ (RomImageCache.shared()) で、これは同期化されている
+ */
+public class BatchExecutor implements AutoCloseable {
+  private final ForkJoinPool pool;
+
+  public BatchExecutor() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  public BatchExecutor(int threads) {
+    this.pool = new ForkJoinPool(threads);
+  }
+
+  public int getThreads() {
+    return this.pool.getParallelism();
+  }
+
+  // MARK: run
+  // すべてのジョブを実行し、終わった順に onResult に結果を渡す (onResult は呼び出したスレッドで呼ばれる)
+  // 条件を満たさなかった・エラーになったジョブの数を返す
+  public int run(Collection<BatchJob> jobs, Consumer<BatchResult> onResult) throws InterruptedException {
+    CompletionService<BatchResult> results = new ExecutorCompletionService<>(this.pool);
+    for (BatchJob job : jobs) {
+      results.submit(job::run);
+    }
+
+    int failed = 0;
+    for (int i = 0; i < jobs.size(); i++) {
+      BatchResult result;
+      try {
+        result = results.take().get();
+      } catch (ExecutionException e) {
+        // BatchJob.run は例外を結果として返すため、ここに来るのは Error だけ
+        throw new IllegalStateException("ジョブの実行中にエラーが発生しました", e.getCause());
+      }
+      if (!result.isPassed()) failed++;
+      onResult.accept(result);
+    }
+    return failed;
+  }
+
+  // すべてのジョブを実行し、終わった順の結果を返す
+  public List<BatchResult> runAll(Collection<BatchJob> jobs) throws InterruptedException {
+    List<BatchResult> results = new ArrayList<>(jobs.size());
+    run(jobs, results::add);
+    return results;
+  }
+
+  @Override
+  public void close() {
+    this.pool.shutdown();
+  }
+}
@@ -0,0 +1,91 @@
+package com.syntck.emulator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * BatchExecutor で実行する1つのジョブ (ROM・入力・実行するフレーム数・実行後に確認する条件)
+ * 入力は「フレーム番号 -> そのフレームから押しているボタン」で指定し、次の指定まで同じボタンを押し続ける
+ */
+public class BatchJob {
+  private final String name;
+  private final String rom;
+  private final int frames;
+  private final TreeMap<Integer, Integer> inputs = new TreeMap<>(); // フレーム番号 -> ボタン (Joypad.A など)
+  private final List<Assertion> assertions = new ArrayList<>();
+
+  public BatchJob(String name, String rom, int frames) {
+    if (frames < 0) throw new IllegalArgumentException("Invalid frame count: " + frames);
+    this.name = name;
+    this.rom = rom;
+    this.frames = frames;
+  }
+
+  // frame フレーム目から buttons を押す (0 ですべて離す)
+  public BatchJob press(int frame, int buttons) {
+    this.inputs.put(frame, buttons);
+    return this;
+  }
+
+  // 実行後に満たしているべき条件
+  public BatchJob expect(String description, Predicate<Emulator> condition) {
+    this.assertions.add(new Assertion(description, condition));
+    return this;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+
+  public String getRom() {
+    return this.rom;
+  }
+
+  public int getFrames() {
+    return this.frames;
+  }
+
+  public Map<Integer, Integer> getInputs() {
+    return Collections.unmodifiableMap(this.inputs);
+  }
+
+  List<Assertion> getAssertions() {
+    return this.assertions;
+  }
+
+  // MARK: 実行
+  // 呼び出したスレッドで実行し、結果を返す (例外も結果として返す)
+  BatchResult run() {
+    long start = System.nanoTime();
+    try (Emulator emulator = new Emulator(this.rom)) {
+      for (int frame = 0; frame < this.frames; frame++) {
+        Integer buttons = this.inputs.get(frame);
+        if (buttons != null) emulator.setButtons(buttons);
+        emulator.runFrame();
+      }
+
+      List<String> failures = new ArrayList<>();
+      for (Assertion assertion : this.assertions) {
+        if (!assertion.condition.test(emulator)) failures.add(assertion.description);
+      }
+      return new BatchResult(this, failures, null, emulator.getFrameCount(), emulator.getCycles(),
+        HeadlessRunner.frameHash(emulator.getFrame()), System.nanoTime() - start);
+    } catch (RuntimeException e) {
+      return new BatchResult(this, Collections.<String>emptyList(), e, 0, 0, 0, System.nanoTime() - start);
+    }
+  }
+}
+
+class Assertion {
+  final String description;
+  final Predicate<Emulator> condition;
+
+  Assertion(String description, Predicate<Emulator> condition) {
+    this.description = description;
+    this.condition = condition;
+  }
+}
@@ -0,0 +1,65 @@
+package com.syntck.emulator;
+
+import java.util.List;
+
+/**
+ * BatchJob の実行結果
+ */
+public class BatchResult {
+  private final BatchJob job;
+  private final List<String> failures; // 満たさなかった条件
+  private final RuntimeException error; // 実行中に発生した例外 (なければ null)
+  private final long frames;
+  private final long cycles;
+  private final long frameHash; // 最後のフレームの CRC32
+  private final long elapsedNanos;
+
+  BatchResult(BatchJob job, List<String> failures, RuntimeException error, long frames, long cycles, long frameHash, long elapsedNanos) {
+    this.job = job;
+    this.failures = failures;
+    this.error = error;
+    this.frames = frames;
+    this.cycles = cycles;
+    this.frameHash = frameHash;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  // 最後まで実行でき、すべての条件を満たしたか
+  public boolean isPassed() {
+    return this.error == null && this.failures.isEmpty();
+  }
+
+  public BatchJob getJob() {
+    return this.job;
+  }
+
+  public List<String> getFailures() {
+    return this.failures;
+  }
+
+  public RuntimeException getError() {
+    return this.error;
+  }
+
+  public long getFrames() {
+    return this.frames;
+  }
+
+  public long getCycles() {
+    return this.cycles;
+  }
+
+  public long getFrameHash() {
+    return this.frameHash;
+  }
+
+  public long getElapsedNanos() {
+    return this.elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    String status = isPassed() ? "PASS" : (this.error != null ? "ERROR " + this.error : "FAIL " + this.failures);
+    return String.format("%s: %s (%d frames, %.1f ms)", this.job.getName(), status, this.frames, this.elapsedNanos / 1e6);
+  }
+}
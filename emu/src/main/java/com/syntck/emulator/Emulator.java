@@ -0,0 +1,115 @@
+package com.syntck.emulator;
+
+import java.util.function.Predicate;
+
+import com.syntck.cartridge.Cartridge;
+import com.syntck.cpu.CPU;
+import com.syntck.ppu.PPU;
+import com.syntck.scheduler.FramePacer;
+import com.syntck.scheduler.Scheduler;
+
+/**
+ * 画面やウィンドウを持たないエミュレータ本体 (java.awt / javax.swing を読み込まない)
+ * 時間の進め方 (フレーム / サイクル / 条件) と入力・出力だけを公開し、表示や速度の調整は呼び出し側が行う
+ * Swing のフロントエンド (GameBoy) もこのクラスの上で動く
+ */
+public class Emulator implements AutoCloseable {
+  private final Cartridge cartridge;
+  private final CPU cpu;
+  private final PPU gpu;
+  private final Scheduler scheduler;
+
+  public Emulator(String file) {
+    this(new Cartridge(file));
+  }
+
+  public Emulator(Cartridge cartridge) {
+    if (cartridge.mapper == null) {
+      throw new IllegalArgumentException("ROMを読み込めませんでした");
+    }
+    this.cartridge = cartridge;
+    this.cpu = new CPU(cartridge);
+    this.gpu = this.cpu.bus.gpu;
+    this.scheduler = this.cpu.bus.scheduler;
+  }
+
+  public CPU getCPU() {
+    return this.cpu;
+  }
+
+  public Cartridge getCartridge() {
+    return this.cartridge;
+  }
+
+  // MARK: 実行
+  // 次のフレームが完成する (V-Blankに入る) まで実行する
+  // LCDが無効でフレームが完成しない間は、1フレーム分のサイクルで区切る
+  public void runFrame() {
+    long frame = this.gpu.getFrameCount();
+    long end = this.scheduler.now() + FramePacer.CYCLES_PER_FRAME;
+    while (this.gpu.getFrameCount() == frame && (this.gpu.controls.enabled || this.scheduler.now() < end)) {
+      this.cpu.step();
+    }
+  }
+
+  public void runFrames(int frames) {
+    for (int i = 0; i < frames; i++) {
+      runFrame();
+    }
+  }
+
+  // 指定したサイクル数が経過するまで実行する (最後の命令の分だけ超えることがある)
+  public void runCycles(long cycles) {
+    long end = this.scheduler.now() + cycles;
+    while (this.scheduler.now() < end) {
+      this.cpu.step();
+    }
+  }
+
+  // 条件を満たすまで1命令ずつ実行する
+  public void runUntil(Predicate<Emulator> condition) {
+    while (!condition.test(this)) {
+      this.cpu.step();
+    }
+  }
+
+  // 条件を満たすか、指定したサイクル数が経過するまで実行する (条件を満たした場合は true)
+  public boolean runUntil(Predicate<Emulator> condition, long maxCycles) {
+    long end = this.scheduler.now() + maxCycles;
+    while (!condition.test(this)) {
+      if (this.scheduler.now() >= end) return false;
+      this.cpu.step();
+    }
+    return true;
+  }
+
+  // MARK: 入出力
+  // 最後に完成したフレーム (160x144, 表示色を設定していなければシェード0-3)
+  public int[] getFrame() {
+    return this.gpu.getFrame();
+  }
+
+  public long getFrameCount() {
+    return this.gpu.getFrameCount();
+  }
+
+  // 電源投入からの経過サイクル数
+  public long getCycles() {
+    return this.scheduler.now();
+  }
+
+  // frameSkip フレームに1回だけ描画する (描画しないフレームもタイミングは変わらない)
+  public void setFrameSkip(int frameSkip) {
+    this.gpu.setFrameSkip(frameSkip);
+  }
+
+  // 押されているボタン (Joypad.RIGHT | Joypad.A など)
+  public void setButtons(int mask) {
+    this.cpu.bus.joypad.setButtons(mask);
+  }
+
+  @Override
+  public void close() {
+    this.cartridge.close();
+  }
+}
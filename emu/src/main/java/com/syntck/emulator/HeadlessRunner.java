@@ -0,0 +1,89 @@
+package com.syntck.emulator;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.zip.CRC32;
+
+import com.syntck.cpu.IdleLoopDetector;
+import com.syntck.memory.MemoryFootprint;
+
+/**
+ * 画面を出さずにROMを指定したフレーム数だけ実行するコマンドライン
+ * 使い方: HeadlessRunner <ROMのパス> <フレーム数>
+ * 終了コード: 0 = 最後まで実行した, 1 = 引数が正しくない, 2 = ROMを読み込めない, 3 = 実行中にエラーが発生した
+ * -Dgameboy.memory.footprint=true を指定すると、インスタンスごとのメモリ使用量も表示する
+ */
+public class HeadlessRunner {
+  public static final int EXIT_OK = 0;
+  public static final int EXIT_USAGE = 1;
+  public static final int EXIT_LOAD_ERROR = 2;
+  public static final int EXIT_RUNTIME_ERROR = 3;
+
+  public static void main(String[] args) {
+    System.exit(run(args, System.out, System.err));
+  }
+
+  // MARK: run
+  public static int run(String[] args, PrintStream out, PrintStream err) {
+    if (args.length != 2) {
+      err.println("usage: HeadlessRunner <rom> <frames>");
+      return EXIT_USAGE;
+    }
+
+    int frames;
+    try {
+      frames = Integer.parseInt(args[1]);
+    } catch (NumberFormatException e) {
+      frames = -1;
+    }
+    if (frames < 0) {
+      err.println("フレーム数が正しくありません: " + args[1]);
+      return EXIT_USAGE;
+    }
+
+    if (!new File(args[0]).isFile()) {
+      err.println("ROMが見つかりません: " + args[0]);
+      return EXIT_LOAD_ERROR;
+    }
+    Emulator emulator;
+    try {
+      emulator = new Emulator(args[0]);
+    } catch (RuntimeException e) {
+      err.println("ROMを読み込めませんでした: " + args[0] + " (" + e.getMessage() + ")");
+      return EXIT_LOAD_ERROR;
+    }
+
+    try (Emulator running = emulator) {
+      long start = System.nanoTime();
+      running.runFrames(frames);
+      long elapsed = System.nanoTime() - start;
+      report(running, elapsed, out);
+      return EXIT_OK;
+    } catch (RuntimeException e) {
+      err.println("実行中にエラーが発生しました: " + e);
+      return EXIT_RUNTIME_ERROR;
+    }
+  }
+
+  // 実行結果の要約 (最後のフレームのハッシュでテストの結果を比較できる)
+  private static void report(Emulator emulator, long elapsedNanos, PrintStream out) {
+    IdleLoopDetector idleLoops = emulator.getCPU().getIdleLoopDetector();
+    double seconds = elapsedNanos / 1e9;
+    out.printf("frames: %d%n", emulator.getFrameCount());
+    out.printf("cycles: %d%n", emulator.getCycles());
+    out.printf("elapsed: %.3f s (%.1f fps)%n", seconds, (seconds > 0) ? emulator.getFrameCount() / seconds : 0.0);
+    out.printf("idle loop skipped: %d cycles in %d skips%n", idleLoops.getSkippedCycles(), idleLoops.getSkipCount());
+    out.printf("frame crc32: %08X%n", frameHash(emulator.getFrame()));
+    if (Boolean.getBoolean(MemoryFootprint.PROPERTY)) {
+      out.println(MemoryFootprint.of(emulator.getCPU().bus));
+    }
+  }
+
+  static long frameHash(int[] frame) {
+    CRC32 crc = new CRC32();
+    for (int pixel : frame) {
+      crc.update(pixel);
+    }
+    return crc.getValue();
+  }
+}
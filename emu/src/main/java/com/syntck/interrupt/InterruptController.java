@@ -0,0 +1,68 @@
+package com.syntck.interrupt;
+
+/**
+ * IF (0xFF0F) / IE (0xFFFF) の割り込みレジスタ
+ * CPUは命令ごとに割り込みを確認するため、どちらかのレジスタが変わったときだけ
+ * 「要求されていて、かつ有効な割り込み」(IF & IE & 0x1F) を計算しておき、確認は pending の比較1回で済ませる
+ */
+public class InterruptController {
+  // 割り込みのビット (IF / IE 共通)
+  public static final int VBLANK = 0x01;
+  public static final int LCD = 0x02;
+  public static final int TIMER = 0x04;
+  public static final int SERIAL = 0x08;
+  public static final int JOYPAD = 0x10;
+  private static final int MASK = 0x1F; // 割り込みは下位5ビットだけ
+
+  private int requested; // 0xFF0F IF (割り込み要求)
+  private int enabled; // 0xFFFF IE (割り込み有効)
+  private int pending; // requested & enabled & MASK
+
+  public InterruptController() {
+    this.requested = 0;
+    this.enabled = 0;
+    this.pending = 0;
+  }
+
+  // 要求されていて、かつ有効な割り込み (なければ0)
+  public int getPending() {
+    return this.pending;
+  }
+
+  // MARK: IF
+  public int readIF() {
+    return 0xE0 | this.requested; // 上位3ビットは常に1
+  }
+
+  public void writeIF(int value) {
+    this.requested = value & MASK;
+    update();
+  }
+
+  // MARK: IE
+  public int readIE() {
+    return this.enabled;
+  }
+
+  public void writeIE(int value) {
+    this.enabled = value & 0xFF; // 上位3ビットも読み書きできる
+    update();
+  }
+
+  // MARK: request
+  // 割り込みを要求する (PPU / タイマーなど)
+  public void request(int bits) {
+    this.requested |= bits & MASK;
+    update();
+  }
+
+  // 割り込みを受け付けて、要求を取り下げる
+  public void acknowledge(int bits) {
+    this.requested &= ~bits;
+    update();
+  }
+
+  private void update() {
+    this.pending = this.requested & this.enabled & MASK;
+  }
+}
@@ -1,6 +1,16 @@
 package com.syntck.joypad;
 
 public class Joypad {
+  // setButtons に渡すボタンのビット (押されているボタンを1にする)
+  public static final int RIGHT = 0x01;
+  public static final int LEFT = 0x02;
+  public static final int UP = 0x04;
+  public static final int DOWN = 0x08;
+  public static final int A = 0x10;
+  public static final int B = 0x20;
+  public static final int SELECT = 0x40;
+  public static final int START = 0x80;
+
   public boolean buttonLeft;
   public boolean buttonRight;
   public boolean buttonUp;
@@ -27,6 +37,18 @@ public class Joypad {
     this.selectAction = true;
   }
 
+  // すべてのボタンの状態をまとめて設定する
+  public void setButtons(int mask) {
+    this.buttonRight = (mask & RIGHT) != 0;
+    this.buttonLeft = (mask & LEFT) != 0;
+    this.buttonUp = (mask & UP) != 0;
+    this.buttonDown = (mask & DOWN) != 0;
+    this.buttonA = (mask & A) != 0;
+    this.buttonB = (mask & B) != 0;
+    this.buttonSelect = (mask & SELECT) != 0;
+    this.buttonStart = (mask & START) != 0;
+  }
+
   public void write(int value) {
     this.selectDirection = (value & 0x10) == 0; // 4ビット目
     this.selectAction = (value & 0x20) == 0; // 5ビット目
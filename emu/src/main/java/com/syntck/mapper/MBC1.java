@@ -1,155 +1,105 @@
 package com.syntck.mapper;
 
+import java.nio.ByteBuffer;
+
 public class MBC1 implements Mapper {
-  private int[] binaryData;
-  private int[] ram;
+  private static final int ROM_BANK_SIZE = 0x4000; // 16KB
+  private static final int RAM_BANK_SIZE = 0x2000; // 8KB
+
+  private ByteBuffer binaryData; // 読み取り専用 (共有されたROMイメージ)
+  private byte[] ram;
   private int romSize;
   private int ramSize;
-  private int secondaryBank;
-  private int ramBank;
-  private int mode;
-  private boolean ramEnabled;
-  private boolean isBigROM;
-  private boolean isBigRAM;
+  private int romBankCount; // ROMのバンク数
+  private int ramBankCount; // RAMのバンク数
 
-  private int bank = 0x01; // バンク番号
-
-  public MBC1(int[] binaryData, int[] ram, int romSize, int ramSize) {
+  // レジスタ
+  private boolean ramEnabled;
+  private int bank; // ROMバンク番号の下位5ビット (0x2000-0x3FFF)
+  private int secondaryBank; // RAMバンク番号 || ROMバンク番号の上位2ビット (0x4000-0x5FFF)
+  private int mode; // バンキングモード (0x6000-0x7FFF)
+
+  // MARK: 事前計算したオフセット
+  // レジスタへの書き込み時に再計算し、読み書きは「オフセット + アドレス」の1回の加算で行う
+  private int rom0Offset; // 0x0000-0x3FFF のアドレスに足すオフセット
+  private int rom1Offset; // 0x4000-0x7FFF のアドレスに足すオフセット
+  private int ramOffset; // 0xA000-0xBFFF のアドレスに足すオフセット
+  private boolean ramAccessible; // RAMが有効かつ存在するか
+
+  public MBC1(ByteBuffer binaryData, byte[] ram, int romSize, int ramSize) {
     init(binaryData, ram, romSize, ramSize);
   }
 
-  public void init(int[] binaryData, int[] ram, int romSize, int ramSize) {
+  public void init(ByteBuffer binaryData, byte[] ram, int romSize, int ramSize) {
     this.binaryData = binaryData; // バイナリデータを保存
+    this.ram = ram; // RAMを保存
     this.romSize = romSize; // ROMサイズを保存
     this.ramSize = ramSize; // RAMサイズを保存
-    this.secondaryBank = 0; // 拡張バンク番号を初期化
-    this.ramBank = 0; // RAMバンク番号を初期化
+    this.romBankCount = Math.max(2, romSize / ROM_BANK_SIZE);
+    this.ramBankCount = ramSize / RAM_BANK_SIZE;
     this.ramEnabled = false;
-    this.mode = 1;
-    this.isBigROM = (this.binaryData.length >= 1024 * 1024); // ROMが1MB以上かどうかを判定
-    this.ram = ram;
-    this.isBigRAM = (this.ramSize >= 8 * 1024); // RAMが8KB以上かどうかを判定
-  }
-
-  public int readByte(int address) {
-    if (this.mode == 0) {
-      return readByteBasic(address); // 基本モードで読み取る
-    } else {
-      return readByteAdvanced(address); // 高度なモードで読み取る
-    }
-  }
-
-  private int calcBank1Address(int address) {
-    int bannk = this.bank & 0x1F;
-    if (bank == 0) bank = 1;
-    int bankAddress = address + (bank * 0x4000); // バンク番号を考慮してアドレスを計算
-    return bankAddress - 0x4000; // バンクのROMデータを読み取る
+    this.bank = 0x01; // バンク番号を初期化
+    this.secondaryBank = 0; // 拡張バンク番号を初期化
+    this.mode = 0;
+    updateOffsets();
   }
 
-  private int calcBank1AddressWithSecondary(int address) {
-    int bank = ((this.secondaryBank & 0x03) << 5) | (this.bank & 0x1F); // 5ビットのバンク番号を取得
-    if (bank == 0) bank = 1;
-    int bankAddress = address + (bank * 0x4000); // バンク番号を考慮してアドレスを計算
-    return bankAddress - 0x4000; // バンクのROMデータを読み取る
+  // MARK: updateOffsets
+  // バンクレジスタの値から各領域のオフセットを計算する
+  private void updateOffsets() {
+    // 0x4000-0x7FFF: 上位2ビット + 下位5ビット (下位5ビットが0の場合は1として扱う)
+    int bank1 = (this.secondaryBank << 5) | (this.bank == 0 ? 1 : this.bank);
+    this.rom1Offset = (bank1 % this.romBankCount) * ROM_BANK_SIZE - 0x4000;
+
+    // 0x0000-0x3FFF: モード1では上位2ビットでバンクを切り替える (1MB以上のROMのみ影響する)
+    int bank0 = (this.mode == 1) ? (this.secondaryBank << 5) : 0;
+    this.rom0Offset = (bank0 % this.romBankCount) * ROM_BANK_SIZE;
+
+    // 0xA000-0xBFFF: モード1ではRAMバンクを切り替える (32KBのRAMのみ影響する)
+    this.ramAccessible = this.ramEnabled && this.ramBankCount > 0;
+    int ramBank = (this.mode == 1 && this.ramBankCount > 0) ? this.secondaryBank % this.ramBankCount : 0;
+    this.ramOffset = ramBank * RAM_BANK_SIZE - 0xA000;
   }
 
-  public int readByteBasic(int address) {
-    // bank 0
-    if (0x0000 <= address && address <= 0x3FFF) {
-      return this.binaryData[address]; // ROMの最初の16KBは常に読み取れる
-    }
-
-    // bank 1
-    if (0x4000 <= address && address <= 0x7FFF) {
-      if (!this.isBigRAM && this.isBigROM) {
-        return this.binaryData[calcBank1Address(address)]; // バンクのROMデータを読み取る
-      } else {
-        return this.binaryData[calcBank1AddressWithSecondary(address)];
-      }
-    }
+  public int readByte(int address) {
+    // ROM bank 0
+    if (address <= 0x3FFF) return this.binaryData.get(this.rom0Offset + address) & 0xFF;
+    // ROM bank 1
+    if (address <= 0x7FFF) return this.binaryData.get(this.rom1Offset + address) & 0xFF;
 
     // RAM
     if (0xA000 <= address && address <= 0xBFFF) {
-      // RAMにアクセス
-      if (this.ramEnabled) {
-        return this.ram[address - 0xA000];
-      }
+      if (!this.ramAccessible) return 0xFF; // RAMが無効な場合は0xFFが読める
+      return this.ram[this.ramOffset + address] & 0xFF;
     }
 
     return 0;
   }
 
-  public int readByteAdvanced(int address) {
-    // bank 0
-    if (0x0000 <= address && address <= 0x3FFF) {
-      if (this.isBigROM) {
-        int bank = (this.secondaryBank & 0x03) << 5; // 5ビットのバンク番号を取得
-        int bankAddress = address + (this.bank  * 0x4000); // バンク番号を考慮してアドレスを計算
-        return this.binaryData[bankAddress]; // バンクのROMデータを読み取る
-      } else {
-        return this.binaryData[address]; // ROMの最初の16KBは常に読み取れる
-      }
-    }
-
-    // bank 1
-    if (0x4000 <= address && address <= 0x7FFF) {
-      if (this.isBigROM) {
-        return this.binaryData[calcBank1AddressWithSecondary(address)]; // バンクのROMデータを読み取る
-      } else {
-        return this.binaryData[calcBank1Address(address)]; // バンクのROMデータを読み取る
-      }
-    }
+  public int getRomOffset(int address) {
+    return (address <= 0x3FFF) ? this.rom0Offset + address : this.rom1Offset + address;
+  }
 
-    // RAM
+  public void writeByte(int address, int value) {
     if (0xA000 <= address && address <= 0xBFFF) {
-      if (this.isBigRAM) {
-        return this.ram[address - 0xA000]; // RAMのデータを読み取る
-      } else {
-        int bank = (this.secondaryBank & 0x03);
-        int addr = address + (bank * 0x2000); // バンク番号を考慮してアドレスを計算
-        return this.ram[addr - 0xA000]; // RAMのデータを読み取る
-      }
+      if (!this.ramAccessible) return;
+      this.ram[this.ramOffset + address] = (byte) value;
+      return;
     }
 
-    return 0;
-  }
-
-  public void writeByte(int address, int value) {
     if (0x0000 <= address && address <= 0x1FFF) {
       // RAM有効化フラグ
-      this.ramEnabled = (value & 0x0A) == 0x0A; // RAMを有効化する
-    }
-    if (0x2000 <= address && address <= 0x3FFF) {
-      this.bank = value;
-    }
-    if (0x4000 <= address && address <= 0x5FFF) {
+      this.ramEnabled = (value & 0x0F) == 0x0A; // 下位4ビットが0xAの場合にRAMを有効化する
+    } else if (0x2000 <= address && address <= 0x3FFF) {
+      this.bank = value & 0x1F;
+    } else if (0x4000 <= address && address <= 0x5FFF) {
       // RAMバンク番号 || ROMバンク番号の上位ビット
-      this.secondaryBank = value;
-    }
-    if (0x6000 <= address && address <= 0x7FFF) {
-      // ROMバンク番号の下位ビット
-      this.mode = value; // モードを設定
-    }
-    if (0xA000 <= address && address <= 0xBFFF) {
-      if (!this.ramEnabled || this.ram == null || this.ramSize == 0) return;
-
-      if (this.mode == 0x00) {
-        int index = address - 0xA000;
-        if (index < 0 || index >= this.ram.length) return; // 範囲チェック
-        this.ram[index] = value;
-      } else {
-        if (this.isBigRAM) {
-          int bank = (this.secondaryBank & 0x03);
-          int addr = address + (bank * 0x2000);
-          int index = addr - 0xA000;
-          if (index < 0 || index >= this.ram.length) return; // 範囲チェック
-          this.ram[index] = value;
-        } else {
-          int index = address - 0xA000;
-          if (index < 0 || index >= this.ram.length) return; // 範囲チェック
-          this.ram[index] = value;
-        }
-      }
+      this.secondaryBank = value & 0x03;
+    } else if (0x6000 <= address && address <= 0x7FFF) {
+      this.mode = value & 0x01; // モードを設定
+    } else {
+      return;
     }
+    updateOffsets();
   }
 }
@@ -1,7 +1,11 @@
 package com.syntck.mapper;
 
+import java.nio.ByteBuffer;
+
 public interface Mapper {
-  void init(int[] binaryData, int[] ram, int romSize, int ramSize);
+  void init(ByteBuffer binaryData, byte[] ram, int romSize, int ramSize); // binaryData は読み取り専用 (共有されたROMイメージ)
   int readByte(int address);
   void writeByte(int address, int value);
+  // 0x0000-0x7FFFのアドレスが現在参照しているROM上のオフセットを返す
+  int getRomOffset(int address);
 }
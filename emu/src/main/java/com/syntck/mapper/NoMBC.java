@@ -1,16 +1,18 @@
 package com.syntck.mapper;
 
+import java.nio.ByteBuffer;
+
 public class NoMBC implements Mapper {
-  private int[] binaryData;
-  private int[] ram;
+  private ByteBuffer binaryData; // 読み取り専用 (共有されたROMイメージ)
+  private byte[] ram;
   private int romSize;
   private int ramSize;
 
-  public NoMBC(int[] binaryData, int[] ram, int romSize, int ramSize) {
+  public NoMBC(ByteBuffer binaryData, byte[] ram, int romSize, int ramSize) {
     init(binaryData, ram, romSize, ramSize);
   }
 
-  public void init(int[] binaryData, int[] ram, int romSize, int ramSize) {
+  public void init(ByteBuffer binaryData, byte[] ram, int romSize, int ramSize) {
     this.binaryData = binaryData; // バイナリデータを保存
     this.ram = ram; // RAMを保存
     this.romSize = romSize; // ROMサイズを保存
@@ -18,7 +20,11 @@ public class NoMBC implements Mapper {
   }
 
   public int readByte(int address) {
-    return this.binaryData[address]; // ROMを直接読み取る
+    return this.binaryData.get(address) & 0xFF; // ROMを直接読み取る
+  }
+
+  public int getRomOffset(int address) {
+    return address; // バンク切り替えがないためアドレスがそのままオフセットになる
   }
 
   public void writeByte(int address, int value) {
@@ -0,0 +1,79 @@
+package com.syntck.memory;
+
+import com.syntck.ppu.PPU;
+import com.syntck.scheduler.Event;
+import com.syntck.scheduler.Scheduler;
+
+/**
+ * OAM DMA転送 (0xFF46)
+ * 転送元の160バイトを書き込んだ時点でまとめてOAMにコピーし、転送にかかる640サイクルの間はCPUが
+ * I/Oレジスタ・HRAM (0xFF00-0xFFFF) 以外にアクセスできないようにする (読み取りは0xFF, 書き込みは無視)
+ * 転送の終わりはイベントとしてスケジュールし、期限が来たらバスを元に戻す
+ */
+public class DMAController {
+  public static final int DMA_CYCLES = 640; // 転送にかかるサイクル数 (160バイト x 4サイクル)
+
+  private final MemoryBus bus;
+  private final Scheduler scheduler;
+  private final byte[] buffer = new byte[PPU.OAM_SIZE]; // I/Oレジスタなどから1バイトずつ読み取る場合のバッファ
+  private int register; // 0xFF46 DMAレジスタ (最後に書き込まれた転送元の上位バイト)
+  private boolean active; // 転送中か
+
+  DMAController(MemoryBus bus) {
+    this.bus = bus;
+    this.scheduler = bus.scheduler;
+    this.register = 0;
+    this.active = false;
+  }
+
+  public int read() {
+    return this.register;
+  }
+
+  public boolean isActive() {
+    return this.active;
+  }
+
+  // MARK: start
+  public void start(int value) {
+    this.register = value & 0xFF;
+    if (this.active) this.bus.unblockPages(); // 転送中に書き込まれた場合は、転送元を読めるようにしてからやり直す
+
+    copy(this.register << 8);
+
+    this.active = true;
+    this.bus.blockPages();
+    this.scheduler.schedule(Event.DMA, this.scheduler.now() + DMA_CYCLES);
+  }
+
+  // MARK: update
+  // DMAイベント: 転送を終えて、CPUがすべてのアドレスにアクセスできるように戻す
+  public void update() {
+    if (!this.active) return;
+    this.active = false;
+    this.bus.unblockPages();
+  }
+
+  // MARK: copy
+  private void copy(int source) {
+    PPU gpu = this.bus.gpu;
+
+    // ROM: 現在のバンクのROMイメージからまとめてコピーする
+    if (source < 0x8000 && this.bus.cartridge != null && this.bus.cartridge.copyROM(source, this.buffer)) {
+      gpu.writeOAMBlock(this.buffer, 0);
+      return;
+    }
+
+    // WRAMなど、メモリを直接読み書きするページ: メモリからまとめてコピーする
+    if (this.bus.isDirectPage(source >> 8)) {
+      gpu.writeOAMBlock(this.bus.memory, source);
+      return;
+    }
+
+    // VRAM・外部RAM・I/Oレジスタなど: ハンドラを通して1バイトずつ読み取る
+    for (int i = 0; i < PPU.OAM_SIZE; i++) {
+      this.buffer[i] = (byte) this.bus.readByte(source + i);
+    }
+    gpu.writeOAMBlock(this.buffer, 0);
+  }
+}
@@ -1,151 +1,225 @@
 package com.syntck.memory;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 import com.syntck.cpu.CPU;
 import com.syntck.cartridge.Cartridge;
+import com.syntck.interrupt.InterruptController;
 import com.syntck.joypad.Joypad;
 import com.syntck.ppu.PPU;
+import com.syntck.scheduler.Scheduler;
+import com.syntck.timer.Timer;
 
 public class MemoryBus {
   public static final int MEMORY_SIZE = 0xFFFF; // 64KB of memory
-  public int[] memory = new int[MEMORY_SIZE+1]; // Memory array
+  private static final int PAGE_COUNT = 0x100; // 256バイト単位のページ数
+  private static final int IO_REGISTER_COUNT = 0x80; // I/Oレジスタ (0xFF00-0xFF7F) の数
+  public byte[] memory = new byte[MEMORY_SIZE+1]; // Memory array (読み取り時に & 0xFF する)
   public CPU cpu; // CPU instance
   public PPU gpu; // GPU instance
   public Cartridge cartridge; // Cartridge instance
   public Joypad joypad; // Joypad instance
+  public Scheduler scheduler; // イベントスケジューラ
+  public Timer timer; // Timer instance
+  public InterruptController interrupts; // IF / IE
+  public DMAController dma; // OAM DMA転送
+  public int bankSwitchCount; // ROM領域 (マッパーのレジスタ) への書き込み回数
+
+  // MARK: ROMバンク
+  // ROMの読み取りはマッパーを経由せず、現在のバンクのオフセットでROMイメージを直接読む
+  // オフセットはマッパーのレジスタへの書き込みごとに更新する
+  private ByteBuffer rom; // 読み取り専用 (共有されたROMイメージ)
+  private int rom0Offset; // 0x0000-0x3FFF のアドレスに足すオフセット
+  private int rom1Offset; // 0x4000-0x7FFF のアドレスに足すオフセット
+
+  // MARK: ページテーブル
+  // アドレスの上位8ビットごとの読み書きハンドラ (null のページは memory を直接読み書きする)
+  private final ReadHandler[] readPages = new ReadHandler[PAGE_COUNT];
+  private final WriteHandler[] writePages = new WriteHandler[PAGE_COUNT];
+  // DMA転送中は readPages / writePages を差し替えるため、本来のハンドラを別に持っておく
+  private final ReadHandler[] mappedReadPages = new ReadHandler[PAGE_COUNT];
+  private final WriteHandler[] mappedWritePages = new WriteHandler[PAGE_COUNT];
+  private static final ReadHandler BLOCKED_READER = address -> 0xFF; // DMA転送中の読み取り
+  private static final WriteHandler BLOCKED_WRITER = (address, value) -> {}; // DMA転送中の書き込み (無視する)
+  // I/Oレジスタごとの読み書きハンドラ (null のレジスタは memory を直接読み書きする)
+  private final ReadHandler[] ioReaders = new ReadHandler[IO_REGISTER_COUNT];
+  private final WriteHandler[] ioWriters = new WriteHandler[IO_REGISTER_COUNT];
 
   public MemoryBus(CPU cpu, Cartridge cartridge) {
     this.cpu = cpu; // Initialize the CPU instance
     this.gpu = new PPU(); // Initialize the GPU instance
     this.cartridge = cartridge; // Initialize the cartridge instance
     this.joypad = new Joypad(); // Initialize the joypad instance
-  }
+    this.scheduler = new Scheduler(); // Initialize the scheduler
+    this.interrupts = new InterruptController(); // Initialize the interrupt controller
+    this.timer = new Timer(this); // Initialize the timer instance
+    this.dma = new DMAController(this); // Initialize the DMA controller
 
-  public int readByte(int address) {
-    if (address < 0 || address > MEMORY_SIZE) {
-      throw new IllegalArgumentException("Address out of bounds: " + String.format("0x%04X", address));
+    // ROMがなければ、0xFF00-0xFFFF以外のページでメモリを直接読み書きする (CPUテスト用の苦肉の策)
+    if (cartridge != null) {
+      mapPages();
+      mapIORegisters();
     }
+    mapSystemRegisters();
+  }
 
-    // ROMがなければ、メモリから直接読み取る (CPUテスト用の苦肉の策)
-    if (this.cartridge == null) return memory[address];
-    if (address == 0xFF50) return memory[address];
-
-    if (0x0000 <= address && address <= 0x7FFF) {
-      return this.cartridge.readByte(address); // Read from the cartridge if address is in ROM range
-    }
+  // MARK: mapPages
+  private void mapPages() {
+    ReadHandler cartridgeReader = address -> this.cartridge.readByte(address);
+
+    // ROMバンク0 / 切り替え可能なROMバンク (書き込みはマッパーのレジスタへ)
+    this.rom = this.cartridge.rom.asBuffer();
+    updateRomBanks();
+    WriteHandler mapperWriter = (address, value) -> {
+      this.bankSwitchCount++; // バンク構成が変わった可能性がある
+      this.cartridge.writeByte(address, value);
+      updateRomBanks();
+    };
+    setPages(0x00, 0x3F, address -> this.rom.get(this.rom0Offset + address) & 0xFF, mapperWriter);
+    setPages(0x40, 0x7F, address -> this.rom.get(this.rom1Offset + address) & 0xFF, mapperWriter);
+
+    // VRAM
+    setPages(0x80, 0x9F,
+      address -> this.gpu.readVRAM(address - PPU.VRAM_BEGIN),
+      (address, value) -> this.gpu.writeVRAM(address - PPU.VRAM_BEGIN, value));
+
+    // 外部RAM
+    setPages(0xA0, 0xBF, cartridgeReader, (address, value) -> this.cartridge.writeByte(address, value));
+
+    // WRAM / エコーRAM (0xC000-0xFDFF) はメモリを直接読み書きする
+
+    // OAM (0xFEA0-0xFEFF は未使用領域としてメモリに置く)
+    setPages(0xFE, 0xFE,
+      address -> (address <= 0xFE9F) ? this.gpu.readOAM(address) : this.memory[address] & 0xFF,
+      (address, value) -> {
+        if (address <= 0xFE9F) {
+          this.gpu.writeOAM(address, value); // OAMに書き込む (OAMの値はPPUだけが持つ)
+        } else {
+          this.memory[address] = (byte) value;
+        }
+      });
+
+    // I/Oレジスタ / HRAM / IE
+    setPages(0xFF, 0xFF, this::readIO, this::writeIO);
+  }
 
-    if (0xA000 <= address && address <= 0xBFFF) {
-      return this.cartridge.readByte(address);
-    }
+  // 現在のバンク構成でのROM上のオフセットをマッパーから取得する
+  private void updateRomBanks() {
+    this.rom0Offset = this.cartridge.getRomOffset(0x0000);
+    this.rom1Offset = this.cartridge.getRomOffset(0x4000) - 0x4000;
+  }
 
-    // OAM
-    if (0xFE00 < address && address <= 0xFE9F) {
-      return this.gpu.readOAM(address); // OAMから読み取る
+  private void setPages(int firstPage, int lastPage, ReadHandler reader, WriteHandler writer) {
+    for (int page = firstPage; page <= lastPage; page++) {
+      this.readPages[page] = reader;
+      this.writePages[page] = writer;
+      this.mappedReadPages[page] = reader;
+      this.mappedWritePages[page] = writer;
     }
+  }
 
-    if (address == 0xFF42) {
-      return this.gpu.scy; // SCYレジスタの値を返す
-    } else if (address == 0xFF43) {
-      return this.gpu.scx; // SCXレジスタの値を返す
-    } else if (address == 0xFF46) {
-      return this.gpu.dma; // DMAレジスタの値を返す
-    } else if (address == 0xFF47) {
-      return this.gpu.bgp; // BGPレジスタの値を返す
-    } else if (address == 0xFF48) {
-      return this.gpu.obp0; // OBP0レジスタの値を返す
-    } else if (address == 0xFF49) {
-      return this.gpu.obp1; // OBP1レジスタの値を返す
-    } else if (address == 0xFF4A) {
-      return this.gpu.wy; // WYレジスタの値を返す
-    } else if (address == 0xFF4B) {
-      return this.gpu.wx; // WXレジスタの値を返す
-    }
+  // メモリを直接読み書きするページか
+  boolean isDirectPage(int page) {
+    return this.mappedReadPages[page] == null;
+  }
 
-    if (address == 0xFF41) {
-    return this.gpu.status.convertToInt(); // LCDステータスレジスタの値を返す
-    } else if (address == 0xFF40) {
-      return this.gpu.controls.convertToInt();
-    } else if (address == 0xFF44) {
-      // if (this.cpu.debug) System.out.println("LYレジスタへの読み取りが発生しました" + String.format("- 0x%04X", this.gpu.ly)); // LYレジスタは読み取らない
-      return this.gpu.ly; // LYレジスタの値を返す
-    } else if (address == 0xFF45) {
-      return this.gpu.lyc; // LYCレジスタの値を返す
-    } else if (PPU.VRAM_BEGIN <= address && address <= PPU.VRAM_END) {
-      return this.gpu.readVRAM(address - PPU.VRAM_BEGIN); // アドレスがVRAMの範囲内の場合、GPUから読み取る
-    }
-    if (address == 0xFF00) {
-      return this.joypad.read(); // Joypadから読み取る
+  // MARK: DMA転送中のバス
+  // I/Oレジスタ・HRAM (0xFF00-0xFFFF) 以外のページへのアクセスを無効にする
+  void blockPages() {
+    for (int page = 0; page < 0xFF; page++) {
+      this.readPages[page] = BLOCKED_READER;
+      this.writePages[page] = BLOCKED_WRITER;
     }
-
-    return memory[address];
   }
 
-  public void writeByte(int address, int value) {
-    if (address < 0 || address > MEMORY_SIZE) {
-      throw new IllegalArgumentException("Address out of bounds: " + String.format("0x%04X", address));
-    }
+  void unblockPages() {
+    System.arraycopy(this.mappedReadPages, 0, this.readPages, 0, PAGE_COUNT);
+    System.arraycopy(this.mappedWritePages, 0, this.writePages, 0, PAGE_COUNT);
+  }
 
-    if (address == 0xFF01) {
-      System.out.print((char) value); // 0xFF01はコンソールに出力する
-    }
+  // MARK: mapIORegisters
+  private void mapIORegisters() {
+    setIORegister(0xFF00, address -> this.joypad.read(), (address, value) -> this.joypad.write(value));
+    setIORegister(0xFF01, null, (address, value) -> System.out.print((char) value)); // 0xFF01はコンソールに出力する
+
+    setIORegister(0xFF40, address -> this.gpu.controls.convertToInt(), (address, value) -> {
+      this.cpu.syncGraphics(); // 書き込み前の状態で現在時刻までPPUを進める
+      this.gpu.controls.convertFromInt(value);
+      this.cpu.syncGraphics(); // LCDの有効・無効に合わせて次のイベントをスケジュールし直す
+    });
+    setIORegister(0xFF41, address -> this.gpu.status.convertToInt(), (address, value) -> this.gpu.status.convertFromInt(value));
+    setIORegister(0xFF42, address -> this.gpu.scy, (address, value) -> this.gpu.scy = value);
+    setIORegister(0xFF43, address -> this.gpu.scx, (address, value) -> this.gpu.scx = value);
+    setIORegister(0xFF44, address -> this.gpu.ly, (address, value) -> {
+      throw new UnsupportedOperationException("LYレジスタへの書き込みが発生しました"); // LYレジスタには書き込まない
+    });
+    setIORegister(0xFF45, address -> this.gpu.lyc, (address, value) -> this.gpu.lyc = value);
+    setIORegister(0xFF46, address -> this.dma.read(), (address, value) -> this.dma.start(value)); // DMA転送
+    setIORegister(0xFF47, address -> this.gpu.getBGP(), (address, value) -> this.gpu.setBGP(value)); // パレットの変換表も作り直す
+    setIORegister(0xFF48, address -> this.gpu.getOBP0(), (address, value) -> this.gpu.setOBP0(value));
+    setIORegister(0xFF49, address -> this.gpu.getOBP1(), (address, value) -> this.gpu.setOBP1(value));
+    setIORegister(0xFF4A, address -> this.gpu.wy, (address, value) -> this.gpu.wy = value);
+    setIORegister(0xFF4B, address -> this.gpu.wx, (address, value) -> this.gpu.wx = value);
+  }
 
-    // DIVカウンタ
-    if (address == 0xFF04) {
-      this.memory[address] = 0;
-    }
+  // MARK: mapSystemRegisters
+  // タイマーと割り込みのレジスタはメモリに値を持たないため、CPUテスト (カートリッジなし) でも振り分ける
+  private void mapSystemRegisters() {
+    setPages(0xFF, 0xFF, this::readIO, this::writeIO);
+    setIORegister(0xFF0F, address -> this.interrupts.readIF(), (address, value) -> this.interrupts.writeIF(value));
+    setIORegister(0xFF04, address -> this.timer.readDIV(), (address, value) -> this.timer.writeDIV()); // 書き込むと0にリセットされる
+    setIORegister(0xFF05, address -> this.timer.readTIMA(), (address, value) -> this.timer.writeTIMA(value));
+    setIORegister(0xFF06, address -> this.timer.readTMA(), (address, value) -> this.timer.writeTMA(value));
+    setIORegister(0xFF07, address -> this.timer.readTAC(), (address, value) -> this.timer.writeTAC(value));
+  }
 
-    // DMA転送
-    if (address == 0xFF46) {
-      handleDMATransfer(value); // DMA転送を処理する
-    }
+  private void setIORegister(int address, ReadHandler reader, WriteHandler writer) {
+    this.ioReaders[address - 0xFF00] = reader;
+    this.ioWriters[address - 0xFF00] = writer;
+  }
 
-    // OAM
-    if (0xFE00 <= address && address <= 0xFE9F) {
-      this.gpu.writeOAM(address, value); // OAMに書き込む
+  private int readIO(int address) {
+    if (address < 0xFF80) {
+      ReadHandler reader = this.ioReaders[address - 0xFF00];
+      if (reader != null) return reader.read(address);
+    } else if (address == 0xFFFF) {
+      return this.interrupts.readIE();
     }
+    return this.memory[address] & 0xFF;
+  }
 
-    if (address == 0xFF42) {
-      this.gpu.scy = value; // SCYレジスタに値を設定
-    } else if (address == 0xFF43) {
-      this.gpu.scx = value; // SCXレジスタに値を設定
-    } else if (address == 0xFF47) {
-      this.gpu.bgp = value; // BGPレジスタに値を設定
-    } else if (address == 0xFF48) {
-      this.gpu.obp0 = value; // OBP0レジスタに値を設定
-    } else if (address == 0xFF49) {
-      this.gpu.obp1 = value; // OBP1レジスタに値を設定
-    } else if (address == 0xFF4A) {
-      this.gpu.wy = value; // WYレジスタに値を設定
-    } else if (address == 0xFF4B) {
-      this.gpu.wx = value; // WXレジスタに値を設定
+  private void writeIO(int address, int value) {
+    if (address < 0xFF80) {
+      WriteHandler writer = this.ioWriters[address - 0xFF00];
+      if (writer != null) writer.write(address, value);
+    } else if (address == 0xFFFF) {
+      this.interrupts.writeIE(value);
     }
+    this.memory[address] = (byte) value; // I/Oレジスタの値はメモリにも保持する
+  }
 
-    if (address == 0xFF50) this.memory[address] = value; // 0xFF50は無視する
-
-    if (0x0000 <= address && address <= 0x7FFF) {
-      this.cartridge.writeByte(address, value); // カートリッジに書き込む
-    }
-    if (0xA000 <= address && address <= 0xBFFF) {
-      this.cartridge.writeByte(address, value); // カートリッジに書き込む
+  // MARK: readByte
+  public int readByte(int address) {
+    if (address < 0 || address > MEMORY_SIZE) {
+      throw new IllegalArgumentException("Address out of bounds: " + String.format("0x%04X", address));
     }
 
+    ReadHandler reader = this.readPages[address >> 8];
+    return (reader == null) ? this.memory[address] & 0xFF : reader.read(address);
+  }
 
-    if (address == 0xFF40) {
-      this.gpu.controls.convertFromInt(value); // LCD制御レジスタに値を設定
-    } else if (address == 0xFF41) {
-      this.gpu.status.convertFromInt(value); // LCDステータスレジスタに値を設定
-    } else if (address == 0xFF45) {
-      this.gpu.lyc = value; // LYCレジスタに値を設定
-    } else if (address == 0xFF44) {
-      throw new UnsupportedOperationException("LYレジスタへの書き込みが発生しました"); // LYレジスタには書き込まない
-    } else if (PPU.VRAM_BEGIN <= address && address <= PPU.VRAM_END) {
-      this.gpu.writeVRAM(address - PPU.VRAM_BEGIN, value); // アドレスがVRAMの範囲内の場合、GPUに書き込む
-      return;
+  // MARK: writeByte
+  public void writeByte(int address, int value) {
+    if (address < 0 || address > MEMORY_SIZE) {
+      throw new IllegalArgumentException("Address out of bounds: " + String.format("0x%04X", address));
     }
 
-    if (address == 0xFF00) {
-      this.joypad.write(value); // Joypadに書き込む
+    WriteHandler writer = this.writePages[address >> 8];
+    if (writer == null) {
+      this.memory[address] = (byte) value; // Write a byte to the specified address
+    } else {
+      writer.write(address, value);
     }
-
-    memory[address] = value; // Write a byte to the specified address
   }
 
   public void writeWord(int address, int value) {
@@ -163,16 +237,16 @@ public class MemoryBus {
     return readByte(address) | readByte(address + 1) << 8; // Read a word from the specified address
   }
 
-  public void handleDMATransfer(int value) {
-    int address = (value << 8) & 0xFFFF; // DMA転送のアドレスを計算
-    for (int i = 0; i < 0xA0; i++) {
-      this.writeByte(0xFE00 + i, this.readByte(address + i)); // OAMにDMA転送する
-    }
-  }
-
   public void clear() {
-    for (int i = 0; i < MEMORY_SIZE; i++) {
-      memory[i] = 0; // Clear the memory
-    }
+    Arrays.fill(this.memory, (byte) 0); // Clear the memory
   }
 }
+
+// MARK: ページ・I/Oレジスタのハンドラ
+interface ReadHandler {
+  int read(int address);
+}
+
+interface WriteHandler {
+  void write(int address, int value);
+}
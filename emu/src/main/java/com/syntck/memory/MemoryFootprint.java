@@ -0,0 +1,64 @@
+package com.syntck.memory;
+
+import com.syntck.cartridge.RomImage;
+import com.syntck.ppu.PPU;
+
+/**
+ * エミュレータ1インスタンスが保持する主要なバッファのメモリ使用量を集計するクラス
+ * 比較のため、各バッファ (ROMを含む) をインスタンスごとの int[] で保持した場合のサイズも併せて表示する
+ * ROMイメージはヒープ外にマップされ、同じROMを読み込んだインスタンス間で共有されるため合計には含めない
+ */
+public class MemoryFootprint {
+  public static final String PROPERTY = "gameboy.memory.footprint"; // true で HeadlessRunner の実行結果に表示する
+  private static final int INT_BYTES = 4;
+  private static final String[] NAMES = { "External RAM", "Memory", "VRAM", "OAM" };
+
+  private final int[] lengths; // 各バッファの要素数 (1要素 = 1バイト)
+  private final int romLength; // マップされたROMイメージのサイズ
+  private final int romReferences; // ROMイメージを共有しているインスタンス数
+
+  private MemoryFootprint(int[] lengths, int romLength, int romReferences) {
+    this.lengths = lengths;
+    this.romLength = romLength;
+    this.romReferences = romReferences;
+  }
+
+  public static MemoryFootprint of(MemoryBus bus) {
+    RomImage rom = (bus.cartridge != null) ? bus.cartridge.rom : null;
+    int ramLength = (bus.cartridge != null) ? bus.cartridge.ram.length : 0;
+    return new MemoryFootprint(new int[] {
+      ramLength,
+      bus.memory.length,
+      bus.gpu.vram.length,
+      PPU.OAM_SIZE,
+    }, (rom != null) ? rom.size() : 0, (rom != null) ? rom.getReferences() : 0);
+  }
+
+  // インスタンスごとのヒープ上の合計バイト数
+  public long getTotalBytes() {
+    long total = 0;
+    for (int length : this.lengths) total += length;
+    return total;
+  }
+
+  // 共有されているROMイメージのバイト数
+  public long getSharedRomBytes() {
+    return this.romLength;
+  }
+
+  // ROMを含めてインスタンスごとに int[] で保持した場合の合計バイト数
+  public long getIntArrayTotalBytes() {
+    return (getTotalBytes() + this.romLength) * INT_BYTES;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("Memory footprint (per instance):\n");
+    builder.append(String.format("  %-12s %10d bytes mapped, shared by %d instance(s) (int[]: %10d bytes)%n", "ROM", this.romLength, this.romReferences, (long) this.romLength * INT_BYTES));
+    for (int i = 0; i < NAMES.length; i++) {
+      builder.append(String.format("  %-12s %10d bytes (int[]: %10d bytes)%n", NAMES[i], this.lengths[i], (long) this.lengths[i] * INT_BYTES));
+    }
+    builder.append(String.format("  %-12s %10d bytes (int[]: %10d bytes)", "Total", getTotalBytes(), getIntArrayTotalBytes()));
+    return builder.toString();
+  }
+}
@@ -0,0 +1,63 @@
+package com.syntck.ppu;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * エミュレーションスレッド (PPU) と表示スレッド (Swing の EDT) の間でフレームを受け渡すトリプルバッファ
+ * PPUは「書き込み中」のバッファに描画し、V-Blankで「受け渡し用」のバッファと入れ替えて公開する
+ * 表示側は新しいフレームがあれば「受け渡し用」と「表示中」のバッファを入れ替えて、常に最新の完成したフレームを読む
+ * 入れ替えは受け渡し用のバッファの番号を AtomicInteger で交換するだけなので、どちらのスレッドもロックで待たない
+ * (交換が happens-before を作るため、公開前に書き込んだピクセルは表示側から必ず見える)
+ */
+public class FrameExchange {
+  private static final int INDEX_MASK = 0x03; // バッファの番号
+  private static final int FRESH = 0x04; // 受け渡し用のバッファに表示側がまだ読んでいないフレームがある
+
+  private final int[][] buffers;
+  private final AtomicInteger shared; // 受け渡し用のバッファの番号 | FRESH
+  private int back; // 書き込み中のバッファ (エミュレーションスレッドだけが使う)
+  private int published; // 最後に公開したバッファ (エミュレーションスレッドだけが使う)
+  private int front; // 表示中のバッファ (表示スレッドだけが使う)
+
+  public FrameExchange(int size) {
+    this(new int[size], new int[size], new int[size]);
+  }
+
+  public FrameExchange(int[] first, int[] second, int[] third) {
+    this.buffers = new int[][] { first, second, third };
+    this.back = 0;
+    this.published = 0;
+    this.shared = new AtomicInteger(1);
+    this.front = 2;
+  }
+
+  // MARK: 書き込み側 (エミュレーションスレッド)
+  public int[] getBackBuffer() {
+    return this.buffers[this.back];
+  }
+
+  // 書き込み中のバッファを公開し、次に書き込むバッファを返す
+  public int[] publish() {
+    this.published = this.back;
+    this.back = this.shared.getAndSet(this.back | FRESH) & INDEX_MASK;
+    return this.buffers[this.back];
+  }
+
+  // 最後に公開したフレーム (次のフレームの描画が始まるまでは書き換えられない)
+  public int[] getLastPublished() {
+    return this.buffers[this.published];
+  }
+
+  // MARK: 読み取り側 (表示スレッド)
+  public boolean hasNewFrame() {
+    return (this.shared.get() & FRESH) != 0;
+  }
+
+  // 最新の完成したフレームを返す (新しいフレームがなければ前回と同じバッファ)
+  public int[] acquire() {
+    if (hasNewFrame()) {
+      this.front = this.shared.getAndSet(this.front) & INDEX_MASK;
+    }
+    return this.buffers[this.front];
+  }
+}
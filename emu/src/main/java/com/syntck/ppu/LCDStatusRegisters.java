@@ -33,7 +33,6 @@ public class LCDStatusRegisters { // FF41
     this.mode2IntSelect = (bytes & (1 << 5)) != 0x0000;
     this.mode1IntSelect = (bytes & (1 << 4)) != 0x0000;
     this.mode0IntSelect = (bytes & (1 << 3)) != 0x0000;
-    this.lycFlag = (bytes & (1 << 2)) != 0x0000;
-    this.PPUMode = bytes & 0x03; // PPU mode
+    // LYC==LY フラグとPPUモード (ビット0-2) は読み取り専用のため書き込まない
   }
 }
@@ -1,8 +1,6 @@
 package com.syntck.ppu;
 
-import java.util.Comparator;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 
 import static com.syntck.Functions.wrappingAdd;
 import static com.syntck.Functions.wrappingSub;
@@ -14,12 +12,27 @@ public class PPU {
   public static final int VRAM_BEGIN = 0x8000;
   public static final int VRAM_END   = 0x9FFF;
   public static final int VRAM_SIZE  = VRAM_END - VRAM_BEGIN + 1;
+  public static final int OAM_SIZE = 0xA0; // OAMのサイズ (4バイト x 40スプライト)
   
   public static final int SPRITE_OFFSET_X = 8; // スプライトのX座標オフセット
   public static final int SPRITE_OFFSET_Y = 16; // スプライトのY座標オフセット
   public static final int WINDOW_OFFSET_X = 7; // ウィンドウのX座標オフセット
   public static final int WINDOW_OFFSET_Y = 0; // ウィンドウのY座標オフセット
   private static final int SPRITE_MAX_COUNT = 40; // スプライトの最大数
+  private static final int SPRITES_PER_LINE = 10; // 1ラインに表示できるスプライトの最大数
+  private static final int SPRITE_BYTES = 4; // 1スプライトのOAMのバイト数 (Y座標, X座標, タイル番号, 属性)
+
+  // タイルデータ (0x8000-0x97FF)
+  private static final int TILE_LENGTH = 8; // タイルの幅・高さ (ピクセル)
+  private static final int TILE_COUNT = 384; // タイルの数
+  private static final int TILE_PIXELS = TILE_LENGTH * TILE_LENGTH; // 1タイルのピクセル数
+  private static final int TILE_BYTES = 16; // 1タイルのバイト数 (1行2バイト)
+  private static final int TILE_DATA_SIZE = TILE_COUNT * TILE_BYTES; // タイルデータの範囲 (0x1800)
+
+  // 1ラインのタイミング (サイクル)
+  private static final int LINE_CYCLES = 456; // 1ライン
+  private static final int MODE2_END = 80; // OAM読み込みモードの終わり
+  private static final int MODE3_END = 80 + 289; // VRAM読み込みモードの終わり
 
   // レジスタ
   public int ly; // 0xFF44 LYレジスタ (現在のスキャンラインのY座標)
@@ -28,102 +41,161 @@ public class PPU {
   public LCDStatusRegisters status; // 0xFF41 LCDステータスレジスタ (LCDの状態を示すフラグ)
   public int scy; // 0xFF42 SCYレジスタ (スクロールY座標)
   public int scx; // 0xFF43 SCXレジスタ (スクロールX座標)
-  public int dma; // 0xFF46 DMAレジスタ (DMA転送の開始アドレス)
-  public int bgp; // 0xFF47 BGPレジスタ (背景パレットデータ)
-  public int obp0; // 0xFF48 OBP0レジスタ (スプライトパレットデータ0)
-  public int obp1; // 0xFF49 OBP1レジスタ (スプライトパレットデータ1)
+  private int bgp; // 0xFF47 BGPレジスタ (背景パレットデータ)
+  private int obp0; // 0xFF48 OBP0レジスタ (スプライトパレットデータ0)
+  private int obp1; // 0xFF49 OBP1レジスタ (スプライトパレットデータ1)
   public int wy; // 0xFF4A WYレジスタ (ウィンドウY座標)
   public int wx; // 0xFF4B WXレジスタ (ウィンドウX座標)
-  private TilePixelValue[] lineIndexes = new TilePixelValue[SCREEN_WIDTH]; // 1ライン分のタイルインデックスを格納する配列
+  private byte[] lineIndexes = new byte[SCREEN_WIDTH]; // 1ライン分の背景・ウィンドウの色番号 (スプライトの優先度の判定に使う)
   private int windowLine;
   public boolean frameUpdated;
-
-  public int[] vram = new int[VRAM_SIZE];
-  public Tile[] tiles = new Tile[384];
-  // public Sprite[] sprites = new Sprite[40]; // スプライトの数は40個
-  public ArrayList<Sprite> sprites = new ArrayList<Sprite>(40);
-
-  private int[] frameBuffer = new int[SCREEN_WIDTH * SCREEN_HEIGHT];
+  private long frameCount; // 完成したフレームの数
+  // フレームスキップ (frameSkip フレームに1回だけ描画する)
+  // 描画しないフレームでもモード・LY・STAT割り込み・スプライトの選択は同じように進め、ピクセルを書き込まないだけにする
+  private int frameSkip = 1;
+  private boolean rendering = true; // 現在のフレームを描画するか
+
+  public byte[] vram = new byte[VRAM_SIZE]; // 読み取り時に & 0xFF する
+  // デコード済みのタイル (1ピクセル1バイトの色番号 0-3, タイルごとに64バイト)
+  // VRAMへの書き込みではタイルに印を付けるだけにして、描画でそのタイルを使うときにまとめてデコードする
+  private final byte[] tilePixels = new byte[TILE_COUNT * TILE_PIXELS];
+  private final long[] dirtyTiles = new long[TILE_COUNT / 64]; // デコードし直す必要があるタイル (1タイル1ビット)
+  // MARK: スプライトの選択
+  // ラインごとに、そのラインにかかるスプライトをOAMの番号のビットで持つ索引 (OAMかスプライトの高さが変わったときだけ作り直す)
+  private final long[] lineSpriteMasks = new long[SCREEN_HEIGHT];
+  private boolean spriteIndexDirty = true; // 索引を作り直す必要があるか
+  private int indexedSpriteHeight; // 索引を作ったときのスプライトの高さ
+  private final int[] lineSprites = new int[SPRITES_PER_LINE]; // 現在のラインで描画するスプライト (優先度の高い順のOAMの番号)
+  private int lineSpriteCount; // 現在のラインで描画するスプライトの数
+
+  private FrameExchange frames = new FrameExchange(SCREEN_WIDTH * SCREEN_HEIGHT); // 表示スレッドへのフレームの受け渡し
+  private int[] frameBuffer = this.frames.getBackBuffer(); // 描画中のフレーム
+
+  // MARK: パレット
+  // 色番号 (0-3) からフレームバッファに書き込む値への変換表
+  // パレットのレジスタに書き込まれたときだけ作り直すため、描画は1ピクセルにつき表を1回引くだけで済む
+  // 表示色を設定すると、フレームバッファには表示用のARGB値がそのまま書き込まれる (設定しなければシェード0-3)
+  private final int[] displayColors = { 0, 1, 2, 3 }; // シェード (0-3) ごとにフレームバッファに書き込む値
+  private final int[] bgpColors = new int[4]; // BGP
+  private final int[] obp0Colors = new int[4]; // OBP0
+  private final int[] obp1Colors = new int[4]; // OBP1
   private int scanlineCounter;
-  private int prevLy  = 0; // 前回のLYレジスタの値
 
-  private int[] oam = new int[0xA0]; // OAM (Object Attribute Memory) (スプライトの情報を格納するメモリ)
+  private byte[] oam = new byte[OAM_SIZE]; // OAM (Object Attribute Memory) (スプライトの情報を格納するメモリ)
 
   public PPU() {
-    this.vram = new int[VRAM_SIZE];
+    this.vram = new byte[VRAM_SIZE];
     this.controls = new LCDControlRegisters(); // LCD制御レジスタの初期化
     this.status = new LCDStatusRegisters(); // LCDステータスレジスタの初期化
+    this.status.PPUMode = 2; // ライン0のOAM読み込みモードから始める
     this.ly = 0; // LYレジスタの初期化
     this.lyc = 0; // LYCレジスタの初期化
     this.scy = 0; // SCYレジスタの初期化
     this.scx = 0; // SCXレジスタの初期化
-    this.bgp = 0; // BGPレジスタの初期化
-    this.obp0 = 0; // OBP0レジスタの初期化
-    this.obp1 = 0; // OBP1レジスタの初期化
+    setBGP(0); // BGPレジスタの初期化
+    setOBP0(0); // OBP0レジスタの初期化
+    setOBP1(0); // OBP1レジスタの初期化
     this.wy = 0; // WYレジスタの初期化
     this.wx = 0; // WXレジスタの初期化
     this.scanlineCounter = 0; // スキャンラインカウンタの初期化
     this.windowLine = 0; // ウィンドウラインの初期化
-    this.tiles = new Tile[384]; // 384 tiles
     for (int i = 0; i < this.vram.length; i++) {
       this.vram[i] = 0; // Initialize VRAM with 0
     }
-    for (int i = 0; i < this.tiles.length; i++) {
-        // 各タイルを正しく初期化
-        TilePixelValue[][] pixels = new TilePixelValue[Tile.TILE_LENGTH][Tile.TILE_LENGTH];
-        for (int y = 0; y < Tile.TILE_LENGTH; y++) {
-            for (int x = 0; x < Tile.TILE_LENGTH; x++) {
-                pixels[y][x] = TilePixelValue.Zero; // 明示的に初期化
-            }
-        }
-        this.tiles[i] = new Tile();
-        this.tiles[i].pixels = pixels;
-    }
     for (int i = 0; i < this.oam.length; i++) {
       this.oam[i] = 0; // Initialize OAM with 0
     }
-    for (int i = 0; i < SPRITE_MAX_COUNT; i++) {
-      this.sprites.add(new Sprite(0, 0, 0, 0, 0)); // Initialize sprites with default values
-    }
     for (int i = 0; i < this.lineIndexes.length; i++) {
-      this.lineIndexes[i] = TilePixelValue.Zero; // Initialize lineIndexes with Zero
+      this.lineIndexes[i] = 0; // Initialize lineIndexes with 0
     }
   }
 
-  public PPUInterrupt update(int cycles) {
+  // MARK: update
+  // 指定したサイクル数だけPPUを進め、要求する割り込み (IFレジスタのビット) を返す
+  // モードの変化はすべてモードの境界で処理するため、まとめて進めても1命令ずつ進めた場合と同じ結果になる
+  public int update(int cycles) {
     if (!this.controls.enabled) {
-      return PPUInterrupt.NONE; // LCDが無効な場合は何もしない
+      return PPUInterrupt.NONE.bit; // LCDが無効な場合は何もしない
     }
 
-    this.scanlineCounter += cycles;
-    PPUInterrupt interrupt = setLCDStatus();
+    int interrupts = PPUInterrupt.NONE.bit;
+    while (cycles > 0) {
+      int remaining = cyclesUntilNextMode();
+      if (cycles < remaining) {
+        this.scanlineCounter += cycles;
+        break;
+      }
+      this.scanlineCounter += remaining;
+      cycles -= remaining;
+      interrupts |= enterNextMode();
+    }
+    return interrupts; // 割り込みを返す
+  }
 
+  // 次のモード変化までのサイクル数 (LCDが無効な場合は -1)
+  public int cyclesUntilNextEvent() {
+    return this.controls.enabled ? cyclesUntilNextMode() : -1;
+  }
 
-    if (this.scanlineCounter >= 456) {
-      // 1ライン分描画された
-      this.scanlineCounter -= 456;
+  private int cyclesUntilNextMode() {
+    if (this.ly >= 144 || this.scanlineCounter >= MODE3_END) return LINE_CYCLES - this.scanlineCounter;
+    if (this.scanlineCounter >= MODE2_END) return MODE3_END - this.scanlineCounter;
+    return MODE2_END - this.scanlineCounter;
+  }
 
-      // LYレジスタをインクリメント
-      this.ly++;
-      int currentLine = this.ly; // 現在のラインを取得
+  // MARK: enterNextMode
+  // モードの境界に達したときの処理
+  private int enterNextMode() {
+    if (this.scanlineCounter == MODE2_END && this.ly < 144) {
+      selectSprites(this.ly); // OAM読み込みモードの終わりで、このラインのスプライトを確定する
+      this.status.PPUMode = 3; // VRAM読み込みモード
+      return PPUInterrupt.NONE.bit;
+    }
 
-      if (currentLine == 144) {
-        // VBlank開始
-        // VBlankフラグをセット
-        // this.drawFrame();
+    if (this.scanlineCounter == MODE3_END && this.ly < 144) {
+      this.status.PPUMode = 0; // HBlankモード
+      drawScanline(this.ly); // スキャンラインを描画
+      return this.status.mode0IntSelect ? PPUInterrupt.LCD.bit : PPUInterrupt.NONE.bit; // HBlankモードの割り込み要求
+    }
+
+    // 1ライン分描画された
+    this.scanlineCounter = 0;
+    this.ly++; // LYレジスタをインクリメント
+    int interrupts = PPUInterrupt.NONE.bit;
+
+    if (this.ly == 144) {
+      // VBlank開始
+      if (this.rendering) {
+        this.frameBuffer = this.frames.publish(); // 完成したフレームを公開し、次のフレームは別のバッファに描画する
         this.frameUpdated = true; // フレームが更新されたことを示すフラグをセット
-        return PPUInterrupt.VBLANK; // VBlank割り込みを返す
-      } else if (currentLine > 153) {
-        // 1フレーム描画完了
-        this.ly = 0; // LYをリセット
-        this.windowLine = 0; // ウィンドウラインをリセット
       }
+      this.frameCount++;
+      this.status.PPUMode = 1; // VBlankモード
+      interrupts |= PPUInterrupt.VBLANK.bit; // VBlank割り込み
+      if (this.status.mode1IntSelect) interrupts |= PPUInterrupt.LCD.bit; // VBlankモードの割り込み要求
+    } else if (this.ly > 153) {
+      // 1フレーム描画完了
+      this.ly = 0; // LYをリセット
+      this.windowLine = 0; // ウィンドウラインをリセット
+      this.rendering = this.frameCount % this.frameSkip == 0; // 次のフレームを描画するか
+    }
+
+    if (this.ly < 144) {
+      this.status.PPUMode = 2; // OAM読み込みモード
+      if (this.status.mode2IntSelect) interrupts |= PPUInterrupt.LCD.bit; // OAM読み込みモードの割り込み要求
+    }
+
+    // LYCとLYが一致した場合、LYC=LY割り込みを要求
+    this.status.lycFlag = this.ly == this.lyc;
+    if (this.status.lycFlag && this.status.lycIntSelect) {
+      interrupts |= PPUInterrupt.LCD.bit; // LCD割り込みを要求
     }
-    return interrupt; // 割り込みを返す
+    return interrupts;
   }
 
   // MARK: drawScanline
   private void drawScanline(int scanline) {
+    if (!this.rendering) return; // スキップするフレームではラスタライズしない
     drawBackgroundLine(scanline); // 背景の描画
     drawWindowLine(scanline); // ウィンドウの描画
     drawSpritesLine(scanline); // スプライトの描画
@@ -143,7 +215,12 @@ public class PPU {
         4. そのピクセルのデータを取得・描画する
         xからSCREEN_WIDTHだけ繰り返す
     */
-    if (!this.controls.bgWindowEnabled) return;
+    if (!this.controls.bgWindowEnabled) {
+      // 背景が無効な場合は色番号0 (白) で塗りつぶす (バッファを使い回すため、前のフレームを残さない)
+      Arrays.fill(this.frameBuffer, scanline * SCREEN_WIDTH, (scanline + 1) * SCREEN_WIDTH, this.displayColors[0]);
+      Arrays.fill(this.lineIndexes, (byte) 0);
+      return;
+    }
 
     int startAddress = ((this.controls.bgTileMap) ? 0x9C00 : 0x9800) - VRAM_BEGIN; // タイルマップの先頭アドレスをVRAMのアドレスに変換
     // int endAddress = (this.controls.bgTileMap) ? 0x9FFF : 0x9BFF;
@@ -157,29 +234,21 @@ public class PPU {
     int srcY = originY % 8; // タイルのY座標を計算
 
 
+    int lineStart = scanline * SCREEN_WIDTH; // フレームバッファのラインの先頭
+    int rowStart = -1; // 描画中のタイルの行の先頭 (tilePixels のインデックス)
     for (int x = 0; x < SCREEN_WIDTH; x++) {
       int srcX = wrappingAdd(originX, x);
-      int destY = scanline;
-      int dextX = x;
-
-      int vramIndex = offset + (wrappingAdd(originX, x)) / 8; // タイルのインデックスを計算
 
-      // タイルマップの取得
-      int tileIndex = this.vram[startAddress + vramIndex];
-
-      int index = tileIndex; // タイルのインデックスを取得
-      if (!this.controls.tiles && index < 128) {
-        // タイルのインデックスが0x00から0x7Fまでの範囲の場合、タイルのインデックスを-128して取得
-        index = wrappingAdd(index, 256); // タイルのインデックスを-128して取得
+      // タイルの境界でだけタイルマップを読む
+      if (rowStart < 0 || srcX % 8 == 0) {
+        int vramIndex = offset + srcX / 8; // タイルのインデックスを計算
+        int tileIndex = this.vram[startAddress + vramIndex] & 0xFF; // タイルマップの取得
+        rowStart = tileRow(backgroundTile(tileIndex), srcY);
       }
 
-      Tile tile = this.tiles[index]; // タイルを取得
-      TilePixelValue pixel = tile.pixels[srcY % 8][srcX % 8]; // タイルのピクセル値を取得
-
-      this.lineIndexes[dextX] = pixel; // タイルのインデックスを保存
-
-      int color = Tile.getColorFromPalette(pixel, this.bgp); // タイルの色を取得
-      this.frameBuffer[destY * SCREEN_WIDTH + dextX] = color; // ピクセル値をフレームバッファに書き込む
+      int pixel = this.tilePixels[rowStart + srcX % 8]; // タイルのピクセル値を取得
+      this.lineIndexes[x] = (byte) pixel; // タイルのインデックスを保存
+      this.frameBuffer[lineStart + x] = this.bgpColors[pixel]; // ピクセル値をフレームバッファに書き込む
     }
   }
 
@@ -257,61 +326,72 @@ public class PPU {
       if (destX >= SCREEN_WIDTH || destY >= SCREEN_HEIGHT) continue; // 画面外のタイルは無視
 
       int vramIndex = offset + (x / 8); // タイルのインデックスを計算
-      int tileIndex = this.vram[startAddress + vramIndex]; // タイルのインデックスを取得
+      int tileIndex = this.vram[startAddress + vramIndex] & 0xFF; // タイルのインデックスを取得
 
-      if (!this.controls.tiles && tileIndex < 128) {
-        // タイルのインデックスが0x00から0x7Fまでの範囲の場合、タイルのインデックスを-128して取得
-        tileIndex = wrappingAdd(tileIndex, 256); // タイルのインデックスを-128して取得
-      }
-
-      Tile tile = this.tiles[tileIndex];
-      TilePixelValue pixel = tile.pixels[srcY % 8][srcX % 8];
+      int pixel = this.tilePixels[tileRow(backgroundTile(tileIndex), srcY % 8) + srcX % 8];
 
-      this.lineIndexes[destX] = pixel; // タイルのインデックスを保存
+      this.lineIndexes[destX] = (byte) pixel; // タイルのインデックスを保存
 
-      int color = Tile.getColorFromPalette(pixel, this.bgp);
-      this.frameBuffer[destY * SCREEN_WIDTH + destX] = color;
+      this.frameBuffer[destY * SCREEN_WIDTH + destX] = this.bgpColors[pixel];
     }
 
   }
 
 
-  // MARK: drawSpritesLine
-  private void drawSpritesLine(int scanline) {
-    if (!this.controls.objEnabled) return; // スプライトが無効な場合は何もしない
-
+  // MARK: selectSprites
+  // OAMの順にラインにかかるスプライトを最大10個選び、描画の優先度の高い順 (X座標が小さい順, 同じならOAMの順) に並べる
+  private void selectSprites(int scanline) {
     int ySize = this.controls.objSize ? 16 : 8; // スプライトのサイズを取得
-    // Create a new list to hold sprites that are visible on this scanline
-    ArrayList<Sprite> visibleSprites = new ArrayList<>();
-
-    // Add sprites that are visible on this scanline to the list
-    for (Sprite sprite : this.sprites) {
-      int spriteY = sprite.y - SPRITE_OFFSET_Y;
-      
-      // Check if the sprite is visible on this scanline
-      if (scanline >= spriteY && scanline < spriteY + ySize) {
-        visibleSprites.add(sprite);
+    if (this.spriteIndexDirty || ySize != this.indexedSpriteHeight) buildSpriteIndex(ySize);
+
+    this.lineSpriteCount = 0;
+    long mask = this.lineSpriteMasks[scanline];
+    while (mask != 0 && this.lineSpriteCount < SPRITES_PER_LINE) {
+      int index = Long.numberOfTrailingZeros(mask); // OAMの番号が小さい順に取り出す
+      mask &= mask - 1;
+
+      // 挿入ソート (X座標が同じスプライトは先に選ばれた方を前に置く)
+      int x = spriteX(index);
+      int slot = this.lineSpriteCount++;
+      while (slot > 0 && spriteX(this.lineSprites[slot - 1]) > x) {
+        this.lineSprites[slot] = this.lineSprites[slot - 1];
+        slot--;
       }
+      this.lineSprites[slot] = index;
     }
+  }
 
-    // Sort the visible sprites
-    visibleSprites.sort(new SpriteComparator());
+  private void buildSpriteIndex(int ySize) {
+    Arrays.fill(this.lineSpriteMasks, 0L);
+    for (int i = 0; i < SPRITE_MAX_COUNT; i++) {
+      int spriteY = spriteY(i) - SPRITE_OFFSET_Y;
+      int first = Math.max(spriteY, 0);
+      int last = Math.min(spriteY + ySize, SCREEN_HEIGHT);
+      for (int line = first; line < last; line++) {
+        this.lineSpriteMasks[line] |= 1L << i;
+      }
+    }
+    this.spriteIndexDirty = false;
+    this.indexedSpriteHeight = ySize;
+  }
 
-    // Limit to 10 sprites per scanline
-    int spriteCount = Math.min(visibleSprites.size(), 10);
+  // MARK: drawSpritesLine
+  private void drawSpritesLine(int scanline) {
+    if (!this.controls.objEnabled || this.lineSpriteCount == 0) return; // スプライトが無効な場合・ラインにスプライトがない場合は何もしない
 
-    // Reverse the list in-place
-    Collections.reverse(visibleSprites);
+    int ySize = this.controls.objSize ? 16 : 8; // スプライトのサイズを取得
 
-    // Now iterate over the reversed list
-    for (Sprite sprite : visibleSprites.subList(0, Math.max(spriteCount, 0))) {
-      int spriteX = sprite.x; // スプライトのX座標を計算
-      int spriteY = sprite.y; // スプライトのY座標を計算
-      int attributes = sprite.attributes; // スプライトの属性を取得
+    // 優先度の低いスプライトから描画し、優先度の高いスプライトで上書きする
+    for (int slot = this.lineSpriteCount - 1; slot >= 0; slot--) {
+      int base = this.lineSprites[slot] * SPRITE_BYTES; // スプライトのOAMの先頭
+      int spriteY = this.oam[base] & 0xFF; // スプライトのY座標を計算
+      int spriteX = this.oam[base + 1] & 0xFF; // スプライトのX座標を計算
+      int tileIndex = this.oam[base + 2] & 0xFF; // スプライトのタイル番号を取得
+      int attributes = this.oam[base + 3] & 0xFF; // スプライトの属性を取得
       boolean priority = (attributes & 0x80) != 0; // スプライトの優先度を取得
       boolean yFlip = (attributes & 0x40) != 0; // Y軸反転フラグ
       boolean xFlip = (attributes & 0x20) != 0; // X軸反転フラグ
-      int palette = (attributes & 0x10) >> 4; // パレット番号
+      int[] colors = ((attributes & 0x10) == 0) ? this.obp0Colors : this.obp1Colors; // パレット番号
 
       spriteX -= SPRITE_OFFSET_X; // スプライトのX座標を考慮
       spriteY -= SPRITE_OFFSET_Y; // スプライトのY座標を考慮
@@ -323,31 +403,28 @@ public class PPU {
         tileY = ySize - 1 - tileY; // Y軸反転フラグが立っている場合はY座標を反転
       }
 
-      for (int tileX = 0; tileX < Tile.TILE_LENGTH; tileX++) {
+      // スプライトのタイルの行を取得
+      int rowStart;
+      if (this.controls.objSize) {
+        if (tileY >= TILE_LENGTH) {
+          rowStart = tileRow(tileIndex | 0x01, tileY - TILE_LENGTH); // スプライトの上側のタイルを取得
+        } else {
+          rowStart = tileRow(tileIndex & 0xFE, tileY); // スプライトの下側のタイルを取得
+        }
+      } else {
+        rowStart = tileRow(tileIndex, tileY); // スプライトのタイルを取得
+      }
+
+      for (int tileX = 0; tileX < TILE_LENGTH; tileX++) {
         // まず反転を考慮したピクセル座標を計算
-        int pixelX = xFlip ? (Tile.TILE_LENGTH - 1 - tileX) : tileX;
-        // int pixelY = yFlip ? (Tile.TILE_LENGTH - 1 - tileY) : tileY;
+        int pixelX = xFlip ? (TILE_LENGTH - 1 - tileX) : tileX;
 
         // 反転座標からピクセルを取得
-        Tile tile;
-        TilePixelValue pixel;
-
-        if (this.controls.objSize) {
-          if (tileY >= Tile.TILE_LENGTH) {
-            tile = this.tiles[sprite.tileIndex | 0x01]; // スプライトの上側のタイルを取得
-            pixel = tile.pixels[tileY - Tile.TILE_LENGTH][pixelX]; // スプライトの上側のタイルのピクセルを取得
-          } else {
-            tile = this.tiles[sprite.tileIndex & 0xFE]; // スプライトの下側のタイルを取得
-            pixel = tile.pixels[tileY][pixelX]; // スプライトの下側のタイルのピクセルを取得
-          }
-        } else {
-          tile = this.tiles[sprite.tileIndex]; // スプライトのタイルを取得
-          pixel =  tile.pixels[tileY][pixelX];
-        }
+        int pixel = this.tilePixels[rowStart + pixelX];
 
-        if (pixel == TilePixelValue.Zero) continue;
+        if (pixel == 0) continue;
 
-        int color = Tile.getColorFromPalette(pixel, (palette == 0) ? this.obp0 : this.obp1);
+        int color = colors[pixel];
 
         // 画面上の表示位置は元の座標を使用
         int x = spriteX + tileX;
@@ -355,7 +432,7 @@ public class PPU {
 
         if (x < 0 || y < 0 || x >= SCREEN_WIDTH || y >= SCREEN_HEIGHT) continue;
 
-        if (priority && this.lineIndexes[x] != TilePixelValue.Zero) {
+        if (priority && this.lineIndexes[x] != 0) {
           // スプライトの優先度が立っていて、すでに描画されている場合は無視
           continue;
         }
@@ -366,224 +443,159 @@ public class PPU {
   }
 
 
+  // 最後に完成したフレーム (エミュレーションスレッドから読む場合)
   public int[] getFrame() {
-    return this.frameBuffer;
+    return this.frames.getLastPublished();
   }
 
-  public int readVRAM(int address) {
-    return this.vram[address];
+  // 電源投入から完成したフレームの数 (スキップしたフレームを含む)
+  public long getFrameCount() {
+    return this.frameCount;
   }
 
-  public void writeOAM(int address, int value) {
-    this.oam[address - 0xFE00] = value; // OAMに書き込む
-    for (int i = 0; i < SPRITE_MAX_COUNT; i++) {
-      int index = i * 4; // スプライトのインデックスを計算
-      int y = this.oam[index];
-      int x = this.oam[index + 1];
-      int tileIndex = this.oam[index + 2];
-      int attributes = this.oam[index + 3];
-
-      // Sprite sprite = new Sprite(y, x, tileIndex, attributes, tileIndex);
-      // this.sprites.set(i, sprite);
-      this.sprites.get(i).index = i; // スプライトのインデックスを設定
-      this.sprites.get(i).y = y; // スプライトのY座標を設定
-      this.sprites.get(i).x = x; // スプライトのX座標を設定
-      this.sprites.get(i).tileIndex = tileIndex;
-      this.sprites.get(i).attributes = attributes;
-    }
+  // frameSkip フレームに1回だけ描画する (1 ですべてのフレームを描画する, 次のフレームから反映される)
+  public void setFrameSkip(int frameSkip) {
+    if (frameSkip < 1) throw new IllegalArgumentException("Invalid frame skip: " + frameSkip);
+    this.frameSkip = frameSkip;
   }
 
-  public int readOAM(int address) {
-    return this.oam[address - 0xFE00];
+  public int getFrameSkip() {
+    return this.frameSkip;
   }
 
-  public void writeVRAM(int index, int value) {
-    this.vram[index] = value;
+  // 表示スレッドへのフレームの受け渡し
+  public FrameExchange getFrameExchange() {
+    return this.frames;
+  }
 
-    if (index >= 0x1800) return; // タイルデータの範囲外であれば何もしない
+  // MARK: 描画先
+  // 描画先のバッファを差し替える (BufferedImage の DataBufferInt など、表示側が持つ配列に直接描画する場合)
+  // エミュレーションを始める前に呼び出す
+  public void setFrameExchange(FrameExchange frames) {
+    this.frames = frames;
+    this.frameBuffer = frames.getBackBuffer();
+  }
 
-    // タイルの色は 0x00 から 0x03 の4色で表現される
-    // 0x00: 黒, 0x01: ダークグレー, 0x02: ライトグレー, 0x03: 白
-    // そのためピクセルの値は2ビットで表現される
-    // この色のデータはタイルの最初のバイトと2番目のバイトに格納されている
-    // 1バイト目: 8ピクセル分の色データのlsb
-    // 2バイト目: 8ピクセル分の色データのmsb
-    //   0  1  2  3  4  5  6  7
-    //  [0, 1, 0, 1, 0, 1, 0, 0]
-    //  [0, 1, 1, 0, 0, 1, 1, 1]
-    //   B  W  L  D  G  B  W  L
-
-
-    int normalizedIndex = index & 0xFFFE;
-    int byte1 = this.vram[normalizedIndex]; // 各タイルの最初のバイト
-    int byte2 = this.vram[normalizedIndex + 1]; // 各タイルの2番目のバイト
-
-    // VRAMの先頭から16バイトずつタイルのデータが格納されているため
-    int tileIndex = index / 16; // タイルのインデックスを計算
-    int rowIndex = (index % 16) / 2; // 行のインデックスを計算 (1行は2バイトのため)
-
-    for (int pixelIndex = 0; pixelIndex < 8; pixelIndex++) {
-      int mask = 1 << (7 - pixelIndex);
-      boolean lsb = (byte1 & mask) != 0; // LSB
-      boolean msb = (byte2 & mask) != 0; // MSB
-
-      // ピクセルの色を決定
-      TilePixelValue pixelValue;
-      if (!lsb && !msb) {
-        pixelValue = TilePixelValue.Zero; // 黒
-      } else if (!lsb && msb) {
-        pixelValue = TilePixelValue.One; // ダークグレー
-      } else if (lsb && !msb) {
-        pixelValue = TilePixelValue.Two; // ライトグレー
-      } else {
-        pixelValue = TilePixelValue.Three; // 白
-      }
+  // シェード (0-3) ごとにフレームバッファに書き込む値 (ARGBなど) を設定する
+  public void setDisplayColors(int[] colors) {
+    System.arraycopy(colors, 0, this.displayColors, 0, this.displayColors.length);
+    buildPalette(this.bgpColors, this.bgp);
+    buildPalette(this.obp0Colors, this.obp0);
+    buildPalette(this.obp1Colors, this.obp1);
+  }
 
-      this.tiles[tileIndex].pixels[rowIndex][pixelIndex] = pixelValue; // タイルのピクセル値を設定
-    }
+  public int readVRAM(int address) {
+    return this.vram[address] & 0xFF;
   }
 
-  private PPUInterrupt setLCDStatus() {
-    if (!this.controls.enabled) {
-      this.scanlineCounter = 0; // スキャンラインカウンタをリセット
-      this.ly = 0; // LYレジスタをリセット
-      this.windowLine = 0; // ウィンドウラインをリセット
-      this.status.PPUMode = 0; // モード0 に設定
-      return PPUInterrupt.NONE;
-    }
+  // MARK: OAM
+  // スプライトの情報はOAMのバイトから直接読むため、書き込みではバイトを書き換えるだけでよい
+  public void writeOAM(int address, int value) {
+    int offset = address - 0xFE00;
+    this.oam[offset] = (byte) value; // OAMに書き込む
+    if (offset % SPRITE_BYTES == 0) this.spriteIndexDirty = true; // Y座標が変わった場合はスプライトの索引を作り直す
+  }
 
-    int currentLine = this.ly; // 現在のラインを取得
-    int currentMode = this.status.PPUMode; // 現在のモードを取得
-    int mode = 0;
-    boolean reqInt = false; // 割り込み要求フラグ
+  // DMA転送: source[from] から OAM_SIZE バイトをまとめてOAMにコピーする
+  public void writeOAMBlock(byte[] source, int from) {
+    System.arraycopy(source, from, this.oam, 0, OAM_SIZE);
+    this.spriteIndexDirty = true;
+  }
 
-    if (currentLine >= 144) {
-      mode = 1;
-      this.status.PPUMode = 1; // VBlankモード
-      reqInt = this.status.mode1IntSelect; // VBlankモードの割り込み要求
-    } else {
-      int mode2Bounds = 80; // モード2の時間 (80クロックサイクル)
-      int mode3Bounds = 80 + 289; // モード3の時間 (172クロックサイクル)
-
-      if (this.scanlineCounter < mode2Bounds) {
-        mode = 2; // OAM読み込みモード
-        this.status.PPUMode = 2; // OAM読み込みモード
-        reqInt = this.status.mode2IntSelect; // OAM読み込みモードの割り込み要求
-      } else if (this.scanlineCounter < mode3Bounds) {
-        mode = 3; // VRAM読み込みモード
-        this.status.PPUMode = 3; // VRAM読み込みモード
-      } else {
-        mode = 0; // HBlankモード
-        if (this.status.PPUMode != 0) {
-          drawScanline(currentLine); // スキャンラインを描画
-        }
-        this.status.PPUMode = 0; // HBlankモード
-        reqInt = this.status.mode0IntSelect; // HBlankモードの割り込み要求
-      }
-    }
+  public int readOAM(int address) {
+    return this.oam[address - 0xFE00] & 0xFF;
+  }
 
-    PPUInterrupt interrupt = PPUInterrupt.NONE; // 割り込みの初期化
+  private int spriteY(int index) {
+    return this.oam[index * SPRITE_BYTES] & 0xFF;
+  }
 
-    if (reqInt && (mode != currentMode)) {
-      // モードが変わった場合、割り込み要求をセット
-      interrupt = PPUInterrupt.LCD; // LCD割り込みを要求
-    }
+  private int spriteX(int index) {
+    return this.oam[index * SPRITE_BYTES + 1] & 0xFF;
+  }
 
-    if (this.ly == this.lyc && this.prevLy != this.ly) {
-      // LYCとLYが一致した場合、LYC=LY割り込みを要求
-      this.status.lycFlag = true; // LYC=LY割り込みを要求
+  public void writeVRAM(int index, int value) {
+    this.vram[index] = (byte) value;
 
-      if (this.status.lycIntSelect) {
-        // LYC=LY割り込みが有効な場合、割り込みを要求
-        interrupt = PPUInterrupt.LCD; // LCD割り込みを要求
-      }
-    } else {
-      this.status.lycFlag = false; // LYC=LY割り込みをクリア
+    // タイルデータの範囲であれば、次に描画で使うときにデコードし直す
+    if (index < TILE_DATA_SIZE) {
+      int tile = index / TILE_BYTES;
+      this.dirtyTiles[tile >> 6] |= 1L << tile;
     }
+  }
 
-    this.prevLy = this.ly; // LYレジスタの値を保存
-    return interrupt; // 割り込みを返す
+  // MARK: タイル
+  // 背景・ウィンドウのタイル番号をタイルデータの番号に変換する
+  private int backgroundTile(int tileIndex) {
+    if (!this.controls.tiles && tileIndex < 128) {
+      // タイルのインデックスが0x00から0x7Fまでの範囲の場合、0x9000から始まるタイルを使う
+      return tileIndex + 256;
+    }
+    return tileIndex;
+  }
+
+  // タイルの row 行目の先頭 (tilePixels のインデックス) を返す
+  private int tileRow(int tile, int row) {
+    if ((this.dirtyTiles[tile >> 6] & (1L << tile)) != 0) decodeTile(tile);
+    return tile * TILE_PIXELS + row * TILE_LENGTH;
   }
-}
 
-class Tile {
-  public static final int TILE_LENGTH = 8;
-  public TilePixelValue[][] pixels = new TilePixelValue[TILE_LENGTH][TILE_LENGTH];
+  // MARK: decodeTile
+  private void decodeTile(int tile) {
+    this.dirtyTiles[tile >> 6] &= ~(1L << tile);
 
-  Tile() {
-    for (int i = 0; i < TILE_LENGTH; i++) {
-      for (int j = 0; j < TILE_LENGTH; j++) {
-        this.pixels[i][j] = TilePixelValue.Zero; // ピクセル値を初期化
+    // タイルの色は 0x00 から 0x03 の4色で表現される
+    // そのためピクセルの値は2ビットで表現される
+    // この色のデータはタイルの各行の最初のバイトと2番目のバイトに格納されている
+    // 1バイト目: 8ピクセル分の色データのlsb
+    // 2バイト目: 8ピクセル分の色データのmsb
+    //   0  1  2  3  4  5  6  7
+    //  [0, 1, 0, 1, 0, 1, 0, 0]
+    //  [0, 1, 1, 0, 0, 1, 1, 1]
+    //   0  3  1  2  0  3  1  1  (デコード後の値: 1バイト目のビットを上位, 2バイト目のビットを下位とする)
+    int address = tile * TILE_BYTES;
+    int pixelIndex = tile * TILE_PIXELS;
+    for (int row = 0; row < TILE_LENGTH; row++) {
+      int byte1 = this.vram[address + row * 2] & 0xFF; // 各行の最初のバイト
+      int byte2 = this.vram[address + row * 2 + 1] & 0xFF; // 各行の2番目のバイト
+      for (int bit = 7; bit >= 0; bit--) {
+        this.tilePixels[pixelIndex++] = (byte) ((((byte1 >> bit) & 1) << 1) | ((byte2 >> bit) & 1));
       }
     }
   }
 
-  // Tile emptyTile() {
-  //   TilePixelValue[][] pixels = new TilePixelValue[Tile.TILE_LENGTH][Tile.TILE_LENGTH];
-  //   for (int i = 0; i < Tile.TILE_LENGTH; i++) {
-  //     for (int j = 0; j < Tile.TILE_LENGTH; j++) {
-  //       pixels[i][j] = TilePixelValue.Zero;
-  //     }
-  //   }
-  //   return new Tile(pixels);
-  // }
+  // MARK: パレットのレジスタ
+  public int getBGP() {
+    return this.bgp;
+  }
 
-  public static int getColorFromPalette(TilePixelValue pixelValue, int palette) {
-    int[] colorTable = {
-      0, // 0x00: 黒
-      1, // 0x01: ダークグレー
-      2, // 0x02: ライトグレー
-      3, // 0x03: 白
-    };
-
-    switch (pixelValue) {
-      case Zero:
-        return colorTable[(palette & 0x03) >> 0]; // 黒
-      case One:
-        return colorTable[(palette & 0x0C) >> 2]; // ダークグレー
-      case Two:
-        return colorTable[(palette & 0x30) >> 4]; // ライトグレー
-      case Three:
-        return colorTable[(palette & 0xC0) >> 6]; // 白
-      default:
-        return 0; // 黒
-    }
+  public void setBGP(int value) {
+    this.bgp = value & 0xFF;
+    buildPalette(this.bgpColors, this.bgp);
+  }
+
+  public int getOBP0() {
+    return this.obp0;
   }
-}
 
-class Sprite {
-  public int y;
-  public int x;
-  public int tileIndex;
-  public int attributes;
-  public int index;
+  public void setOBP0(int value) {
+    this.obp0 = value & 0xFF;
+    buildPalette(this.obp0Colors, this.obp0);
+  }
 
-  public Sprite(int y, int x, int tileIndex, int attributes, int index) {
-    this.y = y;
-    this.x = x;
-    this.tileIndex = tileIndex;
-    this.attributes = attributes;
-    this.index = index;
+  public int getOBP1() {
+    return this.obp1;
   }
-}
 
-class SpriteComparator implements Comparator<Sprite> {
-  @Override
-  public int compare(Sprite sp1, Sprite sp2) {
-      // X座標で比較（大きい方を先に = 小さい方を後に描画）
-      if (Math.abs(sp1.x - sp2.x) < Tile.TILE_LENGTH) {
-          // sp2.x - sp1.x でも良い
-          return Integer.compare(sp1.x, sp2.x);
-      }
-      // X座標が同じならインデックスで比較（大きい方を先に = 小さい方を後に描画）
-      // sp2.index - sp1.index でも良い
-      return Integer.compare(sp2.index, sp1.index);
+  public void setOBP1(int value) {
+    this.obp1 = value & 0xFF;
+    buildPalette(this.obp1Colors, this.obp1);
   }
-}
 
-enum TilePixelValue {
-  Zero,
-  One,
-  Two,
-  Three,
+  // パレットのレジスタは色番号ごとに2ビットずつシェードを持つ (ビット0-1: 色番号0, ビット2-3: 色番号1, ...)
+  private void buildPalette(int[] colors, int palette) {
+    for (int pixel = 0; pixel < colors.length; pixel++) {
+      colors[pixel] = this.displayColors[(palette >> (pixel * 2)) & 0x03];
+    }
+  }
 }
@@ -1,7 +1,13 @@
 package com.syntck.ppu;
 
 public enum PPUInterrupt {
-  NONE,
-  VBLANK,
-  LCD,
-}
\ No newline at end of file
+  NONE(0x00),
+  VBLANK(0x01), // V-Blank割り込み要求（ビット0）
+  LCD(0x02); // LCD割り込み要求（ビット1）
+
+  public final int bit; // IFレジスタのビット
+
+  PPUInterrupt(int bit) {
+    this.bit = bit;
+  }
+}
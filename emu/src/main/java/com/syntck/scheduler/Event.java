@@ -0,0 +1,8 @@
+package com.syntck.scheduler;
+
+// スケジューラで管理するイベントの種類
+public enum Event {
+  PPU, // PPUのモード変化 (OAMスキャン / 描画 / HBlank / 次のライン)
+  TIMER, // TIMAレジスタのオーバーフロー
+  DMA, // OAM DMA転送の終わり
+}
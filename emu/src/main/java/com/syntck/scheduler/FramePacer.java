@@ -0,0 +1,70 @@
+package com.syntck.scheduler;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 実機と同じ速さ (4194304Hz / 70224サイクル = 約59.73Hz) でフレームを進めるためのペーサー
+ * フレームの期限は「開始時刻 + フレーム数 × 1フレームの長さ」として端数まで正確に積み上げるため、
+ * 眠りすぎや処理の遅れがあっても次のフレームで取り戻され、長い目で見た平均のフレームレートがずれない
+ * 待ち時間の大部分は parkNanos で眠り、OSのタイマーの粒度で起きるのが遅れないよう最後の少しだけスピンする
+ */
+public class FramePacer {
+  public static final int CLOCK_RATE = 4194304; // CPUのクロック (Hz)
+  public static final int CYCLES_PER_FRAME = 70224; // 1フレーム (154ライン × 456サイクル) のサイクル数
+  public static final double FRAME_RATE = (double) CLOCK_RATE / CYCLES_PER_FRAME; // 約59.73Hz
+
+  private static final long FRAME_NANOS = CYCLES_PER_FRAME * 1_000_000_000L / CLOCK_RATE; // 1フレームの長さ (整数部)
+  private static final long FRAME_NANOS_REMAINDER = CYCLES_PER_FRAME * 1_000_000_000L % CLOCK_RATE; // 端数 (/ CLOCK_RATE ns)
+  private static final long SPIN_NANOS = 1_000_000; // 期限の直前はスピンで待つ
+  private static final long MAX_LAG_NANOS = 100_000_000; // これ以上遅れたら取り戻さずに基準を取り直す
+
+  private long deadline; // 次のフレームの期限 (System.nanoTime)
+  private long fraction; // 期限の端数 (/ CLOCK_RATE ns)
+
+  public FramePacer() {
+    reset();
+  }
+
+  // 現在時刻を基準にし直す (一時停止からの再開など)
+  public void reset() {
+    this.deadline = System.nanoTime();
+    this.fraction = 0;
+  }
+
+  // MARK: waitForNextFrame
+  // 1フレーム分の期限まで待つ
+  public void waitForNextFrame() {
+    long deadline = advanceDeadline();
+    long remaining = deadline - System.nanoTime();
+
+    // 大きく遅れた場合 (ウィンドウのドラッグやGCなど) は、追いつくために早送りせず今から数え直す
+    if (remaining < -MAX_LAG_NANOS) {
+      reset();
+      return;
+    }
+
+    while (remaining > SPIN_NANOS) {
+      LockSupport.parkNanos(remaining - SPIN_NANOS);
+      remaining = deadline - System.nanoTime();
+    }
+    while (System.nanoTime() - deadline < 0) {
+      // 期限まで残りわずかなのでスピンで待つ
+    }
+  }
+
+  // 次のフレームの期限 (System.nanoTime)
+  long getDeadline() {
+    return this.deadline;
+  }
+
+  // 期限を1フレーム分進める
+  long advanceDeadline() {
+    this.deadline += FRAME_NANOS;
+    this.fraction += FRAME_NANOS_REMAINDER;
+    if (this.fraction >= CLOCK_RATE) {
+      this.fraction -= CLOCK_RATE;
+      this.deadline++;
+    }
+    return this.deadline;
+  }
+}
@@ -0,0 +1,79 @@
+package com.syntck.scheduler;
+
+/**
+ * サイクル単位のタイムスタンプでイベントを管理するスケジューラ
+ * イベントの種類ごとに1つの期限だけを持つ固定長のテーブルで、最も早い期限をキャッシュしておく
+ * CPUは isDue() が true になるまで命令を続けて実行し、期限が来たイベントだけを poll() で取り出して処理する
+ */
+public class Scheduler {
+  public static final long NEVER = Long.MAX_VALUE; // スケジュールされていないイベントの期限
+
+  private static final Event[] EVENTS = Event.values();
+
+  private final long[] deadlines = new long[EVENTS.length]; // イベントごとの期限 (サイクル)
+  private long now; // 電源投入からの経過サイクル数
+  private long nextDeadline; // 最も早い期限
+
+  public Scheduler() {
+    for (int i = 0; i < this.deadlines.length; i++) {
+      this.deadlines[i] = NEVER;
+    }
+    this.now = 0;
+    this.nextDeadline = NEVER;
+  }
+
+  public long now() {
+    return this.now;
+  }
+
+  // 時間を進める
+  public void advance(int cycles) {
+    this.now += cycles;
+  }
+
+  // 期限が来たイベントがあるか
+  public boolean isDue() {
+    return this.now >= this.nextDeadline;
+  }
+
+  public long getNextDeadline() {
+    return this.nextDeadline;
+  }
+
+  public long getDeadline(Event event) {
+    return this.deadlines[event.ordinal()];
+  }
+
+  // MARK: schedule
+  // イベントの期限を設定する (すでにスケジュールされている場合は置き換える)
+  public void schedule(Event event, long deadline) {
+    this.deadlines[event.ordinal()] = deadline;
+    updateNextDeadline();
+  }
+
+  public void cancel(Event event) {
+    schedule(event, NEVER);
+  }
+
+  // MARK: poll
+  // 期限が来たイベントのうち最も早いものを取り出す (なければ null)
+  public Event poll() {
+    if (this.now < this.nextDeadline) return null;
+
+    int earliest = 0;
+    for (int i = 1; i < this.deadlines.length; i++) {
+      if (this.deadlines[i] < this.deadlines[earliest]) earliest = i;
+    }
+    this.deadlines[earliest] = NEVER; // 取り出したイベントは再スケジュールされるまで発生しない
+    updateNextDeadline();
+    return EVENTS[earliest];
+  }
+
+  private void updateNextDeadline() {
+    long next = NEVER;
+    for (long deadline : this.deadlines) {
+      if (deadline < next) next = deadline;
+    }
+    this.nextDeadline = next;
+  }
+}
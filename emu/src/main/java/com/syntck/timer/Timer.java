@@ -0,0 +1,152 @@
+package com.syntck.timer;
+
+import com.syntck.interrupt.InterruptController;
+import com.syntck.memory.MemoryBus;
+import com.syntck.scheduler.Event;
+import com.syntck.scheduler.Scheduler;
+
+/**
+ * DIV / TIMA / TMA / TAC (0xFF04-0xFF07) のタイマー
+ * 16ビットのシステムカウンタを「スケジューラの時刻 - リセットした時刻」として表し、DIVはその上位8ビットになる
+ * TIMAはTACで選んだビットの立ち下がりでインクリメントされるため、レジスタが読み書きされたときにだけ経過分を計算する
+ * 定期的に処理が必要なのはTIMAのオーバーフロー (割り込み) だけなので、それだけをイベントとしてスケジュールする
+ */
+public class Timer {
+  // TACのクロック選択ごとのTIMAの周期 (サイクル) = システムカウンタの監視ビットの2倍
+  private static final int[] TIMA_PERIODS = {
+    1024, // 0x00: 4096Hz (ビット9)
+    16,   // 0x01: 262144Hz (ビット3)
+    64,   // 0x02: 65536Hz (ビット5)
+    256,  // 0x03: 16384Hz (ビット7)
+  };
+
+  private final Scheduler scheduler;
+  private final InterruptController interrupts;
+
+  private long divBase; // システムカウンタが0だった時刻
+  private long syncedAt; // TIMAを最後に進めた時刻
+  private int tima; // 0xFF05 TIMA (タイマーカウンタ)
+  private int tma; // 0xFF06 TMA (オーバーフロー時のリロード値)
+  private int tac; // 0xFF07 TAC (タイマー制御)
+
+  public Timer(MemoryBus bus) {
+    this.scheduler = bus.scheduler;
+    this.interrupts = bus.interrupts;
+    this.divBase = this.scheduler.now();
+    this.syncedAt = this.scheduler.now();
+    this.tima = 0;
+    this.tma = 0;
+    this.tac = 0;
+  }
+
+  // MARK: DIV
+  public int readDIV() {
+    return (getSystemCounter() >> 8) & 0xFF;
+  }
+
+  public void writeDIV() {
+    sync();
+    // システムカウンタのリセットで監視ビットが1から0に変わると、TIMAがインクリメントされる
+    if (isEnabled() && (getSystemCounter() & getPeriod() / 2) != 0) increment(1);
+    this.divBase = this.scheduler.now();
+    scheduleOverflow();
+  }
+
+  // MARK: TIMA
+  public int readTIMA() {
+    sync();
+    return this.tima;
+  }
+
+  public void writeTIMA(int value) {
+    sync();
+    this.tima = value & 0xFF;
+    scheduleOverflow();
+  }
+
+  // MARK: TMA
+  public int readTMA() {
+    return this.tma;
+  }
+
+  public void writeTMA(int value) {
+    sync(); // 書き込み前のオーバーフローは以前のTMAでリロードする
+    this.tma = value & 0xFF;
+    scheduleOverflow();
+  }
+
+  // MARK: TAC
+  public int readTAC() {
+    return 0xF8 | this.tac; // 上位5ビットは常に1
+  }
+
+  public void writeTAC(int value) {
+    sync(); // 書き込み前の設定で現在時刻まで進める
+
+    // 監視ビットが1の状態でタイマーを止める・監視ビットを切り替えると、立ち下がりとみなされる
+    boolean wasHigh = isEnabled() && (getSystemCounter() & getPeriod() / 2) != 0;
+    this.tac = value & 0x07;
+    boolean isHigh = isEnabled() && (getSystemCounter() & getPeriod() / 2) != 0;
+    if (wasHigh && !isHigh) increment(1);
+
+    scheduleOverflow();
+  }
+
+  // MARK: update
+  // TIMERイベント: オーバーフローの時刻まで進め、次のオーバーフローをスケジュールする
+  public void update() {
+    sync();
+    scheduleOverflow();
+  }
+
+  // MARK: sync
+  // 前回から現在時刻までに監視ビットが立ち下がった回数だけTIMAを進める
+  private void sync() {
+    long now = this.scheduler.now();
+    if (isEnabled()) {
+      int period = getPeriod();
+      long ticks = (now - this.divBase) / period - (this.syncedAt - this.divBase) / period;
+      if (ticks > 0) increment(ticks);
+    }
+    this.syncedAt = now;
+  }
+
+  private void increment(long ticks) {
+    int untilOverflow = 0x100 - this.tima;
+    if (ticks < untilOverflow) {
+      this.tima += (int) ticks;
+      return;
+    }
+
+    // オーバーフローした場合はTMAをリロードし、残りをリロード後の値から数える
+    ticks -= untilOverflow;
+    this.tima = this.tma + (int) (ticks % (0x100 - this.tma));
+    this.interrupts.request(InterruptController.TIMER);
+  }
+
+  private void scheduleOverflow() {
+    if (!isEnabled()) {
+      this.scheduler.cancel(Event.TIMER);
+      return;
+    }
+
+    // 次の立ち下がりから数えて (0x100 - TIMA) 回目の立ち下がりでオーバーフローする
+    int period = getPeriod();
+    long elapsed = this.syncedAt - this.divBase;
+    long nextTick = (elapsed / period + 1) * period;
+    long deadline = this.divBase + nextTick + (long) (0xFF - this.tima) * period;
+    this.scheduler.schedule(Event.TIMER, deadline);
+  }
+
+  private int getSystemCounter() {
+    return (int) ((this.scheduler.now() - this.divBase) & 0xFFFF);
+  }
+
+  private boolean isEnabled() {
+    return (this.tac & 0x04) != 0;
+  }
+
+  private int getPeriod() {
+    return TIMA_PERIODS[this.tac & 0x03];
+  }
+}
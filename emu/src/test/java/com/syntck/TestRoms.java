@@ -0,0 +1,38 @@
+package com.syntck;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * テスト用のROMファイルを書き出すヘルパー
+ * 同じディレクトリに何度書き出しても別のファイルになるため、マップ中のROMイメージを上書きしない
+ */
+public final class TestRoms {
+  public static final int ROM_ONLY = 0x00;
+  public static final int MBC1 = 0x01;
+  public static final int ROM_SIZE = 0x8000; // 32KB
+  public static final int ENTRY_POINT = 0x0100; // 実行開始アドレス
+
+  private TestRoms() {}
+
+  // ROMイメージ (0x0000から) にカートリッジタイプを設定して dir に書き出し、パスを返す
+  public static String write(File dir, int[] rom, int cartridgeType) throws IOException {
+    byte[] bytes = new byte[rom.length];
+    for (int i = 0; i < rom.length; i++) bytes[i] = (byte) rom[i];
+    bytes[0x0147] = (byte) cartridgeType;
+
+    File file = File.createTempFile("rom", ".gb", dir);
+    try (FileOutputStream fos = new FileOutputStream(file)) {
+      fos.write(bytes);
+    }
+    return file.getPath();
+  }
+
+  // 0x0100 に program を置いた32KBのROMを書き出す
+  public static String writeProgram(File dir, int cartridgeType, int... program) throws IOException {
+    int[] rom = new int[ROM_SIZE];
+    System.arraycopy(program, 0, rom, ENTRY_POINT, program.length);
+    return write(dir, rom, cartridgeType);
+  }
+}
@@ -0,0 +1,107 @@
+package com.syntck.benchmark;
+
+import static com.syntck.Functions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.syntck.TestRoms;
+import com.syntck.cartridge.Cartridge;
+import com.syntck.cpu.CPU;
+import com.syntck.cpu.ExecutionEngine;
+
+/**
+ * ALU命令の実行と演算ヘルパーのベンチマーク
+ * 命令はROM (カートリッジ) から実行する (RECOMPILER はカートリッジがないとブロックを変換しない)
+ * 実行方法: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="AluBenchmark -prof gc"
+ * -prof gc の gc.alloc.rate.norm が命令あたりのアロケーション量 (B/op) になる
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AluBenchmark {
+  // ALU命令のループ (最後の JR で先頭に戻る)
+  private static final int[] PROGRAM = {
+    0x80,       // ADD A, B
+    0x89,       // ADC A, C
+    0x92,       // SUB D
+    0x9B,       // SBC A, E
+    0xBC,       // CP H
+    0x09,       // ADD HL, BC
+    0x3C,       // INC A
+    0x05,       // DEC B
+    0xA1,       // AND C
+    0xAA,       // XOR D
+    0xB3,       // OR E
+    0x27,       // DAA
+    0xCB, 0x11, // RL C
+    0x18, 0xF0  // JR -16
+  };
+  private static final int PROGRAM_INSTRUCTIONS = 14; // 1周の命令数
+  private static final int PROGRAM_CYCLES = 72; // 1周のサイクル数
+  private static final int LOOPS = 100; // 1回の計測で実行する周回数
+
+  private File romFile;
+  private Cartridge cartridge;
+  private CPU cpu;
+  private int a;
+  private int b;
+
+  @Param({"SWITCH", "THREADED", "RECOMPILER"})
+  public String engine;
+
+  @Setup
+  public void setup() throws IOException {
+    File dir = Files.createTempDirectory("benchmark").toFile();
+    this.romFile = new File(TestRoms.writeProgram(dir, TestRoms.ROM_ONLY, PROGRAM));
+    this.cartridge = new Cartridge(this.romFile.getPath());
+    this.cpu = new CPU(this.cartridge, ExecutionEngine.valueOf(this.engine));
+    this.cpu.bus.gpu.controls.enabled = false; // PPUを止めてCPUだけを計測する
+    this.cpu.registers.b = 0x35;
+    this.cpu.registers.c = 0x7A;
+    this.cpu.registers.d = 0x12;
+    this.cpu.registers.e = 0xC4;
+    this.a = 0x1234;
+    this.b = 0xF0F0;
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.cartridge.close();
+    this.romFile.delete();
+    this.romFile.getParentFile().delete();
+  }
+
+  // MARK: 命令実行
+  // RECOMPILER は step() 1回でブロックをまとめて実行するため、サイクル数で区切って1命令あたりの時間を計る
+  @Benchmark
+  @OperationsPerInvocation(LOOPS * PROGRAM_INSTRUCTIONS)
+  public int step() {
+    long end = this.cpu.bus.scheduler.now() + LOOPS * PROGRAM_CYCLES;
+    while (this.cpu.bus.scheduler.now() < end) this.cpu.step();
+    return this.cpu.registers.a;
+  }
+
+  // MARK: 演算ヘルパー
+  @Benchmark
+  public void addPacked(Blackhole blackhole) {
+    int packed = packedAdd16(this.a, this.b);
+    blackhole.consume(packedValue16(packed));
+    blackhole.consume(packedCarry16(packed));
+  }
+
+  @Benchmark
+  public void addOverflowingResult(Blackhole blackhole) {
+    OverflowingResult result = overflowingAdd16(this.a, this.b);
+    blackhole.consume(result.value);
+    blackhole.consume(result.overflow);
+  }
+}
@@ -0,0 +1,111 @@
+package com.syntck.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.syntck.mapper.MBC1;
+
+/**
+ * MBC1のROM読み取りのベンチマーク
+ * 実行方法: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="MapperBenchmark"
+ * readOffsets が事前計算したオフセットによる読み取り、readComputed が読み取りごとにバンクを計算する以前の実装
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+  private static final int ROM_SIZE = 0x80000; // 512KB
+  private static final int READS = 0x1000; // 1回の計測で読み取るバイト数
+
+  private MBC1 mbc;
+  private ComputedMBC1 computed;
+  private int[] addresses;
+
+  @Setup
+  public void setup() {
+    ByteBuffer rom = ByteBuffer.allocate(ROM_SIZE);
+    for (int i = 0; i < ROM_SIZE; i++) rom.put(i, (byte) i);
+
+    this.mbc = new MBC1(rom.duplicate(), new byte[0x2000], ROM_SIZE, 0x2000);
+    this.computed = new ComputedMBC1(rom.duplicate());
+    this.mbc.writeByte(0x2000, 0x07);
+    this.computed.writeByte(0x2000, 0x07);
+
+    // バンク0とバンク1の領域を交互に読む
+    this.addresses = new int[READS];
+    for (int i = 0; i < READS; i++) {
+      this.addresses[i] = ((i & 1) == 0) ? (i * 7) & 0x3FFF : 0x4000 | ((i * 13) & 0x3FFF);
+    }
+  }
+
+  // MARK: 読み取り
+  @Benchmark
+  @OperationsPerInvocation(READS)
+  public int readOffsets() {
+    int sum = 0;
+    for (int address : this.addresses) sum += this.mbc.readByte(address);
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(READS)
+  public int readComputed() {
+    int sum = 0;
+    for (int address : this.addresses) sum += this.computed.readByte(address);
+    return sum;
+  }
+}
+
+// MARK: 比較用の実装
+// 読み取りのたびにモードとバンクレジスタからオフセットを計算する (オフセットを事前計算する前の MBC1 と同じ)
+class ComputedMBC1 {
+  private final ByteBuffer binaryData;
+  private final boolean isBigROM;
+  private final boolean isBigRAM = false;
+  private int bank = 0x01;
+  private int secondaryBank;
+  private int mode = 1;
+
+  ComputedMBC1(ByteBuffer binaryData) {
+    this.binaryData = binaryData;
+    this.isBigROM = binaryData.capacity() >= 1024 * 1024;
+  }
+
+  int readByte(int address) {
+    if (address <= 0x7FFF) return this.binaryData.get(getRomOffset(address)) & 0xFF;
+    return 0;
+  }
+
+  void writeByte(int address, int value) {
+    if (0x2000 <= address && address <= 0x3FFF) this.bank = value;
+    if (0x4000 <= address && address <= 0x5FFF) this.secondaryBank = value;
+    if (0x6000 <= address && address <= 0x7FFF) this.mode = value;
+  }
+
+  private int calcBank1Address(int address) {
+    int bank = this.bank & 0x1F;
+    if (bank == 0) bank = 1;
+    return address + (bank * 0x4000) - 0x4000;
+  }
+
+  private int calcBank1AddressWithSecondary(int address) {
+    int bank = ((this.secondaryBank & 0x03) << 5) | (this.bank & 0x1F);
+    if (bank == 0) bank = 1;
+    return address + (bank * 0x4000) - 0x4000;
+  }
+
+  private int getRomOffset(int address) {
+    if (this.mode == 0) {
+      if (address <= 0x3FFF) return address;
+      return (!this.isBigRAM && this.isBigROM) ? calcBank1Address(address) : calcBank1AddressWithSecondary(address);
+    } else {
+      if (address <= 0x3FFF) return this.isBigROM ? address + (this.bank * 0x4000) : address;
+      return this.isBigROM ? calcBank1AddressWithSecondary(address) : calcBank1Address(address);
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.syntck.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.syntck.ppu.PPU;
+
+/**
+ * VRAMへの書き込みとスキャンライン描画のベンチマーク
+ * 実行方法: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="PPUBenchmark -prof gc"
+ * streamTiles はスクロールしながら毎フレーム新しいタイルを転送する場面、staticScene はタイルを書き換えない場面、
+ * writeTileData はVRAMへの書き込みだけを計測する
+ * dmaTransfer はOAMへのDMA転送、writeOAMBytes は同じ160バイトを1バイトずつ書き込む場合を計測する
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PPUBenchmark {
+  private static final int FRAME_CYCLES = 456 * 154; // 1フレームのサイクル数
+  private static final int STREAM_BYTES = 0x200; // 1フレームで転送するタイルデータ (32タイル)
+  private static final int TILE_DATA_SIZE = 0x1800;
+
+  private PPU ppu;
+  private int frame;
+  private byte[] oamSource;
+
+  @Setup
+  public void setup() {
+    this.ppu = new PPU();
+    this.ppu.controls.convertFromInt(0x93); // LCD有効, 0x8000のタイルデータ, 背景とスプライトを表示
+    this.ppu.setBGP(0xE4);
+    this.ppu.setOBP0(0xE4);
+    for (int i = 0; i < TILE_DATA_SIZE; i++) this.ppu.writeVRAM(i, (i * 37) & 0xFF);
+    for (int i = 0; i < 0x400; i++) this.ppu.writeVRAM(0x1800 + i, i & 0xFF); // タイルマップ
+    for (int i = 0; i < 40; i++) {
+      this.ppu.writeOAM(0xFE00 + i * 4, 16 + (i * 11) % 144);
+      this.ppu.writeOAM(0xFE01 + i * 4, 8 + (i * 23) % 160);
+      this.ppu.writeOAM(0xFE02 + i * 4, i);
+    }
+    this.frame = 0;
+
+    this.oamSource = new byte[PPU.OAM_SIZE];
+    for (int i = 0; i < PPU.OAM_SIZE; i++) this.oamSource[i] = (byte) (i * 29);
+  }
+
+  // MARK: 描画
+  @Benchmark
+  public int streamTiles() {
+    // 横スクロールしながら、画面外に出たタイルを新しいタイルで置き換える
+    int base = (this.frame * STREAM_BYTES) % TILE_DATA_SIZE;
+    for (int i = 0; i < STREAM_BYTES; i++) this.ppu.writeVRAM(base + i, (i + this.frame) & 0xFF);
+    this.ppu.scx = this.frame & 0xFF;
+    this.frame++;
+    return this.ppu.update(FRAME_CYCLES);
+  }
+
+  @Benchmark
+  public int staticScene() {
+    this.ppu.scx = this.frame++ & 0xFF;
+    return this.ppu.update(FRAME_CYCLES);
+  }
+
+  // MARK: 書き込み
+  @Benchmark
+  @OperationsPerInvocation(TILE_DATA_SIZE)
+  public void writeTileData() {
+    for (int i = 0; i < TILE_DATA_SIZE; i++) this.ppu.writeVRAM(i, i + this.frame);
+    this.frame++;
+  }
+
+  // MARK: OAM
+  @Benchmark
+  public void dmaTransfer() {
+    this.ppu.writeOAMBlock(this.oamSource, 0);
+  }
+
+  @Benchmark
+  public void writeOAMBytes() {
+    for (int i = 0; i < PPU.OAM_SIZE; i++) this.ppu.writeOAM(0xFE00 + i, this.oamSource[i]);
+  }
+}
@@ -0,0 +1,81 @@
+package com.syntck.cartridge;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import com.syntck.TestRoms;
+
+public class RomImageCacheTest {
+  @TempDir
+  File tempDir;
+
+  // 0x0100 に marker を置いた32KBのROM (ROM ONLY) を書き出す
+  private String writeRom(int marker) throws Exception {
+    return TestRoms.writeProgram(this.tempDir, TestRoms.ROM_ONLY, marker);
+  }
+
+  // MARK: 共有
+  @Test
+  @DisplayName("Test cartridges loading the same file share one ROM image")
+  public void testSharedImage() throws Exception {
+    String path = writeRom(0x12);
+    int cached = RomImageCache.shared().size();
+
+    Cartridge[] cartridges = new Cartridge[500];
+    for (int i = 0; i < cartridges.length; i++) {
+      cartridges[i] = new Cartridge(path);
+    }
+
+    assertEquals(cached + 1, RomImageCache.shared().size());
+    for (Cartridge cartridge : cartridges) {
+      assertSame(cartridges[0].rom, cartridge.rom);
+      assertEquals(0x12, cartridge.readByte(0x0100));
+    }
+    assertEquals(500, cartridges[0].rom.getReferences());
+
+    // 参照がなくなったら破棄される
+    RomImage image = cartridges[0].rom;
+    for (Cartridge cartridge : cartridges) cartridge.close();
+    assertEquals(0, image.getReferences());
+    assertEquals(cached, RomImageCache.shared().size());
+  }
+
+  // MARK: キー
+  @Test
+  @DisplayName("Test a replaced file gets a new image while the old one is in use")
+  public void testReplacedFile() throws Exception {
+    String path = writeRom(0x12);
+    Cartridge before = new Cartridge(path);
+
+    // 別ファイルに書き出してから置き換える (マップ中のファイルをその場で書き換えない)
+    String replacement = writeRom(0x34);
+    new File(replacement).setLastModified(System.currentTimeMillis() + 10000); // 更新日時を確実に変える
+    Files.move(Paths.get(replacement), Paths.get(path), StandardCopyOption.REPLACE_EXISTING);
+    Cartridge after = new Cartridge(path);
+
+    assertNotSame(before.rom, after.rom);
+    assertNotEquals(before.rom.getKey(), after.rom.getKey());
+    assertEquals(0x12, before.readByte(0x0100));
+    assertEquals(0x34, after.readByte(0x0100));
+
+    before.close();
+    after.close();
+  }
+
+  // MARK: 読み取り専用
+  @Test
+  @DisplayName("Test ROM image is read-only")
+  public void testReadOnly() throws Exception {
+    Cartridge cartridge = new Cartridge(writeRom(0x00));
+    assertThrows(ReadOnlyBufferException.class, () -> cartridge.rom.asBuffer().put(0, (byte) 0xFF));
+    cartridge.close();
+  }
+}
@@ -9,7 +9,7 @@ public class ADCTest {
   @Test
   @DisplayName("Test ADC A, B with carry")
   public void testADCAB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x88); // ADC A, B
     cpu.registers.a = 0x10;
     cpu.registers.b = 0x20;
@@ -23,7 +23,7 @@ public class ADCTest {
   @Test
   @DisplayName("Test ADC A, B without carry")
   public void testADCABWithoutCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x88); // ADC A, B
     cpu.registers.a = 0x10;
     cpu.registers.b = 0x20;
@@ -37,7 +37,7 @@ public class ADCTest {
   @Test
   @DisplayName("Test ADC A, C with carry")
   public void testADCAC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x89); // ADC A, C
     cpu.registers.a = 0x10;
     cpu.registers.c = 0x20;
@@ -51,7 +51,7 @@ public class ADCTest {
   @Test
   @DisplayName("Test ADC A, D with carry")
   public void testADCAD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x8A); // ADC A, D
     cpu.registers.a = 0x10;
     cpu.registers.d = 0x20;
@@ -65,7 +65,7 @@ public class ADCTest {
   @Test
   @DisplayName("Test ADC A, E with carry")
   public void testADCAE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x8B); // ADC A, E
     cpu.registers.a = 0x10;
     cpu.registers.e = 0x20;
@@ -79,7 +79,7 @@ public class ADCTest {
   @Test
   @DisplayName("Test ADC A, H with carry")
   public void testADCAH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x8C); // ADC A, H
     cpu.registers.a = 0x10;
     cpu.registers.h = 0x20;
@@ -93,7 +93,7 @@ public class ADCTest {
   @Test
   @DisplayName("Test ADC A, L with carry")
   public void testADCAL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x8D); // ADC A, L
     cpu.registers.a = 0x10;
     cpu.registers.l = 0x20;
@@ -107,7 +107,7 @@ public class ADCTest {
   @Test
   @DisplayName("Test ADC A, (HL) with carry")
   public void testADCAHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x8E); // ADC A, (HL)
     cpu.registers.a = 0x10;
     cpu.registers.set_hl(0xC000);
@@ -122,7 +122,7 @@ public class ADCTest {
   @Test
   @DisplayName("Test ADC A, d8 with carry")
   public void testADCAd8() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCE); // ADC A, d8
     cpu.bus.writeByte(0x0001, 0x20); // 即値0x20
     cpu.registers.a = 0x10;
@@ -136,7 +136,7 @@ public class ADCTest {
   @Test
   @DisplayName("Test ADC A, A with carry and overflow")
   public void testADCAAWithCarryAndOverflow() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x8F); // ADC A, A
     cpu.registers.a = 0xFF;
     cpu.registers.f.carry = true; // キャリーフラグをセット
@@ -153,7 +153,7 @@ public class ADCTest {
   @Test
   @DisplayName("Test ADC A, B with carry and half carry")
   public void testADCABWithCarryAndHalfCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x88); // ADC A, B
     cpu.registers.a = 0x0F; // 下位4ビットが全て1
     cpu.registers.b = 0x01; // 1を加算
@@ -171,7 +171,7 @@ public class ADCTest {
   @Test
   @DisplayName("Test ADC A, C resulting in zero")
   public void testADCACZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x89); // ADC A, C
     cpu.registers.a = 0xFF;
     cpu.registers.c = 0x00;
@@ -189,7 +189,7 @@ public class ADCTest {
   @Test
   @DisplayName("Test ADC A, d8 with multiple flags")
   public void testADCAd8MultipleFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCE); // ADC A, d8
     cpu.bus.writeByte(0x0001, 0xF0); // 即値0xF0
     cpu.registers.a = 0x0F;
@@ -12,7 +12,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD A, A instruction")
   public void testAddAA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.log("CPU initialized.");
     cpu.bus.writeByte(0x0000, 0x87); // Changed instruction to ADD A, A
     cpu.registers.a = 0x02;
@@ -27,7 +27,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD A, B instruction")
   public void testAddAB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.log("CPU initialized.");
     cpu.bus.writeByte(0x0000, 0x80); // Changed instruction to ADD A, B
     cpu.registers.a = 0x02;
@@ -43,7 +43,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD A, C instruction")
   public void testAddAC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.log("CPU initialized.");
     cpu.bus.writeByte(0x0000, 0x81); // ADD A, C
     cpu.registers.a = 0x02;
@@ -59,7 +59,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD A, D instruction")
   public void testAddAD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.log("CPU initialized.");
     cpu.bus.writeByte(0x0000, 0x82); // ADD A, D // Updated instruction comment
     cpu.registers.a = 0x02;
@@ -75,7 +75,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD A, E instruction")
   public void testAddAE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.log("CPU initialized.");
     cpu.bus.writeByte(0x0000, 0x83); // ADD A, E // Updated instruction comment
     cpu.registers.a = 0x05;
@@ -91,7 +91,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD A, H instruction")
   public void testAddAH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.log("CPU initialized.");
     cpu.bus.writeByte(0x0000, 0x84); // Changed instruction to ADD A, H
     cpu.registers.a = 0x02;
@@ -107,7 +107,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD A, L instruction")
   public void testAddAL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.log("CPU initialized.");
     cpu.bus.writeByte(0x0000, 0x85);
     cpu.registers.a = 0x02;
@@ -123,7 +123,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD A, d8 instruction")
   public void testAddAd8() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.log("CPU initialized.");
     cpu.bus.writeByte(0x0000, 0xC6); // Changed instruction to ADD A, d8
     cpu.bus.writeByte(0x0001, 0x08); // d8 = 8
@@ -139,7 +139,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD A, HL instruction")
   public void testAddAHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.log("CPU initialized.");
     cpu.bus.writeByte(0x0000, 0x86); // Changed instruction to ADD A, HL
     cpu.registers.a = 0x02;
@@ -156,7 +156,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD A, C with half carry")
   public void testAddAC_HalfCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x81); // ADD A, C
     cpu.registers.a = 0x0F;
     cpu.registers.c = 0x01;
@@ -171,7 +171,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD A, C with carry")
   public void testAddAC_Carry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x81); // ADD A, C
     cpu.registers.a = 0xF0;
     cpu.registers.c = 0x20;
@@ -186,7 +186,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD A, C with carry & half carry")
   public void testAddAC_CarryAndHalfCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x81); // ADD A, C
     cpu.registers.a = 0xFF;
     cpu.registers.c = 0x02;
@@ -209,7 +209,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD A, C with zero result")
   public void testAddAC_Zero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x81); // ADD A, C
     cpu.registers.a = 0x00;
     cpu.registers.c = 0x00;
@@ -231,7 +231,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD A, C with carry and zero result")
   public void testAddAC_CarryAndZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x81); // ADD A, C
     cpu.registers.a = 0xFF;
     cpu.registers.c = 0x01;
@@ -254,7 +254,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD HL, BC instruction")
   public void testAddHL_BC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x09);
     cpu.registers.set_hl(0x1234);
     cpu.registers.set_bc(0x2002); // Set BC to 0x2002
@@ -268,7 +268,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD HL, DE instruction")
   public void testAddHL_DE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x19);
     cpu.registers.set_hl(0x1234);
     cpu.registers.set_de(0x2002);
@@ -282,7 +282,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD HL, HL instruction")
   public void testAddHL_HL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x29);
     cpu.registers.set_hl(0x1234);
     cpu.step();
@@ -295,7 +295,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD HL, SP instruction")
   public void testAddHL_SP() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x39);
     cpu.registers.set_hl(0x1234);
     cpu.sp = 0x2002;
@@ -310,7 +310,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD HL, BC instruction with carry")
   public void testAddHL_BC_Carry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x09);
     cpu.registers.set_hl(0xF000);
     cpu.registers.set_bc(0x1000); // Set BC to 0x1000
@@ -325,7 +325,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD HL, BC instruction with half carry")
   public void testAddHL_BC_HalfCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x09);
     cpu.registers.set_hl(0x0F00);
     cpu.registers.set_bc(0x0100); // Set BC to 0x0100
@@ -340,7 +340,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD SP, r8 instruction")
   public void testAddSP_r8() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xE8); // ADD SP, r8
     cpu.bus.writeByte(0x0001, 0x04); // r8 = 4
     cpu.sp = 0x1003;
@@ -356,7 +356,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD SP, r8 instruction with minus r8")
   public void testAddSP_r8_Minus() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xE8); // ADD SP, r8
     cpu.bus.writeByte(0x0001, -1); // r8 = -1 (0xFF)
     cpu.sp = 0x0003;
@@ -370,7 +370,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD SP, r8 instruction with carry")
   public void testAddSP_r8_Carry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xE8);
     cpu.bus.writeByte(0x0001, 0x11); // r8
     cpu.sp = 0x00F0;
@@ -384,7 +384,7 @@ public class ADDTest {
   @Test
   @DisplayName("Test ADD SP, r8 instruction with half carry")
   public void testAddSP_r8_HalfCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xE8);
     cpu.bus.writeByte(0x0001, 0x01); // r8
     cpu.sp = 0x000F;
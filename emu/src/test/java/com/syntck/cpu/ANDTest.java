@@ -9,7 +9,7 @@ public class ANDTest {
   @Test
   @DisplayName("Test AND A, B instruction")
   public void testANDAB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xA0); // AND A, B
     cpu.registers.a = 0xF0;
     cpu.registers.b = 0x0F;
@@ -26,7 +26,7 @@ public class ANDTest {
   @Test
   @DisplayName("Test AND A, C instruction")
   public void testANDAC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xA1); // AND A, C
     cpu.registers.a = 0xFF;
     cpu.registers.c = 0xAA;
@@ -43,7 +43,7 @@ public class ANDTest {
   @Test
   @DisplayName("Test AND A, D instruction")
   public void testANDAD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xA2); // AND A, D
     cpu.registers.a = 0x55;
     cpu.registers.d = 0x33;
@@ -60,7 +60,7 @@ public class ANDTest {
   @Test
   @DisplayName("Test AND A, E instruction")
   public void testANDAE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xA3); // AND A, E
     cpu.registers.a = 0x12;
     cpu.registers.e = 0x34;
@@ -77,7 +77,7 @@ public class ANDTest {
   @Test
   @DisplayName("Test AND A, H instruction")
   public void testANDAH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xA4); // AND A, H
     cpu.registers.a = 0x5A;
     cpu.registers.h = 0x3F;
@@ -94,7 +94,7 @@ public class ANDTest {
   @Test
   @DisplayName("Test AND A, L instruction")
   public void testANDAL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xA5); // AND A, L
     cpu.registers.a = 0xCC;
     cpu.registers.l = 0x33;
@@ -111,7 +111,7 @@ public class ANDTest {
   @Test
   @DisplayName("Test AND A, (HL) instruction")
   public void testANDAHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xA6); // AND A, (HL)
     cpu.registers.a = 0xF0;
     cpu.registers.set_hl(0xC000);
@@ -129,7 +129,7 @@ public class ANDTest {
   @Test
   @DisplayName("Test AND A, d8 instruction")
   public void testANDAd8() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xE6); // AND A, d8
     cpu.bus.writeByte(0x0001, 0x3C); // 即値0x3C
     cpu.registers.a = 0x5A;
@@ -146,7 +146,7 @@ public class ANDTest {
   @Test
   @DisplayName("Test AND A, A instruction")
   public void testANDAA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xA7); // AND A, A
     cpu.registers.a = 0xFF;
     cpu.step();
@@ -162,7 +162,7 @@ public class ANDTest {
   @Test
   @DisplayName("Test AND A, B resulting in zero")
   public void testANDABZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xA0); // AND A, B
     cpu.registers.a = 0xF0;
     cpu.registers.b = 0x0F;
@@ -179,7 +179,7 @@ public class ANDTest {
   @Test
   @DisplayName("Test AND A with zero")
   public void testANDWithZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xE6); // AND A, d8
     cpu.bus.writeByte(0x0001, 0x00); // 即値0x00
     cpu.registers.a = 0x5A;
@@ -196,7 +196,7 @@ public class ANDTest {
   @Test
   @DisplayName("Test AND A with 0xFF (all bits set)")
   public void testANDWithAllBits() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xE6); // AND A, d8
     cpu.bus.writeByte(0x0001, 0xFF); // 即値0xFF
     cpu.registers.a = 0x5A;
@@ -213,7 +213,7 @@ public class ANDTest {
   @Test
   @DisplayName("Test AND A with 0 when A is already 0")
   public void testANDWithZeroWhenZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xE6); // AND A, d8
     cpu.bus.writeByte(0x0001, 0x00); // 即値0x00
     cpu.registers.a = 0x00;
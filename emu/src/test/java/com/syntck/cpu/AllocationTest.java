@@ -0,0 +1,46 @@
+package com.syntck.cpu;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.lang.management.ManagementFactory;
+
+public class AllocationTest {
+  // ALU命令のループ (最後の JR で先頭に戻る)
+  private static final int[] PROGRAM = {
+    0x80, 0x89, 0x92, 0x9B, 0xBC, // ADD A,B / ADC A,C / SUB D / SBC A,E / CP H
+    0x09, 0x19, 0x29, 0x39,       // ADD HL,BC / ADD HL,DE / ADD HL,HL / ADD HL,SP
+    0x3C, 0x05, 0xA1, 0xAA, 0xB3, // INC A / DEC B / AND C / XOR D / OR E
+    0x27, 0xCB, 0x11,             // DAA / RL C
+    0x18, 0xED                    // JR -19
+  };
+
+  // MARK: ALU命令のアロケーション
+  @Test
+  @DisplayName("Test ALU instructions do not allocate")
+  public void testAluDoesNotAllocate() throws Exception {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+
+    CPU cpu = new FlagsViewCPU();
+    cpu.bus.gpu.controls.enabled = false; // PPUを止めてCPUだけを計測する
+    for (int i = 0; i < PROGRAM.length; i++) {
+      cpu.bus.writeByte(i, PROGRAM[i]);
+    }
+    cpu.sp = 0x1234;
+
+    // ウォームアップ
+    for (int i = 0; i < 100000; i++) cpu.step();
+
+    long threadId = Thread.currentThread().getId();
+    long before = bean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < 100000; i++) cpu.step();
+    long allocated = bean.getThreadAllocatedBytes(threadId) - before;
+
+    // 計測自体のアロケーションを考慮して、命令あたり0バイトとみなせる範囲を許容する
+    assertTrue(allocated < 1024, "allocated " + allocated + " bytes in 100000 steps");
+  }
+}
@@ -9,7 +9,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT 0, B instruction with bit reset")
   public void testBIT0B_Reset() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x40); // BIT 0, B
     cpu.registers.b = 0xFE; // ビット0がリセット (0)
@@ -25,7 +25,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT 0, B instruction with bit set")
   public void testBIT0B_Set() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x40); // BIT 0, B
     cpu.registers.b = 0x01; // ビット0がセット (1)
@@ -41,7 +41,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT 1, C instruction with bit reset")
   public void testBIT1C_Reset() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x49); // BIT 1, C
     cpu.registers.c = 0xFD; // ビット1がリセット (0)
@@ -57,7 +57,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT 2, D instruction with bit set")
   public void testBIT2D_Set() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x52); // BIT 2, D
     cpu.registers.d = 0x04; // ビット2がセット (1)
@@ -73,7 +73,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT 3, E instruction with bit reset")
   public void testBIT3E_Reset() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x5B); // BIT 3, E
     cpu.registers.e = 0xF7; // ビット3がリセット (0)
@@ -89,7 +89,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT 4, H instruction with bit set")
   public void testBIT4H_Set() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x64); // BIT 4, H
     cpu.registers.h = 0x10; // ビット4がセット (1)
@@ -105,7 +105,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT 5, L instruction with bit reset")
   public void testBIT5L_Reset() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x6D); // BIT 5, L
     cpu.registers.l = 0xDF; // ビット5がリセット (0)
@@ -121,7 +121,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT 6, A instruction with bit set")
   public void testBIT6A_Set() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x77); // BIT 6, A
     cpu.registers.a = 0x40; // ビット6がセット (1)
@@ -137,7 +137,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT 7, (HL) instruction with bit reset")
   public void testBIT7HL_Reset() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x7E); // BIT 7, (HL)
     cpu.registers.set_hl(0xC000);
@@ -154,7 +154,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT 7, (HL) instruction with bit set")
   public void testBIT7HL_Set() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x7E); // BIT 7, (HL)
     cpu.registers.set_hl(0xC000);
@@ -171,7 +171,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT 0, A instruction preserving carry")
   public void testBIT0A_PreserveCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x47); // BIT 0, A
     cpu.registers.a = 0x01; // ビット0がセット (1)
@@ -188,7 +188,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT 0, A instruction preserve other bits")
   public void testBIT0A_PreserveValue() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x47); // BIT 0, A
     cpu.registers.a = 0xA5; // ビット0がセット (1)、他のビットも設定
@@ -204,7 +204,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT instruction with all bit positions on register B")
   public void testBITAllPositions_B() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     
     // BIT 0, B
     cpu.bus.writeByte(0x0000, 0xCB);
@@ -275,7 +275,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT 7 instruction with all registers")
   public void testBIT7_AllRegisters() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     
     // BIT 7, B
     cpu.bus.writeByte(0x0000, 0xCB);
@@ -338,7 +338,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT instruction with multiple bits set")
   public void testBIT_MultipleSet() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     // BIT 3, A (複数ビットセット)
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x5F);
@@ -354,7 +354,7 @@ public class BITTest {
   @Test
   @DisplayName("Test BIT instruction with all bits reset")
   public void testBIT_AllReset() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     // BIT 3, A (全ビットリセット)
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x5F);
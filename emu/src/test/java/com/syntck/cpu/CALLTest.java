@@ -9,7 +9,7 @@ public class CALLTest {
   @Test
   @DisplayName("Test CALL unconditional instruction")
   public void testCALLUnconditional() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0100; // 初期PC
     // CALL命令（無条件）：GBでは0xCDとなる
     cpu.bus.writeByte(0x0100, 0xCD); // CALL a16
@@ -37,7 +37,7 @@ public class CALLTest {
   @Test
   @DisplayName("Test CALL NZ, a16 when Z=0")
   public void testCALLNZWhenNotZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0200;
     // CALL NZ, a16 (Z=0の場合ジャンプ)
     cpu.bus.writeByte(0x0200, 0xC4); // CALL NZ, a16
@@ -60,7 +60,7 @@ public class CALLTest {
   @Test
   @DisplayName("Test CALL NZ, a16 when Z=1")
   public void testCALLNZWhenZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0300;
     // CALL NZ, a16 (Z=0の場合ジャンプ)
     cpu.bus.writeByte(0x0300, 0xC4); // CALL NZ, a16
@@ -81,7 +81,7 @@ public class CALLTest {
   @Test
   @DisplayName("Test CALL Z, a16 when Z=1")
   public void testCALLZWhenZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0400;
     // CALL Z, a16 (Z=1の場合ジャンプ)
     cpu.bus.writeByte(0x0400, 0xCC); // CALL Z, a16
@@ -104,7 +104,7 @@ public class CALLTest {
   @Test
   @DisplayName("Test CALL Z, a16 when Z=0")
   public void testCALLZWhenNotZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0500;
     // CALL Z, a16 (Z=1の場合ジャンプ)
     cpu.bus.writeByte(0x0500, 0xCC); // CALL Z, a16
@@ -125,7 +125,7 @@ public class CALLTest {
   @Test
   @DisplayName("Test CALL NC, a16 when C=0")
   public void testCALLNCWhenNotCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0600;
     // CALL NC, a16 (C=0の場合ジャンプ)
     cpu.bus.writeByte(0x0600, 0xD4); // CALL NC, a16
@@ -148,7 +148,7 @@ public class CALLTest {
   @Test
   @DisplayName("Test CALL NC, a16 when C=1")
   public void testCALLNCWhenCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0700;
     // CALL NC, a16 (C=0の場合ジャンプ)
     cpu.bus.writeByte(0x0700, 0xD4); // CALL NC, a16
@@ -169,7 +169,7 @@ public class CALLTest {
   @Test
   @DisplayName("Test CALL C, a16 when C=1")
   public void testCALLCWhenCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0800;
     // CALL C, a16 (C=1の場合ジャンプ)
     cpu.bus.writeByte(0x0800, 0xDC); // CALL C, a16
@@ -192,7 +192,7 @@ public class CALLTest {
   @Test
   @DisplayName("Test CALL C, a16 when C=0")
   public void testCALLCWhenNotCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0900;
     // CALL C, a16 (C=1の場合ジャンプ)
     cpu.bus.writeByte(0x0900, 0xDC); // CALL C, a16
@@ -213,7 +213,7 @@ public class CALLTest {
   @Test
   @DisplayName("Test CALL at stack boundary")
   public void testCALLAtStackBoundary() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0A00;
     cpu.sp = 0x0002; // スタックポインタを境界付近に設定
     // CALL命令
@@ -237,7 +237,7 @@ public class CALLTest {
   @Test
   @DisplayName("Test consecutive CALL instructions")
   public void testConsecutiveCALLs() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     // 最初のCALL命令の設定
     cpu.pc = 0x1000;
     cpu.bus.writeByte(0x1000, 0xCD); // CALL a16
@@ -9,7 +9,7 @@ public class CCFTest {
   @Test
   @DisplayName("Test CCF when carry flag is reset")
   public void testCCFWhenCarryFlagReset() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x3F); // CCF命令
     cpu.registers.f.carry = false; // キャリーフラグをリセット
     cpu.registers.f.subtract = true; // サブトラクトフラグをセット
@@ -29,7 +29,7 @@ public class CCFTest {
   @Test
   @DisplayName("Test CCF when carry flag is set")
   public void testCCFWhenCarryFlagSet() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x3F); // CCF命令
     cpu.registers.f.carry = true; // キャリーフラグをセット
     cpu.registers.f.subtract = true; // サブトラクトフラグをセット
@@ -49,7 +49,7 @@ public class CCFTest {
   @Test
   @DisplayName("Test CCF after arithmetic operation")
   public void testCCFAfterArithmetic() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     // 最初に加算命令を実行
     cpu.bus.writeByte(0x0000, 0x87); // ADD A, A
     cpu.registers.a = 0x80; // オーバーフローを起こす値
@@ -76,7 +76,7 @@ public class CCFTest {
   @Test
   @DisplayName("Test CCF preserves other register values")
   public void testCCFPreservesRegisters() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x3F); // CCF命令
     
     // 各レジスタに値をセット
@@ -111,7 +111,7 @@ public class CCFTest {
   @Test
   @DisplayName("Test CCF with all flags initially set")
   public void testCCFWithAllFlagsSet() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x3F); // CCF命令
     
     // すべてのフラグをセット
@@ -134,7 +134,7 @@ public class CCFTest {
   @Test
   @DisplayName("Test CCF with all flags initially reset")
   public void testCCFWithAllFlagsReset() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x3F); // CCF命令
     
     // すべてのフラグをリセット
@@ -157,7 +157,7 @@ public class CCFTest {
   @Test
   @DisplayName("Test multiple consecutive CCF instructions")
   public void testConsecutiveCCF() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x3F); // 1回目のCCF
     cpu.bus.writeByte(0x0001, 0x3F); // 2回目のCCF
     cpu.bus.writeByte(0x0002, 0x3F); // 3回目のCCF
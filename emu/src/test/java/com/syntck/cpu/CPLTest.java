@@ -9,7 +9,7 @@ public class CPLTest {
   @Test
   @DisplayName("Test CPL basic operation")
   public void testCPLBasic() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x2F); // CPL命令
     cpu.registers.a = 0x35; // 0011 0101
     
@@ -33,7 +33,7 @@ public class CPLTest {
   @Test
   @DisplayName("Test CPL with A=0x00")
   public void testCPLZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x2F); // CPL命令
     cpu.registers.a = 0x00; // 全ビット0
     
@@ -49,7 +49,7 @@ public class CPLTest {
   @Test
   @DisplayName("Test CPL with A=0xFF")
   public void testCPLAllOnes() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x2F); // CPL命令
     cpu.registers.a = 0xFF; // 全ビット1
     
@@ -65,7 +65,7 @@ public class CPLTest {
   @Test
   @DisplayName("Test CPL preserves Z and C flags")
   public void testCPLPreservesFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x2F); // CPL命令
     cpu.registers.a = 0x55;
     
@@ -89,7 +89,7 @@ public class CPLTest {
   @Test
   @DisplayName("Test consecutive CPL instructions")
   public void testConsecutiveCPL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x2F); // 1回目のCPL
     cpu.bus.writeByte(0x0001, 0x2F); // 2回目のCPL
     
@@ -113,7 +113,7 @@ public class CPLTest {
   @Test
   @DisplayName("Test CPL with various patterns")
   public void testCPLPatterns() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x2F); // CPL命令
     
     // パターン1: 0xAA (10101010)
@@ -144,7 +144,7 @@ public class CPLTest {
   @Test
   @DisplayName("Test CPL does not affect other registers")
   public void testCPLPreservesOtherRegisters() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x2F); // CPL命令
     
     // 各レジスタに値をセット
@@ -177,7 +177,7 @@ public class CPLTest {
   @Test
   @DisplayName("Test operations after CPL")
   public void testOperationsAfterCPL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x2F); // CPL命令
     cpu.bus.writeByte(0x0001, 0x87); // ADD A, A命令
     
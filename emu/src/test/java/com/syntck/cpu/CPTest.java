@@ -9,7 +9,7 @@ public class CPTest {
   @Test
   @DisplayName("Test CP A, B instruction")
   public void testCPAB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xB8); // CP A, B
     cpu.registers.a = 0x42;
     cpu.registers.b = 0x40;
@@ -26,7 +26,7 @@ public class CPTest {
   @Test
   @DisplayName("Test CP A, C instruction")
   public void testCPAC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xB9); // CP A, C
     cpu.registers.a = 0x42;
     cpu.registers.c = 0x42;
@@ -43,7 +43,7 @@ public class CPTest {
   @Test
   @DisplayName("Test CP A, D instruction")
   public void testCPAD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xBA); // CP A, D
     cpu.registers.a = 0x50;
     cpu.registers.d = 0x42;
@@ -60,7 +60,7 @@ public class CPTest {
   @Test
   @DisplayName("Test CP A, E instruction")
   public void testCPAE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xBB); // CP A, E
     cpu.registers.a = 0x42;
     cpu.registers.e = 0x40;
@@ -77,7 +77,7 @@ public class CPTest {
   @Test
   @DisplayName("Test CP A, H instruction")
   public void testCPAH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xBC); // CP A, H
     cpu.registers.a = 0x42;
     cpu.registers.h = 0x40;
@@ -94,7 +94,7 @@ public class CPTest {
   @Test
   @DisplayName("Test CP A, L instruction")
   public void testCPAL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xBD); // CP A, L
     cpu.registers.a = 0x42;
     cpu.registers.l = 0x40;
@@ -111,7 +111,7 @@ public class CPTest {
   @Test
   @DisplayName("Test CP A, (HL) instruction")
   public void testCPAHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xBE); // CP A, (HL)
     cpu.registers.a = 0x42;
     cpu.registers.set_hl(0xC000);
@@ -129,7 +129,7 @@ public class CPTest {
   @Test
   @DisplayName("Test CP A, d8 instruction")
   public void testCPAd8() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xFE); // CP A, d8
     cpu.bus.writeByte(0x0001, 0x40); // 即値0x40
     cpu.registers.a = 0x42;
@@ -146,7 +146,7 @@ public class CPTest {
   @Test
   @DisplayName("Test CP A, A instruction")
   public void testCPAA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xBF); // CP A, A
     cpu.registers.a = 0x42;
     cpu.step();
@@ -162,7 +162,7 @@ public class CPTest {
   @Test
   @DisplayName("Test CP A, D with carry")
   public void testCPADWithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xBA); // CP A, D
     cpu.registers.a = 0x10;
     cpu.registers.d = 0x20;
@@ -179,7 +179,7 @@ public class CPTest {
   @Test
   @DisplayName("Test CP A, d8 with half carry")
   public void testCPAd8WithHalfCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xFE); // CP A, d8
     cpu.bus.writeByte(0x0001, 0x1F); // 即値0x1F
     cpu.registers.a = 0x10;
@@ -196,7 +196,7 @@ public class CPTest {
   @Test
   @DisplayName("Test CP A, C with half carry and carry")
   public void testCPACWithHalfCarryAndCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xB9); // CP A, C
     cpu.registers.a = 0x02;
     cpu.registers.c = 0x13;
@@ -9,7 +9,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DEC A instruction")
   public void testDECA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x3D); // DEC A
     cpu.registers.a = 0x42;
     cpu.step();
@@ -24,7 +24,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DEC B instruction")
   public void testDECB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x05); // DEC B
     cpu.registers.b = 0x01;
     cpu.step();
@@ -39,7 +39,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DEC C instruction")
   public void testDECC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0D); // DEC C
     cpu.registers.c = 0x10;
     cpu.step();
@@ -54,7 +54,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DEC D instruction")
   public void testDECD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x15); // DEC D
     cpu.registers.d = 0x20;
     cpu.step();
@@ -69,7 +69,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DEC E instruction")
   public void testDECE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x1D); // DEC E
     cpu.registers.e = 0x00;
     cpu.step();
@@ -84,7 +84,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DEC H instruction")
   public void testDECH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x25); // DEC H
     cpu.registers.h = 0x42;
     cpu.step();
@@ -99,7 +99,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DEC L instruction")
   public void testDECL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x2D); // DEC L
     cpu.registers.l = 0x42;
     cpu.step();
@@ -114,7 +114,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DEC (HL) instruction")
   public void testDECHLAddr() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x35); // DEC (HL)
     cpu.registers.set_hl(0xC000);
     cpu.bus.writeByte(0xC000, 0x42);
@@ -130,7 +130,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DEC instruction resulting in zero")
   public void testDECZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x05); // DEC B
     cpu.registers.b = 0x01;
     cpu.step();
@@ -145,7 +145,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DEC instruction with half carry")
   public void testDECHalfCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0D); // DEC C
     cpu.registers.c = 0x10;
     cpu.step();
@@ -160,7 +160,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DEC instruction with overflow (0 to FF)")
   public void testDECOverflow() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x3D); // DEC A
     cpu.registers.a = 0x00;
     cpu.step();
@@ -175,7 +175,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DECRP BC instruction")
   public void testDECRPBC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0B); // DEC BC
     cpu.registers.set_bc(0x1234);
     cpu.step();
@@ -187,7 +187,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DECRP DE instruction")
   public void testDECRPDE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x1B); // DEC DE
     cpu.registers.set_de(0x5678);
     cpu.step();
@@ -199,7 +199,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DECRP HL instruction")
   public void testDECRPHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x2B); // DEC HL
     cpu.registers.set_hl(0xABCD);
     cpu.step();
@@ -211,7 +211,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DECRP SP instruction")
   public void testDECRPSP() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x3B); // DEC SP
     cpu.sp = 0xFEDC;
     cpu.step();
@@ -223,7 +223,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DECRP with overflow (0000 to FFFF)")
   public void testDECRPOverflow() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0B); // DEC BC
     cpu.registers.set_bc(0x0000);
     cpu.step();
@@ -235,7 +235,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DECRP BC instruction affecting high byte")
   public void testDECRPBCHighByte() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0B); // DEC BC
     cpu.registers.set_bc(0x1200);
     cpu.step();
@@ -247,7 +247,7 @@ public class DECTest {
   @Test
   @DisplayName("Test DECRP HL instruction affecting H and L registers")
   public void testDECRPHLComponentRegs() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x2B); // DEC HL
     cpu.registers.h = 0x34;
     cpu.registers.l = 0x00;
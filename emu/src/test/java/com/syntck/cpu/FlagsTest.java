@@ -0,0 +1,56 @@
+package com.syntck.cpu;
+
+import static com.syntck.Functions.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+public class FlagsTest {
+  // MARK: 遅延評価
+  @Test
+  @DisplayName("Test deferred add flags are computed on read")
+  public void testDeferredAddFlags() throws Exception {
+    Registers registers = new Registers();
+    registers.deferAddFlags(0x8F, 0x71, packedAdd(0x8F, 0x71)); // 0x100
+    assertTrue(registers.zeroFlag());
+    assertTrue(registers.carryFlag());
+    assertEquals(0xB0, registers.get_f()); // Z, H, C
+  }
+
+  @Test
+  @DisplayName("Test deferred subtract flags are computed on read")
+  public void testDeferredSubtractFlags() throws Exception {
+    Registers registers = new Registers();
+    registers.deferSubtractFlags(0x10, 0x21, packedSubWithCarry(0x10, 0x21, 1)); // SBC (C = 1)
+    assertFalse(registers.zeroFlag());
+    assertTrue(registers.carryFlag());
+    assertEquals(0x70, registers.get_f()); // N, H, C
+  }
+
+  // MARK: AF
+  @Test
+  @DisplayName("Test set_af keeps only the upper nibble of F")
+  public void testSetAF() throws Exception {
+    Registers registers = new Registers();
+    registers.set_af(0x12FF);
+    assertEquals(0x12F0, registers.get_af());
+    registers.deferAddFlags(0x01, 0x01, packedAdd(0x01, 0x01));
+    assertEquals(0x1200, registers.get_af());
+  }
+
+  // MARK: 互換ビュー
+  @Test
+  @DisplayName("Test compatibility view is synchronized with packed flags")
+  public void testFlagsView() throws Exception {
+    Registers registers = new Registers();
+    registers.deferSubtractFlags(0x42, 0x42, packedSub(0x42, 0x42)); // CP
+    registers.storeFlagsView();
+    assertTrue(compareFlagsRegister(registers.f, true, true, false, false));
+
+    registers.f.carry = true;
+    registers.f.zero = false;
+    registers.loadFlagsView();
+    assertEquals(0x50, registers.get_f()); // N, C
+  }
+}
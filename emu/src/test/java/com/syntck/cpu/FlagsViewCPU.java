@@ -0,0 +1,23 @@
+package com.syntck.cpu;
+
+/**
+ * 命令のテスト用のCPU (カートリッジなし)
+ * テストは registers.f (互換ビュー) でフラグを設定・確認するため、step の前後でフラグと互換ビューを同期する
+ * 同期はテストでだけ必要なので、CPU.step 自体は互換ビューを扱わない
+ */
+public class FlagsViewCPU extends CPU {
+  public FlagsViewCPU() {
+    super();
+  }
+
+  public FlagsViewCPU(ExecutionEngine engine) {
+    super(engine);
+  }
+
+  @Override
+  public void step() {
+    this.registers.loadFlagsView(); // registers.f への書き込みを取り込む
+    super.step();
+    this.registers.storeFlagsView(); // 実行後のフラグを書き戻す
+  }
+}
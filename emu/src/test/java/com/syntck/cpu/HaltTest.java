@@ -0,0 +1,73 @@
+package com.syntck.cpu;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+public class HaltTest {
+  // MARK: 早送り
+  @Test
+  @DisplayName("Test HALT fast-forwards to the next scheduled event")
+  public void testHaltFastForward() throws Exception {
+    CPU cpu = new FlagsViewCPU();
+    cpu.interruptMasterEnable = false;
+    cpu.bus.writeByte(0x0000, 0x76); // HALT
+    cpu.bus.writeByte(0xFFFF, 0x01); // V-Blank割り込みを有効化
+
+    cpu.step();
+    assertTrue(cpu.isHalted());
+    assertEquals(4, cpu.bus.scheduler.now());
+
+    // 1回の step で最初のPPUイベント (OAM読み込みモードの終わり) まで進む
+    cpu.step();
+    assertEquals(80, cpu.bus.scheduler.now());
+
+    int steps = 0;
+    while (cpu.isHalted()) {
+      cpu.step();
+      steps++;
+    }
+
+    // V-Blankで起床する (4サイクルずつ進めると16000回以上かかる)
+    assertTrue(steps < 1000, "steps: " + steps);
+    assertEquals(144 * 456, cpu.bus.scheduler.now());
+    assertEquals(0x01, cpu.bus.readByte(0xFF0F) & 0x01);
+    assertEquals(0x0001, cpu.pc);
+  }
+
+  // MARK: 割り込み要求済み
+  @Test
+  @DisplayName("Test HALT wakes up immediately when an interrupt is pending")
+  public void testHaltWithPendingInterrupt() throws Exception {
+    CPU cpu = new FlagsViewCPU();
+    cpu.interruptMasterEnable = false;
+    cpu.bus.writeByte(0x0000, 0x76); // HALT
+    cpu.bus.writeByte(0xFFFF, 0x04); // タイマー割り込みを有効化
+    cpu.bus.writeByte(0xFF0F, 0x04); // タイマー割り込みを要求済み
+
+    // HALT命令の直後に起床し、時間は進めない
+    cpu.step();
+    assertFalse(cpu.isHalted());
+    assertEquals(4, cpu.bus.scheduler.now());
+    assertEquals(0x0001, cpu.pc);
+  }
+
+  // MARK: タイマー
+  @Test
+  @DisplayName("Test HALT wakes up on timer overflow")
+  public void testHaltTimerWakeUp() throws Exception {
+    CPU cpu = new FlagsViewCPU();
+    cpu.interruptMasterEnable = false;
+    cpu.bus.writeByte(0x0000, 0x76); // HALT
+    cpu.bus.writeByte(0xFFFF, 0x04); // タイマー割り込みを有効化
+    cpu.bus.writeByte(0xFF06, 0xF0); // TMA
+    cpu.bus.writeByte(0xFF05, 0xF0); // TIMA
+    cpu.bus.writeByte(0xFF07, 0x05); // タイマー有効, 16サイクル周期
+
+    while (cpu.bus.scheduler.now() == 0 || cpu.isHalted()) cpu.step();
+
+    // 16回のインクリメントでオーバーフローする
+    assertEquals(16 * 16, cpu.bus.scheduler.now());
+    assertEquals(0xF0, cpu.bus.readByte(0xFF05));
+  }
+}
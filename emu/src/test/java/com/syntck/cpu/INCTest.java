@@ -9,7 +9,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INC A instruction")
   public void testINCA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x3C); // INC A
     cpu.registers.a = 0x42;
     cpu.step();
@@ -24,7 +24,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INC B instruction")
   public void testINCB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x04); // INC B
     cpu.registers.b = 0xFF;
     cpu.step();
@@ -39,7 +39,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INC C instruction")
   public void testINCC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0C); // INC C
     cpu.registers.c = 0x0F;
     cpu.step();
@@ -54,7 +54,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INC D instruction")
   public void testINCD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x14); // INC D
     cpu.registers.d = 0x42;
     cpu.step();
@@ -69,7 +69,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INC E instruction")
   public void testINCE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x1C); // INC E
     cpu.registers.e = 0x42;
     cpu.step();
@@ -84,7 +84,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INC H instruction")
   public void testINCH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x24); // INC H
     cpu.registers.h = 0x42;
     cpu.step();
@@ -99,7 +99,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INC L instruction")
   public void testINCL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x2C); // INC L
     cpu.registers.l = 0x42;
     cpu.step();
@@ -114,7 +114,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INC (HL) instruction")
   public void testINCHLAddr() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x34); // INC (HL)
     cpu.registers.set_hl(0xC000);
     cpu.bus.writeByte(0xC000, 0x42);
@@ -130,7 +130,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INC A instruction with half carry")
   public void testINCAWithHalfCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x3C); // INC A
     cpu.registers.a = 0x0F; // 下位4ビットが全て1
     cpu.step();
@@ -145,7 +145,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INC (HL) instruction resulting in zero")
   public void testINCHLAddrWithZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x34); // INC (HL)
     cpu.registers.set_hl(0xC000);
     cpu.bus.writeByte(0xC000, 0xFF); // 0xFF + 1 = 0x00（オーバーフロー）
@@ -161,7 +161,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INCRP BC instruction")
   public void testINCRPBC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x03); // INC BC
     cpu.registers.set_bc(0x1234);
     cpu.step();
@@ -173,7 +173,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INCRP DE instruction")
   public void testINCRPDE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x13); // INC DE
     cpu.registers.set_de(0x5678);
     cpu.step();
@@ -185,7 +185,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INCRP HL instruction")
   public void testINCRPHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x23); // INC HL
     cpu.registers.set_hl(0xABCD);
     cpu.step();
@@ -197,7 +197,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INCRP SP instruction")
   public void testINCRPSP() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x33); // INC SP
     cpu.sp = 0xFEDC;
     cpu.step();
@@ -209,7 +209,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INCRP with overflow (FFFF to 0000)")
   public void testINCRPOverflow() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x03); // INC BC
     cpu.registers.set_bc(0xFFFF);
     cpu.step();
@@ -221,7 +221,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INCRP BC instruction affecting high byte")
   public void testINCRPBCHighByte() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x03); // INC BC
     cpu.registers.set_bc(0x12FF);
     cpu.step();
@@ -233,7 +233,7 @@ public class INCTest {
   @Test
   @DisplayName("Test INCRP HL instruction affecting H and L registers")
   public void testINCRPHLComponentRegs() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x23); // INC HL
     cpu.registers.h = 0x34;
     cpu.registers.l = 0xFF;
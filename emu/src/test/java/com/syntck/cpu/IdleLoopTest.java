@@ -0,0 +1,115 @@
+package com.syntck.cpu;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IdleLoopTest {
+  // LYが144になるまで待ち、Bをインクリメントして、LYが144でなくなるまで待つ
+  private static final int[] WAIT_LY_PROGRAM = {
+    0xF0, 0x44,       // 0x00: LDH A,(FF44)
+    0xFE, 0x90,       // 0x02: CP 0x90
+    0x20, 0xFA,       // 0x04: JR NZ,-6
+    0x04,             // 0x06: INC B
+    0xF0, 0x44,       // 0x07: LDH A,(FF44)
+    0xFE, 0x90,       // 0x09: CP 0x90
+    0x28, 0xFA,       // 0x0B: JR Z,-6
+    0x18, 0xF1,       // 0x0D: JR -15
+  };
+
+  // V-Blank割り込みで (C000) をインクリメントし、メインループはその値が変わるのを待つ
+  private static final int[] WAIT_FLAG_PROGRAM = {
+    0xFB,             // 0x00: EI
+    0xFA, 0x00, 0xC0, // 0x01: LD A,(C000)
+    0xB8,             // 0x04: CP B
+    0x28, 0xFA,       // 0x05: JR Z,-6
+    0x47,             // 0x07: LD B,A
+    0x0C,             // 0x08: INC C
+    0x18, 0xF6,       // 0x09: JR -10
+  };
+  private static final int[] VBLANK_HANDLER = {
+    0x21, 0x00, 0xC0, // 0x40: LD HL,C000
+    0x34,             // 0x43: INC (HL)
+    0xD9,             // 0x44: RETI
+  };
+
+  // 書き込みを含むループ (スキップしてはいけない)
+  private static final int[] WRITE_LOOP_PROGRAM = {
+    0x21, 0x00, 0xC0, // 0x00: LD HL,C000
+    0x77,             // 0x03: LD (HL),A
+    0x18, 0xFD,       // 0x04: JR -3
+  };
+
+  private CPU createCPU(boolean skip, int[] program, int[] handler) {
+    System.setProperty(IdleLoopDetector.PROPERTY, String.valueOf(skip));
+    try {
+      CPU cpu = new FlagsViewCPU();
+      cpu.interruptMasterEnable = false;
+      cpu.sp = 0xDFFF;
+      for (int i = 0; i < program.length; i++) cpu.bus.writeByte(i, program[i]);
+      if (handler != null) {
+        for (int i = 0; i < handler.length; i++) cpu.bus.writeByte(0x40 + i, handler[i]);
+        cpu.bus.writeByte(0xFFFF, 0x01); // V-Blank割り込みを有効化
+      }
+      return cpu;
+    } finally {
+      System.clearProperty(IdleLoopDetector.PROPERTY);
+    }
+  }
+
+  // フレームごとのCPUの状態を記録する
+  private List<String> runFrames(CPU cpu, int frames) {
+    List<String> states = new ArrayList<>();
+    while (states.size() < frames) {
+      cpu.step();
+      if (!cpu.bus.gpu.frameUpdated) continue;
+      cpu.bus.gpu.frameUpdated = false;
+
+      long memory = 0;
+      for (int i = 0; i < 0x10000; i++) memory = memory * 31 + cpu.bus.readByte(i);
+      states.add(String.format("now=%d pc=%04X sp=%04X af=%04X bc=%04X de=%04X hl=%04X mem=%d",
+        cpu.bus.scheduler.now(), cpu.pc, cpu.sp, cpu.registers.get_af(), cpu.registers.get_bc(),
+        cpu.registers.get_de(), cpu.registers.get_hl(), memory));
+    }
+    return states;
+  }
+
+  // MARK: LYのポーリング
+  @Test
+  @DisplayName("Test LY polling loop is skipped without changing the result")
+  public void testSkipLYPolling() throws Exception {
+    CPU reference = createCPU(false, WAIT_LY_PROGRAM, null);
+    CPU cpu = createCPU(true, WAIT_LY_PROGRAM, null);
+
+    assertEquals(runFrames(reference, 10), runFrames(cpu, 10));
+    assertEquals(0, reference.getIdleLoopDetector().getSkippedCycles());
+    assertTrue(cpu.getIdleLoopDetector().getSkippedCycles() > 0);
+    assertTrue(cpu.getIdleLoopDetector().getLastFrameSkippedCycles() > 0);
+    assertTrue(cpu.getIdleLoopDetector().getLastFrameSkippedCycles() <= 70224);
+  }
+
+  // MARK: 割り込みで変わるフラグのポーリング
+  @Test
+  @DisplayName("Test polling a flag set by an interrupt handler is skipped without changing the result")
+  public void testSkipFlagPolling() throws Exception {
+    CPU reference = createCPU(false, WAIT_FLAG_PROGRAM, VBLANK_HANDLER);
+    CPU cpu = createCPU(true, WAIT_FLAG_PROGRAM, VBLANK_HANDLER);
+
+    List<String> expected = runFrames(reference, 10);
+    assertEquals(expected, runFrames(cpu, 10));
+    assertTrue(cpu.registers.c >= 10); // V-Blankごとにループを抜ける
+    assertTrue(cpu.getIdleLoopDetector().getSkippedCycles() > 0);
+  }
+
+  // MARK: 書き込みを含むループ
+  @Test
+  @DisplayName("Test loops that write memory are not skipped")
+  public void testWriteLoopIsNotSkipped() throws Exception {
+    CPU cpu = createCPU(true, WRITE_LOOP_PROGRAM, null);
+    runFrames(cpu, 2);
+    assertEquals(0, cpu.getIdleLoopDetector().getSkippedCycles());
+  }
+}
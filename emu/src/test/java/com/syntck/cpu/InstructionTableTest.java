@@ -0,0 +1,52 @@
+package com.syntck.cpu;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+public class InstructionTableTest {
+  // MARK: デコードテーブルとデコーダの一致
+  @Test
+  @DisplayName("Test decode table matches fromByte for all opcodes")
+  public void testDecodeMatchesFromByte() throws Exception {
+    for (int prefixed = 0; prefixed < 2; prefixed++) {
+      boolean isPrefixed = prefixed == 1;
+      for (int opcode = 0; opcode < 256; opcode++) {
+        Instruction expected = Instruction.fromByte(opcode, isPrefixed);
+        Instruction actual = Instruction.decode(opcode, isPrefixed);
+        if (expected == null) {
+          assertNull(actual);
+          continue;
+        }
+        assertEquals(expected.getType(), actual.getType());
+        assertEquals(expected.operand0, actual.operand0);
+        assertEquals(expected.operand1, actual.operand1);
+      }
+    }
+  }
+
+  // MARK: バイト長とサイクル数
+  @Test
+  @DisplayName("Test decode table carries instruction length and cycles")
+  public void testDecodeCarriesTiming() throws Exception {
+    for (int prefixed = 0; prefixed < 2; prefixed++) {
+      boolean isPrefixed = prefixed == 1;
+      for (int opcode = 0; opcode < 256; opcode++) {
+        Instruction instruction = Instruction.decode(opcode, isPrefixed);
+        if (instruction == null) continue;
+        assertEquals(InstructionLengthUtil.getInstructionLength(opcode, isPrefixed), instruction.getLength());
+        assertEquals(InstructionLengthUtil.getInstructionCycles(opcode, isPrefixed, true), instruction.getCycles(true));
+        assertEquals(InstructionLengthUtil.getInstructionCycles(opcode, isPrefixed, false), instruction.getCycles(false));
+      }
+    }
+  }
+
+  // MARK: 同一インスタンスの再利用
+  @Test
+  @DisplayName("Test decode returns the shared table entry")
+  public void testDecodeReturnsSameInstance() throws Exception {
+    assertSame(Instruction.decode(0x80, false), Instruction.decode(0x80, false));
+    assertSame(Instruction.decode(0x7C, true), Instruction.decode(0x7C, true));
+    assertNull(Instruction.decode(0xCB, false));
+  }
+}
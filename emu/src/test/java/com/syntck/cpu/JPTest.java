@@ -9,7 +9,7 @@ public class JPTest {
   @Test
   @DisplayName("Test JP a16 instruction")
   public void testJPa16() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xC3); // JP a16
     cpu.bus.writeByte(0x0001, 0x34);
     cpu.bus.writeByte(0x0002, 0x12); // アドレス0x1234
@@ -21,7 +21,7 @@ public class JPTest {
   @Test
   @DisplayName("Test JP NZ, a16 instruction when Z=0")
   public void testJPNZWhenNotZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xC2); // JP NZ, a16
     cpu.bus.writeByte(0x0001, 0x34);
     cpu.bus.writeByte(0x0002, 0x12); // アドレス0x1234
@@ -34,7 +34,7 @@ public class JPTest {
   @Test
   @DisplayName("Test JP NZ, a16 instruction when Z=1")
   public void testJPNZWhenZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xC2); // JP NZ, a16
     cpu.bus.writeByte(0x0001, 0x34);
     cpu.bus.writeByte(0x0002, 0x12); // アドレス0x1234
@@ -47,7 +47,7 @@ public class JPTest {
   @Test
   @DisplayName("Test JP Z, a16 instruction when Z=1")
   public void testJPZWhenZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCA); // JP Z, a16
     cpu.bus.writeByte(0x0001, 0x34);
     cpu.bus.writeByte(0x0002, 0x12); // アドレス0x1234
@@ -60,7 +60,7 @@ public class JPTest {
   @Test
   @DisplayName("Test JP Z, a16 instruction when Z=0")
   public void testJPZWhenNotZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCA); // JP Z, a16
     cpu.bus.writeByte(0x0001, 0x34);
     cpu.bus.writeByte(0x0002, 0x12); // アドレス0x1234
@@ -73,7 +73,7 @@ public class JPTest {
   @Test
   @DisplayName("Test JP NC, a16 instruction when C=0")
   public void testJPNCWhenNotCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xD2); // JP NC, a16
     cpu.bus.writeByte(0x0001, 0x34);
     cpu.bus.writeByte(0x0002, 0x12); // アドレス0x1234
@@ -86,7 +86,7 @@ public class JPTest {
   @Test
   @DisplayName("Test JP NC, a16 instruction when C=1")
   public void testJPNCWhenCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xD2); // JP NC, a16
     cpu.bus.writeByte(0x0001, 0x34);
     cpu.bus.writeByte(0x0002, 0x12); // アドレス0x1234
@@ -99,7 +99,7 @@ public class JPTest {
   @Test
   @DisplayName("Test JP C, a16 instruction when C=1")
   public void testJPCWhenCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xDA); // JP C, a16
     cpu.bus.writeByte(0x0001, 0x34);
     cpu.bus.writeByte(0x0002, 0x12); // アドレス0x1234
@@ -112,7 +112,7 @@ public class JPTest {
   @Test
   @DisplayName("Test JP C, a16 instruction when C=0")
   public void testJPCWhenNotCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xDA); // JP C, a16
     cpu.bus.writeByte(0x0001, 0x34);
     cpu.bus.writeByte(0x0002, 0x12); // アドレス0x1234
@@ -125,7 +125,7 @@ public class JPTest {
   @Test
   @DisplayName("Test JP (HL) instruction")
   public void testJPHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xE9); // JP (HL)
     cpu.registers.set_hl(0x1234);
     cpu.step();
@@ -136,7 +136,7 @@ public class JPTest {
   @Test
   @DisplayName("Test sequential JP instructions")
   public void testSequentialJP() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     // 最初のジャンプ命令
     cpu.bus.writeByte(0x0000, 0xC3); // JP a16
     cpu.bus.writeByte(0x0001, 0x10);
@@ -160,7 +160,7 @@ public class JPTest {
   @Test
   @DisplayName("Test JP with all flags set")
   public void testJPWithAllFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xC3); // JP a16
     cpu.bus.writeByte(0x0001, 0x34);
     cpu.bus.writeByte(0x0002, 0x12); // アドレス0x1234
@@ -9,7 +9,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR r8 unconditional jump forward")
   public void testJRForward() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x18); // JR r8
     cpu.bus.writeByte(0x0001, 0x05); // オフセット +5
     cpu.step();
@@ -20,7 +20,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR r8 unconditional jump backward")
   public void testJRBackward() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0010; // 初期PCを設定
     cpu.bus.writeByte(0x0010, 0x18); // JR r8
     cpu.bus.writeByte(0x0011, 0xFA); // オフセット -6 (2の補数表現で0xFA = -6)
@@ -32,7 +32,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR NZ, r8 when Z=0")
   public void testJRNZWhenNotZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x20); // JR NZ, r8
     cpu.bus.writeByte(0x0001, 0x05); // オフセット +5
     cpu.registers.f.zero = false; // ゼロフラグをリセット
@@ -44,7 +44,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR NZ, r8 when Z=1")
   public void testJRNZWhenZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x20); // JR NZ, r8
     cpu.bus.writeByte(0x0001, 0x05); // オフセット +5
     cpu.registers.f.zero = true; // ゼロフラグをセット
@@ -56,7 +56,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR Z, r8 when Z=1")
   public void testJRZWhenZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x28); // JR Z, r8
     cpu.bus.writeByte(0x0001, 0x05); // オフセット +5
     cpu.registers.f.zero = true; // ゼロフラグをセット
@@ -68,7 +68,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR Z, r8 when Z=0")
   public void testJRZWhenNotZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x28); // JR Z, r8
     cpu.bus.writeByte(0x0001, 0x05); // オフセット +5
     cpu.registers.f.zero = false; // ゼロフラグをリセット
@@ -80,7 +80,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR NC, r8 when C=0")
   public void testJRNCWhenNotCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x30); // JR NC, r8
     cpu.bus.writeByte(0x0001, 0x05); // オフセット +5
     cpu.registers.f.carry = false; // キャリーフラグをリセット
@@ -92,7 +92,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR NC, r8 when C=1")
   public void testJRNCWhenCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x30); // JR NC, r8
     cpu.bus.writeByte(0x0001, 0x05); // オフセット +5
     cpu.registers.f.carry = true; // キャリーフラグをセット
@@ -104,7 +104,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR C, r8 when C=1")
   public void testJRCWhenCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x38); // JR C, r8
     cpu.bus.writeByte(0x0001, 0x05); // オフセット +5
     cpu.registers.f.carry = true; // キャリーフラグをセット
@@ -116,7 +116,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR C, r8 when C=0")
   public void testJRCWhenNotCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x38); // JR C, r8
     cpu.bus.writeByte(0x0001, 0x05); // オフセット +5
     cpu.registers.f.carry = false; // キャリーフラグをリセット
@@ -128,7 +128,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR NZ, r8 backward")
   public void testJRNZBackward() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0010; // 初期PCを設定
     cpu.bus.writeByte(0x0010, 0x20); // JR NZ, r8
     cpu.bus.writeByte(0x0011, 0xFA); // オフセット -6 (2の補数表現で0xFA = -6)
@@ -141,7 +141,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR r8 with maximum positive offset")
   public void testJRMaxForward() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x18); // JR r8
     cpu.bus.writeByte(0x0001, 0x7F); // 最大正オフセット +127
     cpu.step();
@@ -152,7 +152,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR r8 with maximum negative offset")
   public void testJRMaxBackward() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0100; // 初期PCを設定
     cpu.bus.writeByte(0x0100, 0x18); // JR r8
     cpu.bus.writeByte(0x0101, 0x80); // 最大負オフセット -128 (2の補数表現で0x80 = -128)
@@ -164,7 +164,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR r8 in a loop")
   public void testJRLoop() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x18); // JR r8
     cpu.bus.writeByte(0x0001, 0xFE); // オフセット -2 (2の補数表現で0xFE = -2)
     
@@ -182,7 +182,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR doesn't modify flags")
   public void testJRDoesNotModifyFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x18); // JR r8
     cpu.bus.writeByte(0x0001, 0x05); // オフセット +5
     
@@ -207,7 +207,7 @@ public class JRTest {
   @Test
   @DisplayName("Test consecutive JR instructions")
   public void testConsecutiveJR() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     // 1つ目のJR
     cpu.bus.writeByte(0x0000, 0x18); // JR r8
     cpu.bus.writeByte(0x0001, 0x03); // オフセット +3
@@ -228,7 +228,7 @@ public class JRTest {
   @Test
   @DisplayName("Test JR with zero offset")
   public void testJRZeroOffset() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x18); // JR r8
     cpu.bus.writeByte(0x0001, 0x00); // オフセット 0
     cpu.step();
@@ -10,7 +10,7 @@ public class LDTest {
   @Test
   @DisplayName("Test LD A, B")
   public void testLDAB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x78); // LD A, B
     cpu.registers.a = 0x00;
     cpu.registers.b = 0x42;
@@ -23,7 +23,7 @@ public class LDTest {
   @Test
   @DisplayName("Test LD C, d8")
   public void testLDCd8() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0E); // LD C, d8
     cpu.bus.writeByte(0x0001, 0xAB); // 即値
     cpu.registers.c = 0x00;
@@ -36,7 +36,7 @@ public class LDTest {
   @Test
   @DisplayName("Test LD (HL), D")
   public void testLDHLAddrD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x72); // LD (HL), D
     cpu.registers.set_hl(0xC000);
     cpu.registers.d = 0x5A;
@@ -49,7 +49,7 @@ public class LDTest {
   @Test
   @DisplayName("Test LD A, (BC)")
   public void testLDABCAddr() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0A); // LD A, (BC)
     cpu.registers.set_bc(0xC000);
     cpu.bus.writeByte(0xC000, 0x42);
@@ -62,7 +62,7 @@ public class LDTest {
   @Test
   @DisplayName("Test LD (DE), A")
   public void testLDDEAddrA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x12); // LD (DE), A
     cpu.registers.set_de(0xC000);
     cpu.registers.a = 0x5A;
@@ -75,7 +75,7 @@ public class LDTest {
   @Test
   @DisplayName("Test LD (HL+), A")
   public void testLDHLPlusA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x22); // LD (HL+), A
     cpu.registers.set_hl(0xC000);
     cpu.registers.a = 0x5A;
@@ -90,7 +90,7 @@ public class LDTest {
   @Test
   @DisplayName("Test LD A, (HL-)")
   public void testLDAHLMinus() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x3A); // LD A, (HL-)
     cpu.registers.set_hl(0xC000);
     cpu.bus.writeByte(0xC000, 0x42);
@@ -104,7 +104,7 @@ public class LDTest {
   @Test
   @DisplayName("Test LD (a16), A")
   public void testLDa16A() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xEA); // LD (a16), A
     cpu.bus.writeByte(0x0001, 0x00);
     cpu.bus.writeByte(0x0002, 0xC0); // アドレス0xC000
@@ -122,7 +122,7 @@ public class LDTest {
   @Test
   @DisplayName("Test LD A, (a16)")
   public void testLDAa16() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xFA); // LD A, (a16)
     cpu.bus.writeByte(0x0001, 0x00);
     cpu.bus.writeByte(0x0002, 0xC0); // アドレス0xC000
@@ -137,7 +137,7 @@ public class LDTest {
   @Test
   @DisplayName("Test LDH (a8), A")
   public void testLDHa8A() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xE0); // LDH (a8), A
     cpu.bus.writeByte(0x0001, 0x80); // 0xFF80のオフセット
     cpu.registers.a = 0x5A;
@@ -150,7 +150,7 @@ public class LDTest {
   @Test
   @DisplayName("Test LDH A, (C)")
   public void testLDHAC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xF2); // LDH A, (C)
     cpu.registers.c = 0x80; // 0xFF80のオフセット
     cpu.bus.writeByte(0xFF80, 0x42);
@@ -163,7 +163,7 @@ public class LDTest {
   @Test
   @DisplayName("Test LD HL, SP+r8 positive")
   public void testLDHLSPr8_Positive() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xF8); // LD HL, SP+r8
     cpu.bus.writeByte(0x0001, 0x02); // オフセット +2
     cpu.sp = 0xC000;
@@ -180,7 +180,7 @@ public class LDTest {
   @Test
   @DisplayName("Test LD HL, SP+r8 negative")
   public void testLDHLSPr8_Negative() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xF8); // LD HL, SP+r8
     cpu.bus.writeByte(0x0001, 0xFF); // オフセット -1
     cpu.sp = 0x1040;
@@ -197,7 +197,7 @@ public class LDTest {
   @Test
   @DisplayName("Test LD (a16), SP")
   public void testLDa16SP() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x08); // LD (a16), SP
     cpu.bus.writeByte(0x0001, 0x02);
     cpu.bus.writeByte(0x0002, 0xC0); // アドレス0xC002
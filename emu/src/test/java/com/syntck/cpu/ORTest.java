@@ -9,7 +9,7 @@ public class ORTest {
   @Test
   @DisplayName("Test OR A, B instruction")
   public void testORAB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xB0); // OR A, B
     cpu.registers.a = 0x5A;
     cpu.registers.b = 0x0F;
@@ -26,7 +26,7 @@ public class ORTest {
   @Test
   @DisplayName("Test OR A, C instruction")
   public void testORAC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xB1); // OR A, C
     cpu.registers.a = 0x5A;
     cpu.registers.c = 0x0F;
@@ -43,7 +43,7 @@ public class ORTest {
   @Test
   @DisplayName("Test OR A, D instruction")
   public void testORAD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xB2); // OR A, D
     cpu.registers.a = 0x5A;
     cpu.registers.d = 0x0F;
@@ -60,7 +60,7 @@ public class ORTest {
   @Test
   @DisplayName("Test OR A, E instruction")
   public void testORAE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xB3); // OR A, E
     cpu.registers.a = 0x5A;
     cpu.registers.e = 0x0F;
@@ -77,7 +77,7 @@ public class ORTest {
   @Test
   @DisplayName("Test OR A, H instruction")
   public void testORAH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xB4); // OR A, H
     cpu.registers.a = 0x5A;
     cpu.registers.h = 0x0F;
@@ -94,7 +94,7 @@ public class ORTest {
   @Test
   @DisplayName("Test OR A, L instruction")
   public void testORAL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xB5); // OR A, L
     cpu.registers.a = 0x5A;
     cpu.registers.l = 0x0F;
@@ -111,7 +111,7 @@ public class ORTest {
   @Test
   @DisplayName("Test OR A, (HL) instruction")
   public void testORAHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xB6); // OR A, (HL)
     cpu.registers.a = 0x5A;
     cpu.registers.set_hl(0xC000);
@@ -129,7 +129,7 @@ public class ORTest {
   @Test
   @DisplayName("Test OR A, d8 instruction")
   public void testORAd8() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xF6); // OR A, d8
     cpu.bus.writeByte(0x0001, 0x0F); // 即値0x0F
     cpu.registers.a = 0x5A;
@@ -146,7 +146,7 @@ public class ORTest {
   @Test
   @DisplayName("Test OR A, A instruction")
   public void testORAA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xB7); // OR A, A
     cpu.registers.a = 0x5A;
     cpu.step();
@@ -162,7 +162,7 @@ public class ORTest {
   @Test
   @DisplayName("Test OR A with zero operand")
   public void testORWithZeroOperand() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xB1); // OR A, C
     cpu.registers.a = 0x5A;
     cpu.registers.c = 0x00; // Cレジスタに0をセット
@@ -179,7 +179,7 @@ public class ORTest {
   @Test
   @DisplayName("Test OR resulting in zero")
   public void testORResultingInZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xB0); // OR A, B
     cpu.registers.a = 0x00;
     cpu.registers.b = 0x00;
@@ -196,7 +196,7 @@ public class ORTest {
   @Test
   @DisplayName("Test OR with all bits set (0xFF)")
   public void testORWithAllBits() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xF6); // OR A, d8
     cpu.bus.writeByte(0x0001, 0xFF); // 即値0xFF（全ビットセット）
     cpu.registers.a = 0x5A;
@@ -213,7 +213,7 @@ public class ORTest {
   @Test
   @DisplayName("Test OR with complementary values")
   public void testORComplementary() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xB0); // OR A, B
     cpu.registers.a = 0x55; // 0101 0101
     cpu.registers.b = 0xAA; // 1010 1010
@@ -230,7 +230,7 @@ public class ORTest {
   @Test
   @DisplayName("Test sequential OR operations")
   public void testSequentialOR() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     // 最初のOR命令
     cpu.bus.writeByte(0x0000, 0xF6); // OR A, d8
     cpu.bus.writeByte(0x0001, 0x0F); // 即値0x0F
@@ -9,7 +9,7 @@ public class POPTest {
   @Test
   @DisplayName("Test POP BC instruction")
   public void testPOPBC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xC1); // POP BC
     
     // スタックに値をプッシュしておく
@@ -35,7 +35,7 @@ public class POPTest {
   @Test
   @DisplayName("Test POP DE instruction")
   public void testPOPDE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xD1); // POP DE
     
     // スタックに値をプッシュしておく
@@ -61,7 +61,7 @@ public class POPTest {
   @Test
   @DisplayName("Test POP HL instruction")
   public void testPOPHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xE1); // POP HL
     
     // スタックに値をプッシュしておく
@@ -88,7 +88,7 @@ public class POPTest {
   @Test
   @DisplayName("Test POP AF instruction")
   public void testPOPAF() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xF1); // POP AF
     
     // スタックに値をプッシュしておく
@@ -120,7 +120,7 @@ public class POPTest {
   @Test
   @DisplayName("Test POP AF with all flags set")
   public void testPOPAFAllFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xF1); // POP AF
     
     // スタックに値をプッシュしておく
@@ -152,7 +152,7 @@ public class POPTest {
   @Test
   @DisplayName("Test POP AF with no flags set")
   public void testPOPAFNoFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xF1); // POP AF
     
     // スタックに値をプッシュしておく
@@ -184,7 +184,7 @@ public class POPTest {
   @Test
   @DisplayName("Test POP with zero values")
   public void testPOPZeros() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xC1); // POP BC
     
     // スタックにゼロ値をプッシュしておく
@@ -211,7 +211,7 @@ public class POPTest {
   @Test
   @DisplayName("Test POP at stack boundary")
   public void testPOPAtStackBoundary() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xD1); // POP DE
     
     // スタックポインタを0xFFFCに設定（上位アドレス付近だが書き込み可能な範囲）
@@ -236,7 +236,7 @@ public class POPTest {
   @Test
   @DisplayName("Test consecutive POP instructions")
   public void testConsecutivePOP() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     
     // 1つ目のPOP命令
     cpu.bus.writeByte(0x0000, 0xC1); // POP BC
@@ -281,7 +281,7 @@ public class POPTest {
   @Test
   @DisplayName("Test POP doesn't modify other registers")
   public void testPOPDoesNotModifyOtherRegisters() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xC1); // POP BC
     
     // スタックに値をプッシュしておく
@@ -314,7 +314,7 @@ public class POPTest {
   @Test
   @DisplayName("Test POP after PUSH")
   public void testPOPAfterPUSH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xC5); // PUSH BC
     cpu.bus.writeByte(0x0001, 0xD1); // POP DE
     
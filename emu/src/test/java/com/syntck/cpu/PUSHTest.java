@@ -9,7 +9,7 @@ public class PUSHTest {
   @Test
   @DisplayName("Test PUSH BC instruction")
   public void testPUSHBC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xC5); // PUSH BC
     int originalSP = cpu.sp;
     cpu.registers.b = 0x12;
@@ -31,7 +31,7 @@ public class PUSHTest {
   @Test
   @DisplayName("Test PUSH DE instruction")
   public void testPUSHDE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xD5); // PUSH DE
     int originalSP = cpu.sp;
     cpu.registers.d = 0x56;
@@ -53,7 +53,7 @@ public class PUSHTest {
   @Test
   @DisplayName("Test PUSH HL instruction")
   public void testPUSHHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xE5); // PUSH HL
     int originalSP = cpu.sp;
     cpu.registers.h = 0x9A;
@@ -75,7 +75,7 @@ public class PUSHTest {
   @Test
   @DisplayName("Test PUSH AF instruction")
   public void testPUSHAF() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xF5); // PUSH AF
     int originalSP = cpu.sp;
     cpu.registers.a = 0xDE;
@@ -102,7 +102,7 @@ public class PUSHTest {
   @Test
   @DisplayName("Test PUSH with zero values")
   public void testPUSHZeros() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xC5); // PUSH BC
     int originalSP = cpu.sp;
     cpu.registers.b = 0x00;
@@ -124,7 +124,7 @@ public class PUSHTest {
   @Test
   @DisplayName("Test PUSH AF with all flags set")
   public void testPUSHAFAllFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xF5); // PUSH AF
     int originalSP = cpu.sp;
     cpu.registers.a = 0xFF;
@@ -151,7 +151,7 @@ public class PUSHTest {
   @Test
   @DisplayName("Test PUSH AF with no flags set")
   public void testPUSHAFNoFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xF5); // PUSH AF
     int originalSP = cpu.sp;
     cpu.registers.a = 0x42;
@@ -178,7 +178,7 @@ public class PUSHTest {
   @Test
   @DisplayName("Test consecutive PUSH instructions")
   public void testConsecutivePUSH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     // 1つ目のPUSH命令
     cpu.bus.writeByte(0x0000, 0xC5); // PUSH BC
     cpu.registers.b = 0xAA;
@@ -213,7 +213,7 @@ public class PUSHTest {
   @Test
   @DisplayName("Test PUSH at stack pointer boundary")
   public void testPUSHAtStackBoundary() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xC5); // PUSH BC
     // スタックポインタを境界付近に設定
     cpu.sp = 0x0002;
@@ -237,7 +237,7 @@ public class PUSHTest {
   @Test
   @DisplayName("Test PUSH with maximum 16-bit value")
   public void testPUSHMaxValue() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xE5); // PUSH HL
     int originalSP = cpu.sp;
     cpu.registers.h = 0xFF;
@@ -260,7 +260,7 @@ public class PUSHTest {
   @Test
   @DisplayName("Test PUSH doesn't modify flags")
   public void testPUSHDoesNotModifyFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xC5); // PUSH BC
     
     // フラグを設定
@@ -9,7 +9,7 @@ public class RESTest {
   @Test
   @DisplayName("Test RES 0, B instruction")
   public void testRES0B() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x80); // RES 0, B
     cpu.registers.b = 0xFF; // すべてのビットが1
@@ -22,7 +22,7 @@ public class RESTest {
   @Test
   @DisplayName("Test RES 1, C instruction")
   public void testRES1C() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x89); // RES 1, C
     cpu.registers.c = 0xFF; // すべてのビットが1
@@ -35,7 +35,7 @@ public class RESTest {
   @Test
   @DisplayName("Test RES 2, D instruction")
   public void testRES2D() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x92); // RES 2, D
     cpu.registers.d = 0xFF; // すべてのビットが1
@@ -48,7 +48,7 @@ public class RESTest {
   @Test
   @DisplayName("Test RES 3, E instruction")
   public void testRES3E() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x9B); // RES 3, E
     cpu.registers.e = 0xFF; // すべてのビットが1
@@ -61,7 +61,7 @@ public class RESTest {
   @Test
   @DisplayName("Test RES 4, H instruction")
   public void testRES4H() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xA4); // RES 4, H
     cpu.registers.h = 0xFF; // すべてのビットが1
@@ -74,7 +74,7 @@ public class RESTest {
   @Test
   @DisplayName("Test RES 5, L instruction")
   public void testRES5L() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xAD); // RES 5, L
     cpu.registers.l = 0xFF; // すべてのビットが1
@@ -87,7 +87,7 @@ public class RESTest {
   @Test
   @DisplayName("Test RES 6, A instruction")
   public void testRES6A() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xB7); // RES 6, A
     cpu.registers.a = 0xFF; // すべてのビットが1
@@ -100,7 +100,7 @@ public class RESTest {
   @Test
   @DisplayName("Test RES 7, (HL) instruction")
   public void testRES7HL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xBE); // RES 7, (HL)
     cpu.registers.set_hl(0xC000);
@@ -114,7 +114,7 @@ public class RESTest {
   @Test
   @DisplayName("Test RES 0, B when bit is already reset")
   public void testRES0B_AlreadyReset() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x80); // RES 0, B
     cpu.registers.b = 0xFE; // ビット0はすでに0
@@ -127,7 +127,7 @@ public class RESTest {
   @Test
   @DisplayName("Test RES 3, C when bit is already reset")
   public void testRES3C_AlreadyReset() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x99); // RES 3, C
     cpu.registers.c = 0xF7; // ビット3はすでに0
@@ -140,7 +140,7 @@ public class RESTest {
   @Test
   @DisplayName("Test RES 7, A with mixed bits")
   public void testRES7A_MixedBits() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xBF); // RES 7, A
     cpu.registers.a = 0xA5; // 1010 0101 - 複数のビットが混在
@@ -153,7 +153,7 @@ public class RESTest {
   @Test
   @DisplayName("Test multiple RES operations on same register")
   public void testMultipleRES() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     
     // 最初のRES命令: RES 0, B
     cpu.bus.writeByte(0x0000, 0xCB);
@@ -184,7 +184,7 @@ public class RESTest {
   @Test
   @DisplayName("Test resetting all bits with RES instructions")
   public void testResetAllBits() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.registers.a = 0xFF; // すべてのビットが1
     
     // すべてのビットをリセット
@@ -202,7 +202,7 @@ public class RESTest {
   @Test
   @DisplayName("Test RES affecting only specified bit")
   public void testRESOnlyAffectsSpecifiedBit() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xA1); // RES 4, C
     cpu.registers.c = 0xFF; // すべてのビットが1
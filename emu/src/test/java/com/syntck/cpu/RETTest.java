@@ -9,7 +9,7 @@ public class RETTest {
   @Test
   @DisplayName("Test RET unconditional instruction")
   public void testRETUnconditional() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0100; // 初期PC
     cpu.bus.writeByte(0x0100, 0xC9); // RET命令
     
@@ -31,7 +31,7 @@ public class RETTest {
   @Test
   @DisplayName("Test RET NZ when Z=0")
   public void testRETNZWhenNotZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0200;
     cpu.bus.writeByte(0x0200, 0xC0); // RET NZ
     
@@ -55,7 +55,7 @@ public class RETTest {
   @Test
   @DisplayName("Test RET NZ when Z=1")
   public void testRETNZWhenZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0200;
     cpu.bus.writeByte(0x0200, 0xC0); // RET NZ
     
@@ -79,7 +79,7 @@ public class RETTest {
   @Test
   @DisplayName("Test RET Z when Z=1")
   public void testRETZWhenZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0300;
     cpu.bus.writeByte(0x0300, 0xC8); // RET Z
     
@@ -103,7 +103,7 @@ public class RETTest {
   @Test
   @DisplayName("Test RET Z when Z=0")
   public void testRETZWhenNotZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0300;
     cpu.bus.writeByte(0x0300, 0xC8); // RET Z
     
@@ -127,7 +127,7 @@ public class RETTest {
   @Test
   @DisplayName("Test RET NC when C=0")
   public void testRETNCWhenNotCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0400;
     cpu.bus.writeByte(0x0400, 0xD0); // RET NC
     
@@ -151,7 +151,7 @@ public class RETTest {
   @Test
   @DisplayName("Test RET NC when C=1")
   public void testRETNCWhenCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0400;
     cpu.bus.writeByte(0x0400, 0xD0); // RET NC
     
@@ -175,7 +175,7 @@ public class RETTest {
   @Test
   @DisplayName("Test RET C when C=1")
   public void testRETCWhenCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0500;
     cpu.bus.writeByte(0x0500, 0xD8); // RET C
     
@@ -199,7 +199,7 @@ public class RETTest {
   @Test
   @DisplayName("Test RET C when C=0")
   public void testRETCWhenNotCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0500;
     cpu.bus.writeByte(0x0500, 0xD8); // RET C
     
@@ -223,7 +223,7 @@ public class RETTest {
   @Test
   @DisplayName("Test RET at stack boundary")
   public void testRETAtStackBoundary() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0700;
     cpu.bus.writeByte(0x0700, 0xC9); // RET
     
@@ -247,7 +247,7 @@ public class RETTest {
   @Test
   @DisplayName("Test RET doesn't modify flags")
   public void testRETDoesNotModifyFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.pc = 0x0800;
     cpu.bus.writeByte(0x0800, 0xC9); // RET
     
@@ -276,7 +276,7 @@ public class RETTest {
   @Test
   @DisplayName("Test consecutive RET instructions")
   public void testConsecutiveRET() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     
     // 1つ目のRET命令
     cpu.pc = 0x1000;
@@ -9,7 +9,7 @@ public class RLATest {
   @Test
   @DisplayName("Test RLA without initial carry")
   public void testRLA_NoCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x17); // RLA命令 (非CBプレフィクス)
     cpu.registers.a = 0x85; // 10000101
     cpu.registers.f.carry = false; // キャリーフラグはリセット
@@ -27,7 +27,7 @@ public class RLATest {
   @Test
   @DisplayName("Test RLA with initial carry")
   public void testRLA_WithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x17); // RLA命令
     cpu.registers.a = 0x85; // 10000101
     cpu.registers.f.carry = true; // キャリーフラグはセット
@@ -45,7 +45,7 @@ public class RLATest {
   @Test
   @DisplayName("Test RLA with MSB=0")
   public void testRLA_MSBZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x17); // RLA命令
     cpu.registers.a = 0x7F; // 01111111 (最上位ビットが0)
     cpu.registers.f.carry = false;
@@ -63,7 +63,7 @@ public class RLATest {
   @Test
   @DisplayName("Test RLA with MSB=1")
   public void testRLA_MSBOne() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x17); // RLA命令
     cpu.registers.a = 0xC3; // 11000011 (最上位ビットが1)
     cpu.registers.f.carry = false;
@@ -81,7 +81,7 @@ public class RLATest {
   @Test
   @DisplayName("Test RLA preserves zero flag")
   public void testRLA_PreservesZeroFlag() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x17); // RLA命令
     cpu.registers.a = 0x01; // 00000001
     cpu.registers.f.zero = true; // ゼロフラグを事前にセット
@@ -100,7 +100,7 @@ public class RLATest {
   @Test
   @DisplayName("Test RLA resets flags")
   public void testRLA_ResetsFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x17); // RLA命令
     cpu.registers.a = 0x00; // 00000000
     
@@ -122,7 +122,7 @@ public class RLATest {
   @Test
   @DisplayName("Test consecutive RLA operations")
   public void testRLA_Consecutive() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x17); // RLA命令
     
     // 1回目の実行
@@ -152,7 +152,7 @@ public class RLATest {
   @Test
   @DisplayName("Test RLA with all zeros")
   public void testRLA_AllZeros() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x17); // RLA命令
     cpu.registers.a = 0x00; // 00000000
     cpu.registers.f.carry = false;
@@ -169,7 +169,7 @@ public class RLATest {
   @Test
   @DisplayName("Test RLA with all ones")
   public void testRLA_AllOnes() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x17); // RLA命令
     cpu.registers.a = 0xFF; // 11111111
     cpu.registers.f.carry = false;
@@ -187,7 +187,7 @@ public class RLATest {
   @Test
   @DisplayName("Test RLA carry to A")
   public void testRLA_CarryToA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x17); // RLA命令
     cpu.registers.a = 0x00; // 00000000
     cpu.registers.f.carry = true; // キャリーフラグはセット
@@ -205,7 +205,7 @@ public class RLATest {
   @Test
   @DisplayName("Test RLA A to carry to A")
   public void testRLA_AToCaryToA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x17); // RLA命令
     
     // 1回目の実行：最上位ビットがキャリーに
@@ -226,7 +226,7 @@ public class RLATest {
   @Test
   @DisplayName("Test RLA is a single byte instruction")
   public void testRLA_ByteSize() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x17); // RLA命令
     cpu.bus.writeByte(0x0001, 0x00); // NOP命令 (次の命令)
     cpu.registers.a = 0x55; // 01010101
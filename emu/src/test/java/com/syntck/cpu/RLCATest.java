@@ -9,7 +9,7 @@ public class RLCATest {
   @Test
   @DisplayName("Test basic RLCA instruction")
   public void testBasicRLCA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x07); // RLCA命令
     cpu.registers.a = 0x85; // 10000101
     cpu.step();
@@ -25,7 +25,7 @@ public class RLCATest {
   @Test
   @DisplayName("Test RLCA with MSB=1")
   public void testRLCAWithMSB1() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x07); // RLCA命令
     cpu.registers.a = 0x80; // 10000000
     cpu.step();
@@ -41,7 +41,7 @@ public class RLCATest {
   @Test
   @DisplayName("Test RLCA with MSB=0")
   public void testRLCAWithMSB0() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x07); // RLCA命令
     cpu.registers.a = 0x40; // 01000000
     cpu.step();
@@ -57,7 +57,7 @@ public class RLCATest {
   @Test
   @DisplayName("Test RLCA with all ones")
   public void testRLCAWithAllOnes() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x07); // RLCA命令
     cpu.registers.a = 0xFF; // 11111111
     cpu.step();
@@ -73,7 +73,7 @@ public class RLCATest {
   @Test
   @DisplayName("Test RLCA with all zeros")
   public void testRLCAWithAllZeros() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x07); // RLCA命令
     cpu.registers.a = 0x00; // 00000000
     cpu.step();
@@ -89,7 +89,7 @@ public class RLCATest {
   @Test
   @DisplayName("Test consecutive RLCA operations")
   public void testConsecutiveRLCA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x07); // RLCA命令
     
     // 1回目の実行
@@ -121,7 +121,7 @@ public class RLCATest {
   @Test
   @DisplayName("Test RLCA resets flags")
   public void testRLCAResetsFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x07); // RLCA命令
     cpu.registers.a = 0x01; // 00000001
     
@@ -144,7 +144,7 @@ public class RLCATest {
   @Test
   @DisplayName("Test RLCA with multiple bits")
   public void testRLCAWithMultipleBits() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x07); // RLCA命令
     cpu.registers.a = 0xAA; // 10101010
     cpu.step();
@@ -160,7 +160,7 @@ public class RLCATest {
   @Test
   @DisplayName("Test RLCA with special bit pattern")
   public void testRLCAWithSpecialBitPattern() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x07); // RLCA命令
     cpu.registers.a = 0x81; // 10000001
     cpu.step();
@@ -176,7 +176,7 @@ public class RLCATest {
   @Test
   @DisplayName("Test RLCA returns to original value after 8 operations")
   public void testRLCAFullRotation() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x07); // RLCA命令
     cpu.registers.a = 0x01; // 00000001 (最下位ビットのみ1)
     
@@ -198,7 +198,7 @@ public class RLCATest {
   @Test
   @DisplayName("Test RLCA always clears zero flag")
   public void testRLCAAlwaysClearsZeroFlag() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x07); // RLCA命令
     cpu.registers.a = 0x00; // 00000000（結果も0）
     cpu.registers.f.zero = true; // 事前にゼロフラグをセット
@@ -216,7 +216,7 @@ public class RLCATest {
   @Test
   @DisplayName("Test RLCA is a single byte instruction")
   public void testRLCAByteSize() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x07); // RLCA命令
     cpu.bus.writeByte(0x0001, 0x00); // NOP命令 (次の命令)
     cpu.registers.a = 0x01;
@@ -236,7 +236,7 @@ public class RLCATest {
   @Test
   @DisplayName("Test RLCA shifts value left by 1 bit")
   public void testRLCAShiftsLeft() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x07); // RLCA命令
     
     // 単一ビットのパターンをテスト
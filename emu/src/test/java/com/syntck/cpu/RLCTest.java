@@ -9,7 +9,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC A instruction")
   public void testRLCA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x07); // RLC A
     cpu.registers.a = 0x85; // 10000101
@@ -26,7 +26,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC B instruction")
   public void testRLCB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x00); // RLC B
     cpu.registers.b = 0x85; // 10000101
@@ -43,7 +43,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC C instruction")
   public void testRLCC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x01); // RLC C
     cpu.registers.c = 0x85; // 10000101
@@ -60,7 +60,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC D instruction")
   public void testRLCD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x02); // RLC D
     cpu.registers.d = 0x85; // 10000101
@@ -77,7 +77,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC E instruction")
   public void testRLCE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x03); // RLC E
     cpu.registers.e = 0x85; // 10000101
@@ -94,7 +94,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC H instruction")
   public void testRLCH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x04); // RLC H
     cpu.registers.h = 0x85; // 10000101
@@ -111,7 +111,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC L instruction")
   public void testRLCL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x05); // RLC L
     cpu.registers.l = 0x85; // 10000101
@@ -128,7 +128,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC (HL) instruction")
   public void testRLCHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x06); // RLC (HL)
     cpu.registers.set_hl(0xC000);
@@ -146,7 +146,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC A resulting in zero")
   public void testRLCAZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x07); // RLC A
     cpu.registers.a = 0x00; // 00000000
@@ -163,7 +163,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC A with MSB set")
   public void testRLCAWithMSB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x07); // RLC A
     cpu.registers.a = 0x80; // 10000000 - 最上位ビットのみ1
@@ -180,7 +180,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC B flag effects")
   public void testRLCBFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x00); // RLC B
     
@@ -204,7 +204,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC C with all ones")
   public void testRLCCAllOnes() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x01); // RLC C
     cpu.registers.c = 0xFF; // 11111111 - すべてのビットが1
@@ -221,7 +221,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test consecutive RLC D operations")
   public void testConsecutiveRLCD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x02); // RLC D
     
@@ -249,7 +249,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC E with LSB set")
   public void testRLCEWithLSB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x03); // RLC E
     cpu.registers.e = 0x01; // 00000001 - 最下位ビットのみ1
@@ -266,7 +266,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC H with multiple bits")
   public void testRLCHMultipleBits() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x04); // RLC H
     cpu.registers.h = 0xAA; // 10101010
@@ -283,7 +283,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC (HL) memory access")
   public void testRLCHLMemoryAccess() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x06); // RLC (HL)
     cpu.registers.set_hl(0xC000);
@@ -306,7 +306,7 @@ public class RLCTest {
   @Test
   @DisplayName("Test RLC instruction on all registers")
   public void testRLCAllRegisters() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     final int testValue = 0x81; // 10000001
     final int expectedResult = 0x03; // 00000011（10000001を左回転）
     
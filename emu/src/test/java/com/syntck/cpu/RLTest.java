@@ -9,7 +9,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL A without initial carry")
   public void testRLA_NoCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x17); // RL A
     cpu.registers.a = 0x85; // 10000101
@@ -27,7 +27,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL A with initial carry")
   public void testRLA_WithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x17); // RL A
     cpu.registers.a = 0x85; // 10000101
@@ -45,7 +45,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL B without initial carry")
   public void testRLB_NoCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x10); // RL B
     cpu.registers.b = 0x85; // 10000101
@@ -63,7 +63,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL C with initial carry")
   public void testRLC_WithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x11); // RL C
     cpu.registers.c = 0x85; // 10000101
@@ -81,7 +81,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL D without initial carry")
   public void testRLD_NoCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x12); // RL D
     cpu.registers.d = 0x85; // 10000101
@@ -99,7 +99,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL E with initial carry")
   public void testRLE_WithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x13); // RL E
     cpu.registers.e = 0x85; // 10000101
@@ -117,7 +117,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL H without initial carry")
   public void testRLH_NoCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x14); // RL H
     cpu.registers.h = 0x85; // 10000101
@@ -135,7 +135,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL L with initial carry")
   public void testRLL_WithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x15); // RL L
     cpu.registers.l = 0x85; // 10000101
@@ -153,7 +153,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL (HL) without initial carry")
   public void testRL_HL_NoCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x16); // RL (HL)
     cpu.registers.set_hl(0xC000);
@@ -172,7 +172,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL (HL) with initial carry")
   public void testRL_HL_WithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x16); // RL (HL)
     cpu.registers.set_hl(0xC000);
@@ -191,7 +191,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL A resulting in zero")
   public void testRLA_Zero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x17); // RL A
     cpu.registers.a = 0x80; // 10000000 (シフト後に0になる可能性がある)
@@ -209,7 +209,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL B carry to carry")
   public void testRLB_CarryToCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x10); // RL B
     cpu.registers.b = 0x80; // 10000000
@@ -238,7 +238,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL C carry and result flags")
   public void testRLC_CarryAndFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x11); // RL C
     cpu.registers.c = 0x01; // 00000001
@@ -256,7 +256,7 @@ public class RLTest {
   @Test
   @DisplayName("Test consecutive RL A operations")
   public void testRLA_Consecutive() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x17); // RL A
     
@@ -290,7 +290,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL instruction on all registers")
   public void testRL_AllRegisters() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     final int testValue = 0x85; // 10000101
     final int expectedResult = 0x0A; // 00001010 (キャリーがないとき)
     
@@ -372,7 +372,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL A with all ones")
   public void testRLA_AllOnes() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x17); // RL A
     cpu.registers.a = 0xFF; // 11111111
@@ -390,7 +390,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL A with all zeros")
   public void testRLA_AllZeros() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x17); // RL A
     cpu.registers.a = 0x00; // 00000000
@@ -408,7 +408,7 @@ public class RLTest {
   @Test
   @DisplayName("Test RL A with all zeros and carry")
   public void testRLA_AllZerosWithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x17); // RL A
     cpu.registers.a = 0x00; // 00000000
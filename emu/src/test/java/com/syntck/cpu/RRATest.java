@@ -9,7 +9,7 @@ public class RRATest {
   @Test
   @DisplayName("Test RRA without initial carry")
   public void testRRA_NoCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x1F); // RRA命令 (非CBプレフィクス)
     cpu.registers.a = 0xA5; // 10100101
     cpu.registers.f.carry = false; // キャリーフラグはリセット
@@ -27,7 +27,7 @@ public class RRATest {
   @Test
   @DisplayName("Test RRA with initial carry")
   public void testRRA_WithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x1F); // RRA命令
     cpu.registers.a = 0xA4; // 10100100
     cpu.registers.f.carry = true; // キャリーフラグはセット
@@ -45,7 +45,7 @@ public class RRATest {
   @Test
   @DisplayName("Test RRA with LSB=0")
   public void testRRA_LSBZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x1F); // RRA命令
     cpu.registers.a = 0x7E; // 01111110 (最下位ビットが0)
     cpu.registers.f.carry = false;
@@ -63,7 +63,7 @@ public class RRATest {
   @Test
   @DisplayName("Test RRA with LSB=1")
   public void testRRA_LSBOne() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x1F); // RRA命令
     cpu.registers.a = 0xC3; // 11000011 (最下位ビットが1)
     cpu.registers.f.carry = false;
@@ -81,7 +81,7 @@ public class RRATest {
   @Test
   @DisplayName("Test RRA always resets zero flag")
   public void testRRA_ZeroFlagAlwaysReset() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x1F); // RRA命令
     cpu.registers.a = 0x01; // 00000001
     cpu.registers.f.zero = true; // ゼロフラグを事前にセット
@@ -100,7 +100,7 @@ public class RRATest {
   @Test
   @DisplayName("Test RRA resets flags")
   public void testRRA_ResetsFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x1F); // RRA命令
     cpu.registers.a = 0x00; // 00000000
     
@@ -122,7 +122,7 @@ public class RRATest {
   @Test
   @DisplayName("Test consecutive RRA operations")
   public void testRRA_Consecutive() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x1F); // RRA命令
     
     // 1回目の実行
@@ -152,7 +152,7 @@ public class RRATest {
   @Test
   @DisplayName("Test RRA with all zeros")
   public void testRRA_AllZeros() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x1F); // RRA命令
     cpu.registers.a = 0x00; // 00000000
     cpu.registers.f.carry = false;
@@ -170,7 +170,7 @@ public class RRATest {
   @Test
   @DisplayName("Test RRA with all ones")
   public void testRRA_AllOnes() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x1F); // RRA命令
     cpu.registers.a = 0xFF; // 11111111
     cpu.registers.f.carry = false;
@@ -188,7 +188,7 @@ public class RRATest {
   @Test
   @DisplayName("Test RRA carry to A")
   public void testRRA_CarryToA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x1F); // RRA命令
     cpu.registers.a = 0x00; // 00000000
     cpu.registers.f.carry = true; // キャリーフラグはセット
@@ -206,7 +206,7 @@ public class RRATest {
   @Test
   @DisplayName("Test RRA A to carry to A")
   public void testRRA_AToCaryToA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x1F); // RRA命令
     
     // 1回目の実行：最下位ビットがキャリーに
@@ -227,7 +227,7 @@ public class RRATest {
   @Test
   @DisplayName("Test RRA is a single byte instruction")
   public void testRRA_ByteSize() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x1F); // RRA命令
     cpu.bus.writeByte(0x0001, 0x00); // NOP命令 (次の命令)
     cpu.registers.a = 0x55; // 01010101
@@ -9,7 +9,7 @@ public class RRCATest {
   @Test
   @DisplayName("Test basic RRCA operation")
   public void testBasicRRCA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0F); // RRCA命令
     cpu.registers.a = 0x85; // 10000101
     cpu.step();
@@ -25,7 +25,7 @@ public class RRCATest {
   @Test
   @DisplayName("Test RRCA with LSB=0")
   public void testRRCAWithLSB0() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0F); // RRCA命令
     cpu.registers.a = 0x84; // 10000100
     cpu.step();
@@ -41,7 +41,7 @@ public class RRCATest {
   @Test
   @DisplayName("Test RRCA with LSB=1")
   public void testRRCAWithLSB1() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0F); // RRCA命令
     cpu.registers.a = 0x01; // 00000001
     cpu.step();
@@ -57,7 +57,7 @@ public class RRCATest {
   @Test
   @DisplayName("Test RRCA with all ones")
   public void testRRCAWithAllOnes() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0F); // RRCA命令
     cpu.registers.a = 0xFF; // 11111111
     cpu.step();
@@ -73,7 +73,7 @@ public class RRCATest {
   @Test
   @DisplayName("Test RRCA with all zeros")
   public void testRRCAWithAllZeros() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0F); // RRCA命令
     cpu.registers.a = 0x00; // 00000000
     cpu.step();
@@ -89,7 +89,7 @@ public class RRCATest {
   @Test
   @DisplayName("Test consecutive RRCA operations")
   public void testConsecutiveRRCA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0F); // RRCA命令
     
     // 1回目の実行
@@ -121,7 +121,7 @@ public class RRCATest {
   @Test
   @DisplayName("Test RRCA always resets flags")
   public void testRRCAResetsFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0F); // RRCA命令
     cpu.registers.a = 0x02; // 00000010
     
@@ -144,7 +144,7 @@ public class RRCATest {
   @Test
   @DisplayName("Test RRCA returns to original value after 8 operations")
   public void testRRCAFullRotation() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0F); // RRCA命令
     
     // 初期値
@@ -167,7 +167,7 @@ public class RRCATest {
   @Test
   @DisplayName("Test RRCA always clears zero flag")
   public void testRRCAAlwaysClearsZeroFlag() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0F); // RRCA命令
     cpu.registers.a = 0x00; // 00000000（結果も0）
     cpu.registers.f.zero = true; // 事前にゼロフラグをセット
@@ -185,7 +185,7 @@ public class RRCATest {
   @Test
   @DisplayName("Test RRCA is a single byte instruction")
   public void testRRCAByteSize() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0F); // RRCA命令
     cpu.bus.writeByte(0x0001, 0x00); // NOP命令 (次の命令)
     cpu.registers.a = 0x80;
@@ -205,7 +205,7 @@ public class RRCATest {
   @Test
   @DisplayName("Test RRCA with various bit patterns")
   public void testRRCAWithVariousBitPatterns() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x0F); // RRCA命令
     
     // ビット0だけセット
@@ -9,7 +9,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC A instruction")
   public void testRRCA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x0F); // RRC A
     cpu.registers.a = 0x85; // 10000101
@@ -26,7 +26,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC B instruction")
   public void testRRCB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x08); // RRC B
     cpu.registers.b = 0x85; // 10000101
@@ -43,7 +43,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC C instruction")
   public void testRRCC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x09); // RRC C
     cpu.registers.c = 0x85; // 10000101
@@ -60,7 +60,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC D instruction")
   public void testRRCD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x0A); // RRC D
     cpu.registers.d = 0x85; // 10000101
@@ -77,7 +77,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC E instruction")
   public void testRRCE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x0B); // RRC E
     cpu.registers.e = 0x85; // 10000101
@@ -94,7 +94,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC H instruction")
   public void testRRCH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x0C); // RRC H
     cpu.registers.h = 0x85; // 10000101
@@ -111,7 +111,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC L instruction")
   public void testRRCL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x0D); // RRC L
     cpu.registers.l = 0x85; // 10000101
@@ -128,7 +128,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC (HL) instruction")
   public void testRRCHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x0E); // RRC (HL)
     cpu.registers.set_hl(0xC000);
@@ -146,7 +146,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC A with LSB=0")
   public void testRRCAWithLSB0() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x0F); // RRC A
     cpu.registers.a = 0x84; // 10000100
@@ -163,7 +163,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC B resulting in zero")
   public void testRRCBZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x08); // RRC B
     cpu.registers.b = 0x00; // 00000000
@@ -180,7 +180,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC C with all ones")
   public void testRRCCAllOnes() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x09); // RRC C
     cpu.registers.c = 0xFF; // 11111111
@@ -197,7 +197,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test consecutive RRC D operations")
   public void testRRCDConsecutive() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x0A); // RRC D
     
@@ -230,7 +230,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC E with only bit 0 set")
   public void testRRCEOnlyBit0Set() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x0B); // RRC E
     cpu.registers.e = 0x01; // 00000001
@@ -247,7 +247,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC H with only bit 7 set")
   public void testRRCHOnlyBit7Set() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x0C); // RRC H
     cpu.registers.h = 0x80; // 10000000
@@ -264,7 +264,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC L returns to original value after 8 operations")
   public void testRRCLFullRotation() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x0D); // RRC L
     
@@ -288,7 +288,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC (HL) flag changes")
   public void testRRCHLFlagChanges() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x0E); // RRC (HL)
     cpu.registers.set_hl(0xC000);
@@ -317,7 +317,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC A resulting in zero")
   public void testRRCAZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x0F); // RRC A
     cpu.registers.a = 0x00; // 00000000
@@ -334,7 +334,7 @@ public class RRCTest {
   @Test
   @DisplayName("Test RRC instruction on all registers")
   public void testRRCAllRegisters() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     final int testValue = 0x01; // 00000001
     final int expectedResult = 0x80; // 10000000
     
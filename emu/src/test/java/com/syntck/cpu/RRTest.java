@@ -9,7 +9,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR A without initial carry")
   public void testRRA_NoCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x1F); // RR A
     cpu.registers.a = 0x85; // 10000101
@@ -27,7 +27,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR A with initial carry")
   public void testRRA_WithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x1F); // RR A
     cpu.registers.a = 0x85; // 10000101
@@ -45,7 +45,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR B without initial carry")
   public void testRRB_NoCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x18); // RR B
     cpu.registers.b = 0x85; // 10000101
@@ -63,7 +63,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR C with initial carry")
   public void testRRC_WithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x19); // RR C
     cpu.registers.c = 0x84; // 10000100
@@ -81,7 +81,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR D without initial carry")
   public void testRRD_NoCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x1A); // RR D
     cpu.registers.d = 0x01; // 00000001
@@ -99,7 +99,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR E with initial carry")
   public void testRRE_WithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x1B); // RR E
     cpu.registers.e = 0x00; // 00000000
@@ -117,7 +117,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR H without initial carry")
   public void testRRH_NoCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x1C); // RR H
     cpu.registers.h = 0x85; // 10000101
@@ -135,7 +135,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR L with initial carry")
   public void testRRL_WithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x1D); // RR L
     cpu.registers.l = 0x85; // 10000101
@@ -153,7 +153,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR (HL) without initial carry")
   public void testRR_HL_NoCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x1E); // RR (HL)
     cpu.registers.set_hl(0xC000);
@@ -172,7 +172,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR (HL) with initial carry")
   public void testRR_HL_WithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x1E); // RR (HL)
     cpu.registers.set_hl(0xC000);
@@ -191,7 +191,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR A resulting in zero")
   public void testRRA_Zero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x1F); // RR A
     cpu.registers.a = 0x01; // 00000001
@@ -209,7 +209,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR B carry to carry")
   public void testRRB_CarryToCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x18); // RR B
     cpu.registers.b = 0x81; // 10000001
@@ -227,7 +227,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR C with all ones")
   public void testRRC_AllOnes() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x19); // RR C
     cpu.registers.c = 0xFF; // 11111111
@@ -245,7 +245,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR D with all zeros")
   public void testRRD_AllZeros() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x1A); // RR D
     cpu.registers.d = 0x00; // 00000000
@@ -263,7 +263,7 @@ public class RRTest {
   @Test
   @DisplayName("Test consecutive RR A operations")
   public void testRRA_Consecutive() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x1F); // RR A
     
@@ -297,7 +297,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR E with all zeros and carry")
   public void testRRE_AllZerosWithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x1B); // RR E
     cpu.registers.e = 0x00; // 00000000
@@ -315,7 +315,7 @@ public class RRTest {
   @Test
   @DisplayName("Test RR instruction on all registers")
   public void testRR_AllRegisters() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     final int testValue = 0x85; // 10000101
     final int expectedResultNoCarry = 0x42; // 01000010（キャリーなしの場合）
     final int expectedResultWithCarry = 0xC2; // 11000010（キャリーありの場合）
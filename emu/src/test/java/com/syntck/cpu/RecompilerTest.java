@@ -0,0 +1,180 @@
+package com.syntck.cpu;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.syntck.TestRoms;
+import com.syntck.cartridge.Cartridge;
+
+public class RecompilerTest {
+  @TempDir
+  File tempDir;
+
+  // ROMイメージをファイルに書き出してカートリッジとして読み込む (使い終わったら close する)
+  private Cartridge createCartridge(int[] rom, int cartridgeType) throws Exception {
+    return new Cartridge(TestRoms.write(this.tempDir, rom, cartridgeType));
+  }
+
+  // 終了アドレス (JR -2 の無限ループ) に到達するまで実行する
+  private CPU runUntil(Cartridge cartridge, ExecutionEngine engine, int endAddress) {
+    CPU cpu = new CPU(cartridge, engine);
+    for (int i = 0; i < 100000 && cpu.pc != endAddress; i++) {
+      cpu.step();
+    }
+    assertEquals(endAddress, cpu.pc);
+    return cpu;
+  }
+
+  private static void write(int[] rom, int address, int... bytes) {
+    for (int i = 0; i < bytes.length; i++) rom[address + i] = bytes[i];
+  }
+
+  // MARK: インタプリタとの一致
+  @Test
+  @DisplayName("Test recompiled blocks match the interpreter")
+  public void testRecompilerMatchesInterpreter() throws Exception {
+    int[] rom = new int[0x8000];
+    write(rom, 0x0100,
+      0x31, 0xFE, 0xDF, // LD SP, 0xDFFE
+      0x21, 0x00, 0xC0, // LD HL, 0xC000
+      0x06, 0x40,       // LD B, 0x40
+      0x3E, 0x01,       // LD A, 0x01
+      // loop (0x010A):
+      0x80,             // ADD A, B
+      0xCB, 0x27,       // SLA A
+      0xCE, 0x03,       // ADC A, 0x03
+      0x22,             // LD (HL+), A
+      0xCD, 0x00, 0x02, // CALL 0x0200
+      0x05,             // DEC B
+      0x20, 0xF4,       // JR NZ, loop
+      0x18, 0xFE        // JR -2 (0x0116)
+    );
+    write(rom, 0x0200,
+      0xC5,             // PUSH BC
+      0x4F,             // LD C, A
+      0xCB, 0x39,       // SRL C
+      0xA9,             // XOR C
+      0x27,             // DAA
+      0xC1,             // POP BC
+      0xC9              // RET
+    );
+    try (Cartridge cartridge = createCartridge(rom, TestRoms.ROM_ONLY)) {
+      CPU expected = runUntil(cartridge, ExecutionEngine.SWITCH, 0x0116);
+      CPU actual = runUntil(cartridge, ExecutionEngine.RECOMPILER, 0x0116);
+
+      assertEquals(expected.registers.a, actual.registers.a);
+      assertEquals(expected.registers.get_bc(), actual.registers.get_bc());
+      assertEquals(expected.registers.get_hl(), actual.registers.get_hl());
+      assertEquals(expected.registers.get_af(), actual.registers.get_af());
+      assertEquals(expected.sp, actual.sp);
+      for (int address = 0xC000; address < 0xC040; address++) {
+        assertEquals(expected.bus.readByte(address), actual.bus.readByte(address));
+      }
+    }
+  }
+
+  // MARK: 割り込みのタイミング
+  // 割り込みハンドラに入った時刻と戻り先を記録する
+  private List<String> traceInterrupts(Cartridge cartridge, ExecutionEngine engine, long cycles) {
+    CPU cpu = new CPU(cartridge, engine);
+    List<String> trace = new ArrayList<>();
+    while (cpu.bus.scheduler.now() < cycles) {
+      cpu.step();
+      if (cpu.pc == 0x0040 || cpu.pc == 0x0050) {
+        trace.add(String.format("%d: %04X <- %04X", cpu.bus.scheduler.now(), cpu.pc, cpu.bus.readWord(cpu.sp)));
+      }
+    }
+    trace.add(String.format("C=%02X D=%02X E=%02X", cpu.registers.c, cpu.registers.d, cpu.registers.e));
+    return trace;
+  }
+
+  @Test
+  @DisplayName("Test recompiled blocks service interrupts on the same cycle as the interpreter")
+  public void testRecompilerInterruptTiming() throws Exception {
+    int[] rom = new int[0x8000];
+    write(rom, 0x0040, 0x1C, 0xD9); // V-Blank: INC E / RETI
+    write(rom, 0x0050, 0x14, 0xD9); // タイマー: INC D / RETI
+    write(rom, 0x0100,
+      0x31, 0xFE, 0xDF, // LD SP, 0xDFFE
+      0x3E, 0xF0,       // LD A, 0xF0
+      0xE0, 0x06,       // LDH (TMA), A
+      0x3E, 0x05,       // LD A, 0x05
+      0xE0, 0x07,       // LDH (TAC), A  ; 262144Hz
+      0x3E, 0x01,       // LD A, 0x01
+      0xE0, 0xFF,       // LDH (IE), A   ; V-Blankのみ
+      0xFB              // EI
+    );
+    // ブロックの途中でタイマー割り込みを有効・無効にするループ (0x0110)
+    int[] loop = new int[28];
+    write(loop, 0, 0x3E, 0x05, 0xE0, 0xFF); // LD A, 0x05 / LDH (IE), A
+    for (int i = 0; i < 10; i++) loop[4 + i] = 0x0C; // INC C
+    write(loop, 14, 0x3E, 0x01, 0xE0, 0xFF); // LD A, 0x01 / LDH (IE), A
+    for (int i = 0; i < 10; i++) loop[18 + i] = 0x0C; // INC C
+    write(rom, 0x0110, loop);
+    write(rom, 0x012C, 0x18, 0xE2); // JR 0x0110
+    long cycles = 154 * 456 * 3; // 3フレーム
+    try (Cartridge cartridge = createCartridge(rom, TestRoms.ROM_ONLY)) {
+      List<String> expected = traceInterrupts(cartridge, ExecutionEngine.SWITCH, cycles);
+      List<String> actual = traceInterrupts(cartridge, ExecutionEngine.RECOMPILER, cycles);
+      assertTrue(expected.size() > 10); // 両方の割り込みが発生している
+      assertEquals(expected, actual);
+    }
+  }
+
+  // MARK: バンク切り替え
+  @Test
+  @DisplayName("Test recompiled blocks follow MBC1 bank switching")
+  public void testRecompilerFollowsBankSwitch() throws Exception {
+    int[] rom = new int[0x10000];
+    write(rom, 0x0100,
+      0x31, 0xFE, 0xDF, // LD SP, 0xDFFE
+      0x3E, 0x01,       // LD A, 0x01
+      0xEA, 0x00, 0x20, // LD (0x2000), A  ; バンク1を選択
+      0xCD, 0x00, 0x40, // CALL 0x4000
+      0x47,             // LD B, A
+      0x3E, 0x02,       // LD A, 0x02
+      0xEA, 0x00, 0x20, // LD (0x2000), A  ; バンク2を選択
+      0xCD, 0x00, 0x40, // CALL 0x4000
+      0x4F,             // LD C, A
+      0x18, 0xFE        // JR -2 (0x0115)
+    );
+    write(rom, 0x4000, 0x3E, 0x11, 0xC9); // バンク1: LD A, 0x11 / RET
+    write(rom, 0x8000, 0x3E, 0x22, 0xC9); // バンク2: LD A, 0x22 / RET
+    try (Cartridge cartridge = createCartridge(rom, TestRoms.MBC1)) {
+      CPU cpu = runUntil(cartridge, ExecutionEngine.RECOMPILER, 0x0115);
+      assertEquals(0x11, cpu.registers.b);
+      assertEquals(0x22, cpu.registers.c);
+    }
+  }
+
+  // MARK: RAM上のコード
+  @Test
+  @DisplayName("Test code in RAM falls back to the interpreter after being rewritten")
+  public void testRecompilerRunsRewrittenRamCode() throws Exception {
+    int[] rom = new int[0x8000];
+    write(rom, 0x0100,
+      0x31, 0xFE, 0xDF, // LD SP, 0xDFFE
+      0x21, 0x00, 0xC0, // LD HL, 0xC000
+      0x36, 0x3C,       // LD (HL), 0x3C  ; INC A
+      0x2C,             // INC L
+      0x36, 0xC9,       // LD (HL), 0xC9  ; RET
+      0xAF,             // XOR A
+      0xCD, 0x00, 0xC0, // CALL 0xC000
+      0x2D,             // DEC L
+      0x36, 0x3D,       // LD (HL), 0x3D  ; DEC A に書き換え
+      0xCD, 0x00, 0xC0, // CALL 0xC000
+      0xCD, 0x00, 0xC0, // CALL 0xC000
+      0x18, 0xFE        // JR -2 (0x0118)
+    );
+    try (Cartridge cartridge = createCartridge(rom, TestRoms.ROM_ONLY)) {
+      CPU cpu = runUntil(cartridge, ExecutionEngine.RECOMPILER, 0x0118);
+      assertEquals(0xFF, cpu.registers.a); // +1 -1 -1
+    }
+  }
+}
@@ -9,7 +9,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, B with carry")
   public void testSBCAB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x98); // SBC A, B
     cpu.registers.a = 0x30;
     cpu.registers.b = 0x10;
@@ -27,7 +27,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, B without carry")
   public void testSBCABWithoutCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x98); // SBC A, B
     cpu.registers.a = 0x30;
     cpu.registers.b = 0x10;
@@ -45,7 +45,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, C with carry")
   public void testSBCAC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x99); // SBC A, C
     cpu.registers.a = 0x30;
     cpu.registers.c = 0x10;
@@ -63,7 +63,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, D with carry")
   public void testSBCAD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x9A); // SBC A, D
     cpu.registers.a = 0x30;
     cpu.registers.d = 0x10;
@@ -81,7 +81,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, E with carry")
   public void testSBCAE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x9B); // SBC A, E
     cpu.registers.a = 0x30;
     cpu.registers.e = 0x10;
@@ -99,7 +99,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, H with carry")
   public void testSBCAH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x9C); // SBC A, H
     cpu.registers.a = 0x30;
     cpu.registers.h = 0x10;
@@ -117,7 +117,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, L with carry")
   public void testSBCAL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x9D); // SBC A, L
     cpu.registers.a = 0x30;
     cpu.registers.l = 0x10;
@@ -135,7 +135,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, (HL) with carry")
   public void testSBCAHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x9E); // SBC A, (HL)
     cpu.registers.a = 0x30;
     cpu.registers.set_hl(0xC000);
@@ -154,7 +154,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, d8 with carry")
   public void testSBCAd8() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xDE); // SBC A, d8
     cpu.bus.writeByte(0x0001, 0x10); // 即値0x10
     cpu.registers.a = 0x30;
@@ -172,7 +172,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, A with carry")
   public void testSBCAA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x9F); // SBC A, A
     cpu.registers.a = 0x42;
     cpu.registers.f.carry = true; // キャリーフラグをセット
@@ -189,7 +189,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, A without carry")
   public void testSBCAAwithoutCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x9F); // SBC A, A
     cpu.registers.a = 0x42;
     cpu.registers.f.carry = false; // キャリーフラグをリセット
@@ -206,7 +206,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, B with half carry")
   public void testSBCABWithHalfCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x98); // SBC A, B
     cpu.registers.a = 0x20;
     cpu.registers.b = 0x11;
@@ -224,7 +224,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, C resulting in zero")
   public void testSBCACZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x99); // SBC A, C
     cpu.registers.a = 0x10;
     cpu.registers.c = 0x10;
@@ -242,7 +242,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, d8 with carry and half carry")
   public void testSBCAd8CarryAndHalfCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xDE); // SBC A, d8
     cpu.bus.writeByte(0x0001, 0x21); // 即値0x21
     cpu.registers.a = 0x10;
@@ -260,7 +260,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, E resulting in zero with carry")
   public void testSBCAEZeroWithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x9B); // SBC A, E
     cpu.registers.a = 0x11;
     cpu.registers.e = 0x10;
@@ -278,7 +278,7 @@ public class SBCTest {
   @Test
   @DisplayName("Test SBC A, L with all flags set")
   public void testSBCALAllFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x9D); // SBC A, L
     cpu.registers.a = 0x00;
     cpu.registers.l = 0x00;
@@ -9,7 +9,7 @@ public class SCFTest {
   @Test
   @DisplayName("Test SCF when carry flag is reset")
   public void testSCFWhenCarryFlagReset() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x37); // SCF命令
     cpu.registers.f.carry = false; // キャリーフラグをリセット
     cpu.registers.f.subtract = true; // サブトラクトフラグをセット
@@ -29,7 +29,7 @@ public class SCFTest {
   @Test
   @DisplayName("Test SCF when carry flag is already set")
   public void testSCFWhenCarryFlagSet() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x37); // SCF命令
     cpu.registers.f.carry = true; // キャリーフラグをセット
     cpu.registers.f.subtract = true; // サブトラクトフラグをセット
@@ -49,7 +49,7 @@ public class SCFTest {
   @Test
   @DisplayName("Test SCF after arithmetic operation")
   public void testSCFAfterArithmetic() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     // 最初に減算命令を実行
     cpu.bus.writeByte(0x0000, 0x90); // SUB A, B
     cpu.registers.a = 0x10;
@@ -77,7 +77,7 @@ public class SCFTest {
   @Test
   @DisplayName("Test SCF preserves other register values")
   public void testSCFPreservesRegisters() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x37); // SCF命令
     
     // 各レジスタに値をセット
@@ -112,7 +112,7 @@ public class SCFTest {
   @Test
   @DisplayName("Test SCF with all flags initially set")
   public void testSCFWithAllFlagsSet() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x37); // SCF命令
     
     // すべてのフラグをセット
@@ -135,7 +135,7 @@ public class SCFTest {
   @Test
   @DisplayName("Test SCF with all flags initially reset")
   public void testSCFWithAllFlagsReset() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x37); // SCF命令
     
     // すべてのフラグをリセット
@@ -158,7 +158,7 @@ public class SCFTest {
   @Test
   @DisplayName("Test multiple consecutive SCF instructions")
   public void testConsecutiveSCF() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x37); // 1回目のSCF
     cpu.bus.writeByte(0x0001, 0x37); // 2回目のSCF
     cpu.bus.writeByte(0x0002, 0x37); // 3回目のSCF
@@ -193,7 +193,7 @@ public class SCFTest {
   @Test
   @DisplayName("Test SCF after CCF")
   public void testSCFAfterCCF() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x3F); // CCF命令
     cpu.bus.writeByte(0x0001, 0x37); // SCF命令
     
@@ -9,7 +9,7 @@ public class SETTest {
   @Test
   @DisplayName("Test SET 0, B instruction")
   public void testSET0B() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xC0); // SET 0, B
     cpu.registers.b = 0x00; // すべてのビットが0
@@ -22,7 +22,7 @@ public class SETTest {
   @Test
   @DisplayName("Test SET 1, C instruction")
   public void testSET1C() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xC9); // SET 1, C
     cpu.registers.c = 0x00; // すべてのビットが0
@@ -35,7 +35,7 @@ public class SETTest {
   @Test
   @DisplayName("Test SET 2, D instruction")
   public void testSET2D() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xD2); // SET 2, D
     cpu.registers.d = 0x00; // すべてのビットが0
@@ -48,7 +48,7 @@ public class SETTest {
   @Test
   @DisplayName("Test SET 3, E instruction")
   public void testSET3E() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xDB); // SET 3, E
     cpu.registers.e = 0x00; // すべてのビットが0
@@ -61,7 +61,7 @@ public class SETTest {
   @Test
   @DisplayName("Test SET 4, H instruction")
   public void testSET4H() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xE4); // SET 4, H
     cpu.registers.h = 0x00; // すべてのビットが0
@@ -74,7 +74,7 @@ public class SETTest {
   @Test
   @DisplayName("Test SET 5, L instruction")
   public void testSET5L() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xED); // SET 5, L
     cpu.registers.l = 0x00; // すべてのビットが0
@@ -87,7 +87,7 @@ public class SETTest {
   @Test
   @DisplayName("Test SET 6, A instruction")
   public void testSET6A() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xF7); // SET 6, A
     cpu.registers.a = 0x00; // すべてのビットが0
@@ -100,7 +100,7 @@ public class SETTest {
   @Test
   @DisplayName("Test SET 7, (HL) instruction")
   public void testSET7HL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xFE); // SET 7, (HL)
     cpu.registers.set_hl(0xC000);
@@ -114,7 +114,7 @@ public class SETTest {
   @Test
   @DisplayName("Test SET 0, B when bit is already set")
   public void testSET0B_AlreadySet() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xC0); // SET 0, B
     cpu.registers.b = 0x01; // ビット0はすでに1
@@ -127,7 +127,7 @@ public class SETTest {
   @Test
   @DisplayName("Test SET 3, C preserving other bits")
   public void testSET3C_PreserveOtherBits() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xD9); // SET 3, C
     cpu.registers.c = 0x45; // 0100 0101 - 他のビットが混在
@@ -140,7 +140,7 @@ public class SETTest {
   @Test
   @DisplayName("Test SET 7, A with mixed bits")
   public void testSET7A_MixedBits() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xFF); // SET 7, A
     cpu.registers.a = 0x2A; // 0010 1010 - 複数のビットが混在
@@ -153,7 +153,7 @@ public class SETTest {
   @Test
   @DisplayName("Test multiple SET operations on same register")
   public void testMultipleSET() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     
     // 最初のSET命令: SET 0, B
     cpu.bus.writeByte(0x0000, 0xCB);
@@ -184,7 +184,7 @@ public class SETTest {
   @Test
   @DisplayName("Test setting all bits with SET instructions")
   public void testSetAllBits() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.registers.a = 0x00; // すべてのビットが0
     
     // すべてのビットをセット
@@ -202,7 +202,7 @@ public class SETTest {
   @Test
   @DisplayName("Test SET instruction with all bit positions on register B")
   public void testSETAllPositions_B() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     
     // SET 0, B
     cpu.bus.writeByte(0x0000, 0xCB);
@@ -273,7 +273,7 @@ public class SETTest {
   @Test
   @DisplayName("Test SET 7 instruction with all registers")
   public void testSET7_AllRegisters() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     
     // SET 7, B
     cpu.bus.writeByte(0x0000, 0xCB);
@@ -336,7 +336,7 @@ public class SETTest {
   @Test
   @DisplayName("Test SET affecting only specified bit")
   public void testSETOnlyAffectsSpecifiedBit() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xE1); // SET 4, C
     cpu.registers.c = 0x0A; // 0000 1010 - 他のビットが混在
@@ -356,7 +356,7 @@ public class SETTest {
   @Test
   @DisplayName("Test SET instruction does not affect flags")
   public void testSETDoesNotAffectFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0xC7); // SET 0, A
     
@@ -9,7 +9,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA A instruction")
   public void testSLAA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x27); // SLA A
     cpu.registers.a = 0x85; // 10000101
@@ -26,7 +26,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA B instruction")
   public void testSLAB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x20); // SLA B
     cpu.registers.b = 0x85; // 10000101
@@ -43,7 +43,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA C instruction")
   public void testSLAC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x21); // SLA C
     cpu.registers.c = 0x85; // 10000101
@@ -60,7 +60,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA D instruction")
   public void testSLAD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x22); // SLA D
     cpu.registers.d = 0x85; // 10000101
@@ -77,7 +77,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA E instruction")
   public void testSLAE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x23); // SLA E
     cpu.registers.e = 0x85; // 10000101
@@ -94,7 +94,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA H instruction")
   public void testSLAH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x24); // SLA H
     cpu.registers.h = 0x85; // 10000101
@@ -111,7 +111,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA L instruction")
   public void testSLAL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x25); // SLA L
     cpu.registers.l = 0x85; // 10000101
@@ -128,7 +128,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA (HL) instruction")
   public void testSLAHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x26); // SLA (HL)
     cpu.registers.set_hl(0xC000);
@@ -146,7 +146,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA A with MSB=0")
   public void testSLAAWithMSB0() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x27); // SLA A
     cpu.registers.a = 0x42; // 01000010
@@ -163,7 +163,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA B resulting in zero")
   public void testSLABZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x20); // SLA B
     cpu.registers.b = 0x80; // 10000000
@@ -180,7 +180,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA C with all ones")
   public void testSLACAllOnes() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x21); // SLA C
     cpu.registers.c = 0xFF; // 11111111
@@ -197,7 +197,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA D with all zeros")
   public void testSLADAllZeros() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x22); // SLA D
     cpu.registers.d = 0x00; // 00000000
@@ -214,7 +214,7 @@ public class SLATest {
   @Test
   @DisplayName("Test consecutive SLA E operations")
   public void testSLAEConsecutive() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x23); // SLA E
     
@@ -247,7 +247,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA L with only bit 7 set")
   public void testSLALOnlyBit7Set() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x25); // SLA L
     cpu.registers.l = 0x80; // 10000000
@@ -264,7 +264,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA (HL) flag changes")
   public void testSLAHLFlagChanges() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x26); // SLA (HL)
     cpu.registers.set_hl(0xC000);
@@ -293,7 +293,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA H with 8-bit overflow")
   public void testSLAHOverflow() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x24); // SLA H
     cpu.registers.h = 0xFF; // 11111111
@@ -310,7 +310,7 @@ public class SLATest {
   @Test
   @DisplayName("Test SLA instruction on all registers")
   public void testSLAAllRegisters() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     final int testValue = 0x81; // 10000001
     final int expectedResult = 0x02; // 00000010
     
@@ -9,7 +9,7 @@ public class SRATest {
   @Test
   @DisplayName("Test SRA A instruction")
   public void testSRAA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x2F); // SRA A
     cpu.registers.a = 0x85; // 10000101
@@ -26,7 +26,7 @@ public class SRATest {
   @Test
   @DisplayName("Test SRA B instruction")
   public void testSRAB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x28); // SRA B
     cpu.registers.b = 0x85; // 10000101
@@ -43,7 +43,7 @@ public class SRATest {
   @Test
   @DisplayName("Test SRA C instruction")
   public void testSRAC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x29); // SRA C
     cpu.registers.c = 0x85; // 10000101
@@ -60,7 +60,7 @@ public class SRATest {
   @Test
   @DisplayName("Test SRA D instruction")
   public void testSRAD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x2A); // SRA D
     cpu.registers.d = 0x85; // 10000101
@@ -77,7 +77,7 @@ public class SRATest {
   @Test
   @DisplayName("Test SRA E instruction")
   public void testSRAE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x2B); // SRA E
     cpu.registers.e = 0x85; // 10000101
@@ -94,7 +94,7 @@ public class SRATest {
   @Test
   @DisplayName("Test SRA H instruction")
   public void testSRAH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x2C); // SRA H
     cpu.registers.h = 0x85; // 10000101
@@ -111,7 +111,7 @@ public class SRATest {
   @Test
   @DisplayName("Test SRA L instruction")
   public void testSRAL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x2D); // SRA L
     cpu.registers.l = 0x85; // 10000101
@@ -128,7 +128,7 @@ public class SRATest {
   @Test
   @DisplayName("Test SRA (HL) instruction")
   public void testSRAHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x2E); // SRA (HL)
     cpu.registers.set_hl(0xC000);
@@ -146,7 +146,7 @@ public class SRATest {
   @Test
   @DisplayName("Test SRA A with MSB=0")
   public void testSRAAWithMSB0() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x2F); // SRA A
     cpu.registers.a = 0x42; // 01000010
@@ -163,7 +163,7 @@ public class SRATest {
   @Test
   @DisplayName("Test SRA B resulting in zero")
   public void testSRABZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x28); // SRA B
     cpu.registers.b = 0x01; // 00000001
@@ -180,7 +180,7 @@ public class SRATest {
   @Test
   @DisplayName("Test SRA C with all ones")
   public void testSRACAllOnes() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x29); // SRA C
     cpu.registers.c = 0xFF; // 11111111
@@ -197,7 +197,7 @@ public class SRATest {
   @Test
   @DisplayName("Test SRA D with all zeros")
   public void testSRADAllZeros() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x2A); // SRA D
     cpu.registers.d = 0x00; // 00000000
@@ -214,7 +214,7 @@ public class SRATest {
   @Test
   @DisplayName("Test consecutive SRA E operations")
   public void testSRAEConsecutive() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x2B); // SRA E
     
@@ -9,7 +9,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL A instruction")
   public void testSRLA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CBプレフィックス
     cpu.bus.writeByte(0x0001, 0x3F); // SRL A
     cpu.registers.a = 0x85; // 10000101
@@ -26,7 +26,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL B instruction")
   public void testSRLB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x38); // SRL B
     cpu.registers.b = 0x85; // 10000101
@@ -43,7 +43,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL C instruction")
   public void testSRLC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x39); // SRL C
     cpu.registers.c = 0x85; // 10000101
@@ -60,7 +60,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL D instruction")
   public void testSRLD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x3A); // SRL D
     cpu.registers.d = 0x85; // 10000101
@@ -77,7 +77,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL E instruction")
   public void testSRLE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x3B); // SRL E
     cpu.registers.e = 0x85; // 10000101
@@ -94,7 +94,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL H instruction")
   public void testSRLH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x3C); // SRL H
     cpu.registers.h = 0x85; // 10000101
@@ -111,7 +111,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL L instruction")
   public void testSRLL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x3D); // SRL L
     cpu.registers.l = 0x85; // 10000101
@@ -128,7 +128,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL (HL) instruction")
   public void testSRLHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x3E); // SRL (HL)
     cpu.registers.set_hl(0xC000);
@@ -146,7 +146,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL A with LSB=0")
   public void testSRLAWithLSB0() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x3F); // SRL A
     cpu.registers.a = 0x84; // 10000100
@@ -163,7 +163,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL B resulting in zero")
   public void testSRLBZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x38); // SRL B
     cpu.registers.b = 0x01; // 00000001
@@ -180,7 +180,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL C with all ones")
   public void testSRLCAllOnes() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x39); // SRL C
     cpu.registers.c = 0xFF; // 11111111
@@ -197,7 +197,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL D with all zeros")
   public void testSRLDAllZeros() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x3A); // SRL D
     cpu.registers.d = 0x00; // 00000000
@@ -214,7 +214,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test consecutive SRL E operations")
   public void testSRLEConsecutive() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x3B); // SRL E
     
@@ -247,7 +247,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL H with only bit 7 set")
   public void testSRLHOnlyBit7Set() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x3C); // SRL H
     cpu.registers.h = 0x80; // 10000000
@@ -264,7 +264,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL (HL) flag changes")
   public void testSRLHLFlagChanges() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x3E); // SRL (HL)
     cpu.registers.set_hl(0xC000);
@@ -293,7 +293,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL A with 8 shifts results in zero")
   public void testSRLAEightShifts() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x3F); // SRL A
     
@@ -319,7 +319,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL instruction on all registers")
   public void testSRLAllRegisters() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     final int testValue = 0x81; // 10000001
     final int expectedResult = 0x40; // 01000000
     
@@ -400,7 +400,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL L with only bit 0 set")
   public void testSRLLOnlyBit0Set() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x3D); // SRL L
     cpu.registers.l = 0x01; // 00000001
@@ -417,7 +417,7 @@ public class SRLTest {
   @Test
   @DisplayName("Test SRL A with flags set before execution")
   public void testSRLAWithPresetFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x3F); // SRL A
     cpu.registers.a = 0x01; // 00000001
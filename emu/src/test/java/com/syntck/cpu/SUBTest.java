@@ -9,7 +9,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, B instruction")
   public void testSUBAB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x90); // SUB A, B
     cpu.registers.a = 0x42;
     cpu.registers.b = 0x10;
@@ -26,7 +26,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, C instruction")
   public void testSUBAC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x91); // SUB A, C
     cpu.registers.a = 0x42;
     cpu.registers.c = 0x30;
@@ -43,7 +43,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, D instruction")
   public void testSUBAD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x92); // SUB A, D
     cpu.registers.a = 0x42;
     cpu.registers.d = 0x20;
@@ -60,7 +60,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, E instruction")
   public void testSUBAE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x93); // SUB A, E
     cpu.registers.a = 0x42;
     cpu.registers.e = 0x20;
@@ -77,7 +77,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, H instruction")
   public void testSUBAH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x94); // SUB A, H
     cpu.registers.a = 0x42;
     cpu.registers.h = 0x20;
@@ -94,7 +94,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, L instruction")
   public void testSUBAL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x95); // SUB A, L
     cpu.registers.a = 0x42;
     cpu.registers.l = 0x20;
@@ -111,7 +111,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, (HL) instruction")
   public void testSUBAHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x96); // SUB A, (HL)
     cpu.registers.a = 0x42;
     cpu.registers.set_hl(0xC000);
@@ -129,7 +129,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, d8 instruction")
   public void testSUBAd8() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xD6); // SUB A, d8
     cpu.bus.writeByte(0x0001, 0x20); // 即値0x20
     cpu.registers.a = 0x42;
@@ -146,7 +146,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, A instruction")
   public void testSUBAA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x97); // SUB A, A
     cpu.registers.a = 0x42;
     cpu.step();
@@ -162,7 +162,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, B with carry")
   public void testSUBABWithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x90); // SUB A, B
     cpu.registers.a = 0x20;
     cpu.registers.b = 0x30; // Bの方が大きい
@@ -179,7 +179,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, C with half carry")
   public void testSUBACWithHalfCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x91); // SUB A, C
     cpu.registers.a = 0x10;
     cpu.registers.c = 0x01; // 下位4ビットで借りが発生
@@ -196,7 +196,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, D with half carry and carry")
   public void testSUBADWithHalfCarryAndCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x92); // SUB A, D
     cpu.registers.a = 0x02;
     cpu.registers.d = 0x13; // 下位4ビットと全体で借りが発生
@@ -213,7 +213,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, H resulting in zero")
   public void testSUBAHZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x94); // SUB A, H
     cpu.registers.a = 0x40;
     cpu.registers.h = 0x40;
@@ -230,7 +230,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, L with half carry")
   public void testSUBALWithHalfCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x95); // SUB A, L
     cpu.registers.a = 0x20;
     cpu.registers.l = 0x11; // 下位4ビットで借りが発生
@@ -247,7 +247,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, d8 with carry")
   public void testSUBAd8WithCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xD6); // SUB A, d8
     cpu.bus.writeByte(0x0001, 0xFF); // 即値0xFF
     cpu.registers.a = 0x42;
@@ -264,7 +264,7 @@ public class SUBTest {
   @Test
   @DisplayName("Test SUB A, (HL) with half carry")
   public void testSUBAHLWithHalfCarry() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0x96); // SUB A, (HL)
     cpu.registers.a = 0x42;
     cpu.registers.set_hl(0xC000);
@@ -9,7 +9,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP A instruction")
   public void testSWAPA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB); // CB prefix
     cpu.bus.writeByte(0x0001, 0x37); // SWAP A
     cpu.registers.a = 0x12; // 0001 0010
@@ -26,7 +26,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP B instruction")
   public void testSWAPB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x30); // SWAP B
     cpu.registers.b = 0xAB; // 1010 1011
@@ -43,7 +43,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP C instruction")
   public void testSWAPC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x31); // SWAP C
     cpu.registers.c = 0xF0; // 1111 0000
@@ -60,7 +60,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP D instruction")
   public void testSWAPD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x32); // SWAP D
     cpu.registers.d = 0x0F; // 0000 1111
@@ -77,7 +77,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP E instruction")
   public void testSWAPE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x33); // SWAP E
     cpu.registers.e = 0x35; // 0011 0101
@@ -94,7 +94,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP H instruction")
   public void testSWAPH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x34); // SWAP H
     cpu.registers.h = 0x72; // 0111 0010
@@ -111,7 +111,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP L instruction")
   public void testSWAPL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x35); // SWAP L
     cpu.registers.l = 0x19; // 0001 1001
@@ -128,7 +128,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP (HL) instruction")
   public void testSWAPHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x36); // SWAP (HL)
     cpu.registers.set_hl(0xC000);
@@ -146,7 +146,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP A resulting in zero")
   public void testSWAPA_Zero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x37); // SWAP A
     cpu.registers.a = 0x00; // すべてのビットが0
@@ -163,7 +163,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP B with upper nibble only")
   public void testSWAPB_UpperNibbleOnly() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x30); // SWAP B
     cpu.registers.b = 0x40; // 0100 0000 - 上位4ビットのみ値あり
@@ -180,7 +180,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP C with lower nibble only")
   public void testSWAPC_LowerNibbleOnly() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x31); // SWAP C
     cpu.registers.c = 0x08; // 0000 1000 - 下位4ビットのみ値あり
@@ -197,7 +197,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP D preserves original flags")
   public void testSWAPD_PreserveFlags() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x32); // SWAP D
     cpu.registers.d = 0x67; // 0110 0111
@@ -222,7 +222,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP E with same upper and lower nibbles")
   public void testSWAPE_SameNibbles() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x33); // SWAP E
     cpu.registers.e = 0x33; // 0011 0011 - 上位と下位が同じ
@@ -239,7 +239,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test multiple consecutive SWAP operations")
   public void testMultipleSWAP() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     
     // 最初のSWAP命令: SWAP B
     cpu.bus.writeByte(0x0000, 0xCB);
@@ -264,7 +264,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP on all registers with the same value")
   public void testSWAPAllRegisters() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     final int testValue = 0x3C; // 0011 1100
     final int swappedValue = 0xC3; // 1100 0011
     
@@ -329,7 +329,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP (HL) memory operation")
   public void testSWAPHL_Memory() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x36); // SWAP (HL)
     cpu.registers.set_hl(0xC000);
@@ -351,7 +351,7 @@ public class SWAPTest {
   @Test
   @DisplayName("Test SWAP instruction uses 2 bytes")
   public void testSWAP_TwoBytesUsage() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xCB);
     cpu.bus.writeByte(0x0001, 0x37); // SWAP A
     cpu.bus.writeByte(0x0002, 0x00); // NOP (次の命令)
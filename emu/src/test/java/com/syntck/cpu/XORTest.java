@@ -9,7 +9,7 @@ public class XORTest {
   @Test
   @DisplayName("Test XOR A, B instruction")
   public void testXORAB() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xA8); // XOR A, B
     cpu.registers.a = 0x5A;
     cpu.registers.b = 0x3F;
@@ -26,7 +26,7 @@ public class XORTest {
   @Test
   @DisplayName("Test XOR A, C instruction")
   public void testXORAC() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xA9); // XOR A, C
     cpu.registers.a = 0x5A;
     cpu.registers.c = 0x3F;
@@ -43,7 +43,7 @@ public class XORTest {
   @Test
   @DisplayName("Test XOR A, D instruction")
   public void testXORAD() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xAA); // XOR A, D
     cpu.registers.a = 0x5A;
     cpu.registers.d = 0x3F;
@@ -60,7 +60,7 @@ public class XORTest {
   @Test
   @DisplayName("Test XOR A, E instruction")
   public void testXORAE() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xAB); // XOR A, E
     cpu.registers.a = 0x5A;
     cpu.registers.e = 0x3F;
@@ -77,7 +77,7 @@ public class XORTest {
   @Test
   @DisplayName("Test XOR A, H instruction")
   public void testXORAH() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xAC); // XOR A, H
     cpu.registers.a = 0x5A;
     cpu.registers.h = 0x3F;
@@ -94,7 +94,7 @@ public class XORTest {
   @Test
   @DisplayName("Test XOR A, L instruction")
   public void testXORAL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xAD); // XOR A, L
     cpu.registers.a = 0x5A;
     cpu.registers.l = 0x3F;
@@ -111,7 +111,7 @@ public class XORTest {
   @Test
   @DisplayName("Test XOR A, (HL) instruction")
   public void testXORAHL() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xAE); // XOR A, (HL)
     cpu.registers.a = 0x5A;
     cpu.registers.set_hl(0xC000);
@@ -129,7 +129,7 @@ public class XORTest {
   @Test
   @DisplayName("Test XOR A, d8 instruction")
   public void testXORAd8() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xEE); // XOR A, d8
     cpu.bus.writeByte(0x0001, 0x3F); // 即値0x3F
     cpu.registers.a = 0x5A;
@@ -146,7 +146,7 @@ public class XORTest {
   @Test
   @DisplayName("Test XOR A, A instruction")
   public void testXORAA() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xAF); // XOR A, A
     cpu.registers.a = 0x5A;
     cpu.step();
@@ -162,7 +162,7 @@ public class XORTest {
   @Test
   @DisplayName("Test XOR A with zero operand")
   public void testXORWithZeroOperand() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xA9); // XOR A, C
     cpu.registers.a = 0x5A;
     cpu.registers.c = 0x00; // Cレジスタに0をセット
@@ -179,7 +179,7 @@ public class XORTest {
   @Test
   @DisplayName("Test XOR resulting in zero")
   public void testXORResultingInZero() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xA8); // XOR A, B
     cpu.registers.a = 0xFF;
     cpu.registers.b = 0xFF;
@@ -196,7 +196,7 @@ public class XORTest {
   @Test
   @DisplayName("Test XOR with complementary values")
   public void testXORComplementary() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xA8); // XOR A, B
     cpu.registers.a = 0x55; // 0101 0101
     cpu.registers.b = 0xAA; // 1010 1010
@@ -213,7 +213,7 @@ public class XORTest {
   @Test
   @DisplayName("Test sequential XOR operations")
   public void testSequentialXOR() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     // 最初のXOR命令
     cpu.bus.writeByte(0x0000, 0xEE); // XOR A, d8
     cpu.bus.writeByte(0x0001, 0xAA); // 即値0xAA
@@ -238,7 +238,7 @@ public class XORTest {
   @Test
   @DisplayName("Test XOR with all bits set")
   public void testXORWithAllBits() throws Exception {
-    CPU cpu = new CPU();
+    CPU cpu = new FlagsViewCPU();
     cpu.bus.writeByte(0x0000, 0xAB); // XOR A, E
     cpu.registers.a = 0x00;
     cpu.registers.e = 0xFF; // 全ビットセット
@@ -0,0 +1,120 @@
+package com.syntck.emulator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.syntck.TestRoms;
+import com.syntck.joypad.Joypad;
+
+public class BatchExecutorTest {
+  private static final int[] VARIANTS = {
+    Joypad.RIGHT, Joypad.LEFT | Joypad.UP, Joypad.DOWN, Joypad.RIGHT | Joypad.LEFT | Joypad.UP | Joypad.DOWN,
+  };
+
+  @TempDir
+  File tempDir;
+
+  // 方向キーの状態をBレジスタに足し込み、その値をタイル0に書き込み続けるROM (32KB, ROM ONLY) を書き出す
+  private String writeRom() throws Exception {
+    return TestRoms.writeProgram(this.tempDir, TestRoms.ROM_ONLY,
+      0x3E, 0xE4,       // LD A,0xE4
+      0xE0, 0x47,       // LDH (BGP),A
+      0x3E, 0x20,       // LD A,0x20 (方向キーを選択)
+      0xE0, 0x00,       // LDH (P1),A
+      0xF0, 0x00,       // loop: LDH A,(P1)
+      0xE6, 0x0F,       // AND 0x0F
+      0x80,             // ADD A,B
+      0x47,             // LD B,A
+      0x21, 0x00, 0x80, // LD HL,0x8000
+      0x22,             // LD (HL+),A
+      0x77,             // LD (HL),A
+      0x18, 0xF3        // JR loop
+    );
+  }
+
+  private BatchJob createJob(String rom, int index) {
+    int variant = VARIANTS[index % VARIANTS.length];
+    return new BatchJob("job-" + index, rom, 3)
+      .press(0, variant)
+      .press(2, variant ^ Joypad.RIGHT)
+      .expect("running the loop", e -> e.getCPU().pc >= 0x0108 && e.getCPU().pc <= 0x0114);
+  }
+
+  // MARK: 結果
+  @Test
+  @DisplayName("Test results report passes, failed assertions and errors")
+  public void testResults() throws Exception {
+    String rom = writeRom();
+    List<BatchJob> jobs = new ArrayList<>();
+    jobs.add(createJob(rom, 0));
+    jobs.add(new BatchJob("failing", rom, 1).expect("never", e -> false));
+    jobs.add(new BatchJob("missing", new File(this.tempDir, "missing.gb").getPath(), 1));
+
+    List<BatchResult> results = new ArrayList<>();
+    try (BatchExecutor executor = new BatchExecutor(2)) {
+      assertEquals(2, executor.run(jobs, results::add));
+    }
+
+    assertEquals(3, results.size());
+    for (BatchResult result : results) {
+      switch (result.getJob().getName()) {
+        case "failing":
+          assertFalse(result.isPassed());
+          assertEquals(1, result.getFailures().size());
+          assertNull(result.getError());
+          break;
+        case "missing":
+          assertFalse(result.isPassed());
+          assertNotNull(result.getError());
+          break;
+        default:
+          assertTrue(result.isPassed(), result.toString());
+          assertEquals(3, result.getFrames());
+          break;
+      }
+    }
+  }
+
+  // MARK: 並列実行
+  @Test
+  @DisplayName("Test 1000 concurrent instances match their sequential runs")
+  public void testConcurrentInstances() throws Exception {
+    String rom = writeRom();
+
+    // 入力ごとに、1つずつ実行した場合の結果を求めておく
+    BatchResult[] expected = new BatchResult[VARIANTS.length];
+    Set<Long> hashes = new HashSet<>();
+    for (int i = 0; i < VARIANTS.length; i++) {
+      expected[i] = createJob(rom, i).run();
+      assertTrue(expected[i].isPassed(), expected[i].toString());
+      hashes.add(expected[i].getFrameHash());
+    }
+    assertEquals(VARIANTS.length, hashes.size()); // 入力によって画面が変わる
+
+    List<BatchJob> jobs = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) jobs.add(createJob(rom, i));
+
+    // コア数が少なくてもインスタンスが入れ替わりながら実行されるよう、スレッドを多めにする
+    Set<String> names = new HashSet<>();
+    try (BatchExecutor executor = new BatchExecutor(Math.max(8, Runtime.getRuntime().availableProcessors()))) {
+      int failed = executor.run(jobs, result -> {
+        int index = Integer.parseInt(result.getJob().getName().substring("job-".length()));
+        BatchResult reference = expected[index % VARIANTS.length];
+        assertTrue(result.isPassed(), result.toString());
+        assertEquals(reference.getFrameHash(), result.getFrameHash(), result.toString());
+        assertEquals(reference.getCycles(), result.getCycles(), result.toString());
+        names.add(result.getJob().getName());
+      });
+      assertEquals(0, failed);
+    }
+    assertEquals(1000, names.size());
+  }
+}
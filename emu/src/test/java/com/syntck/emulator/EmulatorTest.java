@@ -0,0 +1,133 @@
+package com.syntck.emulator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.syntck.TestRoms;
+import com.syntck.joypad.Joypad;
+import com.syntck.memory.MemoryFootprint;
+import com.syntck.scheduler.FramePacer;
+
+public class EmulatorTest {
+  @TempDir
+  File tempDir;
+
+  // Bレジスタをインクリメントし続けるROM (32KB, ROM ONLY) を書き出す
+  private String writeRom() throws Exception {
+    return TestRoms.writeProgram(this.tempDir, TestRoms.ROM_ONLY,
+      0x04,      // INC B
+      0x18, 0xFD // JR -3
+    );
+  }
+
+  // MARK: 実行
+  @Test
+  @DisplayName("Test frames run exactly one frame of cycles apart")
+  public void testRunFrames() throws Exception {
+    try (Emulator emulator = new Emulator(writeRom())) {
+      emulator.runFrames(2);
+      assertEquals(2, emulator.getFrameCount());
+      long cycles = emulator.getCycles();
+
+      emulator.runFrames(3);
+      assertEquals(5, emulator.getFrameCount());
+      assertTrue(Math.abs(emulator.getCycles() - cycles - 3 * FramePacer.CYCLES_PER_FRAME) < 24); // 最後の命令の分だけずれる
+      assertEquals(160 * 144, emulator.getFrame().length);
+    }
+  }
+
+  @Test
+  @DisplayName("Test running by cycles and until a condition")
+  public void testRunCyclesAndUntil() throws Exception {
+    try (Emulator emulator = new Emulator(writeRom())) {
+      emulator.runCycles(1000);
+      assertTrue(emulator.getCycles() >= 1000);
+
+      emulator.runUntil(e -> e.getCPU().registers.b == 0x80);
+      assertEquals(0x80, emulator.getCPU().registers.b);
+
+      long cycles = emulator.getCycles();
+      assertFalse(emulator.runUntil(e -> false, 500)); // 条件を満たさないまま上限に達した
+      assertTrue(emulator.getCycles() - cycles >= 500);
+    }
+  }
+
+  // MARK: 入力
+  @Test
+  @DisplayName("Test button masks are visible through the joypad register")
+  public void testSetButtons() throws Exception {
+    try (Emulator emulator = new Emulator(writeRom())) {
+      emulator.setButtons(Joypad.LEFT | Joypad.A | Joypad.START);
+
+      emulator.getCPU().bus.writeByte(0xFF00, 0x20); // 方向キーを選択
+      assertEquals(0x0D, emulator.getCPU().bus.readByte(0xFF00) & 0x0F);
+      emulator.getCPU().bus.writeByte(0xFF00, 0x10); // ボタンを選択
+      assertEquals(0x06, emulator.getCPU().bus.readByte(0xFF00) & 0x0F);
+
+      emulator.setButtons(0);
+      assertEquals(0x0F, emulator.getCPU().bus.readByte(0xFF00) & 0x0F);
+    }
+  }
+
+  // MARK: コマンドライン
+  @Test
+  @DisplayName("Test the command line runner reports exit codes")
+  public void testHeadlessRunner() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PrintStream printer = new PrintStream(out, true);
+    PrintStream discard = new PrintStream(new ByteArrayOutputStream());
+
+    assertEquals(HeadlessRunner.EXIT_USAGE, HeadlessRunner.run(new String[] {}, printer, discard));
+    assertEquals(HeadlessRunner.EXIT_USAGE, HeadlessRunner.run(new String[] { writeRom(), "x" }, printer, discard));
+    assertEquals(HeadlessRunner.EXIT_LOAD_ERROR,
+      HeadlessRunner.run(new String[] { new File(this.tempDir, "missing.gb").getPath(), "1" }, printer, discard));
+
+    assertEquals(HeadlessRunner.EXIT_OK, HeadlessRunner.run(new String[] { writeRom(), "4" }, printer, discard));
+    assertTrue(out.toString().contains("frames: 4"));
+    assertFalse(out.toString().contains("Memory footprint"));
+
+    // プロパティを指定した場合だけメモリ使用量を表示する
+    System.setProperty(MemoryFootprint.PROPERTY, "true");
+    try {
+      assertEquals(HeadlessRunner.EXIT_OK, HeadlessRunner.run(new String[] { writeRom(), "1" }, printer, discard));
+    } finally {
+      System.clearProperty(MemoryFootprint.PROPERTY);
+    }
+    assertTrue(out.toString().contains("Memory footprint"));
+  }
+
+  @Test
+  @DisplayName("Test the command line runner never loads AWT classes")
+  public void testHeadlessRunnerWithoutAWT() throws Exception {
+    String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    List<String> command = new ArrayList<>();
+    command.add(java);
+    command.add("-verbose:class");
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(HeadlessRunner.class.getName());
+    command.add(writeRom());
+    command.add("10");
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+    List<String> awtClasses = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.contains("java.awt.") || line.contains("javax.swing.")) awtClasses.add(line);
+      }
+    }
+    assertEquals(HeadlessRunner.EXIT_OK, process.waitFor());
+    assertTrue(awtClasses.isEmpty(), awtClasses.toString());
+  }
+}
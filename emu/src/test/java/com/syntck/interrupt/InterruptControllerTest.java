@@ -0,0 +1,61 @@
+package com.syntck.interrupt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import com.syntck.cpu.CPU;
+
+public class InterruptControllerTest {
+  // MARK: pending
+  @Test
+  @DisplayName("Test pending mask follows IF and IE")
+  public void testPending() throws Exception {
+    InterruptController interrupts = new InterruptController();
+    assertEquals(0, interrupts.getPending());
+
+    interrupts.request(InterruptController.TIMER);
+    assertEquals(0, interrupts.getPending()); // 有効化されていない
+    interrupts.writeIE(0xFF);
+    assertEquals(InterruptController.TIMER, interrupts.getPending());
+
+    interrupts.request(InterruptController.VBLANK);
+    assertEquals(0x05, interrupts.getPending());
+    interrupts.acknowledge(InterruptController.VBLANK);
+    assertEquals(0x04, interrupts.getPending());
+
+    interrupts.writeIE(0x01);
+    assertEquals(0, interrupts.getPending());
+    interrupts.writeIF(0xFF);
+    assertEquals(0x01, interrupts.getPending()); // 上位3ビットは割り込みにならない
+  }
+
+  // MARK: レジスタ
+  @Test
+  @DisplayName("Test IF and IE are routed through the bus")
+  public void testRegisters() throws Exception {
+    CPU cpu = new CPU();
+
+    cpu.bus.writeByte(0xFF0F, 0x03);
+    assertEquals(0xE3, cpu.bus.readByte(0xFF0F)); // 上位3ビットは常に1
+    cpu.bus.writeByte(0xFFFF, 0xE2);
+    assertEquals(0xE2, cpu.bus.readByte(0xFFFF)); // IEは8ビットすべて読み書きできる
+    assertEquals(0x02, cpu.bus.interrupts.getPending());
+  }
+
+  // MARK: 割り込み処理
+  @Test
+  @DisplayName("Test CPU services the highest priority pending interrupt")
+  public void testServiceInterrupt() throws Exception {
+    CPU cpu = new CPU();
+    cpu.sp = 0xD000;
+    cpu.bus.writeByte(0xFFFF, 0x06); // LCD / タイマー割り込みを有効化
+    cpu.bus.writeByte(0xFF0F, 0x07); // V-Blankは有効化されていない
+
+    cpu.step(); // NOP の後に割り込みを処理する
+    assertEquals(0x0048, cpu.pc); // LCD割り込み (ビット1) を優先する
+    assertFalse(cpu.getInterruptMasterEnable());
+    assertEquals(0xE5, cpu.bus.readByte(0xFF0F)); // LCDの要求だけ取り下げる
+    assertEquals(0x0001, cpu.bus.readWord(cpu.sp)); // 戻りアドレス
+  }
+}
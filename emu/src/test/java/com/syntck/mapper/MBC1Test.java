@@ -0,0 +1,94 @@
+package com.syntck.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.nio.ByteBuffer;
+
+public class MBC1Test {
+  // 各バンクの先頭にバンク番号を書き込んだROMを生成する
+  private MBC1 createMBC1(int romSize, int ramSize) {
+    ByteBuffer rom = ByteBuffer.allocate(romSize);
+    for (int bank = 0; bank < romSize / 0x4000; bank++) {
+      rom.put(bank * 0x4000, (byte) bank);
+      rom.put(bank * 0x4000 + 0x3FFF, (byte) (bank ^ 0xFF));
+    }
+    return new MBC1(rom, new byte[ramSize], romSize, ramSize);
+  }
+
+  // MARK: ROMバンク
+  @Test
+  @DisplayName("Test ROM bank register selects the 0x4000 window")
+  public void testRomBank() throws Exception {
+    MBC1 mbc = createMBC1(0x40000, 0); // 256KB (16バンク)
+
+    assertEquals(0x00, mbc.readByte(0x0000));
+    assertEquals(0x01, mbc.readByte(0x4000)); // 初期値はバンク1
+
+    mbc.writeByte(0x2000, 0x05);
+    assertEquals(0x05, mbc.readByte(0x4000));
+    assertEquals(0x05 ^ 0xFF, mbc.readByte(0x7FFF));
+    assertEquals(0x05 * 0x4000 + 0x0123, mbc.getRomOffset(0x4123));
+
+    // バンク0は1として扱う
+    mbc.writeByte(0x2000, 0x00);
+    assertEquals(0x01, mbc.readByte(0x4000));
+
+    // バンク数を超える番号はバンク数でマスクされる
+    mbc.writeByte(0x2000, 0x13);
+    assertEquals(0x03, mbc.readByte(0x4000));
+    assertEquals(0x00, mbc.readByte(0x0000));
+  }
+
+  // MARK: 上位バンク
+  @Test
+  @DisplayName("Test secondary bank register selects upper ROM banks")
+  public void testSecondaryBank() throws Exception {
+    MBC1 mbc = createMBC1(0x100000, 0); // 1MB (64バンク)
+
+    mbc.writeByte(0x2000, 0x02);
+    mbc.writeByte(0x4000, 0x01);
+    assertEquals(0x22, mbc.readByte(0x4000));
+    assertEquals(0x00, mbc.readByte(0x0000)); // モード0ではバンク0は固定
+
+    // モード1ではバンク0の領域も上位ビットで切り替わる
+    mbc.writeByte(0x6000, 0x01);
+    assertEquals(0x20, mbc.readByte(0x0000));
+    assertEquals(0x20 * 0x4000 + 0x0010, mbc.getRomOffset(0x0010));
+    assertEquals(0x22, mbc.readByte(0x4000));
+
+    mbc.writeByte(0x6000, 0x00);
+    assertEquals(0x00, mbc.readByte(0x0000));
+  }
+
+  // MARK: RAM
+  @Test
+  @DisplayName("Test external RAM is enabled and banked")
+  public void testRam() throws Exception {
+    MBC1 mbc = createMBC1(0x8000, 0x8000); // RAM 32KB (4バンク)
+
+    // 無効な間は書き込めず、0xFFが読める
+    mbc.writeByte(0xA000, 0x12);
+    assertEquals(0xFF, mbc.readByte(0xA000));
+
+    mbc.writeByte(0x0000, 0x0A);
+    mbc.writeByte(0xA000, 0x12);
+    assertEquals(0x12, mbc.readByte(0xA000));
+
+    // モード1ではRAMバンクが切り替わる
+    mbc.writeByte(0x6000, 0x01);
+    mbc.writeByte(0x4000, 0x02);
+    assertEquals(0x00, mbc.readByte(0xA000));
+    mbc.writeByte(0xBFFF, 0x34);
+    assertEquals(0x34, mbc.readByte(0xBFFF));
+
+    mbc.writeByte(0x4000, 0x00);
+    assertEquals(0x12, mbc.readByte(0xA000));
+    assertEquals(0x00, mbc.readByte(0xBFFF));
+
+    // 無効化すると読み書きできなくなる
+    mbc.writeByte(0x0000, 0x00);
+    assertEquals(0xFF, mbc.readByte(0xA000));
+  }
+}
@@ -0,0 +1,204 @@
+package com.syntck.memory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+import com.syntck.TestRoms;
+import com.syntck.cartridge.Cartridge;
+import com.syntck.cpu.CPU;
+import com.syntck.scheduler.Event;
+
+public class MemoryBusTest {
+  @TempDir
+  File tempDir;
+
+  // ROM (32KB, MBC1, RAM 8KB) を読み込んだCPUを生成する
+  private CPU createCPU() throws Exception {
+    int[] rom = new int[TestRoms.ROM_SIZE];
+    rom[0x0149] = 0x02; // RAM 8KB
+    rom[0x0100] = 0x12;
+    rom[0x4000] = 0x34;
+    return new CPU(new Cartridge(TestRoms.write(this.tempDir, rom, TestRoms.MBC1)));
+  }
+
+  // MARK: ページ
+  @Test
+  @DisplayName("Test pages are routed to cartridge, VRAM, WRAM and OAM")
+  public void testPageRouting() throws Exception {
+    CPU cpu = createCPU();
+    MemoryBus bus = cpu.bus;
+
+    // ROM
+    assertEquals(0x12, bus.readByte(0x0100));
+    assertEquals(0x34, bus.readByte(0x4000));
+    bus.writeByte(0x2000, 0x01);
+    assertEquals(1, bus.bankSwitchCount);
+
+    // VRAM
+    bus.writeByte(0x8010, 0xAB);
+    assertEquals(0xAB, bus.gpu.vram[0x0010] & 0xFF);
+    assertEquals(0xAB, bus.readByte(0x8010));
+
+    // 外部RAM (有効化してから書き込む)
+    bus.writeByte(0x0000, 0x0A);
+    bus.writeByte(0xA123, 0x5A);
+    assertEquals(0x5A, bus.readByte(0xA123));
+
+    // WRAM
+    bus.writeByte(0xC123, 0x77);
+    assertEquals(0x77, bus.memory[0xC123] & 0xFF);
+    assertEquals(0x77, bus.readByte(0xC123));
+
+    // OAM
+    bus.writeByte(0xFE00, 0x10);
+    bus.writeByte(0xFE9F, 0x20);
+    assertEquals(0x10, bus.gpu.readOAM(0xFE00));
+    assertEquals(0x10, bus.readByte(0xFE00));
+    assertEquals(0x20, bus.readByte(0xFE9F));
+
+    // HRAM
+    bus.writeByte(0xFF80, 0x42);
+    assertEquals(0x42, bus.readByte(0xFF80));
+  }
+
+  @Test
+  @DisplayName("Test ROM pages follow MBC1 bank switching")
+  public void testRomBankSwitch() throws Exception {
+    int[] rom = new int[0x10000]; // 64KB (4バンク)
+    for (int bank = 0; bank < 4; bank++) {
+      rom[bank * 0x4000] = 0x10 + bank;
+      rom[bank * 0x4000 + 0x3FFF] = 0x20 + bank;
+    }
+    CPU cpu = new CPU(new Cartridge(TestRoms.write(this.tempDir, rom, TestRoms.MBC1)));
+    MemoryBus bus = cpu.bus;
+
+    assertEquals(0x10, bus.readByte(0x0000));
+    assertEquals(0x11, bus.readByte(0x4000)); // 初期状態はバンク1
+    for (int bank = 1; bank < 4; bank++) {
+      bus.writeByte(0x2000, bank);
+      assertEquals(0x10 + bank, bus.readByte(0x4000));
+      assertEquals(0x20 + bank, bus.readByte(0x7FFF));
+      assertEquals(0x10, bus.readByte(0x0000)); // バンク0は変わらない
+    }
+    bus.writeByte(0x2000, 0x00); // バンク0を指定するとバンク1になる
+    assertEquals(0x11, bus.readByte(0x4000));
+  }
+
+  // MARK: I/Oレジスタ
+  @Test
+  @DisplayName("Test I/O registers are routed to the PPU")
+  public void testIORegisterRouting() throws Exception {
+    CPU cpu = createCPU();
+    MemoryBus bus = cpu.bus;
+
+    bus.writeByte(0xFF42, 0x12);
+    bus.writeByte(0xFF43, 0x34);
+    bus.writeByte(0xFF47, 0xE4);
+    assertEquals(0x12, bus.gpu.scy);
+    assertEquals(0x34, bus.gpu.scx);
+    assertEquals(0xE4, bus.gpu.getBGP());
+    assertEquals(0x12, bus.readByte(0xFF42));
+    assertEquals(0xE4, bus.readByte(0xFF47));
+
+    bus.writeByte(0xFF40, 0x00);
+    assertFalse(bus.gpu.controls.enabled);
+    assertEquals(0x00, bus.readByte(0xFF40));
+
+    assertThrows(UnsupportedOperationException.class, () -> bus.writeByte(0xFF44, 0x00));
+  }
+
+  // MARK: DMA
+  @Test
+  @DisplayName("Test DMA copies 160 bytes into OAM and blocks the bus for 640 cycles")
+  public void testDMATransfer() throws Exception {
+    CPU cpu = createCPU();
+    MemoryBus bus = cpu.bus;
+
+    for (int i = 0; i < 0xA0; i++) bus.writeByte(0xC000 + i, i);
+    bus.writeByte(0xFF46, 0xC0);
+    assertTrue(bus.dma.isActive());
+    assertEquals(0xC0, bus.readByte(0xFF46));
+
+    // 転送中はHRAM・I/Oレジスタ以外にアクセスできない
+    assertEquals(0xFF, bus.readByte(0xC000));
+    assertEquals(0xFF, bus.readByte(0xFE00));
+    assertEquals(0xFF, bus.readByte(0x0100));
+    bus.writeByte(0xC000, 0x99); // 無視される
+    bus.writeByte(0xFF80, 0x42);
+    assertEquals(0x42, bus.readByte(0xFF80));
+
+    assertEquals(bus.scheduler.now() + DMAController.DMA_CYCLES, bus.scheduler.getDeadline(Event.DMA));
+    bus.scheduler.advance(DMAController.DMA_CYCLES);
+    bus.dma.update(); // 転送の終わり (DMAイベント)
+
+    assertFalse(bus.dma.isActive());
+    assertEquals(0x00, bus.readByte(0xC000));
+    for (int i = 0; i < 0xA0; i++) {
+      assertEquals(i, bus.readByte(0xFE00 + i));
+    }
+  }
+
+  @Test
+  @DisplayName("Test DMA copies from the current ROM bank and from VRAM")
+  public void testDMASources() throws Exception {
+    CPU cpu = createCPU();
+    MemoryBus bus = cpu.bus;
+
+    // ROM (バンク1)
+    bus.writeByte(0xFF46, 0x40);
+    bus.dma.update();
+    assertEquals(0x34, bus.readByte(0xFE00));
+    assertEquals(0x00, bus.readByte(0xFE01));
+
+    // VRAM (ハンドラを通して読み取る)
+    bus.writeByte(0x8000, 0x56);
+    bus.writeByte(0x809F, 0x78);
+    bus.writeByte(0xFF46, 0x80);
+    bus.dma.update();
+    assertEquals(0x56, bus.readByte(0xFE00));
+    assertEquals(0x78, bus.readByte(0xFE9F));
+  }
+
+  @Test
+  @DisplayName("Test CPU waiting in HRAM sees the bus again after the DMA window")
+  public void testDMAFromHRAM() throws Exception {
+    CPU cpu = createCPU();
+    MemoryBus bus = cpu.bus;
+    bus.writeByte(0xC000, 0x5A);
+
+    // 一般的なDMAルーチン (HRAMで160Mサイクル待つ)
+    int[] program = {
+      0x3E, 0xC0,       // LD A, 0xC0
+      0xE0, 0x46,       // LDH (0x46), A
+      0x3E, 0x28,       // LD A, 40
+      0x3D,             // DEC A
+      0x20, 0xFD,       // JR NZ, -3
+      0xFA, 0x00, 0xC0, // LD A, (0xC000)
+    };
+    for (int i = 0; i < program.length; i++) bus.writeByte(0xFF80 + i, program[i]);
+    cpu.pc = 0xFF80;
+
+    cpu.step();
+    cpu.step();
+    assertTrue(bus.dma.isActive());
+    while (cpu.pc != 0xFF89) cpu.step();
+    assertFalse(bus.dma.isActive());
+
+    cpu.step();
+    assertEquals(0x5A, cpu.registers.a);
+    assertEquals(0x5A, bus.readByte(0xFE00));
+  }
+
+  // MARK: 範囲外
+  @Test
+  @DisplayName("Test out of bounds access throws")
+  public void testOutOfBounds() throws Exception {
+    CPU cpu = createCPU();
+    assertThrows(IllegalArgumentException.class, () -> cpu.bus.readByte(0x10000));
+    assertThrows(IllegalArgumentException.class, () -> cpu.bus.writeByte(-1, 0));
+  }
+}
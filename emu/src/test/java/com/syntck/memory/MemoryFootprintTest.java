@@ -0,0 +1,23 @@
+package com.syntck.memory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import com.syntck.cpu.CPU;
+import com.syntck.ppu.PPU;
+
+public class MemoryFootprintTest {
+  // MARK: 集計
+  @Test
+  @DisplayName("Test footprint counts one byte per element")
+  public void testFootprint() throws Exception {
+    CPU cpu = new CPU();
+    MemoryFootprint footprint = MemoryFootprint.of(cpu.bus);
+
+    long expected = (MemoryBus.MEMORY_SIZE + 1) + PPU.VRAM_SIZE + PPU.OAM_SIZE; // ROM・外部RAMなし
+    assertEquals(expected, footprint.getTotalBytes());
+    assertEquals(expected * 4, footprint.getIntArrayTotalBytes());
+    assertTrue(footprint.toString().contains("Total"));
+  }
+}
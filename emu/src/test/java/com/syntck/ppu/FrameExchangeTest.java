@@ -0,0 +1,79 @@
+package com.syntck.ppu;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class FrameExchangeTest {
+  // MARK: 受け渡し
+  @Test
+  @DisplayName("Test reader always gets the newest published frame")
+  public void testNewestFrame() throws Exception {
+    FrameExchange frames = new FrameExchange(1);
+    assertFalse(frames.hasNewFrame());
+
+    frames.getBackBuffer()[0] = 1;
+    frames.publish()[0] = 2;
+    assertTrue(frames.hasNewFrame());
+    assertEquals(1, frames.getLastPublished()[0]);
+
+    frames.publish(); // 表示側が読む前に次のフレームを公開する
+    assertEquals(2, frames.acquire()[0]); // 古いフレームは飛ばす
+    assertFalse(frames.hasNewFrame());
+    assertEquals(2, frames.acquire()[0]); // 新しいフレームがなければ同じフレーム
+  }
+
+  @Test
+  @DisplayName("Test writer never writes into the buffer being read")
+  public void testBuffersAreDistinct() throws Exception {
+    FrameExchange frames = new FrameExchange(1);
+    for (int i = 0; i < 10; i++) {
+      int[] back = frames.publish();
+      assertNotSame(back, frames.getLastPublished()); // 公開したフレームは次のフレームの描画中も残る
+      if (i % 3 == 0) assertNotSame(back, frames.acquire()); // 表示中のフレームには書き込まない
+    }
+  }
+
+  // MARK: スレッド
+  @Test
+  @DisplayName("Test frames handed to another thread are complete and in order")
+  public void testConcurrentHandoff() throws Exception {
+    final int size = PPU.SCREEN_WIDTH * PPU.SCREEN_HEIGHT;
+    final int count = 2000;
+    FrameExchange frames = new FrameExchange(size);
+    AtomicReference<String> error = new AtomicReference<>();
+
+    Thread reader = new Thread(() -> {
+      int last = 0;
+      while (last < count && error.get() == null) {
+        int[] frame = frames.acquire();
+        int value = frame[0];
+        for (int i = 1; i < size; i++) {
+          if (frame[i] != value) {
+            error.set("torn frame " + value + " / " + frame[i]);
+            return;
+          }
+        }
+        if (value < last) {
+          error.set("frame " + value + " after " + last);
+          return;
+        }
+        last = value;
+      }
+    });
+    reader.start();
+
+    // フレームごとに、すべてのピクセルをフレーム番号で埋めてから公開する
+    int[] back = frames.getBackBuffer();
+    for (int value = 1; value <= count; value++) {
+      for (int i = 0; i < size; i++) back[i] = value;
+      back = frames.publish();
+    }
+    reader.join(10000);
+
+    assertFalse(reader.isAlive());
+    assertNull(error.get());
+  }
+}
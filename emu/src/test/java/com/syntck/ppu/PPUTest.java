@@ -0,0 +1,233 @@
+package com.syntck.ppu;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.lang.management.ManagementFactory;
+
+public class PPUTest {
+  private static final int FRAME_CYCLES = 456 * 154;
+
+  // 背景だけを表示するPPU (タイルマップはすべてタイル0)
+  private PPU createPPU() {
+    PPU ppu = new PPU();
+    ppu.controls.convertFromInt(0x91); // LCD有効, 0x8000のタイルデータ, 背景を表示
+    ppu.setBGP(0xE4); // 色番号をそのまま色にする
+    return ppu;
+  }
+
+  // MARK: タイル
+  @Test
+  @DisplayName("Test tile rows are decoded from both bytes")
+  public void testDecodeTile() throws Exception {
+    PPU ppu = createPPU();
+    ppu.writeVRAM(0x0000, 0b01010100); // 1バイト目
+    ppu.writeVRAM(0x0001, 0b01100111); // 2バイト目
+    ppu.update(FRAME_CYCLES);
+
+    int[] expected = { 0, 3, 1, 2, 0, 3, 1, 1 };
+    int[] frame = ppu.getFrame();
+    for (int x = 0; x < 16; x++) {
+      assertEquals(expected[x % 8], frame[x]); // 同じタイルが横に並ぶ
+      assertEquals(0, frame[PPU.SCREEN_WIDTH + x]); // 2行目は書き込んでいない
+    }
+  }
+
+  @Test
+  @DisplayName("Test rewriting a tile after it was drawn updates the next frame")
+  public void testRewriteTile() throws Exception {
+    PPU ppu = createPPU();
+    ppu.writeVRAM(0x0000, 0xFF);
+    ppu.update(FRAME_CYCLES);
+    assertEquals(2, ppu.getFrame()[0]);
+
+    ppu.writeVRAM(0x0001, 0xFF);
+    ppu.update(FRAME_CYCLES);
+    assertEquals(3, ppu.getFrame()[0]);
+
+    // 0x8800 モードでは、タイル番号0は0x9000のタイルを指す
+    ppu.controls.convertFromInt(0x81);
+    ppu.writeVRAM(0x1000, 0x00);
+    ppu.writeVRAM(0x1001, 0xFF);
+    ppu.update(FRAME_CYCLES);
+    assertEquals(1, ppu.getFrame()[0]);
+  }
+
+  // MARK: パレット
+  @Test
+  @DisplayName("Test palette writes take effect on the next scanline")
+  public void testPaletteWrites() throws Exception {
+    PPU ppu = createPPU();
+    ppu.writeVRAM(0x0000, 0xFF);
+    ppu.writeVRAM(0x0001, 0xFF); // 1行目は色番号3
+
+    ppu.setBGP(0x40); // 色番号3 -> シェード1
+    ppu.update(FRAME_CYCLES);
+    assertEquals(1, ppu.getFrame()[0]);
+    assertEquals(0, ppu.getFrame()[PPU.SCREEN_WIDTH]); // 色番号0 -> シェード0
+
+    ppu.setBGP(0x1B); // 反転したパレット (色番号3 -> シェード0, 色番号0 -> シェード3)
+    assertEquals(0x1B, ppu.getBGP());
+    ppu.update(FRAME_CYCLES);
+    assertEquals(0, ppu.getFrame()[0]);
+    assertEquals(3, ppu.getFrame()[PPU.SCREEN_WIDTH]);
+  }
+
+  @Test
+  @DisplayName("Test display colors are rendered into supplied buffers")
+  public void testDisplayColors() throws Exception {
+    PPU ppu = createPPU();
+    ppu.writeVRAM(0x0000, 0xFF);
+    ppu.writeVRAM(0x0001, 0xFF); // 1行目は色番号3
+
+    int[][] buffers = new int[3][PPU.SCREEN_WIDTH * PPU.SCREEN_HEIGHT];
+    ppu.setFrameExchange(new FrameExchange(buffers[0], buffers[1], buffers[2]));
+    ppu.setDisplayColors(new int[] { 0xFFE8FCCC, 0xFFACD490, 0xFF548C70, 0xFF142C38 });
+    ppu.update(FRAME_CYCLES);
+
+    int[] frame = ppu.getFrame();
+    assertTrue(frame == buffers[0] || frame == buffers[1] || frame == buffers[2]); // 渡したバッファに直接描画する
+    assertEquals(0xFF142C38, frame[0]);
+    assertEquals(0xFFE8FCCC, frame[PPU.SCREEN_WIDTH]);
+
+    ppu.setBGP(0x1B); // パレットを書き換えても表示色が適用される
+    ppu.update(FRAME_CYCLES);
+    assertEquals(0xFFE8FCCC, ppu.getFrame()[0]);
+    assertEquals(0xFF142C38, ppu.getFrame()[PPU.SCREEN_WIDTH]);
+  }
+
+  // MARK: スプライト
+  // タイル1を色番号3で塗りつぶし、スプライトを表示する
+  private PPU createSpritePPU() {
+    PPU ppu = createPPU();
+    ppu.controls.convertFromInt(0x93); // LCD有効, 0x8000のタイルデータ, 背景とスプライトを表示
+    for (int i = 0; i < 16; i++) ppu.writeVRAM(0x0010 + i, 0xFF);
+    ppu.setOBP0(0xE4); // 色番号3 -> シェード3
+    ppu.setOBP1(0x54); // 色番号3 -> シェード1
+    for (int i = 0; i < 40; i++) ppu.writeOAM(0xFE00 + i * 4, 0); // すべて画面外に置く
+    return ppu;
+  }
+
+  private void putSprite(PPU ppu, int index, int y, int x, int attributes) {
+    ppu.writeOAM(0xFE00 + index * 4, y);
+    ppu.writeOAM(0xFE01 + index * 4, x);
+    ppu.writeOAM(0xFE02 + index * 4, 1);
+    ppu.writeOAM(0xFE03 + index * 4, attributes);
+  }
+
+  @Test
+  @DisplayName("Test only the first 10 sprites in OAM order are drawn on a line")
+  public void testSpriteLimit() throws Exception {
+    PPU ppu = createSpritePPU();
+    // OAMの番号が大きいスプライトほど左に置く (OAMの番号10が一番左)
+    for (int i = 0; i <= 10; i++) putSprite(ppu, i, 16, 8 + (10 - i) * 8, 0x00);
+    ppu.update(FRAME_CYCLES);
+
+    int[] frame = ppu.getFrame();
+    assertEquals(0, frame[0]); // 11個目のスプライトは描画されない
+    for (int i = 0; i < 10; i++) assertEquals(3, frame[(10 - i) * 8]);
+    assertEquals(0, frame[8 * PPU.SCREEN_WIDTH]); // スプライトの下のライン
+  }
+
+  @Test
+  @DisplayName("Test overlapping sprites are prioritized by X then by OAM index")
+  public void testSpritePriority() throws Exception {
+    PPU ppu = createSpritePPU();
+    putSprite(ppu, 0, 16, 12, 0x10); // 画面のX座標 4-11, OBP1
+    putSprite(ppu, 1, 16, 8, 0x00); // 画面のX座標 0-7, OBP0
+    putSprite(ppu, 2, 16, 40, 0x10); // 画面のX座標 32-39, OBP1
+    putSprite(ppu, 3, 16, 40, 0x00); // 画面のX座標 32-39, OBP0
+    ppu.update(FRAME_CYCLES);
+
+    int[] frame = ppu.getFrame();
+    assertEquals(3, frame[4]); // X座標が小さいスプライトが手前
+    assertEquals(1, frame[8]);
+    assertEquals(1, frame[32]); // X座標が同じならOAMの番号が小さいスプライトが手前
+
+    // OAMを書き換えると次のフレームに反映される
+    putSprite(ppu, 2, 0, 40, 0x10);
+    ppu.update(FRAME_CYCLES);
+    assertEquals(3, ppu.getFrame()[32]);
+  }
+
+  @Test
+  @DisplayName("Test OAM block writes are read back and drawn")
+  public void testWriteOAMBlock() throws Exception {
+    PPU ppu = createSpritePPU();
+    byte[] source = new byte[0x100];
+    source[0x10] = 16; // スプライト0: Y座標
+    source[0x11] = 8; // スプライト0: X座標
+    source[0x12] = 1; // スプライト0: タイル番号
+    source[0x13] = 0x10; // スプライト0: OBP1
+    ppu.writeOAMBlock(source, 0x10);
+
+    assertEquals(16, ppu.readOAM(0xFE00));
+    assertEquals(0x10, ppu.readOAM(0xFE03));
+    assertEquals(0, ppu.readOAM(0xFE04));
+    ppu.update(FRAME_CYCLES);
+    assertEquals(1, ppu.getFrame()[0]);
+
+    // X座標だけを書き換えても反映される
+    ppu.writeOAM(0xFE01, 16);
+    ppu.update(FRAME_CYCLES);
+    assertEquals(0, ppu.getFrame()[0]);
+    assertEquals(1, ppu.getFrame()[8]);
+  }
+
+  // MARK: フレームスキップ
+  @Test
+  @DisplayName("Test skipped frames keep LY and STAT timing but are not published")
+  public void testFrameSkip() throws Exception {
+    PPU every = createSpritePPU();
+    PPU skipping = createSpritePPU();
+    skipping.setFrameSkip(3);
+    for (PPU ppu : new PPU[] { every, skipping }) {
+      for (int i = 0; i < 12; i++) putSprite(ppu, i, 16 + i * 4, 8 + i * 8, 0x00);
+      ppu.status.convertFromInt(0x78); // すべてのSTAT割り込みを有効にする
+      ppu.lyc = 0x40;
+    }
+
+    int everyUpdates = 0;
+    int skippingUpdates = 0;
+    for (int cycles = 0; cycles < FRAME_CYCLES * 6; cycles += 4) {
+      assertEquals(every.update(4), skipping.update(4));
+      assertEquals(every.ly, skipping.ly);
+      assertEquals(every.status.convertToInt(), skipping.status.convertToInt());
+      if (every.frameUpdated) everyUpdates++;
+      if (skipping.frameUpdated) skippingUpdates++;
+      every.frameUpdated = false;
+      skipping.frameUpdated = false;
+    }
+
+    assertEquals(6, every.getFrameCount());
+    assertEquals(6, skipping.getFrameCount());
+    assertEquals(6, everyUpdates);
+    assertEquals(2, skippingUpdates); // 3フレームに1回だけ公開する
+    assertArrayEquals(every.getFrame(), skipping.getFrame()); // 描画したフレームは同じ
+  }
+
+  // MARK: アロケーション
+  @Test
+  @DisplayName("Test drawing frames with sprites does not allocate")
+  public void testDrawDoesNotAllocate() throws Exception {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+
+    PPU ppu = createSpritePPU();
+    for (int i = 0; i < 40; i++) putSprite(ppu, i, 16 + (i * 7) % 144, 8 + (i * 13) % 160, (i & 1) << 4);
+
+    // ウォームアップ
+    for (int i = 0; i < 100; i++) ppu.update(FRAME_CYCLES);
+
+    long threadId = Thread.currentThread().getId();
+    long before = bean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < 100; i++) ppu.update(FRAME_CYCLES);
+    long allocated = bean.getThreadAllocatedBytes(threadId) - before;
+
+    // 計測自体のアロケーションを考慮して、フレームあたり0バイトとみなせる範囲を許容する
+    assertTrue(allocated < 1024, "allocated " + allocated + " bytes in 100 frames");
+  }
+}
@@ -0,0 +1,104 @@
+package com.syntck.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import com.syntck.cpu.CPU;
+import com.syntck.ppu.PPU;
+
+/**
+ * スケジューラでイベントが来たときだけPPU・タイマーを進める方式と、
+ * 以前の「命令ごとにPPU・タイマーを進める」方式を並べて実行し、LY・モード・TIMA・IFの変化が同じサイクルで起きることを確認する
+ */
+public class EventTimingTest {
+  private static final int FRAME_CYCLES = 154 * 456;
+  private static final int[] TIMA_PERIODS = { 1024, 16, 64, 256 }; // TACのクロック選択ごとの周期
+
+  // MARK: 以前の方式
+  // 命令ごとに経過サイクルを受け取り、PPUとタイマーをその場で進める
+  private static class PerStepModel {
+    final PPU gpu = new PPU();
+    int tima;
+    int tma;
+    int tac;
+    int timerCounter; // 前回TIMAを進めてからのサイクル数
+    int requested; // 要求された割り込み (IF)
+
+    void update(int cycles) {
+      this.requested |= this.gpu.update(cycles);
+
+      if ((this.tac & 0x04) == 0) return;
+      int period = TIMA_PERIODS[this.tac & 0x03];
+      this.timerCounter += cycles;
+      while (this.timerCounter >= period) {
+        this.timerCounter -= period;
+        if (this.tima == 0xFF) {
+          this.tima = this.tma;
+          this.requested |= 0x04; // タイマー割り込み
+        } else {
+          this.tima++;
+        }
+      }
+    }
+  }
+
+  // NOPを実行し続けるCPU (割り込みは処理しない) とモデルを並べて進め、命令ごとに状態を比べる (タイマー割り込みの回数を返す)
+  private int assertSameTiming(int tac, int tma, int frames) {
+    CPU cpu = new CPU();
+    cpu.interruptMasterEnable = false; // IFに要求を残して比べる
+    PerStepModel model = new PerStepModel();
+
+    cpu.bus.writeByte(0xFF05, tma); // 最初のオーバーフローもTMAから数える
+    cpu.bus.writeByte(0xFF06, tma);
+    cpu.bus.writeByte(0xFF07, tac);
+    model.tima = tma;
+    model.tma = tma;
+    model.tac = tac;
+
+    int timerInterrupts = 0;
+    int lcdTransitions = 0;
+    long previous = cpu.bus.scheduler.now();
+    while (cpu.bus.scheduler.now() < (long) FRAME_CYCLES * frames) {
+      cpu.step();
+      long now = cpu.bus.scheduler.now();
+      int mode = model.gpu.status.PPUMode;
+      model.update((int) (now - previous));
+      previous = now;
+
+      String at = "cycle " + now;
+      assertEquals(model.gpu.ly, cpu.bus.gpu.ly, at);
+      assertEquals(model.gpu.status.PPUMode, cpu.bus.gpu.status.PPUMode, at);
+      assertEquals(model.gpu.status.convertToInt(), cpu.bus.gpu.status.convertToInt(), at);
+      assertEquals(model.tima, cpu.bus.readByte(0xFF05), at);
+      assertEquals(model.requested, cpu.bus.readByte(0xFF0F) & 0x1F, at);
+
+      if ((model.requested & 0x04) != 0) timerInterrupts++;
+      if (mode != model.gpu.status.PPUMode) lcdTransitions++;
+      // 次の要求を比べられるようにIFをクリアする
+      cpu.bus.writeByte(0xFF0F, 0x00);
+      model.requested = 0;
+    }
+    assertTrue(lcdTransitions > frames * 144 * 3); // 1ラインにつきモード2 -> 3 -> 0
+    return timerInterrupts;
+  }
+
+  // MARK: LY / STAT / TIMA
+  @Test
+  @DisplayName("Test LY, STAT and TIMA overflows match the per-step model at 262144Hz")
+  public void testFastTimer() throws Exception {
+    assertTrue(assertSameTiming(0x05, 0xF0, 3) > 100);
+  }
+
+  @Test
+  @DisplayName("Test LY, STAT and TIMA overflows match the per-step model at 4096Hz")
+  public void testSlowTimer() throws Exception {
+    assertTrue(assertSameTiming(0x04, 0xF0, 3) > 0);
+  }
+
+  @Test
+  @DisplayName("Test LY and STAT match the per-step model with the timer stopped")
+  public void testTimerStopped() throws Exception {
+    assertEquals(0, assertSameTiming(0x00, 0x00, 2));
+  }
+}
@@ -0,0 +1,41 @@
+package com.syntck.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+public class FramePacerTest {
+  @Test
+  @DisplayName("Test frame deadlines accumulate without drift")
+  public void testDeadlineDrift() throws Exception {
+    FramePacer pacer = new FramePacer();
+    long start = pacer.advanceDeadline() - 16742706; // 1フレーム目は端数が切り捨てられる
+
+    // 4194304フレームでちょうど70224秒になる
+    long deadline = 0;
+    for (int frame = 1; frame < FramePacer.CLOCK_RATE; frame++) {
+      deadline = pacer.advanceDeadline();
+    }
+    assertEquals(FramePacer.CYCLES_PER_FRAME * 1_000_000_000L, deadline - start);
+  }
+
+  @Test
+  @DisplayName("Test waiting for frames keeps the frame rate")
+  public void testWaitForNextFrame() throws Exception {
+    FramePacer pacer = new FramePacer();
+    long start = System.nanoTime();
+    pacer.reset(); // 基準は start 以降になる
+    for (int frame = 0; frame < 30; frame++) {
+      pacer.waitForNextFrame();
+    }
+    long end = System.nanoTime();
+    long elapsed = end - start;
+
+    // 期限より前には戻らない (期限はフレームごとに端数を切り捨てるため、理論値とは数ns以内の差がある)
+    assertTrue(end - pacer.getDeadline() >= 0, "elapsed: " + elapsed);
+    long expected = (long) (30 * 1_000_000_000L / FramePacer.FRAME_RATE);
+    assertTrue(Math.abs(pacer.getDeadline() - start - expected) < 1_000_000L, "deadline: " + (pacer.getDeadline() - start));
+    assertTrue(elapsed >= expected - 1_000L, "elapsed: " + elapsed);
+    assertTrue(elapsed < expected + 200_000_000L, "elapsed: " + elapsed);
+  }
+}
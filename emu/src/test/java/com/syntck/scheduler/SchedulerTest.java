@@ -0,0 +1,66 @@
+package com.syntck.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import com.syntck.cpu.CPU;
+
+public class SchedulerTest {
+  // MARK: poll
+  @Test
+  @DisplayName("Test events are polled in deadline order once due")
+  public void testPollOrder() throws Exception {
+    Scheduler scheduler = new Scheduler();
+    scheduler.schedule(Event.TIMER, 100);
+    scheduler.schedule(Event.PPU, 80);
+
+    assertEquals(80, scheduler.getNextDeadline());
+    assertFalse(scheduler.isDue());
+    assertNull(scheduler.poll());
+
+    scheduler.advance(90);
+    assertTrue(scheduler.isDue());
+    assertEquals(Event.PPU, scheduler.poll());
+    assertNull(scheduler.poll()); // TIMERはまだ期限が来ていない
+    assertEquals(100, scheduler.getNextDeadline());
+
+    scheduler.advance(30);
+    assertEquals(Event.TIMER, scheduler.poll());
+    assertEquals(Scheduler.NEVER, scheduler.getNextDeadline());
+  }
+
+  // MARK: schedule / cancel
+  @Test
+  @DisplayName("Test rescheduling replaces and cancel removes an event")
+  public void testScheduleAndCancel() throws Exception {
+    Scheduler scheduler = new Scheduler();
+    scheduler.schedule(Event.PPU, 50);
+    scheduler.schedule(Event.PPU, 200);
+    assertEquals(200, scheduler.getDeadline(Event.PPU));
+    assertEquals(200, scheduler.getNextDeadline());
+
+    scheduler.cancel(Event.PPU);
+    assertEquals(Scheduler.NEVER, scheduler.getNextDeadline());
+    scheduler.advance(1000);
+    assertFalse(scheduler.isDue());
+  }
+
+  // MARK: PPUイベント
+  @Test
+  @DisplayName("Test V-Blank is requested after 144 lines of NOPs")
+  public void testVBlankTiming() throws Exception {
+    CPU cpu = new CPU(); // メモリはすべて0 (NOP)
+    int nops = 144 * 456 / 4; // 1ライン456サイクル, NOPは4サイクル
+
+    for (int i = 0; i < nops - 1; i++) cpu.step();
+    assertEquals(0, cpu.bus.readByte(0xFF0F) & 0x01);
+    assertEquals(143, cpu.bus.gpu.ly);
+
+    cpu.step();
+    assertEquals(0x01, cpu.bus.readByte(0xFF0F) & 0x01);
+    assertEquals(144, cpu.bus.gpu.ly);
+    assertEquals(1, cpu.bus.gpu.status.PPUMode);
+    assertTrue(cpu.bus.gpu.frameUpdated);
+  }
+}
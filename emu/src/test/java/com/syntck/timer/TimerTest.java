@@ -0,0 +1,84 @@
+package com.syntck.timer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import com.syntck.cpu.CPU;
+import com.syntck.memory.MemoryBus;
+
+public class TimerTest {
+  // メモリがすべて0 (NOP) のCPUを指定したサイクル数だけ進める
+  private void run(CPU cpu, int cycles) {
+    long until = cpu.bus.scheduler.now() + cycles;
+    while (cpu.bus.scheduler.now() < until) cpu.step();
+  }
+
+  // MARK: DIV
+  @Test
+  @DisplayName("Test DIV increments every 256 cycles and resets on write")
+  public void testDIV() throws Exception {
+    CPU cpu = new CPU();
+    MemoryBus bus = cpu.bus;
+
+    run(cpu, 252);
+    assertEquals(0x00, bus.readByte(0xFF04));
+    run(cpu, 4);
+    assertEquals(0x01, bus.readByte(0xFF04));
+    run(cpu, 256 * 0xFF);
+    assertEquals(0x00, bus.readByte(0xFF04)); // 0xFFの次は0に戻る
+
+    run(cpu, 256 * 3 + 128);
+    assertEquals(0x03, bus.readByte(0xFF04));
+    bus.writeByte(0xFF04, 0x42); // 書き込むと値にかかわらず0になる
+    assertEquals(0x00, bus.readByte(0xFF04));
+    run(cpu, 256);
+    assertEquals(0x01, bus.readByte(0xFF04));
+  }
+
+  // MARK: TIMA
+  @Test
+  @DisplayName("Test TIMA counts at the selected rate and reloads TMA on overflow")
+  public void testTIMA() throws Exception {
+    CPU cpu = new CPU();
+    MemoryBus bus = cpu.bus;
+
+    bus.writeByte(0xFF06, 0xF8); // TMA
+    bus.writeByte(0xFF05, 0xFC); // TIMA
+    bus.writeByte(0xFF07, 0x05); // タイマー有効, 16サイクル周期
+    assertEquals(0xFD, bus.readByte(0xFF07));
+
+    run(cpu, 16 * 3);
+    assertEquals(0xFF, bus.readByte(0xFF05));
+    assertEquals(0, bus.readByte(0xFF0F) & 0x04);
+
+    run(cpu, 16);
+    assertEquals(0xF8, bus.readByte(0xFF05)); // TMAをリロード
+    assertEquals(0x04, bus.readByte(0xFF0F) & 0x04); // タイマー割り込み
+
+    // 停止中はカウントしない
+    bus.writeByte(0xFF07, 0x01);
+    run(cpu, 16 * 10);
+    assertEquals(0xF8, bus.readByte(0xFF05));
+  }
+
+  // MARK: 立ち下がり
+  @Test
+  @DisplayName("Test resetting DIV while the selected bit is high increments TIMA")
+  public void testDIVResetEdge() throws Exception {
+    CPU cpu = new CPU();
+    MemoryBus bus = cpu.bus;
+
+    bus.writeByte(0xFF07, 0x05); // 16サイクル周期 (ビット3)
+    run(cpu, 8); // ビット3が1になる
+    assertEquals(0x00, bus.readByte(0xFF05));
+    bus.writeByte(0xFF04, 0x00);
+    assertEquals(0x01, bus.readByte(0xFF05));
+
+    // リセット後は新しいカウンタから数える
+    run(cpu, 12);
+    assertEquals(0x01, bus.readByte(0xFF05));
+    run(cpu, 4);
+    assertEquals(0x02, bus.readByte(0xFF05));
+  }
+}